@@ -0,0 +1,40 @@
+package com.liampace.geom.benchmark;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of the benchmark jar. Delegates to the JMH launcher but writes
+ * results as JSON to {@value #DEFAULT_RESULT_FILE} unless a result format or
+ * file is given on the command line, so runs from different releases can be
+ * diffed directly.
+ */
+public final class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean hasFormat = false, hasFile = false;
+        for (String arg : args) {
+            hasFormat |= arg.equals("-rf");
+            hasFile |= arg.equals("-rff");
+        }
+        String[] defaults = new String[(hasFormat ? 0 : 2) + (hasFile ? 0 : 2)];
+        int i = 0;
+        if (!hasFormat) {
+            defaults[i++] = "-rf";
+            defaults[i++] = "json";
+        }
+        if (!hasFile) {
+            defaults[i++] = "-rff";
+            defaults[i++] = DEFAULT_RESULT_FILE;
+        }
+        String[] merged = Arrays.copyOf(defaults, defaults.length + args.length);
+        System.arraycopy(args, 0, merged, defaults.length, args.length);
+        Main.main(merged);
+    }
+}
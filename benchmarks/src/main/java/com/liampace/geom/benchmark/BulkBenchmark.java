@@ -0,0 +1,89 @@
+package com.liampace.geom.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix3x2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Beziers2f;
+
+/**
+ * Parallel bulk operations of {@link Beziers2f} over a list of curves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkBenchmark {
+
+    @Param({ "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "65536", "1048576" })
+    public int size;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private List<Bezier2f> curves;
+    private ForkJoinPool pool;
+    private final Matrix3x2f matrix = new Matrix3x2f().rotate(0.25f);
+    private float[] dest;
+    private int[] counts;
+
+    @Setup
+    public void setup() {
+        this.curves = Arrays.asList(Curves.create(type, size));
+        this.pool = new ForkJoinPool(threads);
+        this.dest = new float[size * 4];
+        this.counts = new int[size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Bezier2f> transform() {
+        Beziers2f.transformPosition(curves, matrix, pool);
+        return curves;
+    }
+
+    @Benchmark
+    public float[] bounds() {
+        return Beziers2f.getBounds(curves, 0, dest, pool);
+    }
+
+    @Benchmark
+    public float[] position() {
+        return Beziers2f.getPosition(curves, 0.5f, 0, dest, pool);
+    }
+
+    @Benchmark
+    public int intercepts() {
+        return Beziers2f.getInterceptsX(curves, 0, dest, 0, counts, pool);
+    }
+
+    @Benchmark
+    public float[] project() {
+        return Beziers2f.project(curves, 0.25f, -0.5f, 0, dest, pool);
+    }
+}
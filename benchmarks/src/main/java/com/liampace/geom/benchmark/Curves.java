@@ -0,0 +1,201 @@
+package com.liampace.geom.benchmark;
+
+import java.util.Random;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Deterministic curve and coefficient fixtures shared by the benchmarks.
+ */
+public final class Curves {
+
+    /**
+     * The kind of curve a benchmark runs against.
+     */
+    public enum Type {
+        LINE, QUADRATIC, CUBIC
+    }
+
+    /**
+     * The shape of the inputs fed to the root solvers and intercept queries.
+     */
+    public enum Input {
+        /** Uniformly random coefficients. */
+        RANDOM,
+        /** The leading coefficient is exactly zero, so the degree drops by one. */
+        ZERO_LEADING,
+        /** Every polynomial has a repeated root inside [0-1]. */
+        REPEATED_ROOTS
+    }
+
+    static final long SEED = 0x6E0D2DL;
+
+    private Curves() {
+    }
+
+    /**
+     * Creates {@code count} random curves of the given type with points in the
+     * {@code [-1, 1]} square.
+     */
+    static Bezier2f[] create(Type type, int count) {
+        Random random = new Random(SEED);
+        Bezier2f[] curves = new Bezier2f[count];
+        for (int i = 0; i < count; i++) {
+            switch (type) {
+                case LINE:
+                    curves[i] = new Line2f(next(random), next(random), next(random), next(random));
+                    break;
+                case QUADRATIC:
+                    curves[i] = new Quadratic2f(next(random), next(random), next(random), next(random),
+                            next(random), next(random));
+                    break;
+                default:
+                    curves[i] = new Cubic2f(next(random), next(random), next(random), next(random),
+                            next(random), next(random), next(random), next(random));
+                    break;
+            }
+        }
+        return curves;
+    }
+
+    /**
+     * Creates {@code count} curves of the given type whose X and Y polynomials
+     * follow the requested input shape.
+     */
+    static Bezier2f[] create(Type type, Input input, int count) {
+        if (input == Input.RANDOM) {
+            return create(type, count);
+        }
+        int degree = type.ordinal() + 1;
+        Random random = new Random(SEED);
+        float[] x = new float[4], y = new float[4];
+        Bezier2f[] curves = new Bezier2f[count];
+        for (int i = 0; i < count; i++) {
+            coefficients(input, degree, random, x);
+            coefficients(input, degree, random, y);
+            toBernstein(degree, x);
+            toBernstein(degree, y);
+            switch (type) {
+                case LINE:
+                    curves[i] = new Line2f(x[0], y[0], x[1], y[1]);
+                    break;
+                case QUADRATIC:
+                    curves[i] = new Quadratic2f(x[0], y[0], x[1], y[1], x[2], y[2]);
+                    break;
+                default:
+                    curves[i] = new Cubic2f(x[0], y[0], x[1], y[1], x[2], y[2], x[3], y[3]);
+                    break;
+            }
+        }
+        return curves;
+    }
+
+    /**
+     * Fills {@code dest} with {@code count} sets of power basis coefficients of
+     * the given degree, stored with stride {@code degree + 1} starting from the
+     * leading coefficient.
+     */
+    static float[] equations(Input input, int degree, int count) {
+        Random random = new Random(SEED);
+        float[] temp = new float[4];
+        float[] dest = new float[count * (degree + 1)];
+        for (int i = 0, d = 0; i < count; i++) {
+            coefficients(input, degree, random, temp);
+            for (int j = degree; j >= 0; j--) {
+                dest[d++] = temp[j];
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Creates {@code count} interpolation factors in the {@code [0, 1]} range.
+     */
+    static float[] factors(int count) {
+        Random random = new Random(SEED);
+        float[] t = new float[count];
+        for (int i = 0; i < count; i++) {
+            t[i] = random.nextFloat();
+        }
+        return t;
+    }
+
+    /**
+     * Creates {@code count} interleaved {@code x, y} pairs in the {@code [-2, 2]}
+     * square.
+     */
+    static float[] points(int count) {
+        Random random = new Random(SEED);
+        float[] points = new float[count * 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = next(random) * 2;
+        }
+        return points;
+    }
+
+    private static float next(Random random) {
+        return random.nextFloat() * 2 - 1;
+    }
+
+    /**
+     * Writes power basis coefficients into {@code dest} where index {@code i} is
+     * the coefficient of {@code t^i}.
+     */
+    private static void coefficients(Input input, int degree, Random random, float[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = i <= degree ? next(random) : 0;
+        }
+        switch (input) {
+            case ZERO_LEADING:
+                dest[degree] = 0;
+                break;
+            case REPEATED_ROOTS: {
+                // (t - r)^2 (t - s) or (t - r)^2, scaled, with r inside [0-1]
+                float r = random.nextFloat(), s = next(random), k = next(random);
+                if (degree == 3) {
+                    dest[3] = k;
+                    dest[2] = -k * (2 * r + s);
+                    dest[1] = k * (r * r + 2 * r * s);
+                    dest[0] = -k * r * r * s;
+                } else if (degree == 2) {
+                    dest[2] = k;
+                    dest[1] = -2 * k * r;
+                    dest[0] = k * r * r;
+                } else {
+                    dest[1] = k;
+                    dest[0] = -k * r;
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Converts power basis coefficients in place into 1D bezier control points.
+     */
+    private static void toBernstein(int degree, float[] a) {
+        float a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3];
+        switch (degree) {
+            case 1:
+                a[0] = a0;
+                a[1] = a0 + a1;
+                break;
+            case 2:
+                a[0] = a0;
+                a[1] = a0 + a1 / 2;
+                a[2] = a0 + a1 + a2;
+                break;
+            default:
+                a[0] = a0;
+                a[1] = a0 + a1 / 3;
+                a[2] = a0 + a1 * 2 / 3 + a2 / 3;
+                a[3] = a0 + a1 + a2 + a3;
+                break;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Beziers2f;
+
+/**
+ * Interface calls compared to the type checked calls of {@link Beziers2f} over
+ * an array holding lines, quadratics and cubics interleaved, where the
+ * interface call sites see all three classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({ "3072" })
+    public int count;
+
+    private Bezier2f[] curves;
+    private final Vector2f temp = new Vector2f();
+    private float[] roots;
+
+    @Setup
+    public void setup() {
+        Bezier2f[] lines = Curves.create(Curves.Type.LINE, count / 3);
+        Bezier2f[] quadratics = Curves.create(Curves.Type.QUADRATIC, count / 3);
+        Bezier2f[] cubics = Curves.create(Curves.Type.CUBIC, count / 3);
+        this.curves = new Bezier2f[count / 3 * 3];
+        for (int i = 0, d = 0; i < count / 3; i++) {
+            curves[d++] = lines[i];
+            curves[d++] = quadratics[i];
+            curves[d++] = cubics[i];
+        }
+        this.roots = new float[Beziers2f.MAX_ROOTS];
+    }
+
+    @Benchmark
+    public float positionInterface() {
+        float sum = 0;
+        for (Bezier2f curve : curves) {
+            sum += curve.getPosition(0.375f, temp).x;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float positionDispatch() {
+        float sum = 0;
+        for (Bezier2f curve : curves) {
+            sum += Beziers2f.getPosition(curve, 0.375f, temp).x;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float normalInterface() {
+        float sum = 0;
+        for (Bezier2f curve : curves) {
+            sum += curve.getNormalCW(0.375f, temp).x;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float normalDispatch() {
+        float sum = 0;
+        for (Bezier2f curve : curves) {
+            sum += Beziers2f.getNormalCW(curve, 0.375f, temp).x;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int interceptsInterface() {
+        int total = 0;
+        for (Bezier2f curve : curves) {
+            total += curve.getInterceptsX(0, roots);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int interceptsDispatch() {
+        int total = 0;
+        for (Bezier2f curve : curves) {
+            total += Beziers2f.getInterceptsX(curve, 0, roots);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,102 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.joml.Matrix3x2f;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.DistanceField2f;
+import com.liampace.geom.Path2f;
+import com.liampace.geom.Projection2f;
+import com.liampace.geom.Rasterizer2f;
+
+/**
+ * Signed distance field generation of a set of random closed cubic contours,
+ * reported in texels per second, compared to projecting every texel onto every
+ * segment and counting its winding number.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceFieldBenchmark {
+
+    private static final int RESOLUTION = 128;
+    private static final int TEXELS = RESOLUTION * RESOLUTION;
+    private static final float RANGE = 4;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private Path2f path;
+    private DistanceField2f field;
+    private ForkJoinPool pool;
+    private float[] distances, channels;
+    private final Projection2f projection = new Projection2f();
+
+    @Setup
+    public void setup() {
+        // Map the [-1, 1] square onto the grid
+        float scale = RESOLUTION * 0.5f;
+        this.path = new Path2f();
+        for (Bezier2f curve : Curves.create(Curves.Type.CUBIC, 16)) {
+            path.append(curve);
+        }
+        path.transformPosition(new Matrix3x2f().translate(scale, scale).scale(scale));
+        this.field = new DistanceField2f(RESOLUTION, RESOLUTION, RANGE).add(path);
+        this.pool = new ForkJoinPool(threads);
+        this.distances = new float[TEXELS];
+        this.channels = new float[TEXELS * 3];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TEXELS)
+    public float[] generate() {
+        return field.generate(Rasterizer2f.FillRule.NON_ZERO, 0, distances, pool);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TEXELS)
+    public float[] generateMultiChannel() {
+        return field.generateMultiChannel(Rasterizer2f.FillRule.NON_ZERO, 0, channels, pool);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TEXELS)
+    public float[] projectEveryTexel() {
+        for (int y = 0, i = 0; y < RESOLUTION; y++) {
+            for (int x = 0; x < RESOLUTION; x++, i++) {
+                float px = x + 0.5f, py = y + 0.5f, best = Float.POSITIVE_INFINITY;
+                Path2f.SegmentIterator it = path.iterator(true);
+                while (it.hasNext()) {
+                    best = Math.min(best, projection.project(it.next(), px, py).getDistance());
+                }
+                best = Math.min(best, RANGE);
+                distances[i] = path.getWinding(px, py) != 0 ? best : -best;
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,123 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.BezierBatch2f;
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Position and derivative evaluation through the object API, the static
+ * interpolation kernels and {@link BezierBatch2f}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "1", "1024", "65536" })
+    public int size;
+
+    private Bezier2f[] curves;
+    private BezierBatch2f batch;
+    private float[] t, x, y, dest;
+    private final Vector2f temp = new Vector2f();
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, size);
+        this.batch = new BezierBatch2f(size);
+        for (Bezier2f curve : curves) {
+            batch.add(curve);
+        }
+        this.t = Curves.factors(size);
+        int length = curves[0].getLength();
+        this.x = new float[size * length];
+        this.y = new float[size * length];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < length; j++) {
+                x[i * length + j] = curves[i].getPoint(j).x;
+                y[i * length + j] = curves[i].getPoint(j).y;
+            }
+        }
+        this.dest = new float[size * 2];
+    }
+
+    @Benchmark
+    public void position(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(curves[i].getPosition(t[i], temp));
+        }
+    }
+
+    @Benchmark
+    public void derivative(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(curves[i].getDerivative(t[i], temp));
+        }
+    }
+
+    @Benchmark
+    public void tangent(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(curves[i].getTangent(t[i], temp));
+        }
+    }
+
+    @Benchmark
+    public void interpolateKernel(Blackhole blackhole) {
+        switch (type) {
+            case LINE:
+                for (int i = 0, p = 0; i < size; i++, p += Line2f.LENGTH) {
+                    blackhole.consume(Line2f.Interpolate(x[p], y[p], x[p + 1], y[p + 1], t[i], temp));
+                }
+                break;
+            case QUADRATIC:
+                for (int i = 0, p = 0; i < size; i++, p += Quadratic2f.LENGTH) {
+                    blackhole.consume(Quadratic2f.Interpolate(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2],
+                            t[i], temp));
+                }
+                break;
+            default:
+                for (int i = 0, p = 0; i < size; i++, p += Cubic2f.LENGTH) {
+                    blackhole.consume(Cubic2f.Interpolate(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2],
+                            x[p + 3], y[p + 3], t[i], temp));
+                }
+                break;
+        }
+    }
+
+    @Benchmark
+    public float[] batchPosition() {
+        batch.getPosition(0, size, 0, t, 0, dest);
+        return dest;
+    }
+
+    @Benchmark
+    public float[] batchDerivative() {
+        batch.getDerivative(0, size, 0.5f, 0, dest);
+        return dest;
+    }
+}
@@ -0,0 +1,58 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.FloatList;
+import com.liampace.geom.Flattener2f;
+
+/**
+ * Flattening of curves into polylines at different tolerances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlattenBenchmark {
+
+    @Param({ "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "1024" })
+    public int size;
+
+    @Param({ "0.01", "0.0001" })
+    public float tolerance;
+
+    private Bezier2f[] curves;
+    private final Flattener2f flattener = new Flattener2f();
+    private final FloatList vertices = new FloatList();
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, size);
+    }
+
+    @Benchmark
+    public int flatten() {
+        vertices.clear();
+        for (int i = 0; i < size; i++) {
+            flattener.flatten(curves[i], tolerance, i == 0, vertices);
+        }
+        return vertices.size();
+    }
+}
@@ -0,0 +1,100 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Interpolator2f;
+
+/**
+ * Bulk evaluation through {@link Interpolator2f} with and without the Vector
+ * API, against a plain loop over {@link Bezier2f#getPosition(float, Vector2f)}.
+ * Every parameter combination runs in its own fork, so the kernel is picked
+ * from the {@code vector} parameter when the facade is first loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class InterpolatorBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "1024", "65536" })
+    public int size;
+
+    @Param({ "true", "false" })
+    public String vector;
+
+    private Bezier2f curve;
+    private float[] t, x, y, destX, destY;
+    private final Vector2f temp = new Vector2f();
+
+    @Setup
+    public void setup() {
+        System.setProperty(Interpolator2f.VECTOR_PROPERTY, vector);
+        Bezier2f[] curves = Curves.create(type, size);
+        this.curve = curves[0];
+        this.t = Curves.factors(size);
+        int length = curve.getLength();
+        this.x = new float[size * length];
+        this.y = new float[size * length];
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < length; k++) {
+                x[k * size + i] = curves[i].getPoint(k).x;
+                y[k * size + i] = curves[i].getPoint(k).y;
+            }
+        }
+        this.destX = new float[size];
+        this.destY = new float[size];
+    }
+
+    @Benchmark
+    public float[] scalarLoop() {
+        for (int i = 0; i < size; i++) {
+            curve.getPosition(t[i], temp);
+            destX[i] = temp.x;
+            destY[i] = temp.y;
+        }
+        return destX;
+    }
+
+    @Benchmark
+    public float[] manyFactors() {
+        Interpolator2f.getPositions(curve, size, 0, t, 0, destX, destY);
+        return destX;
+    }
+
+    @Benchmark
+    public float[] manyFactorsDerivative() {
+        Interpolator2f.getDerivatives(curve, size, 0, t, 0, destX, destY);
+        return destX;
+    }
+
+    @Benchmark
+    public float[] manyCurves() {
+        Interpolator2f.getPositions(type.ordinal() + 1, x, y, size, 0, size, 0.5f, 0, destX, destY);
+        return destX;
+    }
+
+    @Benchmark
+    public float[] manyCurvesDerivative() {
+        Interpolator2f.getDerivatives(type.ordinal() + 1, x, y, size, 0, size, 0.5f, 0, destX, destY);
+        return destX;
+    }
+}
@@ -0,0 +1,61 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Intersector2f;
+
+/**
+ * Curve-curve intersection of consecutive pairs and of every pair in a set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "1024" })
+    public int size;
+
+    private Bezier2f[] curves;
+    private final Intersector2f intersector = new Intersector2f();
+    private final float[] tA = new float[Intersector2f.MAX_INTERSECTIONS];
+    private final float[] tB = new float[Intersector2f.MAX_INTERSECTIONS];
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, size);
+    }
+
+    @Benchmark
+    public int pairs() {
+        int count = 0;
+        for (int i = 1; i < size; i++) {
+            count += intersector.intersect(curves[i - 1], curves[i], 0, tA, tB);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int allPairs() {
+        return Intersector2f.intersectAll(curves, ForkJoinPool.commonPool()).size();
+    }
+}
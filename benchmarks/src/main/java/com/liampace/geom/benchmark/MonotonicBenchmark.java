@@ -0,0 +1,96 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Monotonic2f;
+
+/**
+ * Intersecting curves with random horizontal lines, through the closed form
+ * solvers of the curves compared to the monotonic spans of {@link Monotonic2f},
+ * both loaded once per curve and loaded again for every line.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonotonicBenchmark {
+
+    @Param({ "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    private static final int COUNT = 1024;
+    private static final int LINES = 16;
+
+    private Bezier2f[] curves;
+    private Monotonic2f[] spans;
+    private final Monotonic2f monotonic = new Monotonic2f();
+    private float[] lines;
+    private final float[] roots = new float[Monotonic2f.MAX_SPANS];
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, COUNT);
+        this.spans = new Monotonic2f[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            spans[i] = new Monotonic2f().load(curves[i]);
+        }
+        float[] points = Curves.points(LINES);
+        this.lines = new float[LINES];
+        for (int i = 0; i < LINES; i++) {
+            lines[i] = points[i * 2 + 1] * 0.5f;
+        }
+    }
+
+    @Benchmark
+    public int closedForm() {
+        int count = 0;
+        for (Bezier2f curve : curves) {
+            for (float y : lines) {
+                int found = curve.getInterceptsX(y, 0, roots);
+                for (int i = 0; i < found; i++) {
+                    if (roots[i] >= 0 && roots[i] <= 1) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int monotonic() {
+        int count = 0;
+        for (Monotonic2f span : spans) {
+            for (float y : lines) {
+                count += span.getInterceptsX(y, 0, roots);
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int monotonicReload() {
+        int count = 0;
+        for (Bezier2f curve : curves) {
+            for (float y : lines) {
+                count += monotonic.load(curve).getInterceptsX(y, 0, roots);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,101 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix3x2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.BezierBatch2f;
+import com.liampace.geom.DirectBezierBatch2f;
+
+/**
+ * Bulk evaluation, root solving and transformation of curves stored on the heap
+ * in a {@link BezierBatch2f} compared to off-heap in a
+ * {@link DirectBezierBatch2f}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.foreign" })
+public class OffHeapBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "65536" })
+    public int size;
+
+    private BezierBatch2f heap;
+    private DirectBezierBatch2f direct;
+    private float[] dest, roots;
+    private int[] counts;
+    private final Matrix3x2f matrix = new Matrix3x2f().rotate(1e-3f);
+
+    @Setup
+    public void setup() {
+        this.heap = new BezierBatch2f(size);
+        this.direct = DirectBezierBatch2f.allocate(size);
+        for (Bezier2f curve : Curves.create(type, size)) {
+            heap.add(curve);
+            direct.add(curve);
+        }
+        this.dest = new float[size * 2];
+        this.roots = new float[size * BezierBatch2f.MAX_ROOTS];
+        this.counts = new int[size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        direct.close();
+    }
+
+    @Benchmark
+    public float[] heapPosition() {
+        heap.getPosition(0, size, 0.5f, 0, dest);
+        return dest;
+    }
+
+    @Benchmark
+    public float[] directPosition() {
+        direct.getPosition(0, size, 0.5f, 0, dest);
+        return dest;
+    }
+
+    @Benchmark
+    public int heapIntercepts() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += heap.getInterceptsX(i, i * BezierBatch2f.MAX_ROOTS, roots);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int directIntercepts() {
+        return direct.getInterceptsX(0, size, 0, roots, 0, counts);
+    }
+
+    @Benchmark
+    public BezierBatch2f heapTransform() {
+        return heap.transformPosition(0, size, matrix);
+    }
+
+    @Benchmark
+    public DirectBezierBatch2f directTransform() {
+        return direct.transformPosition(0, size, matrix);
+    }
+}
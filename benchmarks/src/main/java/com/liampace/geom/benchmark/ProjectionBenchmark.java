@@ -0,0 +1,74 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Projection2f;
+
+/**
+ * Closest point projection through {@link Bezier2f#project(Vector2f)} and a
+ * reused {@link Projection2f} context.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "1", "1024", "65536" })
+    public int size;
+
+    private Bezier2f[] curves;
+    private float[] points, t;
+    private final Vector2f position = new Vector2f();
+    private final Projection2f projection = new Projection2f();
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, size);
+        this.points = Curves.points(size);
+        this.t = new float[size];
+    }
+
+    @Benchmark
+    public float project() {
+        float sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += curves[i].project(position.set(points[i * 2], points[i * 2 + 1]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float projectContext() {
+        float sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += projection.project(curves[i], points[i * 2], points[i * 2 + 1]).getDistance();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float[] projectMany() {
+        projection.load(curves[0]).project(size, 0, points, 0, t, null);
+        return t;
+    }
+}
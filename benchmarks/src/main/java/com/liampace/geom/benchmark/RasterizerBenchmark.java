@@ -0,0 +1,69 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.joml.Matrix3x2f;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Path2f;
+import com.liampace.geom.Rasterizer2f;
+
+/**
+ * Coverage rasterization of a set of random closed cubic contours.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterizerBenchmark {
+
+    @Param({ "256", "1024" })
+    public int resolution;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private Rasterizer2f rasterizer;
+    private ForkJoinPool pool;
+    private byte[] coverage;
+
+    @Setup
+    public void setup() {
+        // Map the [-1, 1] square onto the target
+        float scale = resolution * 0.5f;
+        Path2f path = new Path2f();
+        for (Bezier2f curve : Curves.create(Curves.Type.CUBIC, 64)) {
+            path.append(curve);
+        }
+        path.transformPosition(new Matrix3x2f().translate(scale, scale).scale(scale));
+        this.rasterizer = new Rasterizer2f(resolution, resolution).add(path);
+        this.pool = new ForkJoinPool(threads);
+        this.coverage = new byte[resolution * resolution];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public byte[] rasterize() {
+        return rasterizer.rasterize(Rasterizer2f.FillRule.NON_ZERO, 0, coverage, pool);
+    }
+}
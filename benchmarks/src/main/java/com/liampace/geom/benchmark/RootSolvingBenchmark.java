@@ -0,0 +1,121 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.RootSolver;
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * The polynomial root solvers and the axis intercept queries built on top of
+ * them, fed with random and degenerate inputs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootSolvingBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "RANDOM", "ZERO_LEADING", "REPEATED_ROOTS" })
+    public Curves.Input input;
+
+    @Param({ "1", "1024", "65536" })
+    public int size;
+
+    private Bezier2f[] curves;
+    private float[] equations;
+    private final float[] roots = new float[Cubic2f.LENGTH - 1];
+    // The equations split into one column per term, leading term first
+    private float[][] terms;
+    private float[] batchRoots;
+    private int[] batchCounts;
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, input, size);
+        this.equations = Curves.equations(input, type.ordinal() + 1, size);
+        int stride = type.ordinal() + 2;
+        this.terms = new float[RootSolver.MAX_ROOTS + 1][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < stride; j++) {
+                terms[RootSolver.MAX_ROOTS + 1 - stride + j][i] = equations[i * stride + j];
+            }
+        }
+        this.batchRoots = new float[size * RootSolver.MAX_ROOTS];
+        this.batchCounts = new int[size];
+    }
+
+    @Benchmark
+    public int solveEquation() {
+        int count = 0;
+        switch (type) {
+            case LINE:
+                for (int i = 0, e = 0; i < size; i++, e += 2) {
+                    count += Line2f.SolveLinearEquation(equations[e + 1], equations[e], 0, roots);
+                }
+                break;
+            case QUADRATIC:
+                for (int i = 0, e = 0; i < size; i++, e += 3) {
+                    count += Quadratic2f.SolveQuadraticEquation(equations[e], equations[e + 1], equations[e + 2], 0,
+                            roots);
+                }
+                break;
+            default:
+                for (int i = 0, e = 0; i < size; i++, e += 4) {
+                    count += Cubic2f.SolveCubicEquation(equations[e], equations[e + 1], equations[e + 2],
+                            equations[e + 3], 0, roots);
+                }
+                break;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int solveBatch() {
+        return RootSolver.solveCubics(size, 0, terms[0], terms[1], terms[2], terms[3], false, 0, batchRoots, 0,
+                batchCounts);
+    }
+
+    @Benchmark
+    public int solveBatchUnit() {
+        return RootSolver.solveCubics(size, 0, terms[0], terms[1], terms[2], terms[3], true, 0, batchRoots, 0,
+                batchCounts);
+    }
+
+    @Benchmark
+    public int interceptsX() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += curves[i].getInterceptsX(0, roots);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int interceptsY() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += curves[i].getInterceptsY(0, roots);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+
+/**
+ * Intersecting curves with an evenly spaced set of horizontal scanlines over
+ * their {@code [-1, 1]} square, solving every scanline on its own compared to
+ * the batch query that walks the monotonic pieces of each curve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanlineBenchmark {
+
+    @Param({ "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "64", "1024" })
+    public int scanlines;
+
+    private static final int COUNT = 64;
+
+    private Bezier2f[] curves;
+    private float[] lines;
+    private float[] roots;
+    private int[] hits;
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, COUNT);
+        this.lines = new float[scanlines];
+        for (int i = 0; i < scanlines; i++) {
+            lines[i] = (i + 0.5f) / scanlines * 2 - 1;
+        }
+        this.roots = new float[scanlines * 3];
+        this.hits = new int[scanlines * 3];
+    }
+
+    @Benchmark
+    public int perScanline() {
+        int count = 0;
+        for (Bezier2f curve : curves) {
+            for (float y : lines) {
+                int found = curve.getInterceptsX(y, 0, roots);
+                for (int i = 0; i < found; i++) {
+                    if (roots[i] >= 0 && roots[i] <= 1) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int batch() {
+        int count = 0;
+        for (Bezier2f curve : curves) {
+            count += curve.getInterceptsX(lines, 0, scanlines, 0, hits, roots);
+        }
+        return count;
+    }
+}
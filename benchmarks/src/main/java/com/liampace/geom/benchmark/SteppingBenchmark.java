@@ -0,0 +1,74 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Stepper2f;
+
+/**
+ * Uniform stepping along a curve with forward differencing compared to
+ * evaluating every position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SteppingBenchmark {
+
+    @Param({ "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "16", "1024" })
+    public int steps;
+
+    private Bezier2f curve;
+    private final Stepper2f stepper = new Stepper2f();
+    private final Vector2f temp = new Vector2f();
+    private float[] dest;
+
+    @Setup
+    public void setup() {
+        this.curve = Curves.create(type, 1)[0];
+        this.dest = new float[(steps + 1) * 2];
+    }
+
+    @Benchmark
+    public float[] evaluate() {
+        for (int i = 0; i <= steps; i++) {
+            curve.getPosition((float) i / steps, temp);
+            dest[i * 2] = temp.x;
+            dest[i * 2 + 1] = temp.y;
+        }
+        return dest;
+    }
+
+    @Benchmark
+    public void stepper(Blackhole blackhole) {
+        curve.getStepper(steps, stepper);
+        while (stepper.hasNext()) {
+            blackhole.consume(stepper.next(temp));
+        }
+    }
+
+    @Benchmark
+    public float[] stepperBulk() {
+        curve.getStepper(steps, stepper).next(0, dest, null);
+        return dest;
+    }
+}
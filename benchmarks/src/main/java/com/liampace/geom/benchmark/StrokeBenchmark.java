@@ -0,0 +1,84 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.FloatList;
+import com.liampace.geom.Path2f;
+import com.liampace.geom.Stroker2f;
+
+/**
+ * Stroking curves into offset curves compared to sampling their normals into a
+ * polyline outline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrokeBenchmark {
+
+    @Param({ "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "64" })
+    public int samples;
+
+    private static final int COUNT = 256;
+    private static final float WIDTH = 0.05f;
+
+    private Bezier2f[] curves;
+    private final Stroker2f stroker = new Stroker2f().setWidth(WIDTH).setTolerance(1e-3f);
+    private final Path2f outline = new Path2f();
+    private final FloatList polyline = new FloatList();
+    private final Vector2f position = new Vector2f(), normal = new Vector2f();
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, COUNT);
+    }
+
+    @Benchmark
+    public Path2f stroke() {
+        outline.clear();
+        for (Bezier2f curve : curves) {
+            stroker.stroke(curve, outline);
+        }
+        return outline;
+    }
+
+    @Benchmark
+    public FloatList sampledNormals() {
+        polyline.clear();
+        float h = WIDTH * 0.5f;
+        for (Bezier2f curve : curves) {
+            for (int i = 0; i <= samples; i++) {
+                float t = (float) i / samples;
+                curve.getPosition(t, position);
+                curve.getNormalCCW(t, normal);
+                polyline.add(position.x + normal.x * h, position.y + normal.y * h);
+            }
+            for (int i = samples; i >= 0; i--) {
+                float t = (float) i / samples;
+                curve.getPosition(t, position);
+                curve.getNormalCCW(t, normal);
+                polyline.add(position.x - normal.x * h, position.y - normal.y * h);
+            }
+        }
+        return polyline;
+    }
+}
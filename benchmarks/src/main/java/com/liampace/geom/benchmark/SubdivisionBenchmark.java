@@ -0,0 +1,120 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.CurvePool2f;
+import com.liampace.geom.curves.Cubic2f;
+
+/**
+ * Recursive halving of cubics down to a fixed depth, constructing new curves
+ * for every split compared to splitting into pooled scratch curves and into a
+ * caller-owned array. Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubdivisionBenchmark {
+
+    @Param({ "8" })
+    public int depth;
+
+    private static final int COUNT = 16;
+
+    private Cubic2f[] curves;
+    private final CurvePool2f pool = new CurvePool2f();
+    private float[] stack;
+
+    @Setup
+    public void setup() {
+        Bezier2f[] random = Curves.create(Curves.Type.CUBIC, COUNT);
+        this.curves = new Cubic2f[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            curves[i] = (Cubic2f) random[i];
+        }
+        this.stack = new float[(depth + 1) * 16];
+    }
+
+    @Benchmark
+    public float allocating() {
+        float sum = 0;
+        for (Cubic2f curve : curves) {
+            sum += this.allocating(curve, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float pooled() {
+        float sum = 0;
+        for (Cubic2f curve : curves) {
+            sum += this.pooled(curve, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float array() {
+        float sum = 0;
+        for (Cubic2f curve : curves) {
+            Cubic2f.SubCurve(curve.getStart().x, curve.getStart().y, curve.getControlA().x, curve.getControlA().y,
+                    curve.getControlB().x, curve.getControlB().y, curve.getEnd().x, curve.getEnd().y, 0, 1, 0,
+                    stack);
+            sum += this.array(0, depth);
+        }
+        return sum;
+    }
+
+    private float allocating(Cubic2f curve, int level) {
+        if (level == 0) {
+            return curve.getEnd().x;
+        }
+        Cubic2f left = new Cubic2f(), right = new Cubic2f();
+        curve.split(0.5f, left, right);
+        return this.allocating(left, level - 1) + this.allocating(right, level - 1);
+    }
+
+    private float pooled(Cubic2f curve, int level) {
+        if (level == 0) {
+            return curve.getEnd().x;
+        }
+        int mark = pool.mark();
+        Cubic2f left = pool.cubic(), right = pool.cubic();
+        curve.split(0.5f, left, right);
+        float sum = this.pooled(left, level - 1) + this.pooled(right, level - 1);
+        pool.release(mark);
+        return sum;
+    }
+
+    /**
+     * Halves the curve at {@code stack[p]}, writing both halves to the next
+     * frame of the stack.
+     */
+    private float array(int p, int level) {
+        float[] s = stack;
+        if (level == 0) {
+            return s[p + 6];
+        }
+        int q = p + 16;
+        Cubic2f.Split(s[p], s[p + 1], s[p + 2], s[p + 3], s[p + 4], s[p + 5], s[p + 6], s[p + 7], 0.5f, q, s);
+        float sum = this.array(q, level - 1);
+        // The right half becomes the curve of the next frame
+        System.arraycopy(s, q + 8, s, q, 8);
+        return sum + this.array(q, level - 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.liampace.geom.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Path2f;
+import com.liampace.geom.SvgPathParser2f;
+
+/**
+ * Parsing of random SVG path data into a reused {@link Path2f}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SvgParsingBenchmark {
+
+    private static final String[] COMMANDS = { "L", "l", "H", "v", "C", "c", "S", "Q", "t", "A" };
+    private static final int[] ARGUMENTS = { 2, 2, 1, 1, 6, 6, 4, 4, 2, 7 };
+
+    @Param({ "1024", "65536" })
+    public int size;
+
+    private final SvgPathParser2f parser = new SvgPathParser2f();
+    private Path2f path;
+    private String data;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder("M0 0");
+        for (int i = 0; i < size; i++) {
+            int command = random.nextInt(COMMANDS.length);
+            builder.append(COMMANDS[command]);
+            for (int j = 0; j < ARGUMENTS[command]; j++) {
+                // Arc flags sit at the fourth and fifth argument
+                boolean flag = command == COMMANDS.length - 1 && (j == 3 || j == 4);
+                builder.append(flag ? random.nextInt(2) : random.nextInt(20000) / 100f - 100).append(' ');
+            }
+        }
+        this.data = builder.toString();
+        this.path = new Path2f(size * 4);
+    }
+
+    @Benchmark
+    public Path2f sequence() {
+        return parser.parse(data, path.clear());
+    }
+
+    @Benchmark
+    public Path2f reader() throws IOException {
+        return parser.parse(new StringReader(data), path.clear());
+    }
+}
@@ -0,0 +1,73 @@
+package com.liampace.geom.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix3x2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liampace.geom.Bezier2f;
+import com.liampace.geom.BezierBatch2f;
+
+/**
+ * Matrix transforms applied to curve objects and to a {@link BezierBatch2f}.
+ * The matrix is a pure rotation so repeated application keeps the points
+ * bounded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    @Param({ "LINE", "QUADRATIC", "CUBIC" })
+    public Curves.Type type;
+
+    @Param({ "1", "1024", "65536" })
+    public int size;
+
+    private Bezier2f[] curves;
+    private BezierBatch2f batch;
+    private final Matrix3x2f matrix = new Matrix3x2f().rotate(0.001f);
+
+    @Setup
+    public void setup() {
+        this.curves = Curves.create(type, size);
+        this.batch = new BezierBatch2f(size);
+        for (Bezier2f curve : curves) {
+            batch.add(curve);
+        }
+    }
+
+    @Benchmark
+    public Bezier2f[] transformPosition() {
+        for (int i = 0; i < size; i++) {
+            curves[i].transformPosition(matrix);
+        }
+        return curves;
+    }
+
+    @Benchmark
+    public Bezier2f[] transformDirection() {
+        for (int i = 0; i < size; i++) {
+            curves[i].transformDirection(matrix);
+        }
+        return curves;
+    }
+
+    @Benchmark
+    public BezierBatch2f batchTransformPosition() {
+        return batch.transformPosition(matrix);
+    }
+}
@@ -0,0 +1,213 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+
+import org.joml.Vector2f;
+
+/**
+ * A lazily built arc-length table attached to a bezier curve. The table maps
+ * interpolation factors to distances along the curve and back, which turns
+ * constant speed sampling into a binary search instead of a numerical
+ * integration per query.
+ * <p>
+ * The table is built on the first query and rebuilt whenever the
+ * {@link Bezier2fc#getVersion() version} of the curve has changed since it was
+ * last built. It is not thread-safe.
+ */
+public class ArcLength2f {
+
+    /**
+     * The default number of intervals the curve is divided into.
+     */
+    public static final int DEFAULT_RESOLUTION = 64;
+
+    // 5-point Gauss-Legendre nodes and weights on [-1, 1]
+    private static final double[] NODES = {
+            0.0,
+            -0.5384693101056831, 0.5384693101056831,
+            -0.9061798459386640, 0.9061798459386640 };
+    private static final double[] WEIGHTS = {
+            0.5688888888888889,
+            0.4786286704993665, 0.4786286704993665,
+            0.2369268850561891, 0.2369268850561891 };
+
+    private final Bezier2fc curve;
+    private final int resolution;
+    private final float[] lengths;
+    private final Vector2f temp = new Vector2f();
+    private long version;
+    private boolean built;
+
+    public ArcLength2f(Bezier2fc curve) {
+        this(curve, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Creates a table for {@code curve} that divides it into {@code resolution}
+     * intervals of equal parameter width. Lookups interpolate linearly inside an
+     * interval, so higher resolutions give more accurate results.
+     *
+     * @param curve      the curve to measure
+     * @param resolution the number of intervals, at least {@code 1}
+     */
+    public ArcLength2f(Bezier2fc curve, int resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException(
+                    "Expected a resolution of at least 1 but recieved: %s".formatted(resolution));
+        }
+        this.curve = curve;
+        this.resolution = resolution;
+        this.lengths = new float[resolution + 1];
+    }
+
+    /**
+     * Returns the curve this table measures.
+     *
+     * @return the curve
+     */
+    public Bezier2fc getCurve() {
+        return curve;
+    }
+
+    /**
+     * Returns the number of intervals the curve is divided into.
+     *
+     * @return the resolution
+     */
+    public int getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Forces the table to be rebuilt on the next query.
+     *
+     * @return {@code this}
+     */
+    public ArcLength2f invalidate() {
+        this.built = false;
+        return this;
+    }
+
+    /**
+     * Returns the total length of the curve.
+     *
+     * @return the length of the curve
+     */
+    public float getLength() {
+        this.validate();
+        return lengths[resolution];
+    }
+
+    /**
+     * Returns the distance along the curve from its start to the point at the
+     * interpolation factor {@code t}.
+     *
+     * @param t interpolation factor between [0-1] range
+     * @return distance along the curve
+     */
+    public float getDistance(float t) {
+        this.validate();
+        float position = Math.max(Math.min(t, 1), 0) * resolution;
+        int i = Math.min((int) position, resolution - 1);
+        float fraction = position - i;
+        return lengths[i] + (lengths[i + 1] - lengths[i]) * fraction;
+    }
+
+    /**
+     * Returns the interpolation factor of the point that lies {@code distance}
+     * along the curve from its start.
+     *
+     * @param distance distance along the curve, clamped to
+     *                 {@code [0, getLength()]}
+     * @return interpolation factor between [0-1] range
+     */
+    public float getT(float distance) {
+        this.validate();
+        if (!(distance > 0)) {
+            return 0;
+        }
+        if (distance >= lengths[resolution]) {
+            return 1;
+        }
+        int i = Arrays.binarySearch(lengths, distance);
+        if (i >= 0) {
+            // Skip zero length intervals so the first matching factor is returned
+            while (i > 0 && lengths[i - 1] == distance) {
+                i--;
+            }
+            return (float) i / resolution;
+        }
+        i = -i - 2;
+        float width = lengths[i + 1] - lengths[i];
+        float fraction = width > 0 ? (distance - lengths[i]) / width : 0;
+        return (i + fraction) / resolution;
+    }
+
+    /**
+     * Interpolates the point that lies {@code distance} along the curve from its
+     * start and stores it in {@code dest}.
+     *
+     * @param distance distance along the curve
+     * @param dest     will hold the result
+     * @return {@code dest}
+     */
+    public Vector2f getPosition(float distance, Vector2f dest) {
+        return curve.getPosition(this.getT(distance), dest);
+    }
+
+    private void validate() {
+        if (built && version == curve.getVersion()) {
+            return;
+        }
+        this.version = curve.getVersion();
+        double total = 0;
+        double width = 1.0 / resolution;
+        lengths[0] = 0;
+        for (int i = 0; i < resolution; i++) {
+            total += ArcLength2f.integrate(curve, (i + 0.5) * width, width, temp);
+            lengths[i + 1] = (float) total;
+        }
+        this.built = true;
+    }
+
+    /**
+     * Measures the whole length of a segment without building a table. The
+     * points of the segment are stored as interleaved {@code x, y} pairs in
+     * {@code p} starting at {@code index}, the layout of the segments of
+     * {@link Path2f}.
+     *
+     * @param p         the points of the segment
+     * @param index     the position of the first point in {@code p}
+     * @param degree    the degree of the segment
+     * @param intervals the number of intervals the quadrature is applied to
+     * @return the length of the segment
+     */
+    static float measure(float[] p, int index, int degree, int intervals) {
+        double total = 0;
+        double width = 1.0 / intervals;
+        for (int i = 0; i < intervals; i++) {
+            double center = (i + 0.5) * width, sum = 0;
+            for (int k = 0; k < NODES.length; k++) {
+                float t = (float) (center + NODES[k] * width * 0.5);
+                float dx = Path2f.derivative(p, degree, index, t), dy = Path2f.derivative(p, degree, index + 1, t);
+                sum += WEIGHTS[k] * Math.sqrt(dx * dx + dy * dy);
+            }
+            total += sum * width * 0.5 * degree;
+        }
+        return (float) total;
+    }
+
+    /**
+     * Gauss-Legendre quadrature of the speed of {@code curve} over the interval
+     * of the given width centered on {@code center}.
+     */
+    private static double integrate(Bezier2fc curve, double center, double width, Vector2f temp) {
+        double sum = 0;
+        for (int k = 0; k < NODES.length; k++) {
+            curve.getDerivative((float) (center + NODES[k] * width * 0.5), temp);
+            sum += WEIGHTS[k] * Math.sqrt(temp.x * temp.x + temp.y * temp.y);
+        }
+        // getDerivative returns the hodograph without the degree factor
+        return sum * width * 0.5 * (curve.getLength() - 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.liampace.geom;
+
+/**
+ * Evaluates bezier positions and derivatives for many interpolation factors or
+ * many curves at once. Implementations must use the exact same basis formulas
+ * as the static {@code Interpolate} methods of the curve classes.
+ *
+ * @see Interpolator2f
+ */
+interface BatchKernel {
+
+    /**
+     * Evaluates one curve, defined by the {@code degree + 1} points in
+     * {@code px} and {@code py}, at {@code count} interpolation factors.
+     */
+    void evaluate(int degree, boolean derivative, float[] px, float[] py, int count, int tIndex, float[] t,
+            int index, float[] destX, float[] destY);
+
+    /**
+     * Evaluates {@code count} curves stored in planar columns, where point
+     * {@code k} of curve {@code i} is found at {@code k * stride + i}, at the same
+     * interpolation factor.
+     */
+    void evaluate(int degree, boolean derivative, float[] x, float[] y, int stride, int from, int count, float t,
+            int index, float[] destX, float[] destY);
+}
@@ -0,0 +1,311 @@
+package com.liampace.geom;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Interface to a read-only view of a bezier curve.
+ * <p>
+ * This interface only declares the queries of a bezier curve, none of them
+ * modify its points. Every {@link Bezier2f} is a {@code Bezier2fc}, and the
+ * immutable curves of {@link com.liampace.geom.curves} implement it alone, so
+ * they can be shared between threads without copies or locks.
+ */
+public interface Bezier2fc {
+    /**
+     * Returns the number of points that define the bezier curve.
+     *
+     * @return the number of points that define the bezier curve
+     */
+    public int getLength();
+
+    /**
+     * Returns the point at the specified index of the bezier curve.
+     *
+     * @param index the index of the desired point
+     * @return the point at the specified index of the bezier curve
+     */
+    public Vector2fc getPoint(int index);
+
+    /**
+     * Returns a stamp that changes whenever the points of the bezier curve are
+     * modified through its setters, its transforms or
+     * {@link Bezier2f#invalidate()}. Derived data can store the stamp and
+     * compare it later to find out whether it is stale. The stamp of an
+     * immutable curve never changes.
+     *
+     * @return the modification stamp of the bezier curve
+     */
+    public long getVersion();
+
+    /**
+     * Interpolates between all points of the bezier curve using the given
+     * interpolation factor {@code t}. Then stores the result in {@code dest}.
+     * If {@code t} is {@code 0.0} the result is the bezier's starting point.
+     * If {@code t} is {@code 1.0} the result is the bezier's ending point.
+     *
+     * @param t    interpolation factor between [0-1] range
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Vector2f getPosition(float t, Vector2f dest);
+
+    /**
+     * Interpolates the derivative of the bezier curve using the given interpolation
+     * factor {@code t}. Then stores the result in {@code dest}.
+     *
+     * @param t    interpolation factor between [0-1] range
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Vector2f getDerivative(float t, Vector2f dest);
+
+    /**
+     * Calculates the derivative vector and normalizes it using the given
+     * interpolation factor {@code t}. Then stores the result in {@code dest}.
+     *
+     * @param t    interpolation factor between [0-1] range
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    default Vector2f getTangent(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize();
+    }
+
+    /**
+     * Calculates the tangent vector and rotates it +90 Degrees so that if the
+     * tangent was equal to {@code (1, 0)}, the result stored in {@code dest} would
+     * be {@code (0, 1)}.
+     *
+     * @param t    interpolation factor between [0-1] range
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    default Vector2f getNormalCCW(float t, Vector2f dest) {
+        return this.getTangent(t, dest).perpendicular();
+    }
+
+    /**
+     * Calculates the tangent vector and rotates it -90 Degrees so that if the
+     * tangent was equal to {@code (1, 0)}, the result stored in {@code dest} would
+     * be {@code (0, -1)}.
+     *
+     * @param t    interpolation factor between [0-1] range
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    default Vector2f getNormalCW(float t, Vector2f dest) {
+        return this.getNormalCCW(t, dest).negate();
+    }
+
+    /**
+     * Solves the bezier curve where the roots cross the X-Axis, aka when Y = 0.
+     *
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of this bezier curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    public int getInterceptsX(int index, float[] dest);
+
+    /**
+     * Solves the bezier curve where the roots cross the Y-Axis, aka when X = 0.
+     *
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of this bezier curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    public int getInterceptsY(int index, float[] dest);
+
+    /**
+     * Solves the bezier curve where it crosses the horizontal line at {@code y}.
+     *
+     * @param y     the Y coordinate of the line
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of this bezier curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    default int getInterceptsX(float y, int index, float[] dest) {
+        return Bezier2fc.intercepts(this, 1, y, index, dest);
+    }
+
+    /**
+     * Solves the bezier curve where it crosses the vertical line at {@code x}.
+     *
+     * @param x     the X coordinate of the line
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of this bezier curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    default int getInterceptsY(float x, int index, float[] dest) {
+        return Bezier2fc.intercepts(this, 0, x, index, dest);
+    }
+
+    /**
+     * Solves the power basis of one coordinate of the curve with {@code value}
+     * subtracted from its constant term, the equation the curves of this library
+     * solve and the one {@link ScanlineSolver} tests its scanlines against.
+     */
+    private static int intercepts(Bezier2fc curve, int axis, float value, int index, float[] dest) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                            Cubic2f.LENGTH, length));
+        }
+        float p0 = Bezier2fc.coordinate(curve.getPoint(0), axis), p1 = Bezier2fc.coordinate(curve.getPoint(1), axis);
+        if (length == Line2f.LENGTH) {
+            return Line2f.solve(p0 - value, p1 - value, index, dest);
+        }
+        float p2 = Bezier2fc.coordinate(curve.getPoint(2), axis);
+        if (length == Quadratic2f.LENGTH) {
+            return Quadratic2f.SolveQuadraticEquation(p0 - p1 * 2 + p2, (p1 - p0) * 2, p0 - value, index, dest);
+        }
+        float p3 = Bezier2fc.coordinate(curve.getPoint(3), axis);
+        return Cubic2f.SolveCubicEquation(-p0 + (p1 - p2) * 3 + p3, (p0 - p1 * 2 + p2) * 3, (p1 - p0) * 3,
+                p0 - value, index, dest);
+    }
+
+    private static float coordinate(Vector2fc point, int axis) {
+        return axis == 0 ? point.x() : point.y();
+    }
+
+    /**
+     * Solves the bezier curve where it crosses the line through {@code (x, y)}
+     * with the direction {@code (dx, dy)}. The signed distances of the points to
+     * the line form a one dimensional bezier curve whose roots are the
+     * intercepts.
+     *
+     * @param x     the X coordinate of a point on the line
+     * @param y     the Y coordinate of a point on the line
+     * @param dx    the X component of the direction of the line
+     * @param dy    the Y component of the direction of the line
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of this bezier curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    default int getIntercepts(float x, float y, float dx, float dy, int index, float[] dest) {
+        int length = this.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                            Cubic2f.LENGTH, length));
+        }
+        float d0 = Bezier2fc.distance(this.getPoint(0), x, y, dx, dy);
+        float d1 = Bezier2fc.distance(this.getPoint(1), x, y, dx, dy);
+        if (length == Line2f.LENGTH) {
+            return Line2f.solve(d0, d1, index, dest);
+        }
+        float d2 = Bezier2fc.distance(this.getPoint(2), x, y, dx, dy);
+        if (length == Quadratic2f.LENGTH) {
+            return Quadratic2f.SolveQuadraticBezier(d0, d1, d2, index, dest);
+        }
+        float d3 = Bezier2fc.distance(this.getPoint(3), x, y, dx, dy);
+        return Cubic2f.SolveCubicBezier(d0, d1, d2, d3, index, dest);
+    }
+
+    /**
+     * Signed distance of {@code point} to the line through {@code (x, y)} with
+     * the direction {@code (dx, dy)}, scaled by the length of the direction.
+     */
+    private static float distance(Vector2fc point, float x, float y, float dx, float dy) {
+        return (point.y() - y) * dx - (point.x() - x) * dy;
+    }
+
+    /**
+     * Solves the bezier curve where it crosses each of the horizontal lines at
+     * {@code scanlines[from]} to {@code scanlines[to - 1]} in one pass. Only hits
+     * within the {@code [0, 1]} range are reported, in ascending order of their
+     * interpolation factor, and the cost grows with the number of hits rather
+     * than the number of scanlines.
+     * <p>
+     * {@code lines} and {@code dest} need room for {@code getLength() - 1} hits
+     * per scanline in the worst case.
+     *
+     * @param scanlines the Y coordinates of the lines, sorted in ascending order
+     * @param from      the first scanline, inclusive
+     * @param to        the last scanline, exclusive
+     * @param index     the starting position of {@code lines} and {@code dest}
+     * @param lines     will hold the index within {@code scanlines} of each hit
+     * @param dest      will hold the interpolation factor of each hit
+     * @return number of hits found
+     */
+    default int getInterceptsX(float[] scanlines, int from, int to, int index, int[] lines, float[] dest) {
+        return ScanlineSolver.solve(this, 1, scanlines, from, to, index, lines, dest);
+    }
+
+    /**
+     * Solves the bezier curve where it crosses each of the vertical lines at
+     * {@code scanlines[from]} to {@code scanlines[to - 1]} in one pass, see
+     * {@link #getInterceptsX(float[], int, int, int, int[], float[])}.
+     *
+     * @param scanlines the X coordinates of the lines, sorted in ascending order
+     * @param from      the first scanline, inclusive
+     * @param to        the last scanline, exclusive
+     * @param index     the starting position of {@code lines} and {@code dest}
+     * @param lines     will hold the index within {@code scanlines} of each hit
+     * @param dest      will hold the interpolation factor of each hit
+     * @return number of hits found
+     */
+    default int getInterceptsY(float[] scanlines, int from, int to, int index, int[] lines, float[] dest) {
+        return ScanlineSolver.solve(this, 0, scanlines, from, to, index, lines, dest);
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of the bezier curve.
+     *
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int index, float[] dest);
+
+    /**
+     * Calculates the tight axis aligned bounding box of the bezier curve.
+     *
+     * @param min will hold the minimum corner
+     * @param max will hold the maximum corner
+     */
+    default void getBounds(Vector2f min, Vector2f max) {
+        float[] bounds = this.getBounds(0, new float[4]);
+        min.set(bounds[0], bounds[1]);
+        max.set(bounds[2], bounds[3]);
+    }
+
+    /**
+     * Calculates the interpolation factor of the point on the bezier curve that is
+     * closest to the given point. The points of the bezier are left untouched.
+     * <p>
+     * This creates a new {@link Projection2f} on every call, hot paths should
+     * keep their own context and use {@link Projection2f#project(Bezier2fc, float, float)}
+     * instead.
+     *
+     * @param position A 2D Cartesian Coordinate
+     * @return interpolation factor between the range of [0-1]
+     */
+    default float project(Vector2fc position) {
+        return new Projection2f().project(this, position.x(), position.y()).getT();
+    }
+
+    /**
+     * Starts walking the bezier curve in {@code steps} uniform intervals with
+     * forward differencing. The stepper copies the points, later modifications
+     * of the bezier curve require another call.
+     *
+     * @param steps the number of intervals, at least {@code 1}
+     * @param dest  the stepper to reset
+     * @return {@code dest}
+     */
+    default Stepper2f getStepper(int steps, Stepper2f dest) {
+        return dest.reset(this, steps);
+    }
+}
@@ -0,0 +1,643 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+
+import jdk.jfr.Event;
+
+import org.joml.Matrix3x2fc;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * A packed container of mixed-degree bezier curves. Control points of every
+ * curve are stored in two flat primitive columns ({@code x} and {@code y}),
+ * indexed by a per-curve offset and degree table, so that bulk operations walk
+ * contiguous memory instead of chasing {@link Vector2f} references.
+ * <p>
+ * All bulk operations delegate to the same static kernels used by
+ * {@link Line2f}, {@link Quadratic2f} and {@link Cubic2f}, so results are
+ * identical to the object API.
+ */
+public class BezierBatch2f {
+
+    /**
+     * The maximum number of roots a single curve in the batch can produce.
+     */
+    public static final int MAX_ROOTS = Cubic2f.LENGTH - 1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private float[] x, y;
+    private int[] offsets;
+    private byte[] degrees;
+    private int size;
+
+    public BezierBatch2f() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty batch with room for {@code capacity} cubic curves before
+     * any of its arrays need to grow.
+     *
+     * @param capacity the initial number of curves
+     */
+    public BezierBatch2f(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.x = new float[capacity * Cubic2f.LENGTH];
+        this.y = new float[capacity * Cubic2f.LENGTH];
+        this.offsets = new int[capacity + 1];
+        this.degrees = new byte[capacity];
+    }
+
+    /**
+     * Returns the number of curves stored in this batch.
+     *
+     * @return the number of curves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the total number of control points stored in this batch.
+     *
+     * @return the number of control points
+     */
+    public int getPointCount() {
+        return offsets[size];
+    }
+
+    /**
+     * Removes every curve from this batch while keeping the allocated storage.
+     *
+     * @return {@code this}
+     */
+    public BezierBatch2f clear() {
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * Returns the degree of the curve at the specified index, {@code 1} for lines,
+     * {@code 2} for quadratics and {@code 3} for cubics.
+     *
+     * @param curve the index of the curve
+     * @return the degree of the curve
+     */
+    public int getDegree(int curve) {
+        this.checkIndex(curve);
+        return degrees[curve];
+    }
+
+    /**
+     * Returns the number of points that define the curve at the specified index.
+     *
+     * @param curve the index of the curve
+     * @return the number of points that define the curve
+     */
+    public int getLength(int curve) {
+        return this.getDegree(curve) + 1;
+    }
+
+    /**
+     * Returns the index of the first control point of the specified curve within
+     * the {@link #getX() x} and {@link #getY() y} columns.
+     *
+     * @param curve the index of the curve
+     * @return the offset of the curve's first control point
+     */
+    public int getOffset(int curve) {
+        this.checkIndex(curve);
+        return offsets[curve];
+    }
+
+    /**
+     * Returns the backing X column. Only the first {@link #getPointCount()}
+     * values are meaningful and the array is replaced whenever the batch grows.
+     *
+     * @return the backing X column
+     */
+    public float[] getX() {
+        return x;
+    }
+
+    /**
+     * Returns the backing Y column. Only the first {@link #getPointCount()}
+     * values are meaningful and the array is replaced whenever the batch grows.
+     *
+     * @return the backing Y column
+     */
+    public float[] getY() {
+        return y;
+    }
+
+    /**
+     * Returns the control point at {@code index} of the specified curve and
+     * stores it in {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param index the index of the control point within the curve
+     * @param dest  will hold the result
+     * @return {@code dest}
+     */
+    public Vector2f getPoint(int curve, int index, Vector2f dest) {
+        int length = this.getLength(curve);
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(length - 1, index));
+        }
+        int p = offsets[curve] + index;
+        return dest.set(x[p], y[p]);
+    }
+
+    /**
+     * Appends a copy of the given curve to this batch.
+     *
+     * @param curve the curve to copy
+     * @return the index of the appended curve
+     */
+    public int add(Bezier2fc curve) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                            Cubic2f.LENGTH, length));
+        }
+        int p = this.append(length);
+        for (int i = 0; i < length; i++) {
+            Vector2fc point = curve.getPoint(i);
+            x[p + i] = point.x();
+            y[p + i] = point.y();
+        }
+        return size - 1;
+    }
+
+    /**
+     * Appends a line to this batch.
+     *
+     * @param x0 X coordinate of start point
+     * @param y0 Y coordinate of start point
+     * @param x1 X coordinate of end point
+     * @param y1 Y coordinate of end point
+     * @return the index of the appended curve
+     */
+    public int addLine(float x0, float y0, float x1, float y1) {
+        int p = this.append(Line2f.LENGTH);
+        x[p] = x0;
+        y[p] = y0;
+        x[p + 1] = x1;
+        y[p + 1] = y1;
+        return size - 1;
+    }
+
+    /**
+     * Appends a quadratic curve to this batch.
+     *
+     * @param x0 X coordinate of start point
+     * @param y0 Y coordinate of start point
+     * @param x1 X coordinate of control point
+     * @param y1 Y coordinate of control point
+     * @param x2 X coordinate of end point
+     * @param y2 Y coordinate of end point
+     * @return the index of the appended curve
+     */
+    public int addQuadratic(float x0, float y0, float x1, float y1, float x2, float y2) {
+        int p = this.append(Quadratic2f.LENGTH);
+        x[p] = x0;
+        y[p] = y0;
+        x[p + 1] = x1;
+        y[p + 1] = y1;
+        x[p + 2] = x2;
+        y[p + 2] = y2;
+        return size - 1;
+    }
+
+    /**
+     * Appends a cubic curve to this batch.
+     *
+     * @param x0 X coordinate of the starting point
+     * @param y0 Y coordinate of the starting point
+     * @param x1 X coordinate of the first control point
+     * @param y1 Y coordinate of the first control point
+     * @param x2 X coordinate of the second control point
+     * @param y2 Y coordinate of the second control point
+     * @param x3 X coordinate of the ending point
+     * @param y3 Y coordinate of the ending point
+     * @return the index of the appended curve
+     */
+    public int addCubic(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3) {
+        int p = this.append(Cubic2f.LENGTH);
+        x[p] = x0;
+        y[p] = y0;
+        x[p + 1] = x1;
+        y[p + 1] = y1;
+        x[p + 2] = x2;
+        y[p + 2] = y2;
+        x[p + 3] = x3;
+        y[p + 3] = y3;
+        return size - 1;
+    }
+
+    /**
+     * Overwrites the control points of the curve at {@code index} with the points
+     * of {@code curve}. Both curves must have the same degree.
+     *
+     * @param index the index of the curve to overwrite
+     * @param curve the curve to copy
+     * @return {@code this}
+     */
+    public BezierBatch2f set(int index, Bezier2fc curve) {
+        int length = this.getLength(index);
+        if (curve.getLength() != length) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with %s points but recieved: %s".formatted(length, curve.getLength()));
+        }
+        int p = offsets[index];
+        for (int i = 0; i < length; i++) {
+            Vector2fc point = curve.getPoint(i);
+            x[p + i] = point.x();
+            y[p + i] = point.y();
+        }
+        return this;
+    }
+
+    /**
+     * Creates a new curve object holding a copy of the curve at the specified
+     * index.
+     *
+     * @param curve the index of the curve
+     * @return a new {@link Line2f}, {@link Quadratic2f} or {@link Cubic2f}
+     */
+    public Bezier2f get(int curve) {
+        int p = this.getOffset(curve);
+        switch (degrees[curve]) {
+            case 1:
+                return new Line2f(x[p], y[p], x[p + 1], y[p + 1]);
+            case 2:
+                return new Quadratic2f(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2]);
+            default:
+                return new Cubic2f(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2], x[p + 3], y[p + 3]);
+        }
+    }
+
+    /**
+     * Interpolates the curve at the specified index using the given interpolation
+     * factor {@code t}. Then stores the result in {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2f#getPosition(float, Vector2f)
+     */
+    public Vector2f getPosition(int curve, float t, Vector2f dest) {
+        int p = this.getOffset(curve);
+        switch (degrees[curve]) {
+            case 1:
+                return Line2f.Interpolate(x[p], y[p], x[p + 1], y[p + 1], t, dest);
+            case 2:
+                return Quadratic2f.Interpolate(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2], t, dest);
+            default:
+                return Cubic2f.Interpolate(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2], x[p + 3], y[p + 3],
+                        t, dest);
+        }
+    }
+
+    /**
+     * Interpolates the derivative of the curve at the specified index using the
+     * given interpolation factor {@code t}. Then stores the result in
+     * {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2f#getDerivative(float, Vector2f)
+     */
+    public Vector2f getDerivative(int curve, float t, Vector2f dest) {
+        int p = this.getOffset(curve);
+        switch (degrees[curve]) {
+            case 1:
+                return dest.set(x[p + 1] - x[p], y[p + 1] - y[p]);
+            case 2:
+                return Line2f.Interpolate(x[p + 1] - x[p], y[p + 1] - y[p], x[p + 2] - x[p + 1], y[p + 2] - y[p + 1],
+                        t, dest);
+            default:
+                return Quadratic2f.Interpolate(
+                        x[p + 1] - x[p], y[p + 1] - y[p],
+                        x[p + 2] - x[p + 1], y[p + 2] - y[p + 1],
+                        x[p + 3] - x[p + 2], y[p + 3] - y[p + 2],
+                        t, dest);
+        }
+    }
+
+    /**
+     * Interpolates every curve in the range {@code [from, to)} at the same
+     * interpolation factor {@code t}, storing the results as interleaved
+     * {@code x, y} pairs in {@code dest} starting at {@code index}.
+     *
+     * @param from  the first curve, inclusive
+     * @param to    the last curve, exclusive
+     * @param t     interpolation factor between [0-1] range
+     * @param index the starting position of {@code dest} in which the results
+     *              will be written to
+     * @param dest  will hold {@code 2 * (to - from)} values
+     * @return number of values written
+     */
+    public int getPosition(int from, int to, float t, int index, float[] dest) {
+        this.checkRange(from, to);
+        Vector2f temp = new Vector2f();
+        for (int i = from, d = index; i < to; i++, d += 2) {
+            this.getPosition(i, t, temp);
+            dest[d] = temp.x;
+            dest[d + 1] = temp.y;
+        }
+        return (to - from) * 2;
+    }
+
+    /**
+     * Interpolates every curve in the range {@code [from, to)} with its own
+     * interpolation factor, {@code t[tIndex + (i - from)]} for curve {@code i},
+     * storing the results as interleaved {@code x, y} pairs in {@code dest}
+     * starting at {@code index}.
+     *
+     * @param from   the first curve, inclusive
+     * @param to     the last curve, exclusive
+     * @param tIndex the starting position of {@code t}
+     * @param t      interpolation factors between [0-1] range
+     * @param index  the starting position of {@code dest} in which the results
+     *               will be written to
+     * @param dest   will hold {@code 2 * (to - from)} values
+     * @return number of values written
+     */
+    public int getPosition(int from, int to, int tIndex, float[] t, int index, float[] dest) {
+        this.checkRange(from, to);
+        Vector2f temp = new Vector2f();
+        for (int i = from, s = tIndex, d = index; i < to; i++, s++, d += 2) {
+            this.getPosition(i, t[s], temp);
+            dest[d] = temp.x;
+            dest[d + 1] = temp.y;
+        }
+        return (to - from) * 2;
+    }
+
+    /**
+     * Interpolates the derivative of every curve in the range {@code [from, to)}
+     * at the same interpolation factor {@code t}, storing the results as
+     * interleaved {@code x, y} pairs in {@code dest} starting at {@code index}.
+     *
+     * @param from  the first curve, inclusive
+     * @param to    the last curve, exclusive
+     * @param t     interpolation factor between [0-1] range
+     * @param index the starting position of {@code dest} in which the results
+     *              will be written to
+     * @param dest  will hold {@code 2 * (to - from)} values
+     * @return number of values written
+     */
+    public int getDerivative(int from, int to, float t, int index, float[] dest) {
+        this.checkRange(from, to);
+        Vector2f temp = new Vector2f();
+        for (int i = from, d = index; i < to; i++, d += 2) {
+            this.getDerivative(i, t, temp);
+            dest[d] = temp.x;
+            dest[d + 1] = temp.y;
+        }
+        return (to - from) * 2;
+    }
+
+    /**
+     * Solves the curve at the specified index where it crosses the X-Axis, aka
+     * when Y = 0.
+     *
+     * @param curve the index of the curve
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of the curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     * @see Bezier2f#getInterceptsX(int, float[])
+     */
+    public int getInterceptsX(int curve, int index, float[] dest) {
+        return this.solve(curve, y, index, dest);
+    }
+
+    /**
+     * Solves the curve at the specified index where it crosses the Y-Axis, aka
+     * when X = 0.
+     *
+     * @param curve the index of the curve
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of the curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     * @see Bezier2f#getInterceptsY(int, float[])
+     */
+    public int getInterceptsY(int curve, int index, float[] dest) {
+        return this.solve(curve, x, index, dest);
+    }
+
+    /**
+     * Solves every curve in the range {@code [from, to)} where it crosses the
+     * X-Axis. The roots of curve {@code i} are written to {@code dest} starting
+     * at {@code index + (i - from) * MAX_ROOTS} and their count is written to
+     * {@code counts[countIndex + (i - from)]}.
+     *
+     * @param from       the first curve, inclusive
+     * @param to         the last curve, exclusive
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * (to - from)} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @return total number of roots found
+     */
+    public int getInterceptsX(int from, int to, int index, float[] dest, int countIndex, int[] counts) {
+        return this.solve(from, to, y, index, dest, countIndex, counts);
+    }
+
+    /**
+     * Solves every curve in the range {@code [from, to)} where it crosses the
+     * Y-Axis. The roots of curve {@code i} are written to {@code dest} starting
+     * at {@code index + (i - from) * MAX_ROOTS} and their count is written to
+     * {@code counts[countIndex + (i - from)]}.
+     *
+     * @param from       the first curve, inclusive
+     * @param to         the last curve, exclusive
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * (to - from)} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @return total number of roots found
+     */
+    public int getInterceptsY(int from, int to, int index, float[] dest, int countIndex, int[] counts) {
+        return this.solve(from, to, x, index, dest, countIndex, counts);
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of the curve at the specified
+     * index.
+     *
+     * @param curve the index of the curve
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     * @see Bezier2f#getBounds(int, float[])
+     */
+    public float[] getBounds(int curve, int index, float[] dest) {
+        int p = this.getOffset(curve);
+        switch (degrees[curve]) {
+            case 1:
+                return Line2f.Bounds(x[p], y[p], x[p + 1], y[p + 1], index, dest);
+            case 2:
+                return Quadratic2f.Bounds(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2], index, dest);
+            default:
+                return Cubic2f.Bounds(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2], x[p + 3], y[p + 3], index,
+                        dest);
+        }
+    }
+
+    /**
+     * Calculates the bounding box of every curve in the range {@code [from, to)},
+     * the bounds of curve {@code i} are written to {@code dest} starting at
+     * {@code index + (i - from) * 4}.
+     *
+     * @param from  the first curve, inclusive
+     * @param to    the last curve, exclusive
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code 4 * (to - from)} values
+     * @return number of values written
+     */
+    public int getBounds(int from, int to, int index, float[] dest) {
+        this.checkRange(from, to);
+        for (int i = from, d = index; i < to; i++, d += 4) {
+            this.getBounds(i, d, dest);
+        }
+        return (to - from) * 4;
+    }
+
+    /**
+     * Multiplies each point of the curves in the range {@code [from, to)} with the
+     * supplied matrix as if it was a 3D-vector with z=1.
+     *
+     * @param from   the first curve, inclusive
+     * @param to     the last curve, exclusive
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public BezierBatch2f transformPosition(int from, int to, Matrix3x2fc matrix) {
+        this.checkRange(from, to);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        Vector2f temp = new Vector2f();
+        for (int p = offsets[from], end = offsets[to]; p < end; p++) {
+            matrix.transformPosition(temp.set(x[p], y[p]));
+            x[p] = temp.x;
+            y[p] = temp.y;
+        }
+        Metrics.transformed(offsets[to] - offsets[from], started, event);
+        return this;
+    }
+
+    /**
+     * Multiplies each point of the curves in the range {@code [from, to)} with the
+     * supplied matrix as if it was a 3D-vector with z=0.
+     *
+     * @param from   the first curve, inclusive
+     * @param to     the last curve, exclusive
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public BezierBatch2f transformDirection(int from, int to, Matrix3x2fc matrix) {
+        this.checkRange(from, to);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        Vector2f temp = new Vector2f();
+        for (int p = offsets[from], end = offsets[to]; p < end; p++) {
+            matrix.transformDirection(temp.set(x[p], y[p]));
+            x[p] = temp.x;
+            y[p] = temp.y;
+        }
+        Metrics.transformed(offsets[to] - offsets[from], started, event);
+        return this;
+    }
+
+    /**
+     * Multiplies each point of every curve with the supplied matrix as if it was a
+     * 3D-vector with z=1.
+     *
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public BezierBatch2f transformPosition(Matrix3x2fc matrix) {
+        return this.transformPosition(0, size, matrix);
+    }
+
+    /**
+     * Multiplies each point of every curve with the supplied matrix as if it was a
+     * 3D-vector with z=0.
+     *
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public BezierBatch2f transformDirection(Matrix3x2fc matrix) {
+        return this.transformDirection(0, size, matrix);
+    }
+
+    private int solve(int curve, float[] axis, int index, float[] dest) {
+        int p = this.getOffset(curve);
+        switch (degrees[curve]) {
+            case 1:
+                return Line2f.solve(axis[p], axis[p + 1], index, dest);
+            case 2:
+                return Quadratic2f.SolveQuadraticBezier(axis[p], axis[p + 1], axis[p + 2], index, dest);
+            default:
+                return Cubic2f.SolveCubicBezier(axis[p], axis[p + 1], axis[p + 2], axis[p + 3], index, dest);
+        }
+    }
+
+    private int solve(int from, int to, float[] axis, int index, float[] dest, int countIndex, int[] counts) {
+        this.checkRange(from, to);
+        int total = 0;
+        for (int i = from, d = index, c = countIndex; i < to; i++, d += MAX_ROOTS, c++) {
+            int count = this.solve(i, axis, d, dest);
+            counts[c] = count;
+            total += count;
+        }
+        return total;
+    }
+
+    private int append(int length) {
+        int p = offsets[size];
+        if (size == degrees.length) {
+            int capacity = degrees.length * 2;
+            this.degrees = Arrays.copyOf(degrees, capacity);
+            this.offsets = Arrays.copyOf(offsets, capacity + 1);
+        }
+        if (p + length > x.length) {
+            int capacity = Math.max(x.length * 2, p + length);
+            this.x = Arrays.copyOf(x, capacity);
+            this.y = Arrays.copyOf(y, capacity);
+        }
+        degrees[size] = (byte) (length - 1);
+        offsets[++size] = p + length;
+        return p;
+    }
+
+    private void checkIndex(int curve) {
+        if (curve < 0 || curve >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(size - 1, curve));
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Expected range within [0-%s] but recieved: [%s-%s)".formatted(size, from, to));
+        }
+    }
+}
@@ -0,0 +1,684 @@
+package com.liampace.geom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.joml.Matrix3x2fc;
+import org.joml.Vector2f;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.ImmutableCubic2f;
+import com.liampace.geom.curves.ImmutableLine2f;
+import com.liampace.geom.curves.ImmutableQuadratic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Bulk operations over collections of bezier curves, run in parallel on a
+ * {@link ForkJoinPool}. Results for curve {@code i} of {@code curves} are
+ * written to fixed positions of primitive output arrays, so they do not depend
+ * on how the work is split. Every operation has an overload for arrays of
+ * curves, which views them through {@link Arrays#asList(Object...)} without
+ * copying, lists without random access are copied first.
+ * <p>
+ * The curves are split into ranges of roughly {@link #TASKS_PER_THREAD} tasks
+ * per worker of the pool, but never smaller than {@link #MIN_GRAIN} curves.
+ * Collections that fit in a single range run on the calling thread. The same
+ * curve instance must not appear twice in a collection passed to the
+ * transforms.
+ * <p>
+ * The single curve operations test the concrete class of the curve before
+ * calling it, so loops over mixed curve types call each class through a type
+ * check the JIT can inline instead of through a megamorphic interface call.
+ * Curves of other classes fall back to the interface.
+ */
+public final class Beziers2f {
+
+    /**
+     * The smallest number of curves processed by a single task.
+     */
+    public static final int MIN_GRAIN = 512;
+
+    /**
+     * The number of tasks each worker of a pool is given, so that workers that
+     * finish early can steal from the others.
+     */
+    public static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * The stride of the roots of consecutive curves written by the intercept
+     * operations.
+     */
+    public static final int MAX_ROOTS = BezierBatch2f.MAX_ROOTS;
+
+    private Beziers2f() {
+    }
+
+    /**
+     * Interpolates {@code curve} at the interpolation factor {@code t}, calling
+     * the concrete class directly.
+     *
+     * @param curve the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2fc#getPosition(float, Vector2f)
+     */
+    public static Vector2f getPosition(Bezier2fc curve, float t, Vector2f dest) {
+        if (curve instanceof Cubic2f cubic) {
+            return cubic.getPosition(t, dest);
+        } else if (curve instanceof Quadratic2f quadratic) {
+            return quadratic.getPosition(t, dest);
+        } else if (curve instanceof Line2f line) {
+            return line.getPosition(t, dest);
+        } else if (curve instanceof ImmutableCubic2f cubic) {
+            return cubic.getPosition(t, dest);
+        } else if (curve instanceof ImmutableQuadratic2f quadratic) {
+            return quadratic.getPosition(t, dest);
+        } else if (curve instanceof ImmutableLine2f line) {
+            return line.getPosition(t, dest);
+        }
+        return curve.getPosition(t, dest);
+    }
+
+    /**
+     * Interpolates the derivative of {@code curve} at the interpolation factor
+     * {@code t}, calling the concrete class directly.
+     *
+     * @param curve the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2fc#getDerivative(float, Vector2f)
+     */
+    public static Vector2f getDerivative(Bezier2fc curve, float t, Vector2f dest) {
+        if (curve instanceof Cubic2f cubic) {
+            return cubic.getDerivative(t, dest);
+        } else if (curve instanceof Quadratic2f quadratic) {
+            return quadratic.getDerivative(t, dest);
+        } else if (curve instanceof Line2f line) {
+            return line.getDerivative(t, dest);
+        } else if (curve instanceof ImmutableCubic2f cubic) {
+            return cubic.getDerivative(t, dest);
+        } else if (curve instanceof ImmutableQuadratic2f quadratic) {
+            return quadratic.getDerivative(t, dest);
+        } else if (curve instanceof ImmutableLine2f line) {
+            return line.getDerivative(t, dest);
+        }
+        return curve.getDerivative(t, dest);
+    }
+
+    /**
+     * Calculates the normalized derivative of {@code curve} at the
+     * interpolation factor {@code t}, calling the concrete class directly.
+     *
+     * @param curve the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2fc#getTangent(float, Vector2f)
+     */
+    public static Vector2f getTangent(Bezier2fc curve, float t, Vector2f dest) {
+        return Beziers2f.getDerivative(curve, t, dest).normalize();
+    }
+
+    /**
+     * Calculates the tangent of {@code curve} at the interpolation factor
+     * {@code t} rotated +90 Degrees, calling the concrete class directly.
+     *
+     * @param curve the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2fc#getNormalCCW(float, Vector2f)
+     */
+    public static Vector2f getNormalCCW(Bezier2fc curve, float t, Vector2f dest) {
+        return Beziers2f.getDerivative(curve, t, dest).normalize().perpendicular();
+    }
+
+    /**
+     * Calculates the tangent of {@code curve} at the interpolation factor
+     * {@code t} rotated -90 Degrees, calling the concrete class directly.
+     *
+     * @param curve the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2fc#getNormalCW(float, Vector2f)
+     */
+    public static Vector2f getNormalCW(Bezier2fc curve, float t, Vector2f dest) {
+        return Beziers2f.getDerivative(curve, t, dest).normalize().perpendicular().negate();
+    }
+
+    /**
+     * Solves {@code curve} where it crosses the X-Axis, calling the concrete
+     * class directly.
+     *
+     * @param curve the curve
+     * @param index starting index position for storing the roots
+     * @param dest  will hold the roots starting at index {@code index}
+     * @return number of roots found
+     * @see Bezier2fc#getInterceptsX(int, float[])
+     */
+    public static int getInterceptsX(Bezier2fc curve, int index, float[] dest) {
+        if (curve instanceof Cubic2f cubic) {
+            return cubic.getInterceptsX(index, dest);
+        } else if (curve instanceof Quadratic2f quadratic) {
+            return quadratic.getInterceptsX(index, dest);
+        } else if (curve instanceof Line2f line) {
+            return line.getInterceptsX(index, dest);
+        } else if (curve instanceof ImmutableCubic2f cubic) {
+            return cubic.getInterceptsX(index, dest);
+        } else if (curve instanceof ImmutableQuadratic2f quadratic) {
+            return quadratic.getInterceptsX(index, dest);
+        } else if (curve instanceof ImmutableLine2f line) {
+            return line.getInterceptsX(index, dest);
+        }
+        return curve.getInterceptsX(index, dest);
+    }
+
+    /**
+     * Solves {@code curve} where it crosses the Y-Axis, calling the concrete
+     * class directly.
+     *
+     * @param curve the curve
+     * @param index starting index position for storing the roots
+     * @param dest  will hold the roots starting at index {@code index}
+     * @return number of roots found
+     * @see Bezier2fc#getInterceptsY(int, float[])
+     */
+    public static int getInterceptsY(Bezier2fc curve, int index, float[] dest) {
+        if (curve instanceof Cubic2f cubic) {
+            return cubic.getInterceptsY(index, dest);
+        } else if (curve instanceof Quadratic2f quadratic) {
+            return quadratic.getInterceptsY(index, dest);
+        } else if (curve instanceof Line2f line) {
+            return line.getInterceptsY(index, dest);
+        } else if (curve instanceof ImmutableCubic2f cubic) {
+            return cubic.getInterceptsY(index, dest);
+        } else if (curve instanceof ImmutableQuadratic2f quadratic) {
+            return quadratic.getInterceptsY(index, dest);
+        } else if (curve instanceof ImmutableLine2f line) {
+            return line.getInterceptsY(index, dest);
+        }
+        return curve.getInterceptsY(index, dest);
+    }
+
+    /**
+     * Calculates the tight bounding box of {@code curve}, calling the concrete
+     * class directly.
+     *
+     * @param curve the curve
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     * @see Bezier2fc#getBounds(int, float[])
+     */
+    public static float[] getBounds(Bezier2fc curve, int index, float[] dest) {
+        if (curve instanceof Cubic2f cubic) {
+            return cubic.getBounds(index, dest);
+        } else if (curve instanceof Quadratic2f quadratic) {
+            return quadratic.getBounds(index, dest);
+        } else if (curve instanceof Line2f line) {
+            return line.getBounds(index, dest);
+        } else if (curve instanceof ImmutableCubic2f cubic) {
+            return cubic.getBounds(index, dest);
+        } else if (curve instanceof ImmutableQuadratic2f quadratic) {
+            return quadratic.getBounds(index, dest);
+        } else if (curve instanceof ImmutableLine2f line) {
+            return line.getBounds(index, dest);
+        }
+        return curve.getBounds(index, dest);
+    }
+
+    /**
+     * Interpolates every curve at the same interpolation factor {@code t},
+     * storing the results as interleaved {@code x, y} pairs in {@code dest}
+     * starting at {@code index}.
+     *
+     * @param curves the curves
+     * @param t      interpolation factor between [0-1] range
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 2 * curves.size()} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getPosition(List<? extends Bezier2fc> curves, float t, int index, float[] dest,
+            ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            Vector2f temp = new Vector2f();
+            for (int i = from, d = index + from * 2; i < to; i++, d += 2) {
+                Beziers2f.getPosition(list.get(i), t, temp);
+                dest[d] = temp.x;
+                dest[d + 1] = temp.y;
+            }
+            return 0;
+        });
+        return dest;
+    }
+
+    /**
+     * Interpolates every curve with its own interpolation factor,
+     * {@code t[tIndex + i]} for curve {@code i}, storing the results as
+     * interleaved {@code x, y} pairs in {@code dest} starting at {@code index}.
+     *
+     * @param curves the curves
+     * @param tIndex the starting position of {@code t}
+     * @param t      interpolation factors between [0-1] range
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 2 * curves.size()} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getPosition(List<? extends Bezier2fc> curves, int tIndex, float[] t, int index,
+            float[] dest, ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            Vector2f temp = new Vector2f();
+            for (int i = from, d = index + from * 2; i < to; i++, d += 2) {
+                Beziers2f.getPosition(list.get(i), t[tIndex + i], temp);
+                dest[d] = temp.x;
+                dest[d + 1] = temp.y;
+            }
+            return 0;
+        });
+        return dest;
+    }
+
+    /**
+     * Interpolates the derivative of every curve at the same interpolation
+     * factor {@code t}, storing the results as interleaved {@code x, y} pairs
+     * in {@code dest} starting at {@code index}.
+     *
+     * @param curves the curves
+     * @param t      interpolation factor between [0-1] range
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 2 * curves.size()} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getDerivative(List<? extends Bezier2fc> curves, float t, int index, float[] dest,
+            ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            Vector2f temp = new Vector2f();
+            for (int i = from, d = index + from * 2; i < to; i++, d += 2) {
+                Beziers2f.getDerivative(list.get(i), t, temp);
+                dest[d] = temp.x;
+                dest[d + 1] = temp.y;
+            }
+            return 0;
+        });
+        return dest;
+    }
+
+    /**
+     * Calculates the tight bounding box of every curve, the bounds of curve
+     * {@code i} are written to {@code dest} starting at {@code index + i * 4}.
+     *
+     * @param curves the curves
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 4 * curves.size()} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getBounds(List<? extends Bezier2fc> curves, int index, float[] dest, ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            for (int i = from, d = index + from * 4; i < to; i++, d += 4) {
+                Beziers2f.getBounds(list.get(i), d, dest);
+            }
+            return 0;
+        });
+        return dest;
+    }
+
+    /**
+     * Projects the point {@code (px, py)} onto every curve, the interpolation
+     * factor of the closest point on curve {@code i} is written to
+     * {@code dest[index + i]}.
+     *
+     * @param curves the curves
+     * @param px     X coordinate of the point
+     * @param py     Y coordinate of the point
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code curves.size()} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     * @see Projection2f#project(Bezier2fc, float, float)
+     */
+    public static float[] project(List<? extends Bezier2fc> curves, float px, float py, int index, float[] dest,
+            ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            Projection2f projection = new Projection2f();
+            for (int i = from; i < to; i++) {
+                dest[index + i] = projection.project(list.get(i), px, py).getT();
+            }
+            return 0;
+        });
+        return dest;
+    }
+
+    /**
+     * Projects one point per curve, the point of curve {@code i} is read from
+     * {@code points} at {@code pointIndex + i * 2} and the interpolation factor
+     * of the closest point is written to {@code dest[index + i]}.
+     *
+     * @param curves     the curves
+     * @param pointIndex the starting position of {@code points}
+     * @param points     interleaved {@code x, y} pairs
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code curves.size()} values
+     * @param pool       the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] project(List<? extends Bezier2fc> curves, int pointIndex, float[] points, int index,
+            float[] dest, ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            Projection2f projection = new Projection2f();
+            for (int i = from, p = pointIndex + from * 2; i < to; i++, p += 2) {
+                dest[index + i] = projection.project(list.get(i), points[p], points[p + 1]).getT();
+            }
+            return 0;
+        });
+        return dest;
+    }
+
+    /**
+     * Solves every curve where it crosses the X-Axis. The roots of curve
+     * {@code i} are written to {@code dest} starting at
+     * {@code index + i * MAX_ROOTS} and their count is written to
+     * {@code counts[countIndex + i]}.
+     *
+     * @param curves     the curves
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * curves.size()} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @param pool       the pool to run on
+     * @return total number of roots found
+     * @see Bezier2fc#getInterceptsX(int, float[])
+     */
+    public static int getInterceptsX(List<? extends Bezier2fc> curves, int index, float[] dest, int countIndex,
+            int[] counts, ForkJoinPool pool) {
+        return Beziers2f.run(curves, pool, (list, from, to) -> {
+            int total = 0;
+            for (int i = from; i < to; i++) {
+                int found = Beziers2f.getInterceptsX(list.get(i), index + i * MAX_ROOTS, dest);
+                counts[countIndex + i] = found;
+                total += found;
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Solves every curve where it crosses the Y-Axis. The roots of curve
+     * {@code i} are written to {@code dest} starting at
+     * {@code index + i * MAX_ROOTS} and their count is written to
+     * {@code counts[countIndex + i]}.
+     *
+     * @param curves     the curves
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * curves.size()} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @param pool       the pool to run on
+     * @return total number of roots found
+     * @see Bezier2fc#getInterceptsY(int, float[])
+     */
+    public static int getInterceptsY(List<? extends Bezier2fc> curves, int index, float[] dest, int countIndex,
+            int[] counts, ForkJoinPool pool) {
+        return Beziers2f.run(curves, pool, (list, from, to) -> {
+            int total = 0;
+            for (int i = from; i < to; i++) {
+                int found = Beziers2f.getInterceptsY(list.get(i), index + i * MAX_ROOTS, dest);
+                counts[countIndex + i] = found;
+                total += found;
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Multiplies each point of every curve with the supplied matrix as if it was
+     * a 3D-vector with z=1.
+     *
+     * @param curves the curves
+     * @param matrix 3x2 read only matrix
+     * @param pool   the pool to run on
+     */
+    public static void transformPosition(List<? extends Bezier2f> curves, Matrix3x2fc matrix, ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            for (int i = from; i < to; i++) {
+                list.get(i).transformPosition(matrix);
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * Multiplies each point of every curve with the supplied matrix as if it was
+     * a 3D-vector with z=0.
+     *
+     * @param curves the curves
+     * @param matrix 3x2 read only matrix
+     * @param pool   the pool to run on
+     */
+    public static void transformDirection(List<? extends Bezier2f> curves, Matrix3x2fc matrix, ForkJoinPool pool) {
+        Beziers2f.run(curves, pool, (list, from, to) -> {
+            for (int i = from; i < to; i++) {
+                list.get(i).transformDirection(matrix);
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * Interpolates every curve of an array, see
+     * {@link #getPosition(List, float, int, float[], ForkJoinPool)}.
+     *
+     * @param curves the curves
+     * @param t      interpolation factor between [0-1] range
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 2 * curves.length} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getPosition(Bezier2fc[] curves, float t, int index, float[] dest, ForkJoinPool pool) {
+        return Beziers2f.getPosition(Arrays.asList(curves), t, index, dest, pool);
+    }
+
+    /**
+     * Interpolates every curve of an array with its own interpolation factor,
+     * see {@link #getPosition(List, int, float[], int, float[], ForkJoinPool)}.
+     *
+     * @param curves the curves
+     * @param tIndex the starting position of {@code t}
+     * @param t      interpolation factors between [0-1] range
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 2 * curves.length} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getPosition(Bezier2fc[] curves, int tIndex, float[] t, int index, float[] dest,
+            ForkJoinPool pool) {
+        return Beziers2f.getPosition(Arrays.asList(curves), tIndex, t, index, dest, pool);
+    }
+
+    /**
+     * Interpolates the derivative of every curve of an array, see
+     * {@link #getDerivative(List, float, int, float[], ForkJoinPool)}.
+     *
+     * @param curves the curves
+     * @param t      interpolation factor between [0-1] range
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 2 * curves.length} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getDerivative(Bezier2fc[] curves, float t, int index, float[] dest, ForkJoinPool pool) {
+        return Beziers2f.getDerivative(Arrays.asList(curves), t, index, dest, pool);
+    }
+
+    /**
+     * Calculates the tight bounding box of every curve of an array, see
+     * {@link #getBounds(List, int, float[], ForkJoinPool)}.
+     *
+     * @param curves the curves
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code 4 * curves.length} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] getBounds(Bezier2fc[] curves, int index, float[] dest, ForkJoinPool pool) {
+        return Beziers2f.getBounds(Arrays.asList(curves), index, dest, pool);
+    }
+
+    /**
+     * Projects the point {@code (px, py)} onto every curve of an array, see
+     * {@link #project(List, float, float, int, float[], ForkJoinPool)}.
+     *
+     * @param curves the curves
+     * @param px     X coordinate of the point
+     * @param py     Y coordinate of the point
+     * @param index  the starting position of {@code dest}
+     * @param dest   will hold {@code curves.length} values
+     * @param pool   the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] project(Bezier2fc[] curves, float px, float py, int index, float[] dest,
+            ForkJoinPool pool) {
+        return Beziers2f.project(Arrays.asList(curves), px, py, index, dest, pool);
+    }
+
+    /**
+     * Projects one point per curve of an array, see
+     * {@link #project(List, int, float[], int, float[], ForkJoinPool)}.
+     *
+     * @param curves     the curves
+     * @param pointIndex the starting position of {@code points}
+     * @param points     interleaved {@code x, y} pairs
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code curves.length} values
+     * @param pool       the pool to run on
+     * @return {@code dest}
+     */
+    public static float[] project(Bezier2fc[] curves, int pointIndex, float[] points, int index, float[] dest,
+            ForkJoinPool pool) {
+        return Beziers2f.project(Arrays.asList(curves), pointIndex, points, index, dest, pool);
+    }
+
+    /**
+     * Solves every curve of an array where it crosses the X-Axis, see
+     * {@link #getInterceptsX(List, int, float[], int, int[], ForkJoinPool)}.
+     *
+     * @param curves     the curves
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * curves.length} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @param pool       the pool to run on
+     * @return total number of roots found
+     */
+    public static int getInterceptsX(Bezier2fc[] curves, int index, float[] dest, int countIndex, int[] counts,
+            ForkJoinPool pool) {
+        return Beziers2f.getInterceptsX(Arrays.asList(curves), index, dest, countIndex, counts, pool);
+    }
+
+    /**
+     * Solves every curve of an array where it crosses the Y-Axis, see
+     * {@link #getInterceptsY(List, int, float[], int, int[], ForkJoinPool)}.
+     *
+     * @param curves     the curves
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * curves.length} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @param pool       the pool to run on
+     * @return total number of roots found
+     */
+    public static int getInterceptsY(Bezier2fc[] curves, int index, float[] dest, int countIndex, int[] counts,
+            ForkJoinPool pool) {
+        return Beziers2f.getInterceptsY(Arrays.asList(curves), index, dest, countIndex, counts, pool);
+    }
+
+    /**
+     * Multiplies each point of every curve of an array with the supplied matrix
+     * as if it was a 3D-vector with z=1.
+     *
+     * @param curves the curves
+     * @param matrix 3x2 read only matrix
+     * @param pool   the pool to run on
+     */
+    public static void transformPosition(Bezier2f[] curves, Matrix3x2fc matrix, ForkJoinPool pool) {
+        Beziers2f.transformPosition(Arrays.asList(curves), matrix, pool);
+    }
+
+    /**
+     * Multiplies each point of every curve of an array with the supplied matrix
+     * as if it was a 3D-vector with z=0.
+     *
+     * @param curves the curves
+     * @param matrix 3x2 read only matrix
+     * @param pool   the pool to run on
+     */
+    public static void transformDirection(Bezier2f[] curves, Matrix3x2fc matrix, ForkJoinPool pool) {
+        Beziers2f.transformDirection(Arrays.asList(curves), matrix, pool);
+    }
+
+    /**
+     * Runs {@code range} over every curve, splitting the curves into ranges sized
+     * for the parallelism of {@code pool}.
+     *
+     * @return the sum of the results of every range
+     */
+    private static <C extends Bezier2fc> int run(List<? extends C> curves, ForkJoinPool pool, Range<C> range) {
+        List<? extends C> list = curves instanceof RandomAccess ? curves : new ArrayList<>(curves);
+        int size = list.size();
+        int grain = Math.max(MIN_GRAIN, -Math.floorDiv(-size, pool.getParallelism() * TASKS_PER_THREAD));
+        if (size <= grain) {
+            return range.apply(list, 0, size);
+        }
+        return pool.invoke(new RangeTask<>(list, range, grain, 0, size));
+    }
+
+    /**
+     * The work on the curves {@code [from, to)} of a list.
+     */
+    @FunctionalInterface
+    private interface Range<C> {
+        int apply(List<? extends C> curves, int from, int to);
+    }
+
+    private static class RangeTask<C> extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends C> curves;
+        private final Range<C> range;
+        private final int grain, from, to;
+
+        RangeTask(List<? extends C> curves, Range<C> range, int grain, int from, int to) {
+            this.curves = curves;
+            this.range = range;
+            this.grain = grain;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > grain) {
+                int middle = (from + to) >>> 1;
+                RangeTask<C> left = new RangeTask<>(curves, range, grain, from, middle);
+                RangeTask<C> right = new RangeTask<>(curves, range, grain, middle, to);
+                ForkJoinTask.invokeAll(left, right);
+                return left.join() + right.join();
+            }
+            return range.apply(curves, from, to);
+        }
+    }
+}
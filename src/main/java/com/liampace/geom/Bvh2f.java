@@ -0,0 +1,446 @@
+package com.liampace.geom;
+
+import java.util.List;
+
+/**
+ * A bounding volume hierarchy over a fixed set of bezier curves, answering
+ * point, rectangle, ray and nearest curve queries without testing every curve.
+ * <p>
+ * The tree is built once by recursively splitting the curves at the median of
+ * their bounding box centres along the longest axis. Nodes are stored in depth
+ * first order together with the index of the node that follows their subtree,
+ * so every query walks the tree without a stack and without allocating. When
+ * curves are modified, for example through {@code set(...)}, the tree can be
+ * {@link #refit(int) refit} instead of rebuilt: bounds are recomputed but the
+ * structure is kept, which stays efficient as long as curves move moderately.
+ * <p>
+ * Queries can run concurrently, building and refitting must not overlap with
+ * them.
+ */
+public class Bvh2f {
+
+    /**
+     * The default maximum number of curves stored in a leaf.
+     */
+    public static final int DEFAULT_LEAF_SIZE = 4;
+
+    private final Bezier2fc[] curves;
+    private final int leafSize;
+    private final float[] curveBounds;
+    private final int[] order;
+    private final int[] leafOf;
+    private final float[] nodeBounds;
+    private final int[] nodeSkip;
+    private final int[] nodeStart;
+    private final int[] nodeCount;
+    private final int[] nodeParent;
+    private int nodeTotal;
+
+    public Bvh2f(List<? extends Bezier2fc> curves) {
+        this(curves.toArray(new Bezier2fc[0]), DEFAULT_LEAF_SIZE);
+    }
+
+    public Bvh2f(Bezier2fc... curves) {
+        this(curves, DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Builds a hierarchy over {@code curves}. The array is kept, not copied, and
+     * curve indices reported by queries refer to it.
+     *
+     * @param curves   the curves to index
+     * @param leafSize the maximum number of curves stored in a leaf
+     */
+    public Bvh2f(Bezier2fc[] curves, int leafSize) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException(
+                    "Expected a leaf size of at least 1 but recieved: %s".formatted(leafSize));
+        }
+        int size = curves.length;
+        int nodes = Math.max(size * 2 - 1, 1);
+        this.curves = curves;
+        this.leafSize = leafSize;
+        this.curveBounds = new float[size * 4];
+        this.order = new int[size];
+        this.leafOf = new int[size];
+        this.nodeBounds = new float[nodes * 4];
+        this.nodeSkip = new int[nodes];
+        this.nodeStart = new int[nodes];
+        this.nodeCount = new int[nodes];
+        this.nodeParent = new int[nodes];
+        this.build();
+    }
+
+    /**
+     * Returns the number of curves indexed by this hierarchy.
+     *
+     * @return the number of curves
+     */
+    public int size() {
+        return curves.length;
+    }
+
+    /**
+     * Returns the curve at the specified index.
+     *
+     * @param index the index of the curve
+     * @return the curve
+     */
+    public Bezier2fc getCurve(int index) {
+        return curves[index];
+    }
+
+    /**
+     * Returns the number of nodes in the hierarchy.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeTotal;
+    }
+
+    /**
+     * Stores the bounds of every curve in {@code dest}.
+     *
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int index, float[] dest) {
+        System.arraycopy(nodeBounds, 0, dest, index, 4);
+        return dest;
+    }
+
+    /**
+     * Stores the cached bounds of the curve at {@code curve} in {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int curve, int index, float[] dest) {
+        System.arraycopy(curveBounds, curve * 4, dest, index, 4);
+        return dest;
+    }
+
+    /**
+     * Rebuilds the hierarchy from scratch.
+     *
+     * @return {@code this}
+     */
+    public Bvh2f build() {
+        int size = curves.length;
+        float[] centers = new float[size * 2];
+        for (int i = 0; i < size; i++) {
+            curves[i].getBounds(i * 4, curveBounds);
+            centers[i * 2] = (curveBounds[i * 4] + curveBounds[i * 4 + 2]) * 0.5f;
+            centers[i * 2 + 1] = (curveBounds[i * 4 + 1] + curveBounds[i * 4 + 3]) * 0.5f;
+            order[i] = i;
+        }
+        this.nodeTotal = 0;
+        this.build(0, size, -1, centers);
+        return this;
+    }
+
+    /**
+     * Recomputes the bounds of every curve and node while keeping the structure of
+     * the hierarchy.
+     *
+     * @return {@code this}
+     */
+    public Bvh2f refit() {
+        for (int i = 0; i < curves.length; i++) {
+            curves[i].getBounds(i * 4, curveBounds);
+        }
+        // Children always follow their parent, so walking backwards visits them first
+        for (int node = nodeTotal - 1; node >= 0; node--) {
+            this.updateNode(node);
+        }
+        return this;
+    }
+
+    /**
+     * Recomputes the bounds of a single curve, after it has been modified, and of
+     * every node containing it.
+     *
+     * @param curve the index of the modified curve
+     * @return {@code this}
+     */
+    public Bvh2f refit(int curve) {
+        curves[curve].getBounds(curve * 4, curveBounds);
+        for (int node = leafOf[curve]; node >= 0; node = nodeParent[node]) {
+            this.updateNode(node);
+        }
+        return this;
+    }
+
+    /**
+     * Finds every curve whose bounding box contains the point {@code (x, y)}.
+     *
+     * @param x     X coordinate of the point
+     * @param y     Y coordinate of the point
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the indices of the curves, must have room for up to
+     *              {@link #size()} indices
+     * @return number of curves found
+     */
+    public int queryPoint(float x, float y, int index, int[] dest) {
+        return this.queryRectangle(x, y, x, y, index, dest);
+    }
+
+    /**
+     * Finds every curve whose bounding box overlaps the given rectangle.
+     *
+     * @param minX  minimum X coordinate of the rectangle
+     * @param minY  minimum Y coordinate of the rectangle
+     * @param maxX  maximum X coordinate of the rectangle
+     * @param maxY  maximum Y coordinate of the rectangle
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the indices of the curves, must have room for up to
+     *              {@link #size()} indices
+     * @return number of curves found
+     */
+    public int queryRectangle(float minX, float minY, float maxX, float maxY, int index, int[] dest) {
+        int count = 0;
+        for (int node = 0; node < nodeTotal;) {
+            if (!Bvh2f.overlaps(nodeBounds, node * 4, minX, minY, maxX, maxY)) {
+                node = nodeSkip[node];
+                continue;
+            }
+            if (nodeStart[node] >= 0) {
+                for (int i = nodeStart[node], end = i + nodeCount[node]; i < end; i++) {
+                    int curve = order[i];
+                    if (Bvh2f.overlaps(curveBounds, curve * 4, minX, minY, maxX, maxY)) {
+                        dest[index + count++] = curve;
+                    }
+                }
+            }
+            node++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds every curve whose bounding box is crossed by the ray starting at
+     * {@code (ox, oy)} heading in direction {@code (dx, dy)}.
+     *
+     * @param ox    X coordinate of the origin of the ray
+     * @param oy    Y coordinate of the origin of the ray
+     * @param dx    X component of the direction of the ray
+     * @param dy    Y component of the direction of the ray
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the indices of the curves, must have room for up to
+     *              {@link #size()} indices
+     * @return number of curves found
+     */
+    public int queryRay(float ox, float oy, float dx, float dy, int index, int[] dest) {
+        return this.queryRay(ox, oy, dx, dy, Float.POSITIVE_INFINITY, index, dest);
+    }
+
+    /**
+     * Finds every curve whose bounding box is crossed by the segment
+     * {@code (ox, oy) + s * (dx, dy)} for {@code s} in {@code [0, maxS]}.
+     *
+     * @param ox    X coordinate of the origin of the ray
+     * @param oy    Y coordinate of the origin of the ray
+     * @param dx    X component of the direction of the ray
+     * @param dy    Y component of the direction of the ray
+     * @param maxS  the maximum ray parameter
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the indices of the curves, must have room for up to
+     *              {@link #size()} indices
+     * @return number of curves found
+     */
+    public int queryRay(float ox, float oy, float dx, float dy, float maxS, int index, int[] dest) {
+        float ix = 1.0f / dx, iy = 1.0f / dy;
+        int count = 0;
+        for (int node = 0; node < nodeTotal;) {
+            if (!Bvh2f.crosses(nodeBounds, node * 4, ox, oy, dx, dy, ix, iy, maxS)) {
+                node = nodeSkip[node];
+                continue;
+            }
+            if (nodeStart[node] >= 0) {
+                for (int i = nodeStart[node], end = i + nodeCount[node]; i < end; i++) {
+                    int curve = order[i];
+                    if (Bvh2f.crosses(curveBounds, curve * 4, ox, oy, dx, dy, ix, iy, maxS)) {
+                        dest[index + count++] = curve;
+                    }
+                }
+            }
+            node++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the curve closest to the point {@code (x, y)}. Subtrees whose bounds
+     * are farther away than the best curve found so far are skipped. On return
+     * {@code projection} holds the projection of the point onto the closest curve.
+     *
+     * @param x          X coordinate of the point
+     * @param y          Y coordinate of the point
+     * @param projection scratch context, will hold the closest point
+     * @return the index of the closest curve, or {@code -1} if there are no curves
+     */
+    public int nearest(float x, float y, Projection2f projection) {
+        int best = -1;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (int node = 0; node < nodeTotal;) {
+            if (Bvh2f.distanceSquared(nodeBounds, node * 4, x, y) >= bestDistance) {
+                node = nodeSkip[node];
+                continue;
+            }
+            if (nodeStart[node] >= 0) {
+                for (int i = nodeStart[node], end = i + nodeCount[node]; i < end; i++) {
+                    int curve = order[i];
+                    if (Bvh2f.distanceSquared(curveBounds, curve * 4, x, y) < bestDistance) {
+                        float distance = projection.project(curves[curve], x, y).getDistanceSquared();
+                        if (distance < bestDistance) {
+                            best = curve;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+            node++;
+        }
+        if (best >= 0) {
+            projection.project(curves[best], x, y);
+        }
+        return best;
+    }
+
+    private int build(int start, int end, int parent, float[] centers) {
+        int node = nodeTotal++;
+        nodeParent[node] = parent;
+        if (end - start <= leafSize) {
+            nodeStart[node] = start;
+            nodeCount[node] = end - start;
+            for (int i = start; i < end; i++) {
+                leafOf[order[i]] = node;
+            }
+            this.updateNode(node);
+            nodeSkip[node] = nodeTotal;
+            return node;
+        }
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            float cx = centers[order[i] * 2], cy = centers[order[i] * 2 + 1];
+            minX = Math.min(minX, cx);
+            minY = Math.min(minY, cy);
+            maxX = Math.max(maxX, cx);
+            maxY = Math.max(maxY, cy);
+        }
+        int axis = maxX - minX >= maxY - minY ? 0 : 1;
+        int middle = (start + end) >>> 1;
+        this.select(start, end - 1, middle, centers, axis);
+        nodeStart[node] = -1;
+        nodeCount[node] = 0;
+        this.build(start, middle, node, centers);
+        this.build(middle, end, node, centers);
+        this.updateNode(node);
+        nodeSkip[node] = nodeTotal;
+        return node;
+    }
+
+    /**
+     * Partially sorts {@code order[lo..hi]} so that the element at {@code k} is the
+     * one that would be there if the range was sorted by its center along
+     * {@code axis}.
+     */
+    private void select(int lo, int hi, int k, float[] centers, int axis) {
+        while (lo < hi) {
+            float pivot = centers[order[(lo + hi) >>> 1] * 2 + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (centers[order[i] * 2 + axis] < pivot) {
+                    i++;
+                }
+                while (centers[order[j] * 2 + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int temp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = temp;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void updateNode(int node) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        if (nodeStart[node] >= 0) {
+            for (int i = nodeStart[node], end = i + nodeCount[node]; i < end; i++) {
+                int b = order[i] * 4;
+                minX = Math.min(minX, curveBounds[b]);
+                minY = Math.min(minY, curveBounds[b + 1]);
+                maxX = Math.max(maxX, curveBounds[b + 2]);
+                maxY = Math.max(maxY, curveBounds[b + 3]);
+            }
+        } else {
+            // The left child directly follows its parent, the right child follows
+            // the subtree of the left child
+            int left = (node + 1) * 4, right = nodeSkip[node + 1] * 4;
+            minX = Math.min(nodeBounds[left], nodeBounds[right]);
+            minY = Math.min(nodeBounds[left + 1], nodeBounds[right + 1]);
+            maxX = Math.max(nodeBounds[left + 2], nodeBounds[right + 2]);
+            maxY = Math.max(nodeBounds[left + 3], nodeBounds[right + 3]);
+        }
+        int b = node * 4;
+        nodeBounds[b] = minX;
+        nodeBounds[b + 1] = minY;
+        nodeBounds[b + 2] = maxX;
+        nodeBounds[b + 3] = maxY;
+    }
+
+    private static boolean overlaps(float[] bounds, int b, float minX, float minY, float maxX, float maxY) {
+        return bounds[b] <= maxX && bounds[b + 1] <= maxY && bounds[b + 2] >= minX && bounds[b + 3] >= minY;
+    }
+
+    /**
+     * Slab test between a box and the ray segment {@code s} in {@code [0, maxS]}.
+     * Axes the ray runs parallel to are tested against the origin directly.
+     */
+    private static boolean crosses(float[] bounds, int b, float ox, float oy, float dx, float dy, float ix,
+            float iy, float maxS) {
+        float near = 0, far = maxS;
+        if (dx == 0) {
+            if (ox < bounds[b] || ox > bounds[b + 2]) {
+                return false;
+            }
+        } else {
+            float t0 = (bounds[b] - ox) * ix, t1 = (bounds[b + 2] - ox) * ix;
+            near = Math.max(near, Math.min(t0, t1));
+            far = Math.min(far, Math.max(t0, t1));
+        }
+        if (dy == 0) {
+            if (oy < bounds[b + 1] || oy > bounds[b + 3]) {
+                return false;
+            }
+        } else {
+            float t0 = (bounds[b + 1] - oy) * iy, t1 = (bounds[b + 3] - oy) * iy;
+            near = Math.max(near, Math.min(t0, t1));
+            far = Math.min(far, Math.max(t0, t1));
+        }
+        return near <= far;
+    }
+
+    private static float distanceSquared(float[] bounds, int b, float x, float y) {
+        float dx = Math.max(Math.max(bounds[b] - x, x - bounds[b + 2]), 0);
+        float dy = Math.max(Math.max(bounds[b + 1] - y, y - bounds[b + 3]), 0);
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,298 @@
+package com.liampace.geom;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.joml.Vector2f;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * A file of bezier curves mapped into memory, queried in place without
+ * deserialising it into curve objects. Files are written by
+ * {@link CurveFileWriter2f}.
+ * <p>
+ * All values are little-endian. The file starts with a header of
+ * {@link #HEADER_SIZE} bytes:
+ * <ul>
+ * <li>{@code int} {@link #MAGIC}</li>
+ * <li>{@code int} {@link #VERSION}</li>
+ * <li>{@code int} the number of curves</li>
+ * <li>{@code int} the number of coordinates</li>
+ * <li>{@code long} the position of the coordinates</li>
+ * <li>{@code long} the position of the index</li>
+ * </ul>
+ * The coordinates are the interleaved {@code x, y} floats of the points of
+ * every curve. The index holds {@code count + 1} ints, entry {@code i} is the
+ * position of the first coordinate of curve {@code i} within the coordinates
+ * and the last entry is the number of coordinates. The degree of a curve
+ * follows from its number of coordinates.
+ * <p>
+ * Both sections are mapped separately and are limited to 2GB each. The
+ * queries of a file are thread-safe, a {@link View} is not.
+ */
+public final class CurveFile2f implements AutoCloseable {
+
+    /**
+     * The first four bytes of a curve file, {@code "BCF2"} in ASCII.
+     */
+    public static final int MAGIC = 0x32464342;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 32;
+
+    private final FileChannel channel;
+    private final int count;
+    private final FloatBuffer coordinates;
+    private final IntBuffer index;
+
+    private CurveFile2f(FileChannel channel, int count, FloatBuffer coordinates, IntBuffer index) {
+        this.channel = channel;
+        this.count = count;
+        this.coordinates = coordinates;
+        this.index = index;
+    }
+
+    /**
+     * Maps the curve file at {@code path} into memory.
+     *
+     * @param path the file to map
+     * @return the mapped file
+     * @throws IOException if the file cannot be read or is not a valid curve file
+     */
+    public static CurveFile2f open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Expected at least %s bytes but recieved: %s".formatted(HEADER_SIZE, size));
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            int magic = header.getInt(0), version = header.getInt(4);
+            if (magic != MAGIC) {
+                throw new IOException("Expected magic %08x but recieved: %08x".formatted(MAGIC, magic));
+            }
+            if (version != VERSION) {
+                throw new IOException("Expected version %s but recieved: %s".formatted(VERSION, version));
+            }
+            int count = header.getInt(8), length = header.getInt(12);
+            long coordinatesPosition = header.getLong(16), indexPosition = header.getLong(24);
+            long coordinatesSize = (long) length * Float.BYTES, indexSize = (count + 1L) * Integer.BYTES;
+            if (count < 0 || length < 0 || coordinatesPosition < HEADER_SIZE
+                    || coordinatesPosition + coordinatesSize > size || indexPosition < HEADER_SIZE
+                    || indexPosition + indexSize > size) {
+                throw new IOException("Expected sections within %s bytes but recieved: %s curves, %s coordinates"
+                        .formatted(size, count, length));
+            }
+            FloatBuffer coordinates = channel.map(FileChannel.MapMode.READ_ONLY, coordinatesPosition, coordinatesSize)
+                    .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            IntBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexPosition, indexSize)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            CurveFile2f.validate(index, count, length);
+            return new CurveFile2f(channel, count, coordinates, index);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks once that every curve has between {@code 2} and {@code 4} points and
+     * that the curves tile the coordinates, so the queries can trust the index.
+     */
+    private static void validate(IntBuffer index, int count, int length) throws IOException {
+        int start = index.get(0);
+        if (start != 0) {
+            throw new IOException("Expected the first curve at coordinate 0 but recieved: %s".formatted(start));
+        }
+        for (int i = 0; i < count; i++) {
+            int end = index.get(i + 1), coordinates = end - start;
+            if (coordinates < Line2f.LENGTH * 2 || coordinates > Cubic2f.LENGTH * 2 || (coordinates & 1) != 0) {
+                throw new IOException("Expected curve %s to have [%s-%s] points but recieved: %s coordinates"
+                        .formatted(i, Line2f.LENGTH, Cubic2f.LENGTH, coordinates));
+            }
+            start = end;
+        }
+        if (start != length) {
+            throw new IOException("Expected the curves to end at coordinate %s but recieved: %s".formatted(length,
+                    start));
+        }
+    }
+
+    /**
+     * Returns the number of curves in the file.
+     *
+     * @return the number of curves
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of points that define the curve at {@code curve}.
+     *
+     * @param curve the index of the curve
+     * @return the number of points of the curve
+     */
+    public int getLength(int curve) {
+        this.check(curve);
+        return (index.get(curve + 1) - index.get(curve)) / 2;
+    }
+
+    /**
+     * Returns the degree of the curve at {@code curve}.
+     *
+     * @param curve the index of the curve
+     * @return {@code 1} for lines, {@code 2} for quadratics, {@code 3} for cubics
+     */
+    public int getDegree(int curve) {
+        return this.getLength(curve) - 1;
+    }
+
+    /**
+     * Stores a point of the curve at {@code curve} in {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param point the index of the point within the curve
+     * @param dest  will hold the point
+     * @return {@code dest}
+     */
+    public Vector2f getPoint(int curve, int point, Vector2f dest) {
+        int length = this.getLength(curve);
+        if (point < 0 || point >= length) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(length - 1, point));
+        }
+        int p = index.get(curve) + point * 2;
+        return dest.set(coordinates.get(p), coordinates.get(p + 1));
+    }
+
+    /**
+     * Interpolates the curve at {@code curve} using the given interpolation
+     * factor {@code t}. Then stores the result in {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2f#getPosition(float, Vector2f)
+     */
+    public Vector2f getPosition(int curve, float t, Vector2f dest) {
+        int length = this.getLength(curve), p = index.get(curve);
+        FloatBuffer c = coordinates;
+        switch (length) {
+            case Line2f.LENGTH:
+                return Line2f.Interpolate(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), t, dest);
+            case Quadratic2f.LENGTH:
+                return Quadratic2f.Interpolate(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), c.get(p + 4),
+                        c.get(p + 5), t, dest);
+            default:
+                return Cubic2f.Interpolate(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), c.get(p + 4),
+                        c.get(p + 5), c.get(p + 6), c.get(p + 7), t, dest);
+        }
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of the curve at
+     * {@code curve}.
+     *
+     * @param curve the index of the curve
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     * @see Bezier2f#getBounds(int, float[])
+     */
+    public float[] getBounds(int curve, int index, float[] dest) {
+        int length = this.getLength(curve), p = this.index.get(curve);
+        FloatBuffer c = coordinates;
+        switch (length) {
+            case Line2f.LENGTH:
+                return Line2f.Bounds(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), index, dest);
+            case Quadratic2f.LENGTH:
+                return Quadratic2f.Bounds(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), c.get(p + 4),
+                        c.get(p + 5), index, dest);
+            default:
+                return Cubic2f.Bounds(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), c.get(p + 4),
+                        c.get(p + 5), c.get(p + 6), c.get(p + 7), index, dest);
+        }
+    }
+
+    /**
+     * Creates a view that loads curves of the file into reusable curve objects,
+     * for the queries the file does not offer directly. Intersecting two curves
+     * of a file takes two views.
+     *
+     * @return a new view
+     */
+    public View view() {
+        return new View();
+    }
+
+    /**
+     * Closes the file channel. The mapped memory is released once the file and
+     * its views are no longer reachable.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void check(int curve) {
+        if (curve < 0 || curve >= count) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(count - 1, curve));
+        }
+    }
+
+    /**
+     * Loads curves of the file into one reused curve object per degree. The
+     * curve returned by {@link #get(int)} is only valid until the next call.
+     */
+    public class View {
+
+        private final Line2f line = new Line2f();
+        private final Quadratic2f quadratic = new Quadratic2f();
+        private final Cubic2f cubic = new Cubic2f();
+
+        View() {
+        }
+
+        /**
+         * Loads the curve at {@code curve}.
+         *
+         * @param curve the index of the curve
+         * @return the reused curve object of the degree of the curve
+         */
+        public Bezier2f get(int curve) {
+            int length = CurveFile2f.this.getLength(curve), p = index.get(curve);
+            FloatBuffer c = coordinates;
+            switch (length) {
+                case Line2f.LENGTH:
+                    return line.set(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3));
+                case Quadratic2f.LENGTH:
+                    return quadratic.set(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), c.get(p + 4),
+                            c.get(p + 5));
+                default:
+                    return cubic.set(c.get(p), c.get(p + 1), c.get(p + 2), c.get(p + 3), c.get(p + 4), c.get(p + 5),
+                            c.get(p + 6), c.get(p + 7));
+            }
+        }
+    }
+}
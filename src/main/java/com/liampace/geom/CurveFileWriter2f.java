@@ -0,0 +1,153 @@
+package com.liampace.geom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.joml.Vector2fc;
+
+/**
+ * Streams bezier curves into a file in the format read by {@link CurveFile2f}.
+ * Coordinates are written to the file as curves are added and the index is
+ * spooled to a temporary file next to it, so the size of the output is not
+ * bound by the heap. The header and the index are completed by
+ * {@link #close()}, a file that was not closed is not readable.
+ */
+public final class CurveFileWriter2f implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAX_COORDINATES = Integer.MAX_VALUE / Float.BYTES;
+
+    private final FileChannel channel;
+    private final FileChannel indexChannel;
+    private final ByteBuffer coordinates = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer index = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private int count, length;
+    private boolean closed;
+
+    /**
+     * Creates or truncates the file at {@code path} and starts writing curves to
+     * it.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public CurveFileWriter2f(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        Path indexPath = null;
+        try {
+            indexPath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(),
+                    ".index");
+            this.indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            if (indexPath != null) {
+                Files.deleteIfExists(indexPath);
+            }
+            throw e;
+        }
+        channel.position(CurveFile2f.HEADER_SIZE);
+        index.putInt(0);
+    }
+
+    /**
+     * Returns the number of curves written so far.
+     *
+     * @return the number of curves
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Appends the points of {@code curve}.
+     *
+     * @param curve the curve to append
+     * @return {@code this}
+     * @throws IOException if the file cannot be written
+     */
+    public CurveFileWriter2f add(Bezier2fc curve) throws IOException {
+        int points = curve.getLength();
+        if (points < 2 || points > 4) {
+            throw new IllegalArgumentException("Expected a curve with [2-4] points but recieved: %s".formatted(points));
+        }
+        if (closed) {
+            throw new IllegalStateException("Expected an open writer but recieved a closed one");
+        }
+        if (length + points * 2L > MAX_COORDINATES) {
+            throw new IOException("Expected at most %s coordinates but recieved: %s"
+                    .formatted(MAX_COORDINATES, length + points * 2L));
+        }
+        if (coordinates.remaining() < points * 2 * Float.BYTES) {
+            CurveFileWriter2f.flush(coordinates, channel);
+        }
+        for (int i = 0; i < points; i++) {
+            Vector2fc point = curve.getPoint(i);
+            coordinates.putFloat(point.x()).putFloat(point.y());
+        }
+        this.length += points * 2;
+        this.count++;
+        if (!index.hasRemaining()) {
+            CurveFileWriter2f.flush(index, indexChannel);
+        }
+        index.putInt(length);
+        return this;
+    }
+
+    /**
+     * Appends the points of every curve of {@code curves}.
+     *
+     * @param curves the curves to append
+     * @return {@code this}
+     * @throws IOException if the file cannot be written
+     */
+    public CurveFileWriter2f addAll(Iterable<? extends Bezier2fc> curves) throws IOException {
+        for (Bezier2fc curve : curves) {
+            this.add(curve);
+        }
+        return this;
+    }
+
+    /**
+     * Appends the index after the coordinates, writes the header and closes the
+     * file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        this.closed = true;
+        try (channel; indexChannel) {
+            CurveFileWriter2f.flush(coordinates, channel);
+            CurveFileWriter2f.flush(index, indexChannel);
+            long indexPosition = channel.position();
+            long indexSize = indexChannel.position();
+            for (long transferred = 0; transferred < indexSize;) {
+                transferred += indexChannel.transferTo(transferred, indexSize - transferred, channel);
+            }
+            ByteBuffer header = ByteBuffer.allocate(CurveFile2f.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(CurveFile2f.MAGIC).putInt(CurveFile2f.VERSION).putInt(count).putInt(length)
+                    .putLong(CurveFile2f.HEADER_SIZE).putLong(indexPosition).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
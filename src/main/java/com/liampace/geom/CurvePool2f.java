@@ -0,0 +1,169 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * A stack of reusable scratch curves for recursive algorithms, so that
+ * splitting curves with {@link Cubic2f#split(float, Cubic2f, Cubic2f)} and
+ * friends allocates nothing once the pool has grown to the deepest recursion.
+ * <p>
+ * Curves are borrowed in stack order. A caller takes a {@link #mark()} before
+ * borrowing and {@link #release(int) releases} back to it when done, which
+ * hands every curve borrowed since the mark back to the pool at once:
+ *
+ * <pre>
+ * int mark = pool.mark();
+ * Cubic2f left = pool.cubic(), right = pool.cubic();
+ * curve.split(0.5f, left, right);
+ * recurse(left);
+ * recurse(right);
+ * pool.release(mark);
+ * </pre>
+ *
+ * Borrowed curves keep whatever points they were last given and must not be
+ * used after they are released. A pool is not thread-safe, either own one per
+ * caller or use the one of the current thread from {@link #local()}.
+ */
+public class CurvePool2f {
+
+    private static final ThreadLocal<CurvePool2f> LOCAL = ThreadLocal.withInitial(CurvePool2f::new);
+
+    private Bezier2f[] curves;
+    private int size;
+
+    public CurvePool2f() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty pool with room for {@code capacity} borrowed curves before
+     * it has to grow.
+     *
+     * @param capacity the initial capacity
+     */
+    public CurvePool2f(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Expected a positive capacity but recieved: %s".formatted(capacity));
+        }
+        this.curves = new Bezier2f[capacity];
+    }
+
+    /**
+     * Returns the pool of the current thread.
+     *
+     * @return the pool of the current thread
+     */
+    public static CurvePool2f local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Returns the number of curves currently borrowed.
+     *
+     * @return the number of borrowed curves
+     */
+    public int mark() {
+        return size;
+    }
+
+    /**
+     * Returns every curve borrowed since {@code mark} was taken to the pool.
+     *
+     * @param mark a value returned by {@link #mark()}
+     * @return {@code this}
+     */
+    public CurvePool2f release(int mark) {
+        if (mark < 0 || mark > size) {
+            throw new IllegalArgumentException("Expected mark in range [0-%s] but recieved: %s".formatted(size, mark));
+        }
+        this.size = mark;
+        return this;
+    }
+
+    /**
+     * Borrows a line.
+     *
+     * @return a scratch line with undefined points
+     */
+    public Line2f line() {
+        Bezier2f curve = this.next();
+        if (!(curve instanceof Line2f)) {
+            curves[size - 1] = curve = new Line2f();
+        }
+        return (Line2f) curve;
+    }
+
+    /**
+     * Borrows a quadratic curve.
+     *
+     * @return a scratch quadratic with undefined points
+     */
+    public Quadratic2f quadratic() {
+        Bezier2f curve = this.next();
+        if (!(curve instanceof Quadratic2f)) {
+            curves[size - 1] = curve = new Quadratic2f();
+        }
+        return (Quadratic2f) curve;
+    }
+
+    /**
+     * Borrows a cubic curve.
+     *
+     * @return a scratch cubic with undefined points
+     */
+    public Cubic2f cubic() {
+        Bezier2f curve = this.next();
+        if (!(curve instanceof Cubic2f)) {
+            curves[size - 1] = curve = new Cubic2f();
+        }
+        return (Cubic2f) curve;
+    }
+
+    /**
+     * Borrows a curve of the same type as {@code curve} holding a copy of its
+     * points.
+     *
+     * @param curve the curve to copy
+     * @return a scratch copy of {@code curve}
+     */
+    public Bezier2f copy(Bezier2fc curve) {
+        if (curve instanceof Cubic2f) {
+            return this.cubic().set((Cubic2f) curve);
+        } else if (curve instanceof Quadratic2f) {
+            return this.quadratic().set((Quadratic2f) curve);
+        } else if (curve instanceof Line2f) {
+            return this.line().set((Line2f) curve);
+        }
+        int length = curve.getLength();
+        switch (length) {
+            case Line2f.LENGTH:
+                return this.line().set(curve.getPoint(0).x(), curve.getPoint(0).y(), curve.getPoint(1).x(),
+                        curve.getPoint(1).y());
+            case Quadratic2f.LENGTH:
+                return this.quadratic().set(curve.getPoint(0).x(), curve.getPoint(0).y(), curve.getPoint(1).x(),
+                        curve.getPoint(1).y(), curve.getPoint(2).x(), curve.getPoint(2).y());
+            case Cubic2f.LENGTH:
+                return this.cubic().set(curve.getPoint(0).x(), curve.getPoint(0).y(), curve.getPoint(1).x(),
+                        curve.getPoint(1).y(), curve.getPoint(2).x(), curve.getPoint(2).y(), curve.getPoint(3).x(),
+                        curve.getPoint(3).y());
+            default:
+                throw new IllegalArgumentException(
+                        "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                                Cubic2f.LENGTH, length));
+        }
+    }
+
+    /**
+     * Claims the next slot, growing the pool when every slot is borrowed.
+     */
+    private Bezier2f next() {
+        if (size == curves.length) {
+            this.curves = Arrays.copyOf(curves, size * 2);
+        }
+        return curves[size++];
+    }
+}
@@ -0,0 +1,808 @@
+package com.liampace.geom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+
+import jdk.jfr.Event;
+
+import org.joml.Matrix3x2fc;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * A fixed capacity container of mixed-degree bezier curves stored outside of
+ * the Java heap, so that millions of curves add nothing to the work of the
+ * garbage collector and can be handed to native code or other processes
+ * without copying.
+ * <p>
+ * The memory is a single block in little-endian byte order, whatever the
+ * platform, so mapped files can be shared between machines. A {@value #HEADER_SIZE}
+ * byte header holds the magic number, the number of curves and the capacity as
+ * ints. Each curve follows as a record of {@value #STRIDE} bytes holding up to
+ * four interleaved {@code x, y} float pairs, unused pairs are zero. The degree
+ * of every curve is stored as one byte per curve after the last record.
+ * <p>
+ * When the {@code jdk.incubator.foreign} module is available (for example when
+ * running with {@code --add-modules jdk.incubator.foreign}) the block belongs to
+ * a resource scope and {@link #close()} frees it at once, any later access
+ * fails. Otherwise it is a direct buffer that is released by the garbage
+ * collector once the batch is unreachable. The foreign path can be disabled by
+ * setting the system property {@value #FOREIGN_PROPERTY} to {@code false}.
+ * <p>
+ * All operations delegate to the same static kernels used by {@link Line2f},
+ * {@link Quadratic2f} and {@link Cubic2f}, so results are identical to
+ * {@link BezierBatch2f}. Reads may run concurrently, writes must not.
+ */
+public final class DirectBezierBatch2f implements AutoCloseable {
+
+    /**
+     * System property that disables the foreign memory path when set to
+     * {@code false}.
+     */
+    public static final String FOREIGN_PROPERTY = "com.liampace.geom.foreign";
+
+    /**
+     * The ASCII characters {@code "BDB2"} as a little-endian int.
+     */
+    public static final int MAGIC = 0x32424442;
+
+    /**
+     * The number of bytes before the first curve record.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * The number of bytes of a single curve record.
+     */
+    public static final int STRIDE = Cubic2f.LENGTH * 2 * Float.BYTES;
+
+    /**
+     * The maximum number of curves a single batch can hold.
+     */
+    public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / (STRIDE + 1);
+
+    /**
+     * The maximum number of roots a single curve in the batch can produce.
+     */
+    public static final int MAX_ROOTS = BezierBatch2f.MAX_ROOTS;
+
+    private static final String FOREIGN_MODULE = "jdk.incubator.foreign";
+    private static final OffHeapMemory.Allocator ALLOCATOR = DirectBezierBatch2f.load();
+
+    private static final int SIZE_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int FLOATS = STRIDE / Float.BYTES;
+    private static final int CHUNK = 256;
+
+    private final OffHeapMemory memory;
+    private final ByteBuffer buffer;
+    private final FloatBuffer points;
+    private final int capacity, degrees;
+    private int size;
+
+    private DirectBezierBatch2f(OffHeapMemory memory, int capacity, boolean reuse) {
+        this.memory = memory;
+        this.buffer = memory.buffer();
+        this.points = buffer.slice(HEADER_SIZE, capacity * STRIDE).order(buffer.order()).asFloatBuffer();
+        this.capacity = capacity;
+        this.degrees = HEADER_SIZE + capacity * STRIDE;
+        if (reuse && buffer.getInt(0) == MAGIC && buffer.getInt(CAPACITY_OFFSET) == capacity) {
+            this.size = Math.min(Math.max(buffer.getInt(SIZE_OFFSET), 0), capacity);
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(SIZE_OFFSET, 0);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+        }
+    }
+
+    /**
+     * Allocates an empty batch with room for {@code capacity} curves.
+     *
+     * @param capacity the number of curves
+     * @return a new batch, which must be closed
+     */
+    public static DirectBezierBatch2f allocate(int capacity) {
+        return DirectBezierBatch2f.allocate(ALLOCATOR, capacity);
+    }
+
+    static DirectBezierBatch2f allocate(OffHeapMemory.Allocator allocator, int capacity) {
+        return new DirectBezierBatch2f(allocator.allocate(DirectBezierBatch2f.bytes(capacity)), capacity, false);
+    }
+
+    /**
+     * Maps a batch with room for {@code capacity} curves onto the file at
+     * {@code path}, creating the file if needed. If the file already holds a
+     * batch of the same capacity its curves are kept, so several processes can
+     * share curves through one file.
+     *
+     * @param path     the file to map
+     * @param capacity the number of curves
+     * @return a new batch, which must be closed
+     * @throws IOException if the file could not be mapped or holds a curve whose
+     *                     degree is not in {@code [1, 3]}
+     */
+    public static DirectBezierBatch2f map(Path path, int capacity) throws IOException {
+        return DirectBezierBatch2f.map(ALLOCATOR, path, capacity);
+    }
+
+    static DirectBezierBatch2f map(OffHeapMemory.Allocator allocator, Path path, int capacity) throws IOException {
+        DirectBezierBatch2f batch = new DirectBezierBatch2f(allocator.map(path, DirectBezierBatch2f.bytes(capacity)),
+                capacity, true);
+        // Every later read trusts the degree bytes to pick a kernel and to stay
+        // within the record
+        for (int i = 0; i < batch.size; i++) {
+            byte degree = batch.buffer.get(batch.degrees + i);
+            if (degree < 1 || degree > 3) {
+                batch.close();
+                throw new IOException("Expected curve %s to have a degree in [1-3] but recieved: %s".formatted(i,
+                        degree));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Returns whether batches are allocated with the Foreign Memory API and
+     * freed by {@link #close()}.
+     *
+     * @return {@code true} if the foreign memory path is in use
+     */
+    public static boolean isForeign() {
+        return ALLOCATOR != OffHeapMemory.Direct.ALLOCATOR;
+    }
+
+    /**
+     * Frees the memory of this batch, or unmaps its file. Afterwards the batch
+     * is empty and every access fails.
+     */
+    @Override
+    public void close() {
+        this.size = 0;
+        memory.close();
+    }
+
+    /**
+     * Returns the whole block of this batch, in little-endian byte order, for
+     * handing to native code. The layout is described in the class documentation, the
+     * buffer is valid until {@link #close()}.
+     *
+     * @return a view of the memory of this batch
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.duplicate().order(buffer.order());
+    }
+
+    /**
+     * Returns the number of curves stored in this batch.
+     *
+     * @return the number of curves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of curves this batch can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes every curve from this batch.
+     *
+     * @return {@code this}
+     */
+    public DirectBezierBatch2f clear() {
+        this.size = 0;
+        buffer.putInt(SIZE_OFFSET, 0);
+        return this;
+    }
+
+    /**
+     * Returns the degree of the curve at the specified index.
+     *
+     * @param curve the index of the curve
+     * @return 1 for a line, 2 for a quadratic, 3 for a cubic
+     */
+    public int getDegree(int curve) {
+        this.checkIndex(curve);
+        return buffer.get(degrees + curve);
+    }
+
+    /**
+     * Returns the number of control points of the curve at the specified index.
+     *
+     * @param curve the index of the curve
+     * @return the number of control points
+     */
+    public int getLength(int curve) {
+        return this.getDegree(curve) + 1;
+    }
+
+    /**
+     * Copies a control point of a curve into {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param index the index of the control point within the curve
+     * @param dest  will hold the result
+     * @return {@code dest}
+     */
+    public Vector2f getPoint(int curve, int index, Vector2f dest) {
+        int length = this.getLength(curve);
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(length - 1, index));
+        }
+        int p = DirectBezierBatch2f.record(curve) + index * 8;
+        return dest.set(buffer.getFloat(p), buffer.getFloat(p + 4));
+    }
+
+    /**
+     * Appends a copy of the given curve to this batch.
+     *
+     * @param curve the curve to copy
+     * @return the index of the appended curve
+     */
+    public int add(Bezier2fc curve) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                            Cubic2f.LENGTH, length));
+        }
+        int p = this.append(length);
+        for (int i = 0; i < length; i++, p += 8) {
+            Vector2fc point = curve.getPoint(i);
+            buffer.putFloat(p, point.x());
+            buffer.putFloat(p + 4, point.y());
+        }
+        return size - 1;
+    }
+
+    /**
+     * Appends a line to this batch.
+     *
+     * @param x0 X coordinate of start point
+     * @param y0 Y coordinate of start point
+     * @param x1 X coordinate of end point
+     * @param y1 Y coordinate of end point
+     * @return the index of the appended curve
+     */
+    public int addLine(float x0, float y0, float x1, float y1) {
+        int p = this.append(Line2f.LENGTH);
+        buffer.putFloat(p, x0).putFloat(p + 4, y0).putFloat(p + 8, x1).putFloat(p + 12, y1);
+        return size - 1;
+    }
+
+    /**
+     * Appends a quadratic curve to this batch.
+     *
+     * @param x0 X coordinate of start point
+     * @param y0 Y coordinate of start point
+     * @param x1 X coordinate of control point
+     * @param y1 Y coordinate of control point
+     * @param x2 X coordinate of end point
+     * @param y2 Y coordinate of end point
+     * @return the index of the appended curve
+     */
+    public int addQuadratic(float x0, float y0, float x1, float y1, float x2, float y2) {
+        int p = this.append(Quadratic2f.LENGTH);
+        buffer.putFloat(p, x0).putFloat(p + 4, y0).putFloat(p + 8, x1).putFloat(p + 12, y1);
+        buffer.putFloat(p + 16, x2).putFloat(p + 20, y2);
+        return size - 1;
+    }
+
+    /**
+     * Appends a cubic curve to this batch.
+     *
+     * @param x0 X coordinate of the starting point
+     * @param y0 Y coordinate of the starting point
+     * @param x1 X coordinate of the first control point
+     * @param y1 Y coordinate of the first control point
+     * @param x2 X coordinate of the second control point
+     * @param y2 Y coordinate of the second control point
+     * @param x3 X coordinate of the ending point
+     * @param y3 Y coordinate of the ending point
+     * @return the index of the appended curve
+     */
+    public int addCubic(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3) {
+        int p = this.append(Cubic2f.LENGTH);
+        buffer.putFloat(p, x0).putFloat(p + 4, y0).putFloat(p + 8, x1).putFloat(p + 12, y1);
+        buffer.putFloat(p + 16, x2).putFloat(p + 20, y2).putFloat(p + 24, x3).putFloat(p + 28, y3);
+        return size - 1;
+    }
+
+    /**
+     * Overwrites the control points of the curve at {@code index} with the points
+     * of {@code curve}. Both curves must have the same degree.
+     *
+     * @param index the index of the curve to overwrite
+     * @param curve the curve to copy
+     * @return {@code this}
+     */
+    public DirectBezierBatch2f set(int index, Bezier2fc curve) {
+        int length = this.getLength(index);
+        if (curve.getLength() != length) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with %s points but recieved: %s".formatted(length, curve.getLength()));
+        }
+        for (int i = 0, p = DirectBezierBatch2f.record(index); i < length; i++, p += 8) {
+            Vector2fc point = curve.getPoint(i);
+            buffer.putFloat(p, point.x());
+            buffer.putFloat(p + 4, point.y());
+        }
+        return this;
+    }
+
+    /**
+     * Creates a new curve object holding a copy of the curve at the specified
+     * index.
+     *
+     * @param curve the index of the curve
+     * @return a new {@link Line2f}, {@link Quadratic2f} or {@link Cubic2f}
+     */
+    public Bezier2f get(int curve) {
+        int degree = this.getDegree(curve), p = curve * FLOATS;
+        float x0 = points.get(p), y0 = points.get(p + 1), x1 = points.get(p + 2), y1 = points.get(p + 3);
+        switch (degree) {
+            case 1:
+                return new Line2f(x0, y0, x1, y1);
+            case 2:
+                return new Quadratic2f(x0, y0, x1, y1, points.get(p + 4), points.get(p + 5));
+            default:
+                return new Cubic2f(x0, y0, x1, y1, points.get(p + 4), points.get(p + 5), points.get(p + 6),
+                        points.get(p + 7));
+        }
+    }
+
+    /**
+     * Interpolates the curve at the specified index using the given interpolation
+     * factor {@code t}. Then stores the result in {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2f#getPosition(float, Vector2f)
+     */
+    public Vector2f getPosition(int curve, float t, Vector2f dest) {
+        int degree = this.getDegree(curve), p = curve * FLOATS;
+        return DirectBezierBatch2f.position(degree, points.get(p), points.get(p + 1), points.get(p + 2),
+                points.get(p + 3), points.get(p + 4), points.get(p + 5), points.get(p + 6), points.get(p + 7), t,
+                dest);
+    }
+
+    /**
+     * Interpolates the derivative of the curve at the specified index using the
+     * given interpolation factor {@code t}. Then stores the result in
+     * {@code dest}.
+     *
+     * @param curve the index of the curve
+     * @param t     interpolation factor between [0-1] range
+     * @param dest  will hold the result
+     * @return {@code dest}
+     * @see Bezier2f#getDerivative(float, Vector2f)
+     */
+    public Vector2f getDerivative(int curve, float t, Vector2f dest) {
+        int degree = this.getDegree(curve), p = curve * FLOATS;
+        return DirectBezierBatch2f.derivative(degree, points.get(p), points.get(p + 1), points.get(p + 2),
+                points.get(p + 3), points.get(p + 4), points.get(p + 5), points.get(p + 6), points.get(p + 7), t,
+                dest);
+    }
+
+    /**
+     * Interpolates every curve in the range {@code [from, to)} at the same
+     * interpolation factor {@code t}, storing the results as interleaved
+     * {@code x, y} pairs in {@code dest} starting at {@code index}.
+     *
+     * @param from  the first curve, inclusive
+     * @param to    the last curve, exclusive
+     * @param t     interpolation factor between [0-1] range
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code 2 * (to - from)} values
+     * @return number of values written
+     */
+    public int getPosition(int from, int to, float t, int index, float[] dest) {
+        this.checkRange(from, to);
+        Vector2f temp = new Vector2f();
+        float[] chunk = new float[CHUNK * FLOATS];
+        byte[] degree = new byte[CHUNK];
+        for (int start = from, d = index; start < to; start += CHUNK) {
+            int count = this.read(start, to, chunk, degree);
+            for (int i = 0; i < count; i++, d += 2) {
+                DirectBezierBatch2f.position(degree[i], chunk, i * FLOATS, t, temp);
+                dest[d] = temp.x;
+                dest[d + 1] = temp.y;
+            }
+        }
+        return (to - from) * 2;
+    }
+
+    /**
+     * Interpolates the derivative of every curve in the range {@code [from, to)}
+     * at the same interpolation factor {@code t}, storing the results as
+     * interleaved {@code x, y} pairs in {@code dest} starting at {@code index}.
+     *
+     * @param from  the first curve, inclusive
+     * @param to    the last curve, exclusive
+     * @param t     interpolation factor between [0-1] range
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code 2 * (to - from)} values
+     * @return number of values written
+     */
+    public int getDerivative(int from, int to, float t, int index, float[] dest) {
+        this.checkRange(from, to);
+        Vector2f temp = new Vector2f();
+        float[] chunk = new float[CHUNK * FLOATS];
+        byte[] degree = new byte[CHUNK];
+        for (int start = from, d = index; start < to; start += CHUNK) {
+            int count = this.read(start, to, chunk, degree);
+            for (int i = 0; i < count; i++, d += 2) {
+                DirectBezierBatch2f.derivative(degree[i], chunk, i * FLOATS, t, temp);
+                dest[d] = temp.x;
+                dest[d + 1] = temp.y;
+            }
+        }
+        return (to - from) * 2;
+    }
+
+    /**
+     * Solves the curve at the specified index where it crosses the X-Axis, aka
+     * when Y = 0.
+     *
+     * @param curve the index of the curve
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of the curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     * @see Bezier2f#getInterceptsX(int, float[])
+     */
+    public int getInterceptsX(int curve, int index, float[] dest) {
+        return this.solve(curve, 1, index, dest);
+    }
+
+    /**
+     * Solves the curve at the specified index where it crosses the Y-Axis, aka
+     * when X = 0.
+     *
+     * @param curve the index of the curve
+     * @param index starting index position for storing the roots
+     * @param dest  will hold all real roots of the curve starting at index
+     *              {@code index}
+     * @return number of roots found
+     * @see Bezier2f#getInterceptsY(int, float[])
+     */
+    public int getInterceptsY(int curve, int index, float[] dest) {
+        return this.solve(curve, 0, index, dest);
+    }
+
+    /**
+     * Solves every curve in the range {@code [from, to)} where it crosses the
+     * X-Axis. The roots of curve {@code i} are written to {@code dest} starting
+     * at {@code index + (i - from) * MAX_ROOTS} and their count is written to
+     * {@code counts[countIndex + (i - from)]}.
+     *
+     * @param from       the first curve, inclusive
+     * @param to         the last curve, exclusive
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * (to - from)} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @return total number of roots found
+     */
+    public int getInterceptsX(int from, int to, int index, float[] dest, int countIndex, int[] counts) {
+        return this.solve(from, to, 1, index, dest, countIndex, counts);
+    }
+
+    /**
+     * Solves every curve in the range {@code [from, to)} where it crosses the
+     * Y-Axis. The roots of curve {@code i} are written to {@code dest} starting
+     * at {@code index + (i - from) * MAX_ROOTS} and their count is written to
+     * {@code counts[countIndex + (i - from)]}.
+     *
+     * @param from       the first curve, inclusive
+     * @param to         the last curve, exclusive
+     * @param index      the starting position of {@code dest}
+     * @param dest       will hold {@code MAX_ROOTS * (to - from)} values
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @return total number of roots found
+     */
+    public int getInterceptsY(int from, int to, int index, float[] dest, int countIndex, int[] counts) {
+        return this.solve(from, to, 0, index, dest, countIndex, counts);
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of the curve at the specified
+     * index.
+     *
+     * @param curve the index of the curve
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     * @see Bezier2f#getBounds(int, float[])
+     */
+    public float[] getBounds(int curve, int index, float[] dest) {
+        int degree = this.getDegree(curve), p = curve * FLOATS;
+        return DirectBezierBatch2f.bounds(degree, points.get(p), points.get(p + 1), points.get(p + 2),
+                points.get(p + 3), points.get(p + 4), points.get(p + 5), points.get(p + 6), points.get(p + 7),
+                index, dest);
+    }
+
+    /**
+     * Calculates the bounding box of every curve in the range {@code [from, to)},
+     * the bounds of curve {@code i} are written to {@code dest} starting at
+     * {@code index + (i - from) * 4}.
+     *
+     * @param from  the first curve, inclusive
+     * @param to    the last curve, exclusive
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code 4 * (to - from)} values
+     * @return number of values written
+     */
+    public int getBounds(int from, int to, int index, float[] dest) {
+        this.checkRange(from, to);
+        float[] chunk = new float[CHUNK * FLOATS];
+        byte[] degree = new byte[CHUNK];
+        for (int start = from, d = index; start < to; start += CHUNK) {
+            int count = this.read(start, to, chunk, degree);
+            for (int i = 0; i < count; i++, d += 4) {
+                DirectBezierBatch2f.bounds(degree[i], chunk, i * FLOATS, d, dest);
+            }
+        }
+        return (to - from) * 4;
+    }
+
+    /**
+     * Multiplies each point of the curves in the range {@code [from, to)} with the
+     * supplied matrix as if it was a 3D-vector with z=1.
+     *
+     * @param from   the first curve, inclusive
+     * @param to     the last curve, exclusive
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public DirectBezierBatch2f transformPosition(int from, int to, Matrix3x2fc matrix) {
+        return this.transform(from, to, matrix, 1);
+    }
+
+    /**
+     * Multiplies each point of the curves in the range {@code [from, to)} with the
+     * supplied matrix as if it was a 3D-vector with z=0.
+     *
+     * @param from   the first curve, inclusive
+     * @param to     the last curve, exclusive
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public DirectBezierBatch2f transformDirection(int from, int to, Matrix3x2fc matrix) {
+        return this.transform(from, to, matrix, 0);
+    }
+
+    /**
+     * Multiplies each point of every curve with the supplied matrix as if it was a
+     * 3D-vector with z=1.
+     *
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public DirectBezierBatch2f transformPosition(Matrix3x2fc matrix) {
+        return this.transformPosition(0, size, matrix);
+    }
+
+    /**
+     * Multiplies each point of every curve with the supplied matrix as if it was a
+     * 3D-vector with z=0.
+     *
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public DirectBezierBatch2f transformDirection(Matrix3x2fc matrix) {
+        return this.transformDirection(0, size, matrix);
+    }
+
+    private DirectBezierBatch2f transform(int from, int to, Matrix3x2fc matrix, float z) {
+        this.checkRange(from, to);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        float m00 = matrix.m00(), m01 = matrix.m01(), m10 = matrix.m10(), m11 = matrix.m11();
+        float m20 = matrix.m20() * z, m21 = matrix.m21() * z;
+        float[] chunk = new float[CHUNK * FLOATS];
+        byte[] degree = new byte[CHUNK];
+        int transformed = 0;
+        for (int start = from; start < to; start += CHUNK) {
+            int count = this.read(start, to, chunk, degree);
+            for (int i = 0; i < count; i++) {
+                int length = degree[i] + 1;
+                // Unused points stay zero
+                for (int j = 0, p = i * FLOATS; j < length; j++, p += 2) {
+                    float x = chunk[p], y = chunk[p + 1];
+                    chunk[p] = m00 * x + m10 * y + m20;
+                    chunk[p + 1] = m01 * x + m11 * y + m21;
+                }
+                transformed += length;
+            }
+            points.put(start * FLOATS, chunk, 0, count * FLOATS);
+        }
+        Metrics.transformed(transformed, started, event);
+        return this;
+    }
+
+    private int solve(int from, int to, int axis, int index, float[] dest, int countIndex, int[] counts) {
+        this.checkRange(from, to);
+        float[] chunk = new float[CHUNK * FLOATS];
+        byte[] degree = new byte[CHUNK];
+        int total = 0;
+        for (int start = from, d = index, c = countIndex; start < to; start += CHUNK) {
+            int count = this.read(start, to, chunk, degree);
+            for (int i = 0; i < count; i++, d += MAX_ROOTS, c++) {
+                int roots = DirectBezierBatch2f.solve(degree[i], chunk, i * FLOATS + axis, d, dest);
+                counts[c] = roots;
+                total += roots;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Solves one axis of a single curve, reading its coordinates straight from
+     * the buffer.
+     */
+    private int solve(int curve, int axis, int index, float[] dest) {
+        int degree = this.getDegree(curve), p = curve * FLOATS + axis;
+        return DirectBezierBatch2f.solve(degree, points.get(p), points.get(p + 2), points.get(p + 4),
+                points.get(p + 6), index, dest);
+    }
+
+    /**
+     * Copies at most {@link #CHUNK} curves starting at {@code start} onto the
+     * heap. A bulk copy checks the bounds, and the scope of foreign memory, once
+     * instead of once per float.
+     */
+    private int read(int start, int to, float[] chunk, byte[] degree) {
+        int count = Math.min(CHUNK, to - start);
+        points.get(start * FLOATS, chunk, 0, count * FLOATS);
+        buffer.get(degrees + start, degree, 0, count);
+        return count;
+    }
+
+    private static Vector2f position(int degree, float[] c, int p, float t, Vector2f dest) {
+        return DirectBezierBatch2f.position(degree, c[p], c[p + 1], c[p + 2], c[p + 3], c[p + 4], c[p + 5],
+                c[p + 6], c[p + 7], t, dest);
+    }
+
+    /**
+     * Interpolates a curve of {@code degree}, the points it does not use are
+     * ignored.
+     */
+    private static Vector2f position(int degree, float x0, float y0, float x1, float y1, float x2, float y2,
+            float x3, float y3, float t, Vector2f dest) {
+        switch (degree) {
+            case 1:
+                return Line2f.Interpolate(x0, y0, x1, y1, t, dest);
+            case 2:
+                return Quadratic2f.Interpolate(x0, y0, x1, y1, x2, y2, t, dest);
+            default:
+                return Cubic2f.Interpolate(x0, y0, x1, y1, x2, y2, x3, y3, t, dest);
+        }
+    }
+
+    private static Vector2f derivative(int degree, float[] c, int p, float t, Vector2f dest) {
+        return DirectBezierBatch2f.derivative(degree, c[p], c[p + 1], c[p + 2], c[p + 3], c[p + 4], c[p + 5],
+                c[p + 6], c[p + 7], t, dest);
+    }
+
+    private static Vector2f derivative(int degree, float x0, float y0, float x1, float y1, float x2, float y2,
+            float x3, float y3, float t, Vector2f dest) {
+        float dx0 = x1 - x0, dy0 = y1 - y0;
+        switch (degree) {
+            case 1:
+                return dest.set(dx0, dy0);
+            case 2:
+                return Line2f.Interpolate(dx0, dy0, x2 - x1, y2 - y1, t, dest);
+            default:
+                return Quadratic2f.Interpolate(dx0, dy0, x2 - x1, y2 - y1, x3 - x2, y3 - y2, t, dest);
+        }
+    }
+
+    /**
+     * Solves one axis of a curve, {@code p} points at that axis of the first
+     * point.
+     */
+    private static int solve(int degree, float[] c, int p, int index, float[] dest) {
+        return DirectBezierBatch2f.solve(degree, c[p], c[p + 2], c[p + 4], c[p + 6], index, dest);
+    }
+
+    private static int solve(int degree, float p0, float p1, float p2, float p3, int index, float[] dest) {
+        switch (degree) {
+            case 1:
+                return Line2f.solve(p0, p1, index, dest);
+            case 2:
+                return Quadratic2f.SolveQuadraticBezier(p0, p1, p2, index, dest);
+            default:
+                return Cubic2f.SolveCubicBezier(p0, p1, p2, p3, index, dest);
+        }
+    }
+
+    private static float[] bounds(int degree, float[] c, int p, int index, float[] dest) {
+        return DirectBezierBatch2f.bounds(degree, c[p], c[p + 1], c[p + 2], c[p + 3], c[p + 4], c[p + 5],
+                c[p + 6], c[p + 7], index, dest);
+    }
+
+    private static float[] bounds(int degree, float x0, float y0, float x1, float y1, float x2, float y2,
+            float x3, float y3, int index, float[] dest) {
+        switch (degree) {
+            case 1:
+                return Line2f.Bounds(x0, y0, x1, y1, index, dest);
+            case 2:
+                return Quadratic2f.Bounds(x0, y0, x1, y1, x2, y2, index, dest);
+            default:
+                return Cubic2f.Bounds(x0, y0, x1, y1, x2, y2, x3, y3, index, dest);
+        }
+    }
+
+    /**
+     * Reserves the next record, zeroing the points a curve of {@code length}
+     * points leaves unused.
+     */
+    private int append(int length) {
+        if (size == capacity) {
+            throw new IllegalStateException("Expected at most %s curves".formatted(capacity));
+        }
+        int p = DirectBezierBatch2f.record(size);
+        for (int i = length * 8; i < STRIDE; i += 4) {
+            buffer.putFloat(p + i, 0);
+        }
+        buffer.put(degrees + size, (byte) (length - 1));
+        buffer.putInt(SIZE_OFFSET, ++size);
+        return p;
+    }
+
+    private static int record(int curve) {
+        return HEADER_SIZE + curve * STRIDE;
+    }
+
+    private static int bytes(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Expected capacity in range [1-%s] but recieved: %s".formatted(MAX_CAPACITY, capacity));
+        }
+        return HEADER_SIZE + capacity * (STRIDE + 1);
+    }
+
+    private void checkIndex(int curve) {
+        if (curve < 0 || curve >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(size - 1, curve));
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Expected range within [0-%s] but recieved: [%s-%s)".formatted(size, from, to));
+        }
+    }
+
+    private static OffHeapMemory.Allocator load() {
+        if (Boolean.parseBoolean(System.getProperty(FOREIGN_PROPERTY, "true"))
+                && ModuleLayer.boot().findModule(FOREIGN_MODULE).isPresent()) {
+            try {
+                return (OffHeapMemory.Allocator) Class.forName("com.liampace.geom.ForeignMemory$Allocator")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to direct buffers
+            }
+        }
+        return OffHeapMemory.Direct.ALLOCATOR;
+    }
+}
@@ -0,0 +1,797 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.joml.Vector2fc;
+
+import com.liampace.geom.Rasterizer2f.FillRule;
+import com.liampace.geom.curves.Cubic2f;
+
+/**
+ * Generates signed distance fields of shapes made of closed bezier contours
+ * into a grid of {@code width * height} texels stored row by row.
+ * <p>
+ * Contours are given in texel coordinates, where the centre of texel
+ * {@code (x, y)} lies at {@code (x + 0.5, y + 0.5)}. The distance of a texel is
+ * the exact distance to the closest point of any segment, found in closed form
+ * for lines and quadratics and by safeguarded Newton iteration for cubics, see
+ * {@link Projection2f}. Its sign comes from the winding number of the texel
+ * under the given {@link FillRule}, positive inside and negative outside, so it
+ * does not depend on the direction of the closest segment.
+ * <p>
+ * Distances are clamped to {@code [-range, range]}. This lets every tile of
+ * {@value #TILE_SIZE} texels skip all segments whose bounds lie further than
+ * {@code range} away, and the tiles are processed independently on a fork-join
+ * pool. Byte output maps {@code -range} to {@code 0} and {@code range} to
+ * {@code 255}, so the outline sits at about {@code 128}.
+ * <p>
+ * Multi-channel fields colour the segments of every contour so that the two
+ * sides of each corner differ in at least one of the red, green and blue
+ * channels. Every channel holds the signed pseudo-distance to the closest
+ * segment of that channel, and the median of the three channels reconstructs
+ * sharp corners when the field is sampled bilinearly. Texels where the median
+ * disagrees with the winding number fall back to the plain signed distance in
+ * all three channels. Pseudo-distances take their sign from the side of the
+ * segment, which expects the filled side of every contour to lie to the left of
+ * its direction as seen by {@link Path2f#getWinding(float, float)}.
+ * <p>
+ * A generator is not thread-safe while contours are being added.
+ */
+public class DistanceField2f {
+
+    /**
+     * The width and height of a tile in texels.
+     */
+    public static final int TILE_SIZE = 32;
+
+    private static final int TILES_PER_TASK = 4;
+
+    // Channels a segment contributes to, as bits of red, green and blue
+    private static final byte RED = 1, GREEN = 2, BLUE = 4;
+    private static final byte WHITE = RED | GREEN | BLUE;
+    private static final byte CYAN = GREEN | BLUE, MAGENTA = RED | BLUE, YELLOW = RED | GREEN;
+
+    /**
+     * Tangents whose cross product exceeds the sine of 3 radians, or that point
+     * apart, meet at a corner.
+     */
+    private static final float CORNER_THRESHOLD = (float) Math.sin(3.0);
+
+    /**
+     * Distances closer than this are compared by how perpendicular the texel is
+     * to each segment instead.
+     */
+    private static final float TIE_EPSILON = 1e-4f;
+
+    private static final int NEWTON_STEPS = 2;
+
+    private final int width, height;
+    private final float range;
+    // x0, y0, x1, y1, x2, y2, x3, y3 for every segment
+    private final FloatList points = new FloatList();
+    // minX, minY, maxX, maxY for every segment
+    private final FloatList bounds = new FloatList();
+    private byte[] degrees = new byte[16], colors = new byte[16];
+    private int count, contourStart;
+
+    /**
+     * Creates a generator for a grid of the given size.
+     *
+     * @param width  the width of the grid in texels
+     * @param height the height of the grid in texels
+     * @param range  the largest distance in texels that is represented
+     */
+    public DistanceField2f(int width, int height, float range) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(
+                    "Expected a positive size but recieved: %sx%s".formatted(width, height));
+        }
+        if (!(range > 0)) {
+            throw new IllegalArgumentException("Expected a positive range but recieved: %s".formatted(range));
+        }
+        this.width = width;
+        this.height = height;
+        this.range = range;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getRange() {
+        return range;
+    }
+
+    /**
+     * Returns the number of segments of the added contours.
+     *
+     * @return the number of segments
+     */
+    public int getSegmentCount() {
+        return count;
+    }
+
+    /**
+     * Adds every contour of {@code path}, closing the open ones.
+     *
+     * @param path the path to add, in texel coordinates
+     * @return {@code this}
+     */
+    public DistanceField2f add(Path2f path) {
+        Path2f.SegmentIterator it = path.iterator(true);
+        int contour = -1;
+        while (it.hasNext()) {
+            Bezier2f segment = it.next();
+            if (it.getContour() != contour) {
+                this.finishContour();
+                contour = it.getContour();
+            }
+            this.append(segment);
+        }
+        this.finishContour();
+        return this;
+    }
+
+    /**
+     * Adds a single closed contour whose segments are connected end to start.
+     *
+     * @param contour the segments of the contour, in texel coordinates
+     * @return {@code this}
+     */
+    public DistanceField2f addContour(List<? extends Bezier2fc> contour) {
+        for (Bezier2fc segment : contour) {
+            this.append(segment);
+        }
+        this.finishContour();
+        return this;
+    }
+
+    /**
+     * Removes every contour while keeping the allocated storage.
+     *
+     * @return {@code this}
+     */
+    public DistanceField2f clear() {
+        points.clear();
+        bounds.clear();
+        this.count = 0;
+        this.contourStart = 0;
+        return this;
+    }
+
+    /**
+     * Generates the signed distance field on the common fork-join pool.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} distances in
+     *              {@code [-range, range]}
+     * @return {@code dest}
+     */
+    public float[] generate(FillRule rule, int index, float[] dest) {
+        return this.generate(rule, index, dest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the signed distance field.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} distances in
+     *              {@code [-range, range]}
+     * @param pool  the pool the tiles are processed on
+     * @return {@code dest}
+     */
+    public float[] generate(FillRule rule, int index, float[] dest, ForkJoinPool pool) {
+        this.checkDestination(index, dest.length, 1);
+        pool.invoke(new TileTask(rule, 1, index, dest, null, 0, this.getTileCount()));
+        return dest;
+    }
+
+    /**
+     * Generates the signed distance field on the common fork-join pool.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} distances in
+     *              {@code [0, 255]}
+     * @return {@code dest}
+     */
+    public byte[] generate(FillRule rule, int index, byte[] dest) {
+        return this.generate(rule, index, dest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the signed distance field.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} distances in
+     *              {@code [0, 255]}
+     * @param pool  the pool the tiles are processed on
+     * @return {@code dest}
+     */
+    public byte[] generate(FillRule rule, int index, byte[] dest, ForkJoinPool pool) {
+        this.checkDestination(index, dest.length, 1);
+        pool.invoke(new TileTask(rule, 1, index, null, dest, 0, this.getTileCount()));
+        return dest;
+    }
+
+    /**
+     * Generates the multi-channel signed distance field on the common fork-join
+     * pool.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} interleaved red, green and
+     *              blue distances in {@code [-range, range]}
+     * @return {@code dest}
+     */
+    public float[] generateMultiChannel(FillRule rule, int index, float[] dest) {
+        return this.generateMultiChannel(rule, index, dest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the multi-channel signed distance field.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} interleaved red, green and
+     *              blue distances in {@code [-range, range]}
+     * @param pool  the pool the tiles are processed on
+     * @return {@code dest}
+     */
+    public float[] generateMultiChannel(FillRule rule, int index, float[] dest, ForkJoinPool pool) {
+        this.checkDestination(index, dest.length, 3);
+        pool.invoke(new TileTask(rule, 3, index, dest, null, 0, this.getTileCount()));
+        return dest;
+    }
+
+    /**
+     * Generates the multi-channel signed distance field on the common fork-join
+     * pool.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} interleaved red, green and
+     *              blue distances in {@code [0, 255]}
+     * @return {@code dest}
+     */
+    public byte[] generateMultiChannel(FillRule rule, int index, byte[] dest) {
+        return this.generateMultiChannel(rule, index, dest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the multi-channel signed distance field.
+     *
+     * @param rule  the fill rule deciding the sign
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} interleaved red, green and
+     *              blue distances in {@code [0, 255]}
+     * @param pool  the pool the tiles are processed on
+     * @return {@code dest}
+     */
+    public byte[] generateMultiChannel(FillRule rule, int index, byte[] dest, ForkJoinPool pool) {
+        this.checkDestination(index, dest.length, 3);
+        pool.invoke(new TileTask(rule, 3, index, null, dest, 0, this.getTileCount()));
+        return dest;
+    }
+
+    private int getTileCount() {
+        return this.getColumns() * this.getRows();
+    }
+
+    private int getColumns() {
+        return (width + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private int getRows() {
+        return (height + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private void checkDestination(int index, int length, int channels) {
+        int texels = width * height * channels;
+        if (index < 0 || index + texels > length) {
+            throw new IndexOutOfBoundsException(
+                    "Expected room for %s values but recieved: [%s-%s)".formatted(texels, index, length));
+        }
+    }
+
+    /**
+     * Copies a segment, dropping segments whose points all coincide.
+     */
+    private void append(Bezier2fc segment) {
+        int length = segment.getLength();
+        Vector2fc first = segment.getPoint(0);
+        boolean degenerate = true;
+        for (int i = 1; i < length && degenerate; i++) {
+            degenerate = segment.getPoint(i).equals(first);
+        }
+        if (degenerate) {
+            return;
+        }
+        if (count == degrees.length) {
+            this.degrees = Arrays.copyOf(degrees, count * 2);
+            this.colors = Arrays.copyOf(colors, count * 2);
+        }
+        for (int i = 0; i < Cubic2f.LENGTH; i++) {
+            if (i < length) {
+                points.add(segment.getPoint(i).x(), segment.getPoint(i).y());
+            } else {
+                points.add(0, 0);
+            }
+        }
+        float[] b = Beziers2f.getBounds(segment, 0, new float[4]);
+        bounds.add(b[0], b[1]);
+        bounds.add(b[2], b[3]);
+        degrees[count] = (byte) (length - 1);
+        colors[count] = WHITE;
+        this.count++;
+    }
+
+    /**
+     * Colours the segments added since the last contour so that the segments on
+     * either side of a corner share at most one channel.
+     */
+    private void finishContour() {
+        int start = contourStart, n = count - start;
+        this.contourStart = count;
+        if (n == 0) {
+            return;
+        }
+        float[] p = points.array(), s = new float[8];
+        float[] previous = new float[2], next = new float[2];
+        int corners = 0, firstCorner = -1;
+        boolean[] corner = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int before = start + (i + n - 1) % n, segment = start + i;
+            System.arraycopy(p, before * 8, s, 0, 8);
+            DistanceField2f.direction(s, degrees[before], 1, previous);
+            System.arraycopy(p, segment * 8, s, 0, 8);
+            DistanceField2f.direction(s, degrees[segment], 0, next);
+            float dot = previous[0] * next[0] + previous[1] * next[1];
+            float cross = previous[0] * next[1] - previous[1] * next[0];
+            if (dot <= 0 || Math.abs(cross) > CORNER_THRESHOLD) {
+                corner[i] = true;
+                corners++;
+                if (firstCorner < 0) {
+                    firstCorner = i;
+                }
+            }
+        }
+        if (corners == 0) {
+            // Smooth contours have no corners to preserve
+            Arrays.fill(colors, start, count, WHITE);
+        } else if (corners == 1) {
+            // A teardrop, spread three colours symmetrically around the corner
+            byte[] teardrop = { MAGENTA, WHITE, YELLOW };
+            for (int i = 0; i < n; i++) {
+                int segment = start + (firstCorner + i) % n;
+                colors[segment] = n < 3 ? teardrop[i * 2 / Math.max(n - 1, 1)]
+                        : teardrop[1 + DistanceField2f.trichotomy(i, n)];
+            }
+        } else {
+            byte initial = CYAN, color = CYAN;
+            for (int i = 0, seen = 0; i < n; i++) {
+                int position = (firstCorner + i) % n;
+                if (corner[position] && seen++ > 0) {
+                    // The last corner must also differ from the first colour
+                    color = DistanceField2f.switchColor(color, seen == corners ? initial : 0);
+                }
+                colors[start + position] = color;
+            }
+        }
+    }
+
+    /**
+     * Maps {@code position} out of {@code n} onto {@code -1}, {@code 0} or
+     * {@code 1}, keeping the middle third symmetric.
+     */
+    private static int trichotomy(int position, int n) {
+        return (int) (3 + 2.875f * position / (n - 1) - 1.4375f + 0.5f) - 3;
+    }
+
+    private static byte switchColor(byte color, int banned) {
+        byte[] cycle = { CYAN, MAGENTA, YELLOW };
+        for (int i = 1; i <= 3; i++) {
+            byte next = cycle[(DistanceField2f.cycleIndex(color) + i) % 3];
+            if (next != color && next != banned) {
+                return next;
+            }
+        }
+        return color;
+    }
+
+    private static int cycleIndex(byte color) {
+        return color == CYAN ? 0 : color == MAGENTA ? 1 : 2;
+    }
+
+    /**
+     * Writes the normalized tangent at {@code t} of the segment {@code s} to
+     * {@code dest}, stepping inwards where the derivative vanishes.
+     */
+    private static void direction(float[] s, int degree, float t, float[] dest) {
+        float dx = Path2f.derivative(s, degree, 0, t), dy = Path2f.derivative(s, degree, 1, t);
+        if (dx == 0 && dy == 0) {
+            float inward = t < 0.5f ? t + 1e-3f : t - 1e-3f;
+            dx = Path2f.derivative(s, degree, 0, inward);
+            dy = Path2f.derivative(s, degree, 1, inward);
+        }
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        dest[0] = length > 0 ? dx / length : 0;
+        dest[1] = length > 0 ? dy / length : 0;
+    }
+
+    /**
+     * Sorts the segments into the rows of tiles their bounds, grown by
+     * {@code margin}, overlap, stored as offsets into a single array of segment
+     * indices.
+     *
+     * @return {@code rows + 1} offsets followed by the segment indices
+     */
+    private int[] bin(float margin) {
+        int rows = this.getRows();
+        float[] b = bounds.array();
+        int[] starts = new int[rows + 1];
+        for (int i = 0; i < count; i++) {
+            int first = this.firstRow(b[i * 4 + 1] - margin), last = this.lastRow(b[i * 4 + 3] + margin, rows);
+            for (int row = first; row <= last; row++) {
+                starts[row + 1]++;
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            starts[row + 1] += starts[row];
+        }
+        int[] bins = new int[rows + 1 + starts[rows]];
+        System.arraycopy(starts, 0, bins, 0, rows + 1);
+        int[] cursors = new int[rows];
+        for (int i = 0; i < count; i++) {
+            int first = this.firstRow(b[i * 4 + 1] - margin), last = this.lastRow(b[i * 4 + 3] + margin, rows);
+            for (int row = first; row <= last; row++) {
+                bins[rows + 1 + starts[row] + cursors[row]++] = i;
+            }
+        }
+        return bins;
+    }
+
+    private int firstRow(float minY) {
+        return Math.max((int) Math.floor(minY / TILE_SIZE), 0);
+    }
+
+    private int lastRow(float maxY, int rows) {
+        return Math.min((int) Math.floor(maxY / TILE_SIZE), rows - 1);
+    }
+
+    /**
+     * Scratch storage of a single task, reused for every tile it processes.
+     */
+    private static final class Scratch {
+
+        final Projection2f projection = new Projection2f();
+        final Monotonic2f monotonic = new Monotonic2f();
+        final float[] segment = new float[8], roots = new float[3];
+        final float[] crossings = new float[Monotonic2f.MAX_SPANS * 2];
+        final float[] tangent = new float[2];
+        final int[] winding = new int[TILE_SIZE * TILE_SIZE], difference = new int[TILE_SIZE + 1];
+        final float[] distance = new float[TILE_SIZE * TILE_SIZE];
+        // Closest distance, orthogonality and pseudo-distance of every channel
+        final float[] channelDistance = new float[TILE_SIZE * TILE_SIZE * 3];
+        final float[] channelOrthogonality = new float[TILE_SIZE * TILE_SIZE * 3];
+        final float[] channelValue = new float[TILE_SIZE * TILE_SIZE * 3];
+        // Closest point of the current segment to the current texel
+        float t, x, y, distanceSquared;
+    }
+
+    /**
+     * Generates the tile at {@code tile}, {@code windingBins} holds the segments
+     * overlapping each row of tiles and {@code distanceBins} those within range
+     * of it.
+     */
+    private void generateTile(int[] windingBins, int[] distanceBins, int tile, Scratch scratch, FillRule rule,
+            int channels, int index, float[] floats, byte[] bytes) {
+        int columns = this.getColumns(), rows = this.getRows();
+        int row = tile / columns, column = tile % columns;
+        int x0 = column * TILE_SIZE, y0 = row * TILE_SIZE;
+        int w = Math.min(TILE_SIZE, width - x0), h = Math.min(TILE_SIZE, height - y0);
+        int texels = w * h;
+        this.winding(windingBins, rows, row, x0, y0, w, h, scratch);
+
+        float[] distance = scratch.distance;
+        float[] channelDistance = scratch.channelDistance, channelOrthogonality = scratch.channelOrthogonality;
+        float[] channelValue = scratch.channelValue;
+        float rangeSquared = range * range;
+        Arrays.fill(distance, 0, texels, rangeSquared);
+        if (channels == 3) {
+            Arrays.fill(channelDistance, 0, texels * 3, Float.POSITIVE_INFINITY);
+        }
+        float[] b = bounds.array(), p = points.array(), s = scratch.segment;
+        // Texel centres of the tile
+        float minX = x0 + 0.5f, minY = y0 + 0.5f, maxX = x0 + w - 0.5f, maxY = y0 + h - 0.5f;
+        for (int i = rows + 1 + distanceBins[row], end = rows + 1 + distanceBins[row + 1]; i < end; i++) {
+            int segment = distanceBins[i], o = segment * 4;
+            if (b[o] - range > maxX || b[o + 2] + range < minX || b[o + 1] - range > maxY
+                    || b[o + 3] + range < minY) {
+                continue;
+            }
+            int degree = degrees[segment], color = colors[segment];
+            System.arraycopy(p, segment * 8, s, 0, 8);
+            if (degree == 3) {
+                scratch.projection.load(s[0], s[1], s[2], s[3], s[4], s[5], s[6], s[7]);
+            }
+            for (int y = 0, texel = 0; y < h; y++) {
+                float py = y0 + y + 0.5f;
+                for (int x = 0; x < w; x++, texel++) {
+                    float px = x0 + x + 0.5f;
+                    DistanceField2f.closest(s, degree, px, py, scratch);
+                    if (scratch.distanceSquared < distance[texel]) {
+                        distance[texel] = scratch.distanceSquared;
+                    }
+                    if (channels == 3) {
+                        this.updateChannels(s, degree, color, px, py, texel * 3, scratch);
+                    }
+                }
+            }
+        }
+
+        boolean evenOdd = rule == FillRule.EVEN_ODD;
+        int[] winding = scratch.winding;
+        for (int y = 0, texel = 0; y < h; y++) {
+            int d = index + ((y0 + y) * width + x0) * channels;
+            for (int x = 0; x < w; x++, texel++, d += channels) {
+                boolean inside = evenOdd ? (winding[texel] & 1) != 0 : winding[texel] != 0;
+                float signed = (float) Math.sqrt(distance[texel]);
+                signed = inside ? signed : -signed;
+                if (channels == 1) {
+                    this.write(signed, d, floats, bytes);
+                    continue;
+                }
+                int c = texel * 3;
+                for (int k = 0; k < 3; k++) {
+                    if (channelDistance[c + k] == Float.POSITIVE_INFINITY) {
+                        channelValue[c + k] = inside ? range : -range;
+                    }
+                }
+                float r = channelValue[c], g = channelValue[c + 1], bl = channelValue[c + 2];
+                float median = Math.max(Math.min(r, g), Math.min(Math.max(r, g), bl));
+                if (median > 0 != inside) {
+                    // Overlapping or misoriented contours, keep the true distance
+                    r = g = bl = signed;
+                }
+                this.write(r, d, floats, bytes);
+                this.write(g, d + 1, floats, bytes);
+                this.write(bl, d + 2, floats, bytes);
+            }
+        }
+    }
+
+    private void write(float distance, int d, float[] floats, byte[] bytes) {
+        distance = Math.max(Math.min(distance, range), -range);
+        if (floats != null) {
+            floats[d] = distance;
+        } else {
+            bytes[d] = (byte) (int) ((distance / range * 0.5f + 0.5f) * 255 + 0.5f);
+        }
+    }
+
+    /**
+     * Counts the winding number of every texel centre of a tile, crossing each
+     * row once per segment and summing the crossings from the right.
+     */
+    private void winding(int[] bins, int rows, int row, int x0, int y0, int w, int h, Scratch scratch) {
+        float[] b = bounds.array(), p = points.array();
+        float[] crossings = scratch.crossings;
+        int[] winding = scratch.winding, difference = scratch.difference;
+        for (int y = 0; y < h; y++) {
+            float py = y0 + y + 0.5f;
+            Arrays.fill(difference, 0, w + 1, 0);
+            for (int i = rows + 1 + bins[row], end = rows + 1 + bins[row + 1]; i < end; i++) {
+                int segment = bins[i], o = segment * 4;
+                // Crossings left of the first centre count for no texel
+                if (py < b[o + 1] || py > b[o + 3] || b[o + 2] <= x0 + 0.5f) {
+                    continue;
+                }
+                int found = scratch.monotonic.load(p, segment * 8, degrees[segment]).crossings(py, crossings);
+                for (int k = 0; k < found * 2; k += 2) {
+                    // Texels whose centre lies left of the crossing
+                    int left = (int) Math.ceil(crossings[k] - x0 - 0.5f);
+                    left = Math.max(Math.min(left, w), 0);
+                    int direction = (int) crossings[k + 1];
+                    difference[0] += direction;
+                    difference[left] -= direction;
+                }
+            }
+            for (int x = 0, sum = 0, texel = y * w; x < w; x++, texel++) {
+                sum += difference[x];
+                winding[texel] = sum;
+            }
+        }
+    }
+
+    /**
+     * Keeps the segment for every channel of its colour it is the closest
+     * segment of, breaking ties between segments meeting at a corner by how
+     * perpendicular the texel lies to each.
+     */
+    private void updateChannels(float[] s, int degree, int color, float px, float py, int c, Scratch scratch) {
+        float distance = (float) Math.sqrt(scratch.distanceSquared);
+        float[] tangent = scratch.tangent;
+        DistanceField2f.direction(s, degree, scratch.t, tangent);
+        float qx = px - scratch.x, qy = py - scratch.y;
+        float cross = tangent[0] * qy - tangent[1] * qx;
+        float orthogonality = distance > 0 ? Math.abs(cross) / distance : 1;
+        float[] channelDistance = scratch.channelDistance, channelOrthogonality = scratch.channelOrthogonality;
+        float[] channelValue = scratch.channelValue;
+        float pseudo = Float.NaN;
+        for (int k = 0; k < 3; k++) {
+            if ((color & (1 << k)) == 0) {
+                continue;
+            }
+            float best = channelDistance[c + k];
+            if (distance > best + TIE_EPSILON
+                    || (distance > best - TIE_EPSILON && orthogonality <= channelOrthogonality[c + k])) {
+                continue;
+            }
+            if (Float.isNaN(pseudo)) {
+                pseudo = this.pseudoDistance(s, degree, px, py, distance, cross >= 0, scratch);
+            }
+            channelDistance[c + k] = distance;
+            channelOrthogonality[c + k] = orthogonality;
+            channelValue[c + k] = pseudo;
+        }
+    }
+
+    /**
+     * Signed distance to the segment, or to the tangent line extending it when
+     * the texel lies beyond one of its ends.
+     */
+    private float pseudoDistance(float[] s, int degree, float px, float py, float distance, boolean left,
+            Scratch scratch) {
+        float signed = left ? distance : -distance;
+        float t = scratch.t;
+        if (t > 0 && t < 1) {
+            return signed;
+        }
+        float[] tangent = scratch.tangent;
+        int o = t == 0 ? 0 : degree * 2;
+        float qx = px - s[o], qy = py - s[o + 1];
+        float along = qx * tangent[0] + qy * tangent[1];
+        if (t == 0 ? along < 0 : along > 0) {
+            float pseudo = tangent[0] * qy - tangent[1] * qx;
+            if (Math.abs(pseudo) <= distance) {
+                return pseudo;
+            }
+        }
+        return signed;
+    }
+
+    /**
+     * Finds the point of the segment closest to {@code (px, py)} and stores it in
+     * {@code scratch}. Cubic segments must already be loaded into its projection.
+     */
+    private static void closest(float[] s, int degree, float px, float py, Scratch scratch) {
+        switch (degree) {
+            case 1: {
+                float dx = s[2] - s[0], dy = s[3] - s[1];
+                float t = ((px - s[0]) * dx + (py - s[1]) * dy) / (dx * dx + dy * dy);
+                t = Math.max(Math.min(t, 1), 0);
+                DistanceField2f.store(t, s[0] + dx * t, s[1] + dy * t, px, py, scratch);
+                return;
+            }
+            case 2:
+                DistanceField2f.closestQuadratic(s, px, py, scratch);
+                return;
+            default: {
+                Projection2f projection = scratch.projection.project(px, py);
+                scratch.t = projection.getT();
+                scratch.x = projection.getX();
+                scratch.y = projection.getY();
+                scratch.distanceSquared = projection.getDistanceSquared();
+            }
+        }
+    }
+
+    /**
+     * The closest point of a quadratic {@code B(t) = P0 + 2bt + at^2} lies at an
+     * end or where {@code (B(t) - P) . B'(t) = 0}, a cubic in {@code t}.
+     */
+    private static void closestQuadratic(float[] s, float px, float py, Scratch scratch) {
+        float ax = s[0] - 2 * s[2] + s[4], ay = s[1] - 2 * s[3] + s[5];
+        float bx = s[2] - s[0], by = s[3] - s[1];
+        float mx = s[0] - px, my = s[1] - py;
+        DistanceField2f.store(0, s[0], s[1], px, py, scratch);
+        float bestT = 0, bestX = s[0], bestY = s[1], best = scratch.distanceSquared;
+        float[] roots = scratch.roots;
+        float c3 = ax * ax + ay * ay, c2 = 3 * (ax * bx + ay * by);
+        float c1 = 2 * (bx * bx + by * by) + mx * ax + my * ay, c0 = mx * bx + my * by;
+        int found = Cubic2f.SolveCubicEquation(c3, c2, c1, c0, 0, roots);
+        for (int i = 0; i <= found; i++) {
+            float t = i == found ? 1 : roots[i];
+            if (i < found) {
+                // The closed form loses precision for large coordinates, polish it
+                for (int k = 0; k < NEWTON_STEPS; k++) {
+                    float df = (3 * c3 * t + 2 * c2) * t + c1;
+                    if (df != 0) {
+                        t -= (((c3 * t + c2) * t + c1) * t + c0) / df;
+                    }
+                }
+            }
+            if (!(t > 0 && t <= 1)) {
+                continue;
+            }
+            float x = s[0] + (2 * bx + ax * t) * t, y = s[1] + (2 * by + ay * t) * t;
+            float dx = x - px, dy = y - py, d = dx * dx + dy * dy;
+            if (d < best) {
+                bestT = t;
+                bestX = x;
+                bestY = y;
+                best = d;
+            }
+        }
+        scratch.t = bestT;
+        scratch.x = bestX;
+        scratch.y = bestY;
+        scratch.distanceSquared = best;
+    }
+
+    private static void store(float t, float x, float y, float px, float py, Scratch scratch) {
+        float dx = x - px, dy = y - py;
+        scratch.t = t;
+        scratch.x = x;
+        scratch.y = y;
+        scratch.distanceSquared = dx * dx + dy * dy;
+    }
+
+    private class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] windingBins, distanceBins;
+        private final FillRule rule;
+        private final int channels, index;
+        private final float[] floats;
+        private final byte[] bytes;
+        private final int from, to;
+
+        TileTask(FillRule rule, int channels, int index, float[] floats, byte[] bytes, int from, int to) {
+            this(DistanceField2f.this.bin(0), DistanceField2f.this.bin(range), rule, channels, index, floats, bytes,
+                    from, to);
+        }
+
+        private TileTask(int[] windingBins, int[] distanceBins, FillRule rule, int channels, int index,
+                float[] floats, byte[] bytes, int from, int to) {
+            this.windingBins = windingBins;
+            this.distanceBins = distanceBins;
+            this.rule = rule;
+            this.channels = channels;
+            this.index = index;
+            this.floats = floats;
+            this.bytes = bytes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                ForkJoinTask.invokeAll(
+                        new TileTask(windingBins, distanceBins, rule, channels, index, floats, bytes, from, middle),
+                        new TileTask(windingBins, distanceBins, rule, channels, index, floats, bytes, middle, to));
+                return;
+            }
+            Scratch scratch = new Scratch();
+            for (int tile = from; tile < to; tile++) {
+                DistanceField2f.this.generateTile(windingBins, distanceBins, tile, scratch, rule, channels, index,
+                        floats, bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.liampace.geom;
+
+import java.nio.FloatBuffer;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Approximates bezier curves with polylines whose distance from the curve never
+ * exceeds a given tolerance.
+ * <p>
+ * Quadratics have a constant second derivative, so the number of segments that
+ * keeps the chord error within the tolerance is computed up front and the curve
+ * is sampled uniformly. Cubics are subdivided adaptively, a piece is emitted as
+ * soon as its distance from its chord is bounded by the tolerance, so straight
+ * stretches produce few vertices and tight bends produce many.
+ * <p>
+ * Vertices are written as interleaved {@code x, y} pairs. A flattener keeps its
+ * subdivision stack between calls and allocates nothing once warmed up, but it
+ * is not thread-safe.
+ */
+public class Flattener2f {
+
+    /**
+     * The maximum number of times a cubic is halved before its pieces are emitted
+     * regardless of their flatness.
+     */
+    public static final int MAX_DEPTH = 16;
+
+    /**
+     * The maximum number of segments a single quadratic is split into.
+     */
+    public static final int MAX_SEGMENTS = 1 << MAX_DEPTH;
+
+    private final float[] stack = new float[(MAX_DEPTH + 1) * Cubic2f.LENGTH * 2];
+    private final int[] depths = new int[MAX_DEPTH + 1];
+    private final Vector2f temp = new Vector2f();
+    private final FloatList scratch = new FloatList();
+
+    /**
+     * Flattens {@code curve} and appends its vertices, including the start point,
+     * to {@code dest}.
+     *
+     * @param curve     the curve to flatten
+     * @param tolerance the maximum distance between the polyline and the curve
+     * @param dest      will hold the vertices
+     * @return number of vertices appended
+     */
+    public int flatten(Bezier2fc curve, float tolerance, FloatList dest) {
+        return this.flatten(curve, tolerance, true, dest);
+    }
+
+    /**
+     * Flattens {@code curve} and appends its vertices to {@code dest}. The start
+     * point can be omitted so that the vertices of consecutive curves of a contour
+     * can be appended without duplicates.
+     *
+     * @param curve        the curve to flatten
+     * @param tolerance    the maximum distance between the polyline and the curve
+     * @param includeStart whether to emit the start point of the curve
+     * @param dest         will hold the vertices
+     * @return number of vertices appended
+     */
+    public int flatten(Bezier2fc curve, float tolerance, boolean includeStart, FloatList dest) {
+        Vector2fc p0 = curve.getPoint(0), p1 = curve.getPoint(1);
+        switch (curve.getLength()) {
+            case Line2f.LENGTH:
+                return this.flattenLine(p0.x(), p0.y(), p1.x(), p1.y(), includeStart, dest);
+            case Quadratic2f.LENGTH: {
+                Vector2fc p2 = curve.getPoint(2);
+                return this.flattenQuadratic(p0.x(), p0.y(), p1.x(), p1.y(), p2.x(), p2.y(), tolerance, includeStart,
+                        dest);
+            }
+            case Cubic2f.LENGTH: {
+                Vector2fc p2 = curve.getPoint(2), p3 = curve.getPoint(3);
+                return this.flattenCubic(p0.x(), p0.y(), p1.x(), p1.y(), p2.x(), p2.y(), p3.x(), p3.y(), tolerance,
+                        includeStart, dest);
+            }
+            default:
+                throw new IllegalArgumentException(
+                        "Expected a curve with [2-4] points but recieved: %s".formatted(curve.getLength()));
+        }
+    }
+
+    /**
+     * Flattens {@code curve} and puts its vertices into {@code dest}.
+     *
+     * @param curve        the curve to flatten
+     * @param tolerance    the maximum distance between the polyline and the curve
+     * @param includeStart whether to emit the start point of the curve
+     * @param dest         will hold the vertices
+     * @return number of vertices written
+     * @throws java.nio.BufferOverflowException if {@code dest} has no room for
+     *                                          every vertex
+     */
+    public int flatten(Bezier2fc curve, float tolerance, boolean includeStart, FloatBuffer dest) {
+        int count = this.flatten(curve, tolerance, includeStart, scratch.clear());
+        scratch.get(dest);
+        return count;
+    }
+
+    /**
+     * Appends the vertices of a line to {@code dest}.
+     *
+     * @return number of vertices appended
+     */
+    public int flattenLine(float x0, float y0, float x1, float y1, boolean includeStart, FloatList dest) {
+        if (includeStart) {
+            dest.add(x0, y0);
+        }
+        dest.add(x1, y1);
+        return includeStart ? 2 : 1;
+    }
+
+    /**
+     * Flattens a quadratic curve into uniformly spaced segments. The deviation of
+     * a chord spanning {@code h} of the curve is at most
+     * {@code h^2 |P0 - 2P1 + P2| / 4}, which gives the smallest segment count
+     * that honours the tolerance.
+     *
+     * @return number of vertices appended
+     */
+    public int flattenQuadratic(float x0, float y0, float x1, float y1, float x2, float y2, float tolerance,
+            boolean includeStart, FloatList dest) {
+        Flattener2f.checkTolerance(tolerance);
+        float ddx = x0 - x1 * 2 + x2, ddy = y0 - y1 * 2 + y2;
+        float dd = (float) Math.sqrt(ddx * ddx + ddy * ddy);
+        int segments = (int) Math.min(Math.ceil(Math.sqrt(dd / (tolerance * 4))), MAX_SEGMENTS);
+        segments = Math.max(segments, 1);
+        dest.ensureCapacity(dest.size() + (segments + 1) * 2);
+        if (includeStart) {
+            dest.add(x0, y0);
+        }
+        float step = 1.0f / segments;
+        for (int i = 1; i < segments; i++) {
+            Quadratic2f.Interpolate(x0, y0, x1, y1, x2, y2, i * step, temp);
+            dest.add(temp.x, temp.y);
+        }
+        dest.add(x2, y2);
+        return includeStart ? segments + 1 : segments;
+    }
+
+    /**
+     * Flattens a cubic curve by adaptive subdivision.
+     *
+     * @return number of vertices appended
+     */
+    public int flattenCubic(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+            float tolerance, boolean includeStart, FloatList dest) {
+        Flattener2f.checkTolerance(tolerance);
+        int start = dest.size();
+        if (includeStart) {
+            dest.add(x0, y0);
+        }
+        float toleranceSquared = tolerance * tolerance;
+        int top = this.push(0, 0, x0, y0, x1, y1, x2, y2, x3, y3);
+        while (top > 0) {
+            int p = --top * 8;
+            int depth = depths[top];
+            float ax = stack[p], ay = stack[p + 1];
+            float bx = stack[p + 2], by = stack[p + 3];
+            float cx = stack[p + 4], cy = stack[p + 5];
+            float dx = stack[p + 6], dy = stack[p + 7];
+            if (depth >= MAX_DEPTH || Flattener2f.isFlat(ax, ay, bx, by, cx, cy, dx, dy, toleranceSquared)) {
+                dest.add(dx, dy);
+                continue;
+            }
+            // de Casteljau split at t = 0.5
+            float abx = (ax + bx) * 0.5f, aby = (ay + by) * 0.5f;
+            float bcx = (bx + cx) * 0.5f, bcy = (by + cy) * 0.5f;
+            float cdx = (cx + dx) * 0.5f, cdy = (cy + dy) * 0.5f;
+            float abcx = (abx + bcx) * 0.5f, abcy = (aby + bcy) * 0.5f;
+            float bcdx = (bcx + cdx) * 0.5f, bcdy = (bcy + cdy) * 0.5f;
+            float mx = (abcx + bcdx) * 0.5f, my = (abcy + bcdy) * 0.5f;
+            // Push the right half first so the left half is emitted first
+            top = this.push(top, depth + 1, mx, my, bcdx, bcdy, cdx, cdy, dx, dy);
+            top = this.push(top, depth + 1, ax, ay, abx, aby, abcx, abcy, mx, my);
+        }
+        return (dest.size() - start) / 2;
+    }
+
+    private int push(int top, int depth, float x0, float y0, float x1, float y1, float x2, float y2, float x3,
+            float y3) {
+        int p = top * 8;
+        stack[p] = x0;
+        stack[p + 1] = y0;
+        stack[p + 2] = x1;
+        stack[p + 3] = y1;
+        stack[p + 4] = x2;
+        stack[p + 5] = y2;
+        stack[p + 6] = x3;
+        stack[p + 7] = y3;
+        depths[top] = depth;
+        return top + 1;
+    }
+
+    /**
+     * Whether the cubic lies within the tolerance of its chord. When both control
+     * points project onto the chord, the curve's distance from it is
+     * {@code 3t(1-t)^2 d1 + 3t^2(1-t) d2} for the signed control point distances
+     * {@code d1} and {@code d2}, which never exceeds {@code 3/4 max(|d1|, |d2|)}.
+     * Otherwise the convex hull bound is used.
+     */
+    private static boolean isFlat(float ax, float ay, float bx, float by, float cx, float cy, float dx, float dy,
+            float toleranceSquared) {
+        float ux = dx - ax, uy = dy - ay;
+        float lengthSquared = ux * ux + uy * uy;
+        if (lengthSquared > 0) {
+            float pb = (bx - ax) * ux + (by - ay) * uy;
+            float pc = (cx - ax) * ux + (cy - ay) * uy;
+            if (pb >= 0 && pb <= lengthSquared && pc >= 0 && pc <= lengthSquared) {
+                float db = (bx - ax) * uy - (by - ay) * ux;
+                float dc = (cx - ax) * uy - (cy - ay) * ux;
+                float d = Math.max(Math.abs(db), Math.abs(dc)) * 0.75f;
+                return d * d <= toleranceSquared * lengthSquared;
+            }
+        }
+        return Flattener2f.distanceSquared(bx, by, ax, ay, dx, dy) <= toleranceSquared
+                && Flattener2f.distanceSquared(cx, cy, ax, ay, dx, dy) <= toleranceSquared;
+    }
+
+    /**
+     * Squared distance between {@code (px, py)} and the segment from
+     * {@code (ax, ay)} to {@code (bx, by)}. Since the curve lies inside the convex
+     * hull of its points, it is within the tolerance of the chord whenever both
+     * control points are.
+     */
+    private static float distanceSquared(float px, float py, float ax, float ay, float bx, float by) {
+        float ux = bx - ax, uy = by - ay;
+        float vx = px - ax, vy = py - ay;
+        float lengthSquared = ux * ux + uy * uy;
+        if (lengthSquared > 0) {
+            float t = Math.max(Math.min((vx * ux + vy * uy) / lengthSquared, 1), 0);
+            vx -= ux * t;
+            vy -= uy * t;
+        }
+        return vx * vx + vy * vy;
+    }
+
+    private static void checkTolerance(float tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Expected a positive tolerance but recieved: %s".formatted(tolerance));
+        }
+    }
+}
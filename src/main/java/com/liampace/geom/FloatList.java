@@ -0,0 +1,158 @@
+package com.liampace.geom;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive floats, used to stream geometry out of the
+ * library without boxing or allocating per element.
+ */
+public class FloatList {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private float[] data;
+    private int size;
+
+    public FloatList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FloatList(int capacity) {
+        this.data = new float[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Returns the number of floats stored in this list.
+     *
+     * @return the number of floats
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the float at the specified index.
+     *
+     * @param index the index of the float
+     * @return the float at the specified index
+     */
+    public float get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(size - 1, index));
+        }
+        return data[index];
+    }
+
+    /**
+     * Replaces the float at the specified index.
+     *
+     * @param index the index of the float
+     * @param value the new value
+     * @return {@code this}
+     */
+    public FloatList set(int index, float value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(size - 1, index));
+        }
+        data[index] = value;
+        return this;
+    }
+
+    /**
+     * Appends a float to the end of this list.
+     *
+     * @param value the value to append
+     * @return {@code this}
+     */
+    public FloatList add(float value) {
+        this.ensureCapacity(size + 1);
+        data[size++] = value;
+        return this;
+    }
+
+    /**
+     * Appends a pair of floats, usually the coordinates of a point, to the end of
+     * this list.
+     *
+     * @param x the first value to append
+     * @param y the second value to append
+     * @return {@code this}
+     */
+    public FloatList add(float x, float y) {
+        this.ensureCapacity(size + 2);
+        data[size++] = x;
+        data[size++] = y;
+        return this;
+    }
+
+    /**
+     * Removes every float from this list while keeping the allocated storage.
+     *
+     * @return {@code this}
+     */
+    public FloatList clear() {
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * Shrinks this list to the given size.
+     *
+     * @param size the new size, no larger than the current size
+     * @return {@code this}
+     */
+    public FloatList truncate(int size) {
+        if (size < 0 || size > this.size) {
+            throw new IndexOutOfBoundsException(
+                    "Expected size in range [0-%s] but recieved: %s".formatted(this.size, size));
+        }
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Grows the backing array so that it can hold at least {@code capacity}
+     * floats.
+     *
+     * @param capacity the minimum capacity
+     * @return {@code this}
+     */
+    public FloatList ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            this.data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the backing array. Only the first {@link #size()} values are
+     * meaningful and the array is replaced whenever the list grows.
+     *
+     * @return the backing array
+     */
+    public float[] array() {
+        return data;
+    }
+
+    /**
+     * Copies the contents of this list into a new array.
+     *
+     * @return a new array holding {@link #size()} floats
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Relative bulk put of the contents of this list into {@code dest}.
+     *
+     * @param dest the buffer to write to
+     * @return {@code dest}
+     */
+    public FloatBuffer get(FloatBuffer dest) {
+        return dest.put(data, 0, size);
+    }
+}
@@ -0,0 +1,80 @@
+package com.liampace.geom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * {@link OffHeapMemory} built on the incubating Foreign Memory API. Every block
+ * owns a shared {@link ResourceScope}, closing it frees native memory or unmaps
+ * the file at once, and any later access through the buffer fails with an
+ * {@link IllegalStateException} instead of touching freed memory.
+ * <p>
+ * This class must only be loaded when the {@code jdk.incubator.foreign} module
+ * is present, see {@link DirectBezierBatch2f}.
+ */
+final class ForeignMemory implements OffHeapMemory {
+
+    /**
+     * The alignment of allocated blocks, one cache line.
+     */
+    private static final long ALIGNMENT = 64;
+
+    private final ResourceScope scope;
+    private final ByteBuffer buffer;
+
+    private ForeignMemory(ResourceScope scope, MemorySegment segment) {
+        this.scope = scope;
+        this.buffer = segment.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    public boolean isExplicit() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (scope.isAlive()) {
+            scope.close();
+        }
+    }
+
+    /**
+     * Loaded by name, so that {@link DirectBezierBatch2f} does not link against
+     * the incubator module.
+     */
+    static final class Allocator implements OffHeapMemory.Allocator {
+
+        @Override
+        public OffHeapMemory allocate(int bytes) {
+            ResourceScope scope = ResourceScope.newSharedScope();
+            return new ForeignMemory(scope, MemorySegment.allocateNative(bytes, ALIGNMENT, scope));
+        }
+
+        @Override
+        public OffHeapMemory map(Path path, int bytes) throws IOException {
+            // Unlike FileChannel, mapFile does not create missing files
+            FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE).close();
+            ResourceScope scope = ResourceScope.newSharedScope();
+            try {
+                return new ForeignMemory(scope,
+                        MemorySegment.mapFile(path, 0, bytes, FileChannel.MapMode.READ_WRITE, scope));
+            } catch (IOException | RuntimeException e) {
+                scope.close();
+                throw e;
+            }
+        }
+    }
+}
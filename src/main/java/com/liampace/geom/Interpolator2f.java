@@ -0,0 +1,154 @@
+package com.liampace.geom;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+/**
+ * Evaluates bezier positions and derivatives in bulk, either for one curve at
+ * many interpolation factors or for many curves at the same interpolation
+ * factor. Results are written to separate X and Y output arrays.
+ * <p>
+ * When the {@code jdk.incubator.vector} module is available (for example when
+ * running with {@code --add-modules jdk.incubator.vector}) evaluation is
+ * vectorised, otherwise a scalar loop is used. Both paths use the same basis
+ * formulas as the static {@code Interpolate} methods of the curve classes and
+ * produce identical results. The vectorised path can be disabled by setting the
+ * system property {@value #VECTOR_PROPERTY} to {@code false}.
+ */
+public final class Interpolator2f {
+
+    /**
+     * System property that disables the vectorised path when set to
+     * {@code false}.
+     */
+    public static final String VECTOR_PROPERTY = "com.liampace.geom.vector";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final BatchKernel KERNEL = Interpolator2f.load();
+
+    private Interpolator2f() {
+    }
+
+    /**
+     * Returns whether evaluation runs on the Vector API.
+     *
+     * @return {@code true} if the vectorised path is in use
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarBatchKernel);
+    }
+
+    /**
+     * Interpolates {@code curve} at {@code count} interpolation factors read from
+     * {@code t} starting at {@code tIndex}.
+     *
+     * @param curve  the curve to evaluate
+     * @param count  the number of interpolation factors
+     * @param tIndex the starting position of {@code t}
+     * @param t      interpolation factors between [0-1] range
+     * @param index  the starting position of {@code destX} and {@code destY}
+     * @param destX  will hold the X coordinates
+     * @param destY  will hold the Y coordinates
+     * @see Bezier2f#getPosition(float, Vector2f)
+     */
+    public static void getPositions(Bezier2fc curve, int count, int tIndex, float[] t, int index, float[] destX,
+            float[] destY) {
+        Interpolator2f.evaluate(curve, false, count, tIndex, t, index, destX, destY);
+    }
+
+    /**
+     * Interpolates the derivative of {@code curve} at {@code count} interpolation
+     * factors read from {@code t} starting at {@code tIndex}.
+     *
+     * @param curve  the curve to evaluate
+     * @param count  the number of interpolation factors
+     * @param tIndex the starting position of {@code t}
+     * @param t      interpolation factors between [0-1] range
+     * @param index  the starting position of {@code destX} and {@code destY}
+     * @param destX  will hold the X components
+     * @param destY  will hold the Y components
+     * @see Bezier2f#getDerivative(float, Vector2f)
+     */
+    public static void getDerivatives(Bezier2fc curve, int count, int tIndex, float[] t, int index, float[] destX,
+            float[] destY) {
+        Interpolator2f.evaluate(curve, true, count, tIndex, t, index, destX, destY);
+    }
+
+    /**
+     * Interpolates {@code count} curves of the same degree at the interpolation
+     * factor {@code t}. Curves are stored in planar columns, point {@code k} of
+     * curve {@code i} is read from {@code x[k * stride + i]} and
+     * {@code y[k * stride + i]}.
+     *
+     * @param degree the degree of every curve, between [1-3]
+     * @param x      the planar X columns
+     * @param y      the planar Y columns
+     * @param stride the distance between two columns
+     * @param from   the index of the first curve
+     * @param count  the number of curves
+     * @param t      interpolation factor between [0-1] range
+     * @param index  the starting position of {@code destX} and {@code destY}
+     * @param destX  will hold the X coordinates
+     * @param destY  will hold the Y coordinates
+     */
+    public static void getPositions(int degree, float[] x, float[] y, int stride, int from, int count, float t,
+            int index, float[] destX, float[] destY) {
+        Interpolator2f.checkDegree(degree);
+        KERNEL.evaluate(degree, false, x, y, stride, from, count, t, index, destX, destY);
+    }
+
+    /**
+     * Interpolates the derivative of {@code count} curves of the same degree at
+     * the interpolation factor {@code t}. Curves are stored in planar columns,
+     * point {@code k} of curve {@code i} is read from {@code x[k * stride + i]}
+     * and {@code y[k * stride + i]}.
+     *
+     * @param degree the degree of every curve, between [1-3]
+     * @param x      the planar X columns
+     * @param y      the planar Y columns
+     * @param stride the distance between two columns
+     * @param from   the index of the first curve
+     * @param count  the number of curves
+     * @param t      interpolation factor between [0-1] range
+     * @param index  the starting position of {@code destX} and {@code destY}
+     * @param destX  will hold the X components
+     * @param destY  will hold the Y components
+     */
+    public static void getDerivatives(int degree, float[] x, float[] y, int stride, int from, int count, float t,
+            int index, float[] destX, float[] destY) {
+        Interpolator2f.checkDegree(degree);
+        KERNEL.evaluate(degree, true, x, y, stride, from, count, t, index, destX, destY);
+    }
+
+    private static void evaluate(Bezier2fc curve, boolean derivative, int count, int tIndex, float[] t, int index,
+            float[] destX, float[] destY) {
+        int length = curve.getLength();
+        Interpolator2f.checkDegree(length - 1);
+        float[] px = new float[length], py = new float[length];
+        for (int i = 0; i < length; i++) {
+            Vector2fc point = curve.getPoint(i);
+            px[i] = point.x();
+            py[i] = point.y();
+        }
+        KERNEL.evaluate(length - 1, derivative, px, py, count, tIndex, t, index, destX, destY);
+    }
+
+    private static void checkDegree(int degree) {
+        if (degree < 1 || degree > 3) {
+            throw new IllegalArgumentException("Expected degree in range [1-3] but recieved: %s".formatted(degree));
+        }
+    }
+
+    private static BatchKernel load() {
+        if (Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+                && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (BatchKernel) Class.forName("com.liampace.geom.VectorBatchKernel").getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernel
+            }
+        }
+        return new ScalarBatchKernel();
+    }
+}
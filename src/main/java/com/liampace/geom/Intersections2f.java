@@ -0,0 +1,141 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of intersections between pairs of curves, each made of the
+ * indices of both curves and the interpolation factor on each of them.
+ *
+ * @see Intersector2f#intersectAll(Bezier2f[], java.util.concurrent.ForkJoinPool)
+ */
+public class Intersections2f {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] curveA, curveB;
+    private float[] tA, tB;
+    private int size;
+
+    public Intersections2f() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Intersections2f(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.curveA = new int[capacity];
+        this.curveB = new int[capacity];
+        this.tA = new float[capacity];
+        this.tB = new float[capacity];
+    }
+
+    /**
+     * Returns the number of intersections.
+     *
+     * @return the number of intersections
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first curve of the intersection.
+     *
+     * @param index the index of the intersection
+     * @return the index of the first curve
+     */
+    public int getCurveA(int index) {
+        this.checkIndex(index);
+        return curveA[index];
+    }
+
+    /**
+     * Returns the index of the second curve of the intersection.
+     *
+     * @param index the index of the intersection
+     * @return the index of the second curve
+     */
+    public int getCurveB(int index) {
+        this.checkIndex(index);
+        return curveB[index];
+    }
+
+    /**
+     * Returns the interpolation factor of the intersection on the first curve.
+     *
+     * @param index the index of the intersection
+     * @return interpolation factor between the range of [0-1]
+     */
+    public float getTA(int index) {
+        this.checkIndex(index);
+        return tA[index];
+    }
+
+    /**
+     * Returns the interpolation factor of the intersection on the second curve.
+     *
+     * @param index the index of the intersection
+     * @return interpolation factor between the range of [0-1]
+     */
+    public float getTB(int index) {
+        this.checkIndex(index);
+        return tB[index];
+    }
+
+    /**
+     * Appends an intersection.
+     *
+     * @return {@code this}
+     */
+    public Intersections2f add(int curveA, int curveB, float tA, float tB) {
+        this.ensureCapacity(size + 1);
+        this.curveA[size] = curveA;
+        this.curveB[size] = curveB;
+        this.tA[size] = tA;
+        this.tB[size] = tB;
+        size++;
+        return this;
+    }
+
+    /**
+     * Appends every intersection of {@code other}.
+     *
+     * @param other the intersections to append
+     * @return {@code this}
+     */
+    public Intersections2f addAll(Intersections2f other) {
+        this.ensureCapacity(size + other.size);
+        System.arraycopy(other.curveA, 0, curveA, size, other.size);
+        System.arraycopy(other.curveB, 0, curveB, size, other.size);
+        System.arraycopy(other.tA, 0, tA, size, other.size);
+        System.arraycopy(other.tB, 0, tB, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    /**
+     * Removes every intersection while keeping the allocated storage.
+     *
+     * @return {@code this}
+     */
+    public Intersections2f clear() {
+        this.size = 0;
+        return this;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > curveA.length) {
+            capacity = Math.max(capacity, curveA.length * 2);
+            this.curveA = Arrays.copyOf(curveA, capacity);
+            this.curveB = Arrays.copyOf(curveB, capacity);
+            this.tA = Arrays.copyOf(tA, capacity);
+            this.tB = Arrays.copyOf(tB, capacity);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(size - 1, index));
+        }
+    }
+}
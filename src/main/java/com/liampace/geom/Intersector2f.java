@@ -0,0 +1,577 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Finds the intersections between pairs of bezier curves, reported as the
+ * interpolation factor on each curve.
+ * <p>
+ * When either curve is a line, the other curve is expressed as its signed
+ * distance to that line, a 1D bezier whose roots are found in closed form with
+ * the static solvers of the curve classes. Two curves are recursively
+ * subdivided, discarding pairs of pieces whose control point bounds do not
+ * overlap, until both pieces lie within the tolerance of their chords. The
+ * intersection of the chords is then refined with Newton iterations on the
+ * original curves.
+ * <p>
+ * Curves that touch without crossing leave chords that pass each other within
+ * twice the tolerance. The closest points of these chords are reported as a
+ * touch, and the candidates of neighbouring pieces are merged into the one
+ * closest to the other curve, so a touch is only located to within the length
+ * of a flat piece.
+ * <p>
+ * Collinear overlapping lines and coincident curves have no finite set of
+ * intersections and are not reported reliably. An intersector keeps its
+ * subdivision stack between calls and allocates nothing, but it is not
+ * thread-safe.
+ */
+public class Intersector2f {
+
+    /**
+     * The maximum number of intersections between two curves of degree three or
+     * lower.
+     */
+    public static final int MAX_INTERSECTIONS = 9;
+
+    /**
+     * The default distance below which a piece of a curve is considered flat.
+     */
+    public static final float DEFAULT_TOLERANCE = 1e-5f;
+
+    private static final float PARAMETER_EPSILON = 1e-5f;
+    private static final float DUPLICATE_EPSILON = 1e-4f;
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_STEPS = 1 << 14;
+    private static final int NEWTON_ITERATIONS = 4;
+    private static final int SWEEP_THRESHOLD = 256;
+    // x0, y0 ... x3, y3, t0, t1 for each curve followed by the depth
+    private static final int STRIDE = 21;
+
+    private final float tolerance;
+    private final float[] stack = new float[(MAX_DEPTH * 3 + 2) * STRIDE], pair = new float[STRIDE];
+    private final float[] ax = new float[4], ay = new float[4], bx = new float[4], by = new float[4];
+    private final float[] points = new float[8], left = new float[8], right = new float[8];
+    private final float[] roots = new float[Cubic2f.LENGTH - 1];
+    private final float[] resultA = new float[MAX_INTERSECTIONS], resultB = new float[MAX_INTERSECTIONS];
+    // The squared distance between the curves at each result and the factors
+    // within which another candidate is the same intersection
+    private final float[] gaps = new float[MAX_INTERSECTIONS];
+    private final float[] windowA = new float[MAX_INTERSECTIONS], windowB = new float[MAX_INTERSECTIONS];
+    private final Vector2f temp = new Vector2f(), derivative = new Vector2f();
+    private int degreeA, degreeB, count;
+
+    public Intersector2f() {
+        this(DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates an intersector that stops subdividing once pieces lie within
+     * {@code tolerance} of their chords.
+     *
+     * @param tolerance the flatness tolerance
+     */
+    public Intersector2f(float tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Expected a positive tolerance but recieved: %s".formatted(tolerance));
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Finds the intersections between {@code a} and {@code b}.
+     *
+     * @param a      the first curve
+     * @param b      the second curve
+     * @param index  the starting position of {@code destA} and {@code destB}
+     * @param destA  will hold the interpolation factors on {@code a}
+     * @param destB  will hold the interpolation factors on {@code b}
+     * @return number of intersections, at most {@link #MAX_INTERSECTIONS}
+     */
+    public int intersect(Bezier2fc a, Bezier2fc b, int index, float[] destA, float[] destB) {
+        this.degreeA = Intersector2f.load(a, ax, ay);
+        this.degreeB = Intersector2f.load(b, bx, by);
+        this.count = 0;
+        if (degreeA == 1) {
+            this.intersectLine(ax, ay, bx, by, degreeB, false);
+        } else if (degreeB == 1) {
+            this.intersectLine(bx, by, ax, ay, degreeA, true);
+        } else {
+            this.intersectCurves();
+        }
+        System.arraycopy(resultA, 0, destA, index, count);
+        System.arraycopy(resultB, 0, destB, index, count);
+        return count;
+    }
+
+    /**
+     * Finds the intersections between every pair of curves in {@code curves} on
+     * the common fork-join pool.
+     *
+     * @param curves the curves to intersect
+     * @return the intersections, ordered deterministically
+     * @see #intersectAll(Bezier2fc[], float, ForkJoinPool)
+     */
+    public static Intersections2f intersectAll(List<? extends Bezier2fc> curves) {
+        return Intersector2f.intersectAll(curves.toArray(new Bezier2fc[0]), DEFAULT_TOLERANCE,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds the intersections between every pair of curves in {@code curves}.
+     *
+     * @param curves the curves to intersect
+     * @param pool   the pool to run on
+     * @return the intersections, ordered deterministically
+     * @see #intersectAll(Bezier2fc[], float, ForkJoinPool)
+     */
+    public static Intersections2f intersectAll(Bezier2fc[] curves, ForkJoinPool pool) {
+        return Intersector2f.intersectAll(curves, DEFAULT_TOLERANCE, pool);
+    }
+
+    /**
+     * Finds the intersections between every pair of curves in {@code curves}.
+     * Curves are sorted by the left edge of their bounding boxes and swept, so
+     * only pairs with overlapping boxes are intersected. The sweep is split into
+     * ranges processed in parallel on {@code pool} and concatenated in order, so
+     * the result does not depend on the number of threads.
+     * <p>
+     * For each intersection the curve with the lower index is reported as the
+     * first curve.
+     *
+     * @param curves    the curves to intersect
+     * @param tolerance the flatness tolerance
+     * @param pool      the pool to run on
+     * @return the intersections
+     */
+    public static Intersections2f intersectAll(Bezier2fc[] curves, float tolerance, ForkJoinPool pool) {
+        int size = curves.length;
+        float[] bounds = new float[size * 4];
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            curves[i].getBounds(i * 4, bounds);
+            keys[i] = (long) Intersector2f.sortableBits(bounds[i * 4]) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        return pool.invoke(new SweepTask(curves, bounds, order, tolerance, 0, size));
+    }
+
+    private static int load(Bezier2fc curve, float[] x, float[] y) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException("Expected a curve with [2-4] points but recieved: %s".formatted(length));
+        }
+        for (int i = 0; i < length; i++) {
+            Vector2fc point = curve.getPoint(i);
+            x[i] = point.x();
+            y[i] = point.y();
+        }
+        return length - 1;
+    }
+
+    /**
+     * Intersects the line defined by {@code lx, ly} with the curve defined by
+     * {@code cx, cy}, swapping the reported factors when the line is the second
+     * curve.
+     */
+    private void intersectLine(float[] lx, float[] ly, float[] cx, float[] cy, int degree, boolean swap) {
+        float px = lx[0], py = ly[0];
+        float dx = lx[1] - px, dy = ly[1] - py;
+        float lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return;
+        }
+        // Signed distances of the control points to the line form a 1D bezier
+        // that is zero wherever the curve crosses the line. The solvers drop a
+        // leading term that only rounding keeps from zero, so a curve given
+        // with a higher degree than it has crosses as often as at its own
+        float d0 = (cx[0] - px) * dy - (cy[0] - py) * dx;
+        float d1 = (cx[1] - px) * dy - (cy[1] - py) * dx;
+        int found;
+        if (degree == 1) {
+            found = Line2f.solve(d0, d1, 0, roots);
+        } else {
+            float d2 = (cx[2] - px) * dy - (cy[2] - py) * dx;
+            if (degree == 2) {
+                found = Quadratic2f.SolveQuadraticBezier(d0, d1, d2, 0, roots);
+            } else {
+                float d3 = (cx[3] - px) * dy - (cy[3] - py) * dx;
+                found = Cubic2f.SolveCubicBezier(d0, d1, d2, d3, 0, roots);
+            }
+        }
+        for (int i = 0; i < found; i++) {
+            float t = roots[i];
+            if (!Intersector2f.inRange(t)) {
+                continue;
+            }
+            t = Intersector2f.clamp(t);
+            ScalarBatchKernel.evaluate(degree, false, cx, cy, 0, 1, t, temp);
+            float u = ((temp.x - px) * dx + (temp.y - py) * dy) / lengthSquared;
+            if (Intersector2f.inRange(u)) {
+                u = Intersector2f.clamp(u);
+                if (swap) {
+                    this.add(t, u, 0, DUPLICATE_EPSILON, DUPLICATE_EPSILON);
+                } else {
+                    this.add(u, t, 0, DUPLICATE_EPSILON, DUPLICATE_EPSILON);
+                }
+            }
+        }
+    }
+
+    private void intersectCurves() {
+        int top = 0;
+        int p = 0;
+        for (int i = 0; i <= degreeA; i++) {
+            stack[p + i * 2] = ax[i];
+            stack[p + i * 2 + 1] = ay[i];
+        }
+        stack[p + 8] = 0;
+        stack[p + 9] = 1;
+        for (int i = 0; i <= degreeB; i++) {
+            stack[p + 10 + i * 2] = bx[i];
+            stack[p + 10 + i * 2 + 1] = by[i];
+        }
+        stack[p + 18] = 0;
+        stack[p + 19] = 1;
+        stack[p + 20] = 0;
+        top++;
+        for (int steps = 0; top > 0 && steps < MAX_STEPS && count < MAX_INTERSECTIONS; steps++) {
+            p = --top * STRIDE;
+            if (!this.overlaps(p, degreeA, p + 10, degreeB)) {
+                continue;
+            }
+            int depth = (int) stack[p + 20];
+            boolean flatA = depth >= MAX_DEPTH || this.isFlat(p, degreeA);
+            boolean flatB = depth >= MAX_DEPTH || this.isFlat(p + 10, degreeB);
+            if (flatA && flatB) {
+                this.intersectChords(p);
+                continue;
+            }
+            // Copy the pair out of the stack before pushing its children over it
+            System.arraycopy(stack, p, pair, 0, STRIDE);
+            top = this.push(top, flatA, flatB, depth + 1);
+        }
+    }
+
+    /**
+     * Pushes the children of {@code pair}, splitting each piece at its middle
+     * unless it is already flat.
+     */
+    private int push(int top, boolean flatA, boolean flatB, int depth) {
+        int partsA = flatA ? 1 : 2, partsB = flatB ? 1 : 2;
+        for (int i = partsA - 1; i >= 0; i--) {
+            for (int j = partsB - 1; j >= 0; j--) {
+                int p = top++ * STRIDE;
+                this.writePart(0, degreeA, flatA, i, p);
+                this.writePart(10, degreeB, flatB, j, p + 10);
+                stack[p + 20] = depth;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Writes the requested half of the piece at {@code offset} in the popped pair
+     * to the stack,
+     * or the whole piece when it is not split.
+     */
+    private void writePart(int offset, int degree, boolean whole, int half, int p) {
+        float t0 = pair[offset + 8], t1 = pair[offset + 9];
+        if (whole) {
+            System.arraycopy(pair, offset, stack, p, 10);
+            return;
+        }
+        System.arraycopy(pair, offset, points, 0, 8);
+        Intersector2f.split(points, degree, left, right);
+        System.arraycopy(half == 0 ? left : right, 0, stack, p, 8);
+        float middle = (t0 + t1) * 0.5f;
+        stack[p + 8] = half == 0 ? t0 : middle;
+        stack[p + 9] = half == 0 ? middle : t1;
+    }
+
+    /**
+     * Intersects the chords of two flat pieces and refines the result on the
+     * original curves, or reports a touch when the chords miss each other by
+     * less than the flatness of both pieces.
+     */
+    private void intersectChords(int p) {
+        int a1 = p + degreeA * 2, b0 = p + 10, b1 = b0 + degreeB * 2;
+        float rx = stack[a1] - stack[p], ry = stack[a1 + 1] - stack[p + 1];
+        float sx = stack[b1] - stack[b0], sy = stack[b1 + 1] - stack[b0 + 1];
+        float qx = stack[b0] - stack[p], qy = stack[b0 + 1] - stack[p + 1];
+        float denominator = rx * sy - ry * sx;
+        float s0 = stack[p + 8], s1 = stack[p + 9], t0 = stack[p + 18], t1 = stack[p + 19];
+        if (denominator != 0) {
+            float u = (qx * sy - qy * sx) / denominator;
+            float v = (qx * ry - qy * rx) / denominator;
+            if (Intersector2f.inRange(u) && Intersector2f.inRange(v)) {
+                this.refine(s0 + (s1 - s0) * Intersector2f.clamp(u), t0 + (t1 - t0) * Intersector2f.clamp(v));
+                return;
+            }
+        }
+        // The chords miss each other, so their closest points include an end point
+        float best = Float.POSITIVE_INFINITY, u = 0, v = 0;
+        for (int end = 0; end <= 1; end++) {
+            float ex = end * rx - qx, ey = end * ry - qy;
+            float w = Intersector2f.project(ex, ey, sx, sy);
+            float dx = ex - sx * w, dy = ey - sy * w, distance = dx * dx + dy * dy;
+            if (distance < best) {
+                best = distance;
+                u = end;
+                v = w;
+            }
+            ex = qx + end * sx;
+            ey = qy + end * sy;
+            w = Intersector2f.project(ex, ey, rx, ry);
+            dx = ex - rx * w;
+            dy = ey - ry * w;
+            distance = dx * dx + dy * dy;
+            if (distance < best) {
+                best = distance;
+                u = w;
+                v = end;
+            }
+        }
+        float reach = tolerance * 2;
+        if (best <= reach * reach) {
+            float s = s0 + (s1 - s0) * u, t = t0 + (t1 - t0) * v;
+            // The candidates of neighbouring pieces lie up to two pieces apart
+            this.add(s, t, this.gap(s, t), Math.max((s1 - s0) * 2, DUPLICATE_EPSILON),
+                    Math.max((t1 - t0) * 2, DUPLICATE_EPSILON));
+        }
+    }
+
+    /**
+     * The factor of the point closest to {@code (x, y)} on the segment from the
+     * origin to {@code (dx, dy)}.
+     */
+    private static float project(float x, float y, float dx, float dy) {
+        float lengthSquared = dx * dx + dy * dy;
+        return lengthSquared > 0 ? Math.max(Math.min((x * dx + y * dy) / lengthSquared, 1), 0) : 0;
+    }
+
+    /**
+     * Newton iterations on {@code A(s) - B(t) = 0}, keeping the initial guess if
+     * they do not converge inside the parameter range.
+     */
+    private void refine(float s, float t) {
+        float bestS = s, bestT = t;
+        float best = this.gap(s, t);
+        for (int i = 0; i < NEWTON_ITERATIONS && best > 0; i++) {
+            ScalarBatchKernel.evaluate(degreeA, false, ax, ay, 0, 1, s, temp);
+            float fx = temp.x, fy = temp.y;
+            ScalarBatchKernel.evaluate(degreeB, false, bx, by, 0, 1, t, temp);
+            fx -= temp.x;
+            fy -= temp.y;
+            // The derivative kernels return the hodograph without the degree factor
+            ScalarBatchKernel.evaluate(degreeA, true, ax, ay, 0, 1, s, derivative);
+            float jxs = derivative.x * degreeA, jys = derivative.y * degreeA;
+            ScalarBatchKernel.evaluate(degreeB, true, bx, by, 0, 1, t, derivative);
+            float jxt = -derivative.x * degreeB, jyt = -derivative.y * degreeB;
+            float determinant = jxs * jyt - jxt * jys;
+            if (determinant == 0) {
+                break;
+            }
+            s -= (fx * jyt - fy * jxt) / determinant;
+            t -= (jxs * fy - jys * fx) / determinant;
+            if (!Intersector2f.inRange(s) || !Intersector2f.inRange(t)) {
+                break;
+            }
+            s = Intersector2f.clamp(s);
+            t = Intersector2f.clamp(t);
+            float gap = this.gap(s, t);
+            if (gap < best) {
+                best = gap;
+                bestS = s;
+                bestT = t;
+            }
+        }
+        this.add(bestS, bestT, best, DUPLICATE_EPSILON, DUPLICATE_EPSILON);
+    }
+
+    private float gap(float s, float t) {
+        ScalarBatchKernel.evaluate(degreeA, false, ax, ay, 0, 1, s, temp);
+        float x = temp.x, y = temp.y;
+        ScalarBatchKernel.evaluate(degreeB, false, bx, by, 0, 1, t, temp);
+        x -= temp.x;
+        y -= temp.y;
+        return x * x + y * y;
+    }
+
+    /**
+     * Adds a result unless another one lies within the window of either, in
+     * which case the one where the curves are closer is kept.
+     */
+    private void add(float tA, float tB, float gap, float rangeA, float rangeB) {
+        int i = 0;
+        while (i < count && (Math.abs(resultA[i] - tA) >= Math.max(windowA[i], rangeA)
+                || Math.abs(resultB[i] - tB) >= Math.max(windowB[i], rangeB))) {
+            i++;
+        }
+        if (i < count && gaps[i] <= gap || i == MAX_INTERSECTIONS) {
+            return;
+        }
+        resultA[i] = tA;
+        resultB[i] = tB;
+        gaps[i] = gap;
+        windowA[i] = rangeA;
+        windowB[i] = rangeB;
+        if (i == count) {
+            count++;
+        }
+    }
+
+    /**
+     * Whether the control point bounds of both pieces overlap, grown by the
+     * tolerance so that touching pieces are kept.
+     */
+    private boolean overlaps(int a, int degreeA, int b, int degreeB) {
+        float minAX = Float.POSITIVE_INFINITY, minAY = Float.POSITIVE_INFINITY;
+        float maxAX = Float.NEGATIVE_INFINITY, maxAY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i <= degreeA; i++) {
+            minAX = Math.min(minAX, stack[a + i * 2]);
+            minAY = Math.min(minAY, stack[a + i * 2 + 1]);
+            maxAX = Math.max(maxAX, stack[a + i * 2]);
+            maxAY = Math.max(maxAY, stack[a + i * 2 + 1]);
+        }
+        float minBX = Float.POSITIVE_INFINITY, minBY = Float.POSITIVE_INFINITY;
+        float maxBX = Float.NEGATIVE_INFINITY, maxBY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i <= degreeB; i++) {
+            minBX = Math.min(minBX, stack[b + i * 2]);
+            minBY = Math.min(minBY, stack[b + i * 2 + 1]);
+            maxBX = Math.max(maxBX, stack[b + i * 2]);
+            maxBY = Math.max(maxBY, stack[b + i * 2 + 1]);
+        }
+        return minAX <= maxBX + tolerance && minBX <= maxAX + tolerance
+                && minAY <= maxBY + tolerance && minBY <= maxAY + tolerance;
+    }
+
+    /**
+     * Whether every control point of the piece lies within the tolerance of its
+     * chord, which by the convex hull property bounds the whole piece.
+     */
+    private boolean isFlat(int p, int degree) {
+        float x0 = stack[p], y0 = stack[p + 1];
+        float dx = stack[p + degree * 2] - x0, dy = stack[p + degree * 2 + 1] - y0;
+        float lengthSquared = dx * dx + dy * dy;
+        float toleranceSquared = tolerance * tolerance;
+        for (int i = 1; i < degree; i++) {
+            float vx = stack[p + i * 2] - x0, vy = stack[p + i * 2 + 1] - y0;
+            if (lengthSquared > 0) {
+                float t = Math.max(Math.min((vx * dx + vy * dy) / lengthSquared, 1), 0);
+                vx -= dx * t;
+                vy -= dy * t;
+            }
+            if (vx * vx + vy * vy > toleranceSquared) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * de Casteljau split at {@code t = 0.5} of the interleaved points in
+     * {@code src}.
+     */
+    private static void split(float[] src, int degree, float[] left, float[] right) {
+        int n = degree + 1;
+        left[0] = src[0];
+        left[1] = src[1];
+        right[degree * 2] = src[degree * 2];
+        right[degree * 2 + 1] = src[degree * 2 + 1];
+        for (int level = 1; level < n; level++) {
+            for (int i = 0; i < n - level; i++) {
+                src[i * 2] = (src[i * 2] + src[i * 2 + 2]) * 0.5f;
+                src[i * 2 + 1] = (src[i * 2 + 1] + src[i * 2 + 3]) * 0.5f;
+            }
+            left[level * 2] = src[0];
+            left[level * 2 + 1] = src[1];
+            right[(degree - level) * 2] = src[(n - level - 1) * 2];
+            right[(degree - level) * 2 + 1] = src[(n - level - 1) * 2 + 1];
+        }
+    }
+
+    private static boolean inRange(float t) {
+        return t >= -PARAMETER_EPSILON && t <= 1 + PARAMETER_EPSILON;
+    }
+
+    private static float clamp(float t) {
+        return Math.max(Math.min(t, 1), 0);
+    }
+
+    /**
+     * Maps a float to an int whose signed ordering matches the ordering of the
+     * float.
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private static class SweepTask extends RecursiveTask<Intersections2f> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Bezier2fc[] curves;
+        private final float[] bounds;
+        private final int[] order;
+        private final float tolerance;
+        private final int from, to;
+
+        SweepTask(Bezier2fc[] curves, float[] bounds, int[] order, float tolerance, int from, int to) {
+            this.curves = curves;
+            this.bounds = bounds;
+            this.order = order;
+            this.tolerance = tolerance;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Intersections2f compute() {
+            if (to - from > SWEEP_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                SweepTask left = new SweepTask(curves, bounds, order, tolerance, from, middle);
+                SweepTask right = new SweepTask(curves, bounds, order, tolerance, middle, to);
+                right.fork();
+                Intersections2f result = left.compute();
+                return result.addAll(right.join());
+            }
+            Intersector2f intersector = new Intersector2f(tolerance);
+            Intersections2f result = new Intersections2f();
+            float[] tA = new float[MAX_INTERSECTIONS], tB = new float[MAX_INTERSECTIONS];
+            for (int k = from; k < to; k++) {
+                int i = order[k], bi = i * 4;
+                for (int m = k + 1; m < order.length; m++) {
+                    int j = order[m], bj = j * 4;
+                    if (bounds[bj] > bounds[bi + 2]) {
+                        break;
+                    }
+                    if (bounds[bj + 1] > bounds[bi + 3] || bounds[bj + 3] < bounds[bi + 1]) {
+                        continue;
+                    }
+                    boolean swap = j < i;
+                    int found = swap ? intersector.intersect(curves[j], curves[i], 0, tA, tB)
+                            : intersector.intersect(curves[i], curves[j], 0, tA, tB);
+                    for (int n = 0; n < found; n++) {
+                        result.add(Math.min(i, j), Math.max(i, j), tA[n], tB[n]);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.liampace.geom;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Optional instrumentation of the root solvers, projections and transforms.
+ * <p>
+ * Instrumentation is switched on by starting the JVM with
+ * {@code -Dcom.liampace.geom.metrics=true}. The property is read once into the
+ * constant {@link #ENABLED} and every instrumented operation tests it before
+ * recording, so when it is off the JIT removes the recording code entirely.
+ * When it is on, every operation reads the clock twice and updates a few
+ * striped counters, which is noticeable next to a single root solve.
+ * <p>
+ * Recorded operations are also emitted as JDK Flight Recorder events in the
+ * {@code Geometry} category while a recording is running. An instrumented
+ * operation begins its event with {@link #beginSolve()},
+ * {@link #beginProjection()} or {@link #beginTransform()} before it runs and
+ * passes it to the matching recording method afterwards, so the duration of
+ * the event is the time the operation took and duration thresholds in the
+ * recording settings apply. Root solves are frequent enough that their event
+ * {@code com.liampace.geom.RootSolve} is disabled by default and has to be
+ * enabled in the recording settings.
+ * <p>
+ * {@link #snapshot()} copies the current values so they can be exported to a
+ * metrics system. Counters are updated without locks, a snapshot taken while
+ * operations run may be off by the operations in flight.
+ */
+public final class Metrics {
+
+    /**
+     * The system property that enables instrumentation.
+     */
+    public static final String PROPERTY = "com.liampace.geom.metrics";
+
+    /**
+     * Whether instrumentation is enabled, fixed when the class is initialized.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * The number of buckets of every latency histogram.
+     */
+    public static final int BUCKETS = 40;
+
+    /**
+     * The events counted by the instrumented operations.
+     */
+    public enum Counter {
+        /** A linear equation without a root, its slope was zero. */
+        LINEAR_DEGENERATE("solve.linear.degenerate"),
+        /** A quadratic equation that fell back to a linear one. */
+        QUADRATIC_DEGENERATE("solve.quadratic.degenerate"),
+        /** A quadratic equation with a repeated root. */
+        QUADRATIC_REPEATED("solve.quadratic.repeated"),
+        /** A cubic equation that fell back to a quadratic one. */
+        CUBIC_DEGENERATE("solve.cubic.degenerate"),
+        /** A cubic equation with a repeated root. */
+        CUBIC_REPEATED("solve.cubic.repeated"),
+        /** A solve that returned no roots. */
+        ROOTS_0("solve.roots.0"),
+        /** A solve that returned one root. */
+        ROOTS_1("solve.roots.1"),
+        /** A solve that returned two roots. */
+        ROOTS_2("solve.roots.2"),
+        /** A solve that returned three roots. */
+        ROOTS_3("solve.roots.3"),
+        /** The points moved by transforms. */
+        TRANSFORMED_POINTS("transform.points");
+
+        private final String key;
+
+        Counter(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns the name of the counter in {@link Snapshot#toMap()}.
+         *
+         * @return the name of the counter
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * The operations timed by the instrumentation.
+     */
+    public enum Timer {
+        /** {@code Line2f.SolveLinearEquation} */
+        SOLVE_LINEAR("solve.linear"),
+        /** {@code Quadratic2f.SolveQuadraticEquation} */
+        SOLVE_QUADRATIC("solve.quadratic"),
+        /** {@code Cubic2f.SolveCubicEquation} */
+        SOLVE_CUBIC("solve.cubic"),
+        /** {@link Projection2f#project(float, float)} */
+        PROJECT("project"),
+        /** The transforms of curves, batches and paths. */
+        TRANSFORM("transform");
+
+        private final String key;
+
+        Timer(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns the prefix of the histogram in {@link Snapshot#toMap()}.
+         *
+         * @return the prefix of the histogram
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private static final Timer[] SOLVERS = { Timer.SOLVE_LINEAR, Timer.SOLVE_LINEAR, Timer.SOLVE_QUADRATIC,
+            Timer.SOLVE_CUBIC };
+    private static final Counter[] ROOTS = { Counter.ROOTS_0, Counter.ROOTS_1, Counter.ROOTS_2, Counter.ROOTS_3 };
+
+    private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+    private static final Recorder[] RECORDERS = new Recorder[Timer.values().length];
+
+    static {
+        for (int i = 0; i < COUNTERS.length; i++) {
+            COUNTERS[i] = new LongAdder();
+        }
+        for (int i = 0; i < RECORDERS.length; i++) {
+            RECORDERS[i] = new Recorder();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the start time of an instrumented operation, or {@code 0} when
+     * instrumentation is disabled.
+     *
+     * @return the value of {@link System#nanoTime()}
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Begins the event of a root solve, call before the solve starts.
+     *
+     * @return the begun event, or {@code null} when instrumentation or the event
+     *         is disabled
+     */
+    public static Event beginSolve() {
+        return ENABLED ? Metrics.begin(new RootSolveEvent()) : null;
+    }
+
+    /**
+     * Begins the event of a projection, call before the projection starts.
+     *
+     * @return the begun event, or {@code null} when instrumentation or the event
+     *         is disabled
+     */
+    public static Event beginProjection() {
+        return ENABLED ? Metrics.begin(new ProjectionEvent()) : null;
+    }
+
+    /**
+     * Begins the event of a transform, call before the transform starts.
+     *
+     * @return the begun event, or {@code null} when instrumentation or the event
+     *         is disabled
+     */
+    public static Event beginTransform() {
+        return ENABLED ? Metrics.begin(new TransformEvent()) : null;
+    }
+
+    private static Event begin(Event event) {
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Increments {@code counter} by one.
+     *
+     * @param counter the counter
+     */
+    public static void increment(Counter counter) {
+        if (ENABLED) {
+            COUNTERS[counter.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Records a root solve started at {@code start}.
+     *
+     * @param degree the degree of the equation, between [1-3]
+     * @param roots  the number of roots returned
+     * @param start  the value of {@link #start()}
+     * @param event  the value of {@link #beginSolve()}
+     */
+    public static void solved(int degree, int roots, long start, Event event) {
+        if (ENABLED) {
+            RECORDERS[SOLVERS[degree].ordinal()].record(System.nanoTime() - start);
+            COUNTERS[ROOTS[roots].ordinal()].increment();
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    RootSolveEvent solve = (RootSolveEvent) event;
+                    solve.degree = degree;
+                    solve.roots = roots;
+                    solve.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a projection started at {@code start}.
+     *
+     * @param degree   the degree of the curve
+     * @param t        the interpolation factor found
+     * @param distance the distance to the curve
+     * @param start    the value of {@link #start()}
+     * @param event    the value of {@link #beginProjection()}
+     */
+    public static void projected(int degree, float t, float distance, long start, Event event) {
+        if (ENABLED) {
+            RECORDERS[Timer.PROJECT.ordinal()].record(System.nanoTime() - start);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    ProjectionEvent projection = (ProjectionEvent) event;
+                    projection.degree = degree;
+                    projection.t = t;
+                    projection.distance = distance;
+                    projection.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a transform of {@code points} points started at {@code start}.
+     *
+     * @param points the number of points transformed
+     * @param start  the value of {@link #start()}
+     * @param event  the value of {@link #beginTransform()}
+     */
+    public static void transformed(int points, long start, Event event) {
+        if (ENABLED) {
+            RECORDERS[Timer.TRANSFORM.ordinal()].record(System.nanoTime() - start);
+            COUNTERS[Counter.TRANSFORMED_POINTS.ordinal()].add(points);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    TransformEvent transform = (TransformEvent) event;
+                    transform.points = points;
+                    transform.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the current value of every counter and histogram.
+     *
+     * @return a new snapshot
+     */
+    public static Snapshot snapshot() {
+        long[] counts = new long[COUNTERS.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = COUNTERS[i].sum();
+        }
+        Histogram[] histograms = new Histogram[RECORDERS.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = RECORDERS[i].snapshot();
+        }
+        return new Snapshot(System.currentTimeMillis(), counts, histograms);
+    }
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    public static void reset() {
+        for (LongAdder counter : COUNTERS) {
+            counter.reset();
+        }
+        for (Recorder recorder : RECORDERS) {
+            recorder.reset();
+        }
+    }
+
+    /**
+     * Returns the bucket of the latency histograms that {@code nanos} falls into.
+     * Bucket {@code 0} holds zero, bucket {@code i} holds
+     * {@code [2^(i-1), 2^i)} nanoseconds and the last bucket holds everything
+     * above.
+     *
+     * @param nanos a duration in nanoseconds
+     * @return the index of the bucket
+     */
+    public static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * The values of all counters and histograms at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final long timestamp;
+        private final long[] counts;
+        private final Histogram[] histograms;
+
+        Snapshot(long timestamp, long[] counts, Histogram[] histograms) {
+            this.timestamp = timestamp;
+            this.counts = counts;
+            this.histograms = histograms;
+        }
+
+        /**
+         * Returns the time the snapshot was taken.
+         *
+         * @return milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Returns the value of {@code counter}.
+         *
+         * @param counter the counter
+         * @return the value of the counter
+         */
+        public long getCount(Counter counter) {
+            return counts[counter.ordinal()];
+        }
+
+        /**
+         * Returns the latency histogram of {@code timer}.
+         *
+         * @param timer the operation
+         * @return the histogram
+         */
+        public Histogram getHistogram(Timer timer) {
+            return histograms[timer.ordinal()];
+        }
+
+        /**
+         * Flattens the snapshot into named values for export. Counters use their
+         * key, every histogram adds {@code .count}, {@code .total},
+         * {@code .max}, {@code .p50}, {@code .p99} and {@code .p999} entries in
+         * nanoseconds under the key of its timer.
+         *
+         * @return a new map in declaration order
+         */
+        public Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            for (Counter counter : Counter.values()) {
+                map.put(counter.getKey(), this.getCount(counter));
+            }
+            for (Timer timer : Timer.values()) {
+                Histogram histogram = this.getHistogram(timer);
+                String key = timer.getKey();
+                map.put(key + ".count", histogram.getCount());
+                map.put(key + ".total", histogram.getTotalNanos());
+                map.put(key + ".max", histogram.getMaxNanos());
+                map.put(key + ".p50", histogram.getPercentile(0.5));
+                map.put(key + ".p99", histogram.getPercentile(0.99));
+                map.put(key + ".p999", histogram.getPercentile(0.999));
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, Long> entry : this.toMap().entrySet()) {
+                builder.append(String.format(Locale.ROOT, "%-28s %d%n", entry.getKey(), entry.getValue()));
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * A copy of a latency histogram with power of two buckets.
+     *
+     * @see Metrics#bucket(long)
+     */
+    public static final class Histogram {
+
+        private final long[] buckets;
+        private final long count, total, max;
+
+        Histogram(long[] buckets, long total, long max) {
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            this.buckets = buckets;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * Returns the number of recorded operations.
+         *
+         * @return the number of recorded operations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of all recorded durations.
+         *
+         * @return nanoseconds
+         */
+        public long getTotalNanos() {
+            return total;
+        }
+
+        /**
+         * Returns the longest recorded duration.
+         *
+         * @return nanoseconds
+         */
+        public long getMaxNanos() {
+            return max;
+        }
+
+        /**
+         * Returns the number of operations recorded in bucket {@code index}.
+         *
+         * @param index the index of the bucket, between [0-{@link #BUCKETS})
+         * @return the number of operations
+         */
+        public long getBucket(int index) {
+            if (index < 0 || index >= BUCKETS) {
+                throw new IndexOutOfBoundsException(
+                        "Expected index in range [0-%s] but recieved: %s".formatted(BUCKETS - 1, index));
+            }
+            return buckets[index];
+        }
+
+        /**
+         * Estimates the duration below which the fraction {@code p} of all
+         * operations completed, as the upper bound of the bucket it falls in.
+         *
+         * @param p the fraction between [0-1] range
+         * @return nanoseconds, {@code 0} if nothing was recorded
+         */
+        public long getPercentile(double p) {
+            if (!(p >= 0 && p <= 1)) {
+                throw new IllegalArgumentException("Expected a fraction in range [0-1] but recieved: %s".formatted(p));
+            }
+            long rank = (long) Math.ceil(p * count), seen = 0;
+            for (int i = 0; i < BUCKETS - 1; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(max, (1L << i) - 1);
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * The live counts of a histogram.
+     */
+    private static final class Recorder {
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Recorder() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            buckets[Metrics.bucket(nanos)].increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        Histogram snapshot() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new Histogram(counts, total.sum(), max.get());
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            total.reset();
+            max.reset();
+        }
+    }
+
+    @Name("com.liampace.geom.RootSolve")
+    @Label("Root Solve")
+    @Description("A polynomial equation solved by the closed form solvers")
+    @Category("Geometry")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class RootSolveEvent extends Event {
+        @Label("Degree")
+        int degree;
+        @Label("Roots")
+        int roots;
+    }
+
+    @Name("com.liampace.geom.Projection")
+    @Label("Projection")
+    @Description("A point projected onto a curve")
+    @Category("Geometry")
+    @StackTrace(false)
+    static final class ProjectionEvent extends Event {
+        @Label("Degree")
+        int degree;
+        @Label("Interpolation Factor")
+        float t;
+        @Label("Distance")
+        float distance;
+    }
+
+    @Name("com.liampace.geom.Transform")
+    @Label("Transform")
+    @Description("The points of a curve, batch or path multiplied with a matrix")
+    @Category("Geometry")
+    @StackTrace(false)
+    static final class TransformEvent extends Event {
+        @Label("Points")
+        int points;
+    }
+}
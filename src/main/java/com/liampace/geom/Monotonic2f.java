@@ -0,0 +1,349 @@
+package com.liampace.geom;
+
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.ImmutableCubic2f;
+import com.liampace.geom.curves.ImmutableQuadratic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * A reusable scratch context that splits a bezier curve at its extrema into
+ * spans that are monotonic in both X and Y.
+ * <p>
+ * A horizontal or vertical line crosses a monotonic span at most once, and only
+ * when it lies between the values at the ends of the span, so queries skip
+ * whole spans by comparing against their end points. The remaining crossings
+ * are found within the bracket of their span, in closed form for lines and
+ * quadratics and with Newton steps that fall back to bisection for cubics,
+ * instead of with {@link Cubic2f#SolveCubicEquation(float, float, float, float, int, float[])}.
+ * A line touching the curve meets it at an extremum, which is the end of a
+ * span, so the double root that the closed form loses to cancellation is
+ * reported as the extremum itself, also when rounding puts the line slightly
+ * beyond it, see {@link #TOUCH_ULPS}.
+ * <p>
+ * {@link Cubic2f} and {@link Quadratic2f} cache their extrema until they are
+ * modified, so loading them again is cheap. Loading copies the points, later
+ * modifications of the curve require another call. The context allocates
+ * nothing and is not thread-safe.
+ */
+public class Monotonic2f {
+
+    /**
+     * The maximum number of spans of a curve.
+     */
+    public static final int MAX_SPANS = Cubic2f.MAX_EXTREMA + 1;
+
+    /**
+     * The distance in units in the last place of the largest coordinate within
+     * which a line beyond an extremum still touches the curve.
+     */
+    public static final int TOUCH_ULPS = 4;
+
+    // Coordinates of the control points
+    private final float[] px = new float[Cubic2f.LENGTH], py = new float[Cubic2f.LENGTH];
+    // Power basis of each coordinate, for the root finders
+    private final float[] ax = new float[Cubic2f.LENGTH], ay = new float[Cubic2f.LENGTH];
+    private int degree;
+    // Distance within which a line beyond an extremum touches the curve, per axis
+    private float toleranceX, toleranceY;
+    // Interpolation factors of the span ends and the points at them
+    private final float[] t = new float[MAX_SPANS + 1];
+    private final float[] x = new float[MAX_SPANS + 1], y = new float[MAX_SPANS + 1];
+    private int spans;
+
+    /**
+     * Copies the points of {@code curve} into this context and splits it at its
+     * extrema.
+     *
+     * @param curve the curve to load
+     * @return {@code this}
+     */
+    public Monotonic2f load(Bezier2fc curve) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                            Cubic2f.LENGTH, length));
+        }
+        for (int i = 0; i < length; i++) {
+            Vector2fc point = curve.getPoint(i);
+            px[i] = point.x();
+            py[i] = point.y();
+        }
+        this.degree = length - 1;
+        if (curve instanceof Cubic2f cubic) {
+            return this.split(cubic.getExtrema(1, t));
+        } else if (curve instanceof Quadratic2f quadratic) {
+            return this.split(quadratic.getExtrema(1, t));
+        } else if (curve instanceof ImmutableCubic2f cubic) {
+            return this.split(cubic.getExtrema(1, t));
+        } else if (curve instanceof ImmutableQuadratic2f quadratic) {
+            return this.split(quadratic.getExtrema(1, t));
+        }
+        return this.split(this.extrema());
+    }
+
+    /**
+     * Copies a curve of degree {@code degree} whose points are stored as
+     * interleaved {@code x, y} pairs in {@code p} starting at {@code index}, the
+     * layout of the segments of {@link Path2f}.
+     */
+    Monotonic2f load(float[] p, int index, int degree) {
+        for (int i = 0; i <= degree; i++) {
+            px[i] = p[index + i * 2];
+            py[i] = p[index + i * 2 + 1];
+        }
+        this.degree = degree;
+        return this.split(this.extrema());
+    }
+
+    /**
+     * Copies the line from {@code (x0, y0)} to {@code (x1, y1)}.
+     */
+    Monotonic2f load(float x0, float y0, float x1, float y1) {
+        px[0] = x0;
+        py[0] = y0;
+        px[1] = x1;
+        py[1] = y1;
+        this.degree = 1;
+        return this.split(0);
+    }
+
+    private int extrema() {
+        switch (degree) {
+            case 3:
+                return Cubic2f.Extrema(px[0], py[0], px[1], py[1], px[2], py[2], px[3], py[3], 1, t);
+            case 2:
+                return Quadratic2f.Extrema(px[0], py[0], px[1], py[1], px[2], py[2], 1, t);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Splits the loaded curve at the {@code count} extrema written to {@code t}
+     * starting at {@code 1}.
+     */
+    private Monotonic2f split(int count) {
+        ScanlineSolver.basis(px, degree, ax);
+        ScanlineSolver.basis(py, degree, ay);
+        float maxX = 0, maxY = 0;
+        for (int i = 0; i <= degree; i++) {
+            maxX = Math.max(maxX, Math.abs(px[i]));
+            maxY = Math.max(maxY, Math.abs(py[i]));
+        }
+        this.toleranceX = Math.ulp(maxX) * TOUCH_ULPS;
+        this.toleranceY = Math.ulp(maxY) * TOUCH_ULPS;
+        this.spans = count + 1;
+        t[0] = 0;
+        t[spans] = 1;
+        x[0] = px[0];
+        y[0] = py[0];
+        for (int i = 1; i < spans; i++) {
+            x[i] = ScanlineSolver.evaluate(px, degree, t[i]);
+            y[i] = ScanlineSolver.evaluate(py, degree, t[i]);
+        }
+        x[spans] = px[degree];
+        y[spans] = py[degree];
+        return this;
+    }
+
+    /**
+     * Returns the number of monotonic spans of the loaded curve.
+     *
+     * @return the number of spans, between {@code 1} and {@link #MAX_SPANS}
+     */
+    public int getSpanCount() {
+        return spans;
+    }
+
+    /**
+     * Returns the interpolation factor at which span {@code span} starts.
+     *
+     * @param span the index of the span
+     * @return the interpolation factor of the start of the span
+     */
+    public float getSpanStart(int span) {
+        this.checkSpan(span);
+        return t[span];
+    }
+
+    /**
+     * Returns the interpolation factor at which span {@code span} ends.
+     *
+     * @param span the index of the span
+     * @return the interpolation factor of the end of the span
+     */
+    public float getSpanEnd(int span) {
+        this.checkSpan(span);
+        return t[span + 1];
+    }
+
+    /**
+     * Calculates the bounding box of span {@code span}, which is spanned by the
+     * points at its ends.
+     *
+     * @param span  the index of the span
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int span, int index, float[] dest) {
+        this.checkSpan(span);
+        dest[index] = Math.min(x[span], x[span + 1]);
+        dest[index + 1] = Math.min(y[span], y[span + 1]);
+        dest[index + 2] = Math.max(x[span], x[span + 1]);
+        dest[index + 3] = Math.max(y[span], y[span + 1]);
+        return dest;
+    }
+
+    /**
+     * Calculates the tight bounding box of the loaded curve with the bounds
+     * kernel of its degree, so that it is identical to
+     * {@link Bezier2fc#getBounds(int, float[])} of the curve.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int index, float[] dest) {
+        switch (degree) {
+            case 1:
+                return Line2f.Bounds(px[0], py[0], px[1], py[1], index, dest);
+            case 2:
+                return Quadratic2f.Bounds(px[0], py[0], px[1], py[1], px[2], py[2], index, dest);
+            default:
+                return Cubic2f.Bounds(px[0], py[0], px[1], py[1], px[2], py[2], px[3], py[3], index, dest);
+        }
+    }
+
+    /**
+     * Solves where the loaded curve crosses the horizontal line at {@code y}.
+     * Only roots within the {@code [0, 1]} range are reported, once each and in
+     * ascending order.
+     *
+     * @param y     the Y coordinate of the line
+     * @param index starting index position for storing the roots
+     * @param dest  will hold up to {@link #MAX_SPANS} roots starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    public int getInterceptsX(float y, int index, float[] dest) {
+        return this.intercepts(ay, this.y, toleranceY, y, index, dest);
+    }
+
+    /**
+     * Solves where the loaded curve crosses the vertical line at {@code x}. Only
+     * roots within the {@code [0, 1]} range are reported, once each and in
+     * ascending order.
+     *
+     * @param x     the X coordinate of the line
+     * @param index starting index position for storing the roots
+     * @param dest  will hold up to {@link #MAX_SPANS} roots starting at index
+     *              {@code index}
+     * @return number of roots found
+     */
+    public int getInterceptsY(float x, int index, float[] dest) {
+        return this.intercepts(ax, this.x, toleranceX, x, index, dest);
+    }
+
+    /**
+     * Counts the crossings of the loaded curve with the ray from {@code (x, y)}
+     * towards positive X, {@code 1} for each crossing upwards and {@code -1} for
+     * each crossing downwards. Spans include the lower end of their Y range but
+     * not the upper one, so that the windings of the segments of a closed path
+     * add up to its winding number, see {@link Path2f#getWinding(float, float)}.
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @return the winding of the curve around the point
+     */
+    public int getWinding(float x, float y) {
+        int winding = 0;
+        for (int i = 0; i < spans; i++) {
+            float y0 = this.y[i], y1 = this.y[i + 1];
+            if (y < Math.min(y0, y1) || y >= Math.max(y0, y1)) {
+                continue;
+            }
+            float x0 = this.x[i], x1 = this.x[i + 1];
+            if (x >= Math.max(x0, x1)) {
+                continue;
+            }
+            // Left of the span the crossing is certain, inside its box it needs the root
+            if (x < Math.min(x0, x1) || ScanlineSolver.evaluate(px, degree, this.solve(ay, this.y, y, i)) > x) {
+                winding += y1 > y0 ? 1 : -1;
+            }
+        }
+        return winding;
+    }
+
+    /**
+     * Finds where the loaded curve crosses the horizontal line at {@code y},
+     * writing the X coordinate and direction ({@code 1} upwards, {@code -1}
+     * downwards) of each crossing as pairs to {@code dest}. Spans include the
+     * lower end of their Y range but not the upper one, so that endpoints shared
+     * by consecutive segments of a path are counted once.
+     *
+     * @return the number of crossings, at most {@link #MAX_SPANS}
+     */
+    int crossings(float y, float[] dest) {
+        int count = 0;
+        for (int i = 0; i < spans; i++) {
+            float y0 = this.y[i], y1 = this.y[i + 1];
+            if (y < Math.min(y0, y1) || y >= Math.max(y0, y1)) {
+                continue;
+            }
+            float x0 = this.x[i], x1 = this.x[i + 1];
+            dest[count * 2] = x0 == x1 ? x0 : ScanlineSolver.evaluate(px, degree, this.solve(ay, this.y, y, i));
+            dest[count * 2 + 1] = y1 > y0 ? 1 : -1;
+            count++;
+        }
+        return count;
+    }
+
+    private int intercepts(float[] a, float[] values, float tolerance, float value, int index, float[] dest) {
+        int count = 0;
+        for (int i = 0; i < spans; i++) {
+            float v0 = values[i], v1 = values[i + 1];
+            if (v0 != v1 && value >= Math.min(v0, v1) && value <= Math.max(v0, v1)) {
+                // The previous span already reported its end
+                if (value != v0 || i == 0) {
+                    dest[index + count++] = this.solve(a, values, value, i);
+                }
+            } else if (i + 1 < spans && (v1 - v0) * (values[i + 2] - v1) < 0
+                    && Math.abs(value - v1) <= tolerance) {
+                // A line that misses an extremum by rounding error touches the curve there
+                dest[index + count++] = t[i + 1];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the root of {@code a(t) - value}, with {@code a} the power basis of
+     * a coordinate, within span {@code span}, whose ends lie on either side of
+     * {@code value}.
+     */
+    private float solve(float[] a, float[] values, float value, int span) {
+        float t0 = t[span], t1 = t[span + 1];
+        float v0 = values[span], v1 = values[span + 1];
+        if (value == v0) {
+            return t0;
+        } else if (value == v1) {
+            return t1;
+        } else if (degree < 3) {
+            return ScanlineSolver.root(a[0], a[1], a[2], degree, value, t0, t1, v1 > v0);
+        }
+        return ScanlineSolver.newton(a[0], a[1], a[2], a[3], value, t0, t1,
+                t0 + (t1 - t0) * (value - v0) / (v1 - v0), v1 > v0);
+    }
+
+    private void checkSpan(int span) {
+        if (span < 0 || span >= spans) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(spans - 1, span));
+        }
+    }
+}
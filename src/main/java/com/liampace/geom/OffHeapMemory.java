@@ -0,0 +1,99 @@
+package com.liampace.geom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A block of memory outside of the Java heap, accessed through a direct
+ * {@link ByteBuffer} in little-endian byte order, so mapped files read the same
+ * on every platform.
+ * <p>
+ * The {@link Allocator} of {@link ForeignMemory} frees its memory as soon as it
+ * is closed, but needs the {@code jdk.incubator.foreign} module. Without it
+ * {@link Direct} memory is used, which is only released once its buffer is no
+ * longer reachable.
+ */
+interface OffHeapMemory extends AutoCloseable {
+
+    /**
+     * Returns the buffer over the whole block, valid until {@link #close()}.
+     *
+     * @return a direct buffer in little-endian byte order
+     */
+    ByteBuffer buffer();
+
+    /**
+     * Returns whether {@link #close()} frees the memory immediately.
+     *
+     * @return whether the memory is freed explicitly
+     */
+    boolean isExplicit();
+
+    @Override
+    void close();
+
+    /**
+     * Creates blocks of off-heap memory.
+     */
+    interface Allocator {
+
+        /**
+         * Allocates a zeroed block of {@code bytes} bytes.
+         */
+        OffHeapMemory allocate(int bytes);
+
+        /**
+         * Maps the first {@code bytes} bytes of the file at {@code path}, creating
+         * or growing the file as needed. Writes are visible to every other process
+         * mapping the same file.
+         */
+        OffHeapMemory map(Path path, int bytes) throws IOException;
+    }
+
+    /**
+     * Memory of {@link ByteBuffer#allocateDirect(int)} or
+     * {@link FileChannel#map(FileChannel.MapMode, long, long)}, released by the
+     * garbage collector.
+     */
+    final class Direct implements OffHeapMemory {
+
+        static final Allocator ALLOCATOR = new Allocator() {
+            @Override
+            public OffHeapMemory allocate(int bytes) {
+                return new Direct(ByteBuffer.allocateDirect(bytes));
+            }
+
+            @Override
+            public OffHeapMemory map(Path path, int bytes) throws IOException {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    return new Direct(channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes));
+                }
+            }
+        };
+
+        private final ByteBuffer buffer;
+
+        private Direct(ByteBuffer buffer) {
+            this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public boolean isExplicit() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,674 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import jdk.jfr.Event;
+
+import org.joml.Matrix3x2fc;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * A sequence of contours made of lines, quadratics and cubics stored as a verb
+ * stream and a single interleaved {@code x, y} coordinate array. Consecutive
+ * segments share their endpoint, so every point is stored once.
+ * <p>
+ * Every contour starts with a {@link #MOVE} verb followed by any number of
+ * {@link #LINE}, {@link #QUADRATIC} and {@link #CUBIC} verbs, and may end with
+ * {@link #CLOSE}. The value of each segment verb equals its degree and the
+ * number of points it stores, since the start point is shared with the previous
+ * verb.
+ * <p>
+ * Segments are visited through a {@link SegmentIterator}, which hands out the
+ * same three {@link Bezier2f} instances over and over. Changing the points of
+ * these views does not change the path.
+ */
+public class Path2f implements PathSink2f, Iterable<Bezier2f> {
+
+    public static final byte MOVE = 0;
+    public static final byte LINE = 1;
+    public static final byte QUADRATIC = 2;
+    public static final byte CUBIC = 3;
+    public static final byte CLOSE = 4;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int LENGTH_INTERVALS = 16;
+    // Scratch context of getWinding, which is not worth allocating per query
+    private static final ThreadLocal<Monotonic2f> MONOTONIC = ThreadLocal.withInitial(Monotonic2f::new);
+
+    private byte[] verbs;
+    private float[] coordinates;
+    private int verbCount, coordinateCount;
+    // Coordinate index of the first point of the last contour, -1 if none
+    private int contourStart = -1;
+    private boolean closed;
+
+    public Path2f() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty path with room for {@code capacity} verbs and as many
+     * points before any of its arrays need to grow.
+     *
+     * @param capacity the initial number of verbs
+     */
+    public Path2f(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.verbs = new byte[capacity];
+        this.coordinates = new float[capacity * 2];
+    }
+
+    public Path2f(Path2f other) {
+        this.verbs = Arrays.copyOf(other.verbs, Math.max(other.verbCount, 1));
+        this.coordinates = Arrays.copyOf(other.coordinates, Math.max(other.coordinateCount, 2));
+        this.verbCount = other.verbCount;
+        this.coordinateCount = other.coordinateCount;
+        this.contourStart = other.contourStart;
+        this.closed = other.closed;
+    }
+
+    /**
+     * Starts a new contour at {@code (x, y)}. Consecutive moves collapse into the
+     * last one.
+     *
+     * @param x X coordinate of the start point
+     * @param y Y coordinate of the start point
+     * @return {@code this}
+     */
+    @Override
+    public Path2f moveTo(float x, float y) {
+        if (verbCount > 0 && verbs[verbCount - 1] == MOVE) {
+            coordinates[coordinateCount - 2] = x;
+            coordinates[coordinateCount - 1] = y;
+            return this;
+        }
+        int p = this.append(MOVE, 1);
+        coordinates[p] = x;
+        coordinates[p + 1] = y;
+        this.contourStart = p;
+        this.closed = false;
+        return this;
+    }
+
+    /**
+     * Adds a line from the current point to {@code (x1, y1)}.
+     *
+     * @return {@code this}
+     */
+    @Override
+    public Path2f lineTo(float x1, float y1) {
+        int p = this.begin(LINE);
+        coordinates[p] = x1;
+        coordinates[p + 1] = y1;
+        return this;
+    }
+
+    /**
+     * Adds a quadratic from the current point through the control point
+     * {@code (x1, y1)} to {@code (x2, y2)}.
+     *
+     * @return {@code this}
+     */
+    @Override
+    public Path2f quadraticTo(float x1, float y1, float x2, float y2) {
+        int p = this.begin(QUADRATIC);
+        coordinates[p] = x1;
+        coordinates[p + 1] = y1;
+        coordinates[p + 2] = x2;
+        coordinates[p + 3] = y2;
+        return this;
+    }
+
+    /**
+     * Adds a cubic from the current point through the control points
+     * {@code (x1, y1)} and {@code (x2, y2)} to {@code (x3, y3)}.
+     *
+     * @return {@code this}
+     */
+    @Override
+    public Path2f cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+        int p = this.begin(CUBIC);
+        coordinates[p] = x1;
+        coordinates[p + 1] = y1;
+        coordinates[p + 2] = x2;
+        coordinates[p + 3] = y2;
+        coordinates[p + 4] = x3;
+        coordinates[p + 5] = y3;
+        return this;
+    }
+
+    /**
+     * Closes the current contour with a line back to its start point. Drawing
+     * after a close continues a new contour from the same start point.
+     *
+     * @return {@code this}
+     */
+    @Override
+    public Path2f close() {
+        if (contourStart >= 0 && !closed) {
+            this.append(CLOSE, 0);
+            this.closed = true;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the points of {@code curve}. A new contour is started unless the
+     * curve starts at the current point of an open contour.
+     *
+     * @param curve the curve to append
+     * @return {@code this}
+     */
+    public Path2f append(Bezier2fc curve) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException("Expected a curve with [2-4] points but recieved: %s".formatted(length));
+        }
+        Vector2fc start = curve.getPoint(0);
+        if (contourStart < 0 || closed || coordinates[coordinateCount - 2] != start.x()
+                || coordinates[coordinateCount - 1] != start.y()) {
+            this.moveTo(start.x(), start.y());
+        }
+        int p = this.begin((byte) (length - 1));
+        for (int i = 1; i < length; i++, p += 2) {
+            Vector2fc point = curve.getPoint(i);
+            coordinates[p] = point.x();
+            coordinates[p + 1] = point.y();
+        }
+        return this;
+    }
+
+    /**
+     * Removes every contour from this path while keeping the allocated storage.
+     *
+     * @return {@code this}
+     */
+    public Path2f clear() {
+        this.verbCount = 0;
+        this.coordinateCount = 0;
+        this.contourStart = -1;
+        this.closed = false;
+        return this;
+    }
+
+    /**
+     * Returns the number of verbs in this path.
+     *
+     * @return the number of verbs
+     */
+    public int getVerbCount() {
+        return verbCount;
+    }
+
+    /**
+     * Returns the verb at the specified index.
+     *
+     * @param index the index of the verb
+     * @return one of {@link #MOVE}, {@link #LINE}, {@link #QUADRATIC},
+     *         {@link #CUBIC} or {@link #CLOSE}
+     */
+    public byte getVerb(int index) {
+        if (index < 0 || index >= verbCount) {
+            throw new IndexOutOfBoundsException(
+                    "Expected index in range [0-%s] but recieved: %s".formatted(verbCount - 1, index));
+        }
+        return verbs[index];
+    }
+
+    /**
+     * Returns the number of points stored in this path.
+     *
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return coordinateCount / 2;
+    }
+
+    /**
+     * Returns the number of contours in this path.
+     *
+     * @return the number of contours
+     */
+    public int getContourCount() {
+        int count = 0;
+        for (int i = 0; i < verbCount; i++) {
+            if (verbs[i] == MOVE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the backing verb stream. Only the first {@link #getVerbCount()}
+     * values are meaningful and the array is replaced whenever the path grows.
+     *
+     * @return the backing verbs
+     */
+    public byte[] getVerbs() {
+        return verbs;
+    }
+
+    /**
+     * Returns the backing interleaved {@code x, y} coordinates. Only the first
+     * {@link #getPointCount()} pairs are meaningful and the array is replaced
+     * whenever the path grows.
+     *
+     * @return the backing coordinates
+     */
+    public float[] getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * Returns an iterator over the explicit segments of this path.
+     *
+     * @return a new iterator
+     */
+    @Override
+    public SegmentIterator iterator() {
+        return new SegmentIterator(false);
+    }
+
+    /**
+     * Returns an iterator over the segments of this path.
+     *
+     * @param closeContours whether open contours are closed with an implicit line
+     *                      back to their start point, as they are when filled
+     * @return a new iterator
+     */
+    public SegmentIterator iterator(boolean closeContours) {
+        return new SegmentIterator(closeContours);
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of every segment of the path.
+     * An empty path produces an inverted box of infinities.
+     *
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int index, float[] dest) {
+        return this.getBounds(-1, index, dest);
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of a single contour.
+     *
+     * @param contour the index of the contour
+     * @param index   the starting position of {@code dest} in which the bounds
+     *                will be written to
+     * @param dest    will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public float[] getBounds(int contour, int index, float[] dest) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        float[] c = coordinates;
+        // The closing lines are left out as they only join points already covered
+        for (int verb = 0, coordinate = 0, current = -1; verb < verbCount; verb++) {
+            byte v = verbs[verb];
+            if (v == MOVE) {
+                coordinate += 2;
+                current++;
+                continue;
+            }
+            if (v == CLOSE) {
+                continue;
+            }
+            // The points of a segment follow the end point of the previous verb
+            int p = coordinate - 2;
+            coordinate += v * 2;
+            if (contour >= 0 && current != contour) {
+                continue;
+            }
+            // dest is the scratch space of the segment bounds until the end
+            switch (v) {
+                case LINE:
+                    Line2f.Bounds(c[p], c[p + 1], c[p + 2], c[p + 3], index, dest);
+                    break;
+                case QUADRATIC:
+                    Quadratic2f.Bounds(c[p], c[p + 1], c[p + 2], c[p + 3], c[p + 4], c[p + 5], index, dest);
+                    break;
+                default:
+                    Cubic2f.Bounds(c[p], c[p + 1], c[p + 2], c[p + 3], c[p + 4], c[p + 5], c[p + 6], c[p + 7],
+                            index, dest);
+                    break;
+            }
+            minX = Math.min(minX, dest[index]);
+            minY = Math.min(minY, dest[index + 1]);
+            maxX = Math.max(maxX, dest[index + 2]);
+            maxY = Math.max(maxY, dest[index + 3]);
+        }
+        dest[index] = minX;
+        dest[index + 1] = minY;
+        dest[index + 2] = maxX;
+        dest[index + 3] = maxY;
+        return dest;
+    }
+
+    /**
+     * Returns the total length of every segment of the path.
+     *
+     * @return the length of the path
+     */
+    public float getLength() {
+        return this.getLength(-1);
+    }
+
+    /**
+     * Returns the length of a single contour.
+     *
+     * @param contour the index of the contour
+     * @return the length of the contour
+     */
+    public float getLength(int contour) {
+        double total = 0;
+        float[] c = coordinates;
+        for (int verb = 0, coordinate = 0, current = -1, start = 0; verb < verbCount; verb++) {
+            byte v = verbs[verb];
+            if (v == MOVE) {
+                start = coordinate;
+                coordinate += 2;
+                current++;
+                continue;
+            }
+            int p = coordinate - 2;
+            if (v != CLOSE) {
+                coordinate += v * 2;
+            }
+            if (contour >= 0 && current != contour) {
+                continue;
+            }
+            if (v == CLOSE) {
+                total += Math.hypot(c[start] - c[p], c[start + 1] - c[p + 1]);
+            } else if (v == LINE) {
+                total += Math.hypot(c[p + 2] - c[p], c[p + 3] - c[p + 1]);
+            } else {
+                total += ArcLength2f.measure(c, p, v, LENGTH_INTERVALS);
+            }
+        }
+        return (float) total;
+    }
+
+    /**
+     * Calculates the winding number of the path around {@code (x, y)}, treating
+     * every contour as closed. Counter-clockwise contours in a Y-up coordinate
+     * system wind positively. The point is inside under the non-zero rule when
+     * the result is not {@code 0} and under the even-odd rule when it is odd.
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @return the winding number
+     */
+    public int getWinding(float x, float y) {
+        int winding = 0;
+        Monotonic2f monotonic = MONOTONIC.get();
+        float[] c = coordinates;
+        // Coordinate index of the start point of the open contour, -1 if none
+        int start = -1;
+        int coordinate = 0;
+        for (int verb = 0; verb < verbCount; verb++) {
+            byte v = verbs[verb];
+            if (v == MOVE) {
+                winding += Path2f.closingWinding(monotonic, c, start, coordinate - 2, x, y);
+                start = coordinate;
+                coordinate += 2;
+            } else if (v == CLOSE) {
+                winding += Path2f.closingWinding(monotonic, c, start, coordinate - 2, x, y);
+                start = -1;
+            } else {
+                winding += monotonic.load(c, coordinate - 2, v).getWinding(x, y);
+                coordinate += v * 2;
+            }
+        }
+        return winding + Path2f.closingWinding(monotonic, c, start, coordinate - 2, x, y);
+    }
+
+    /**
+     * Winding number of the line that closes the contour starting at
+     * {@code start} from its last point at {@code end}, {@code 0} if there is no
+     * open contour or the line is empty.
+     */
+    private static int closingWinding(Monotonic2f monotonic, float[] c, int start, int end, float x, float y) {
+        if (start < 0 || c[start] == c[end] && c[start + 1] == c[end + 1]) {
+            return 0;
+        }
+        return monotonic.load(c[end], c[end + 1], c[start], c[start + 1]).getWinding(x, y);
+    }
+
+    /**
+     * Multiplies each point of the path with the supplied matrix as if it was a
+     * 3D-vector with z=1.
+     *
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public Path2f transformPosition(Matrix3x2fc matrix) {
+        return this.transform(matrix, 1);
+    }
+
+    /**
+     * Multiplies each point of the path with the supplied matrix as if it was a
+     * 3D-vector with z=0.
+     *
+     * @param matrix 3x2 read only matrix
+     * @return {@code this}
+     */
+    public Path2f transformDirection(Matrix3x2fc matrix) {
+        return this.transform(matrix, 0);
+    }
+
+    private Path2f transform(Matrix3x2fc matrix, float z) {
+        float m00 = matrix.m00(), m01 = matrix.m01(), m10 = matrix.m10(), m11 = matrix.m11();
+        float m20 = matrix.m20() * z, m21 = matrix.m21() * z;
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        for (int i = 0; i < coordinateCount; i += 2) {
+            float x = coordinates[i], y = coordinates[i + 1];
+            coordinates[i] = m00 * x + m10 * y + m20;
+            coordinates[i + 1] = m01 * x + m11 * y + m21;
+        }
+        Metrics.transformed(coordinateCount / 2, started, event);
+        return this;
+    }
+
+    /**
+     * Evaluates one coordinate of the hodograph of the segment in {@code p},
+     * without the degree factor. {@code axis} is the index of that coordinate of
+     * the first point, so an offset segment passes its index plus the axis.
+     */
+    static float derivative(float[] p, int degree, int axis, float t) {
+        float nt = 1 - t;
+        switch (degree) {
+            case 1:
+                return p[2 + axis] - p[axis];
+            case 2:
+                return (p[2 + axis] - p[axis]) * nt + (p[4 + axis] - p[2 + axis]) * t;
+            default:
+                return (p[2 + axis] - p[axis]) * nt * nt + (p[4 + axis] - p[2 + axis]) * nt * t * 2
+                        + (p[6 + axis] - p[4 + axis]) * t * t;
+        }
+    }
+
+    /**
+     * Prepares a segment verb, starting a new contour at the last start point if
+     * the previous one was closed.
+     *
+     * @return the coordinate index the segment's points are written to
+     */
+    private int begin(byte verb) {
+        if (contourStart < 0) {
+            throw new IllegalStateException("Expected a moveTo before the first segment");
+        }
+        if (closed) {
+            this.moveTo(coordinates[contourStart], coordinates[contourStart + 1]);
+        }
+        return this.append(verb, verb);
+    }
+
+    private int append(byte verb, int points) {
+        int p = coordinateCount;
+        if (verbCount == verbs.length) {
+            this.verbs = Arrays.copyOf(verbs, verbs.length * 2);
+        }
+        if (p + points * 2 > coordinates.length) {
+            this.coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, p + points * 2));
+        }
+        verbs[verbCount++] = verb;
+        this.coordinateCount += points * 2;
+        return p;
+    }
+
+    /**
+     * Iterates over the segments of a path, handing out a reusable
+     * {@link Line2f}, {@link Quadratic2f} or {@link Cubic2f} view for each one.
+     * A view is only valid until the next call to {@link #hasNext()} or
+     * {@link #next()}. Iterating allocates nothing, and an iterator can be
+     * restarted with {@link #reset()}.
+     */
+    public class SegmentIterator implements Iterator<Bezier2f> {
+
+        private final boolean closeContours;
+        private final Line2f line = new Line2f();
+        private final Quadratic2f quadratic = new Quadratic2f();
+        private final Cubic2f cubic = new Cubic2f();
+        private final float[] points = new float[8];
+        private int verb, coordinate, contour, degree;
+        private float startX, startY, currentX, currentY;
+        private boolean open, closing, peeked;
+
+        SegmentIterator(boolean closeContours) {
+            this.closeContours = closeContours;
+            this.reset();
+        }
+
+        /**
+         * Restarts iteration from the first segment of the path.
+         *
+         * @return {@code this}
+         */
+        public SegmentIterator reset() {
+            this.verb = 0;
+            this.coordinate = 0;
+            this.contour = -1;
+            this.open = false;
+            this.peeked = false;
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!peeked) {
+                this.degree = this.step();
+                this.peeked = true;
+            }
+            return degree > 0;
+        }
+
+        @Override
+        public Bezier2f next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.peeked = false;
+            float[] p = points;
+            switch (degree) {
+                case 1:
+                    return line.set(p[0], p[1], p[2], p[3]);
+                case 2:
+                    return quadratic.set(p[0], p[1], p[2], p[3], p[4], p[5]);
+                default:
+                    return cubic.set(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+            }
+        }
+
+        /**
+         * Returns the index of the contour the last segment belongs to.
+         *
+         * @return the index of the contour
+         */
+        public int getContour() {
+            return contour;
+        }
+
+        /**
+         * Returns whether the last segment is the line that closes its contour.
+         *
+         * @return whether the last segment closes its contour
+         */
+        public boolean isClosing() {
+            return closing;
+        }
+
+        /**
+         * Finds the next segment and writes its points to {@link #points}.
+         *
+         * @return the degree of the segment or {@code 0} at the end of the path
+         */
+        private int step() {
+            while (verb < verbCount) {
+                byte v = verbs[verb];
+                if (v == MOVE) {
+                    if (this.closeOpenContour()) {
+                        return 1;
+                    }
+                    verb++;
+                    this.startX = this.currentX = coordinates[coordinate];
+                    this.startY = this.currentY = coordinates[coordinate + 1];
+                    this.coordinate += 2;
+                    this.contour++;
+                    this.open = true;
+                    continue;
+                }
+                verb++;
+                if (v == CLOSE) {
+                    this.open = false;
+                    if (this.closeLine()) {
+                        return 1;
+                    }
+                    continue;
+                }
+                points[0] = currentX;
+                points[1] = currentY;
+                System.arraycopy(coordinates, coordinate, points, 2, v * 2);
+                this.coordinate += v * 2;
+                this.currentX = coordinates[coordinate - 2];
+                this.currentY = coordinates[coordinate - 1];
+                this.closing = false;
+                return v;
+            }
+            return this.closeOpenContour() ? 1 : 0;
+        }
+
+        private boolean closeOpenContour() {
+            if (!closeContours || !open) {
+                return false;
+            }
+            this.open = false;
+            return this.closeLine();
+        }
+
+        private boolean closeLine() {
+            if (currentX == startX && currentY == startY) {
+                return false;
+            }
+            points[0] = currentX;
+            points[1] = currentY;
+            points[2] = startX;
+            points[3] = startY;
+            this.currentX = startX;
+            this.currentY = startY;
+            this.closing = true;
+            return true;
+        }
+    }
+}
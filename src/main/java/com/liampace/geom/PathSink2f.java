@@ -0,0 +1,49 @@
+package com.liampace.geom;
+
+/**
+ * Receives the segments of a path as primitive coordinates, in the order they
+ * are drawn. Every segment starts at the end point of the previous one, or at
+ * the point of the last {@link #moveTo(float, float)}.
+ *
+ * @see Path2f
+ * @see SvgPathParser2f
+ */
+public interface PathSink2f {
+
+    /**
+     * Starts a new contour at {@code (x, y)}.
+     *
+     * @return {@code this}
+     */
+    public PathSink2f moveTo(float x, float y);
+
+    /**
+     * Adds a line from the current point to {@code (x1, y1)}.
+     *
+     * @return {@code this}
+     */
+    public PathSink2f lineTo(float x1, float y1);
+
+    /**
+     * Adds a quadratic from the current point through the control point
+     * {@code (x1, y1)} to {@code (x2, y2)}.
+     *
+     * @return {@code this}
+     */
+    public PathSink2f quadraticTo(float x1, float y1, float x2, float y2);
+
+    /**
+     * Adds a cubic from the current point through the control points
+     * {@code (x1, y1)} and {@code (x2, y2)} to {@code (x3, y3)}.
+     *
+     * @return {@code this}
+     */
+    public PathSink2f cubicTo(float x1, float y1, float x2, float y2, float x3, float y3);
+
+    /**
+     * Closes the current contour with a line back to its start point.
+     *
+     * @return {@code this}
+     */
+    public PathSink2f close();
+}
@@ -0,0 +1,395 @@
+package com.liampace.geom;
+
+import jdk.jfr.Event;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+/**
+ * A reusable scratch context for finding the point on a bezier curve that is
+ * closest to a given position.
+ * <p>
+ * A curve is first {@link #load(Bezier2fc) loaded}, which copies its control
+ * points into a private power basis, after which any number of positions can be
+ * projected against it. Projection never touches the points of the source curve
+ * and allocates nothing, so a single context can be kept per thread and reused
+ * for every query. The context itself is not thread-safe.
+ */
+public class Projection2f {
+
+    /**
+     * The default number of intervals sampled when searching for minima.
+     */
+    public static final int DEFAULT_SAMPLES = 16;
+
+    private static final int MAX_ITERATIONS = 16;
+    private static final float EPSILON = 1e-7f;
+
+    private final int samples;
+    // Power basis coefficients where index i is the coefficient of t^i
+    private final float[] ax = new float[4], ay = new float[4];
+    private int degree;
+
+    private float t, x, y, distanceSquared;
+
+    public Projection2f() {
+        this(DEFAULT_SAMPLES);
+    }
+
+    /**
+     * Creates a context that samples each curve at {@code samples} uniform
+     * intervals before refining the local minima. Higher values make it less
+     * likely for two minima that lie very close together to be missed.
+     *
+     * @param samples the number of intervals sampled, at least {@code 1}
+     */
+    public Projection2f(int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Expected at least 1 sample but recieved: %s".formatted(samples));
+        }
+        this.samples = samples;
+    }
+
+    /**
+     * Copies the control points of {@code curve} into this context so that
+     * positions can be projected against it with {@link #project(float, float)}.
+     *
+     * @param curve the curve to load
+     * @return {@code this}
+     */
+    public Projection2f load(Bezier2fc curve) {
+        int length = curve.getLength();
+        Vector2fc p0 = curve.getPoint(0), p1 = curve.getPoint(1);
+        switch (length) {
+            case 2:
+                return this.load(p0.x(), p0.y(), p1.x(), p1.y());
+            case 3: {
+                Vector2fc p2 = curve.getPoint(2);
+                return this.load(p0.x(), p0.y(), p1.x(), p1.y(), p2.x(), p2.y());
+            }
+            case 4: {
+                Vector2fc p2 = curve.getPoint(2), p3 = curve.getPoint(3);
+                return this.load(p0.x(), p0.y(), p1.x(), p1.y(), p2.x(), p2.y(), p3.x(), p3.y());
+            }
+            default:
+                throw new IllegalArgumentException(
+                        "Expected a curve with [2-4] points but recieved: %s".formatted(length));
+        }
+    }
+
+    /**
+     * Copies the control points of a curve stored in {@code batch} into this
+     * context.
+     *
+     * @param batch the batch holding the curve
+     * @param curve the index of the curve
+     * @return {@code this}
+     */
+    public Projection2f load(BezierBatch2f batch, int curve) {
+        int p = batch.getOffset(curve);
+        float[] x = batch.getX(), y = batch.getY();
+        switch (batch.getDegree(curve)) {
+            case 1:
+                return this.load(x[p], y[p], x[p + 1], y[p + 1]);
+            case 2:
+                return this.load(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2]);
+            default:
+                return this.load(x[p], y[p], x[p + 1], y[p + 1], x[p + 2], y[p + 2], x[p + 3], y[p + 3]);
+        }
+    }
+
+    /**
+     * Loads a line into this context.
+     *
+     * @param x0 X coordinate of start point
+     * @param y0 Y coordinate of start point
+     * @param x1 X coordinate of end point
+     * @param y1 Y coordinate of end point
+     * @return {@code this}
+     */
+    public Projection2f load(float x0, float y0, float x1, float y1) {
+        this.degree = 1;
+        ax[0] = x0;
+        ay[0] = y0;
+        ax[1] = x1 - x0;
+        ay[1] = y1 - y0;
+        ax[2] = ay[2] = ax[3] = ay[3] = 0;
+        return this;
+    }
+
+    /**
+     * Loads a quadratic curve into this context.
+     *
+     * @param x0 X coordinate of start point
+     * @param y0 Y coordinate of start point
+     * @param x1 X coordinate of control point
+     * @param y1 Y coordinate of control point
+     * @param x2 X coordinate of end point
+     * @param y2 Y coordinate of end point
+     * @return {@code this}
+     */
+    public Projection2f load(float x0, float y0, float x1, float y1, float x2, float y2) {
+        this.degree = 2;
+        ax[0] = x0;
+        ay[0] = y0;
+        ax[1] = (x1 - x0) * 2;
+        ay[1] = (y1 - y0) * 2;
+        ax[2] = x0 - x1 * 2 + x2;
+        ay[2] = y0 - y1 * 2 + y2;
+        ax[3] = ay[3] = 0;
+        return this;
+    }
+
+    /**
+     * Loads a cubic curve into this context.
+     *
+     * @param x0 X coordinate of the starting point
+     * @param y0 Y coordinate of the starting point
+     * @param x1 X coordinate of the first control point
+     * @param y1 Y coordinate of the first control point
+     * @param x2 X coordinate of the second control point
+     * @param y2 Y coordinate of the second control point
+     * @param x3 X coordinate of the ending point
+     * @param y3 Y coordinate of the ending point
+     * @return {@code this}
+     */
+    public Projection2f load(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3) {
+        this.degree = 3;
+        ax[0] = x0;
+        ay[0] = y0;
+        ax[1] = (x1 - x0) * 3;
+        ay[1] = (y1 - y0) * 3;
+        ax[2] = (x0 - x1 * 2 + x2) * 3;
+        ay[2] = (y0 - y1 * 2 + y2) * 3;
+        ax[3] = -x0 + (x1 - x2) * 3 + x3;
+        ay[3] = -y0 + (y1 - y2) * 3 + y3;
+        return this;
+    }
+
+    /**
+     * Loads {@code curve} and finds the point on it closest to {@code (px, py)}.
+     *
+     * @param curve the curve to project onto
+     * @param px    X coordinate of the position
+     * @param py    Y coordinate of the position
+     * @return {@code this}
+     */
+    public Projection2f project(Bezier2fc curve, float px, float py) {
+        return this.load(curve).project(px, py);
+    }
+
+    /**
+     * Finds the point on the loaded curve closest to {@code (px, py)}. The result
+     * can be read through {@link #getT()}, {@link #getPoint(Vector2f)} and
+     * {@link #getDistance()}.
+     *
+     * @param px X coordinate of the position
+     * @param py Y coordinate of the position
+     * @return {@code this}
+     */
+    public Projection2f project(float px, float py) {
+        if (degree == 0) {
+            throw new IllegalStateException("No curve has been loaded");
+        }
+        if (!Metrics.ENABLED) {
+            return this.search(px, py);
+        }
+        long start = Metrics.start();
+        Event event = Metrics.beginProjection();
+        this.search(px, py);
+        Metrics.projected(degree, t, this.getDistance(), start, event);
+        return this;
+    }
+
+    private Projection2f search(float px, float py) {
+        if (degree == 1) {
+            return this.projectLine(px, py);
+        }
+        // Minima of the squared distance lie where (B(t) - P) . B'(t) crosses
+        // from negative to positive, or at either endpoint
+        float bestT = 0, bestD = this.distanceSquared(0, px, py);
+        float endD = this.distanceSquared(1, px, py);
+        if (endD < bestD) {
+            bestT = 1;
+            bestD = endD;
+        }
+        float step = 1.0f / samples;
+        float t0 = 0, f0 = this.slope(0, px, py);
+        for (int i = 1; i <= samples; i++) {
+            float t1 = i == samples ? 1 : i * step;
+            float f1 = this.slope(t1, px, py);
+            if (f0 < 0 && f1 >= 0) {
+                float root = this.refine(t0, t1, f0, px, py);
+                float d = this.distanceSquared(root, px, py);
+                if (d < bestD) {
+                    bestT = root;
+                    bestD = d;
+                }
+            }
+            t0 = t1;
+            f0 = f1;
+        }
+        this.t = bestT;
+        this.x = this.evaluate(ax, bestT);
+        this.y = this.evaluate(ay, bestT);
+        this.distanceSquared = bestD;
+        return this;
+    }
+
+    /**
+     * Projects {@code count} positions stored as interleaved {@code x, y} pairs in
+     * {@code points} against the loaded curve. The interpolation factor of each
+     * projection is written to {@code tDest} and, if not {@code null}, the
+     * distance to {@code distanceDest}.
+     *
+     * @param count        the number of positions to project
+     * @param index        the starting position of {@code points}
+     * @param points       interleaved {@code x, y} pairs
+     * @param destIndex    the starting position of {@code tDest} and
+     *                     {@code distanceDest}
+     * @param tDest        will hold the interpolation factors
+     * @param distanceDest will hold the distances, may be {@code null}
+     * @return {@code count}
+     */
+    public int project(int count, int index, float[] points, int destIndex, float[] tDest, float[] distanceDest) {
+        for (int i = 0, p = index, d = destIndex; i < count; i++, p += 2, d++) {
+            this.project(points[p], points[p + 1]);
+            tDest[d] = t;
+            if (distanceDest != null) {
+                distanceDest[d] = this.getDistance();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the interpolation factor of the last projection.
+     *
+     * @return interpolation factor between the range of [0-1]
+     */
+    public float getT() {
+        return t;
+    }
+
+    /**
+     * Stores the closest point found by the last projection in {@code dest}.
+     *
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Vector2f getPoint(Vector2f dest) {
+        return dest.set(x, y);
+    }
+
+    /**
+     * Returns the X coordinate of the closest point found by the last projection.
+     *
+     * @return X coordinate of the closest point
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * Returns the Y coordinate of the closest point found by the last projection.
+     *
+     * @return Y coordinate of the closest point
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * Returns the distance between the projected position and the closest point.
+     *
+     * @return the distance
+     */
+    public float getDistance() {
+        return (float) Math.sqrt(distanceSquared);
+    }
+
+    /**
+     * Returns the squared distance between the projected position and the closest
+     * point.
+     *
+     * @return the squared distance
+     */
+    public float getDistanceSquared() {
+        return distanceSquared;
+    }
+
+    private Projection2f projectLine(float px, float py) {
+        float dx = ax[1], dy = ay[1];
+        float lengthSquared = dx * dx + dy * dy;
+        float t = 0;
+        if (lengthSquared > 0) {
+            t = ((px - ax[0]) * dx + (py - ay[0]) * dy) / lengthSquared;
+            t = Math.max(Math.min(t, 1), 0);
+        }
+        this.t = t;
+        this.x = ax[0] + dx * t;
+        this.y = ay[0] + dy * t;
+        dx = x - px;
+        dy = y - py;
+        this.distanceSquared = dx * dx + dy * dy;
+        return this;
+    }
+
+    /**
+     * Safeguarded Newton iteration for the root of {@link #slope} inside
+     * {@code [lo, hi]}, where the slope is negative at {@code lo} and
+     * non-negative at {@code hi}.
+     */
+    private float refine(float lo, float hi, float fLo, float px, float py) {
+        float t = (lo + hi) * 0.5f;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            float f = this.slope(t, px, py);
+            if (f < 0) {
+                lo = t;
+            } else {
+                hi = t;
+            }
+            if (hi - lo <= EPSILON) {
+                break;
+            }
+            float df = this.slopeDerivative(t, px, py);
+            float next = df != 0 ? t - f / df : lo - 1;
+            // Fall back to bisection whenever Newton leaves the bracket
+            t = next > lo && next < hi ? next : (lo + hi) * 0.5f;
+        }
+        return t;
+    }
+
+    private float evaluate(float[] a, float t) {
+        return ((a[3] * t + a[2]) * t + a[1]) * t + a[0];
+    }
+
+    private float evaluateDerivative(float[] a, float t) {
+        return (a[3] * 3 * t + a[2] * 2) * t + a[1];
+    }
+
+    private float evaluateSecondDerivative(float[] a, float t) {
+        return a[3] * 6 * t + a[2] * 2;
+    }
+
+    private float distanceSquared(float t, float px, float py) {
+        float dx = this.evaluate(ax, t) - px;
+        float dy = this.evaluate(ay, t) - py;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Half the derivative of the squared distance, {@code (B(t) - P) . B'(t)}.
+     */
+    private float slope(float t, float px, float py) {
+        return (this.evaluate(ax, t) - px) * this.evaluateDerivative(ax, t)
+                + (this.evaluate(ay, t) - py) * this.evaluateDerivative(ay, t);
+    }
+
+    private float slopeDerivative(float t, float px, float py) {
+        float dx = this.evaluateDerivative(ax, t), dy = this.evaluateDerivative(ay, t);
+        return dx * dx + dy * dy
+                + (this.evaluate(ax, t) - px) * this.evaluateSecondDerivative(ax, t)
+                + (this.evaluate(ay, t) - py) * this.evaluateSecondDerivative(ay, t);
+    }
+}
@@ -0,0 +1,456 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes anti-aliased coverage of shapes made of bezier segments into an
+ * alpha buffer of {@code width * height} pixels stored row by row.
+ * <p>
+ * Segments are flattened into lines in pixel coordinates as they are added.
+ * Each line deposits the exact signed area it covers into an accumulation
+ * buffer, and a running sum along each row turns these areas into the winding
+ * number of every pixel, weighted by how much of the pixel is covered. The
+ * {@link FillRule} then maps the accumulated value to a coverage in
+ * {@code [0, 1]}.
+ * <p>
+ * The target is split into square tiles that are rasterized independently on
+ * a fork-join pool. Every pixel is computed by exactly one tile, visiting the
+ * lines in the order they were added, so the output is identical regardless of
+ * the number of threads.
+ * <p>
+ * Segments are expected to form closed contours, iterate a {@link Path2f} with
+ * {@link Path2f#iterator(boolean) closed contours} or use {@link #add(Path2f)}.
+ * A rasterizer is not thread-safe while segments are being added.
+ */
+public class Rasterizer2f {
+
+    /**
+     * How the winding number of a pixel decides whether it is inside a shape.
+     */
+    public enum FillRule {
+        /** Inside wherever the winding number is not zero. */
+        NON_ZERO,
+        /** Inside wherever the winding number is odd. */
+        EVEN_ODD
+    }
+
+    /**
+     * The width and height of a tile in pixels.
+     */
+    public static final int TILE_SIZE = 64;
+
+    /**
+     * The default distance in pixels flattened lines may deviate from curves.
+     */
+    public static final float DEFAULT_TOLERANCE = 0.1f;
+
+    private static final int TILES_PER_TASK = 4;
+
+    private final int width, height;
+    private final float tolerance;
+    private final Flattener2f flattener = new Flattener2f();
+    private final FloatList vertices = new FloatList();
+    // x0, y0, x1, y1 for every line
+    private final FloatList lines = new FloatList();
+
+    public Rasterizer2f(int width, int height) {
+        this(width, height, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates a rasterizer for a target of the given size.
+     *
+     * @param width     the width of the target in pixels
+     * @param height    the height of the target in pixels
+     * @param tolerance the distance in pixels flattened lines may deviate from
+     *                  curves
+     */
+    public Rasterizer2f(int width, int height, float tolerance) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(
+                    "Expected a positive size but recieved: %sx%s".formatted(width, height));
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Expected a positive tolerance but recieved: %s".formatted(tolerance));
+        }
+        this.width = width;
+        this.height = height;
+        this.tolerance = tolerance;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of lines the added segments were flattened into.
+     *
+     * @return the number of lines
+     */
+    public int getLineCount() {
+        return lines.size() / 4;
+    }
+
+    /**
+     * Flattens {@code segment}, given in pixel coordinates, and adds its lines.
+     *
+     * @param segment the segment to add
+     * @return {@code this}
+     */
+    public Rasterizer2f add(Bezier2fc segment) {
+        vertices.clear();
+        int count = flattener.flatten(segment, tolerance, true, vertices);
+        float[] v = vertices.array();
+        for (int i = 2, last = count * 2; i < last; i += 2) {
+            this.addLine(v[i - 2], v[i - 1], v[i], v[i + 1]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds every contour of {@code path}, closing the open ones.
+     *
+     * @param path the path to add, in pixel coordinates
+     * @return {@code this}
+     */
+    public Rasterizer2f add(Path2f path) {
+        Path2f.SegmentIterator it = path.iterator(true);
+        while (it.hasNext()) {
+            this.add(it.next());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a single line. Horizontal lines and lines entirely above or below the
+     * target cover nothing and are dropped.
+     *
+     * @return {@code this}
+     */
+    public Rasterizer2f addLine(float x0, float y0, float x1, float y1) {
+        if (y0 != y1 && Math.max(y0, y1) > 0 && Math.min(y0, y1) < height) {
+            lines.add(x0, y0);
+            lines.add(x1, y1);
+        }
+        return this;
+    }
+
+    /**
+     * Removes every line while keeping the allocated storage.
+     *
+     * @return {@code this}
+     */
+    public Rasterizer2f clear() {
+        lines.clear();
+        return this;
+    }
+
+    /**
+     * Rasterizes the added lines on the common fork-join pool.
+     *
+     * @param rule  the fill rule
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} coverage values in
+     *              {@code [0, 1]}
+     * @return {@code dest}
+     */
+    public float[] rasterize(FillRule rule, int index, float[] dest) {
+        return this.rasterize(rule, index, dest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Rasterizes the added lines.
+     *
+     * @param rule  the fill rule
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} coverage values in
+     *              {@code [0, 1]}
+     * @param pool  the pool the tiles are processed on
+     * @return {@code dest}
+     */
+    public float[] rasterize(FillRule rule, int index, float[] dest, ForkJoinPool pool) {
+        this.checkDestination(index, dest.length);
+        pool.invoke(new TileTask(this.bin(), rule, index, dest, null, 0, this.getTileCount()));
+        return dest;
+    }
+
+    /**
+     * Rasterizes the added lines on the common fork-join pool.
+     *
+     * @param rule  the fill rule
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} coverage values in
+     *              {@code [0, 255]}
+     * @return {@code dest}
+     */
+    public byte[] rasterize(FillRule rule, int index, byte[] dest) {
+        return this.rasterize(rule, index, dest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Rasterizes the added lines.
+     *
+     * @param rule  the fill rule
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold {@code width * height} coverage values in
+     *              {@code [0, 255]}
+     * @param pool  the pool the tiles are processed on
+     * @return {@code dest}
+     */
+    public byte[] rasterize(FillRule rule, int index, byte[] dest, ForkJoinPool pool) {
+        this.checkDestination(index, dest.length);
+        pool.invoke(new TileTask(this.bin(), rule, index, null, dest, 0, this.getTileCount()));
+        return dest;
+    }
+
+    private int getTileCount() {
+        return this.getColumns() * this.getRows();
+    }
+
+    private int getColumns() {
+        return (width + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private int getRows() {
+        return (height + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private void checkDestination(int index, int length) {
+        if (index < 0 || index + width * height > length) {
+            throw new IndexOutOfBoundsException(
+                    "Expected room for %s values but recieved: [%s-%s)".formatted(width * height, index, length));
+        }
+    }
+
+    /**
+     * Sorts the lines into the rows of tiles they overlap, stored as offsets into
+     * a single array of line indices, in the order the lines were added.
+     *
+     * @return {@code rows + 1} offsets followed by the line indices
+     */
+    private int[] bin() {
+        int rows = this.getRows(), count = this.getLineCount();
+        float[] l = lines.array();
+        int[] starts = new int[rows + 1];
+        for (int i = 0; i < count; i++) {
+            int first = this.firstRow(l, i), last = this.lastRow(l, i, rows);
+            for (int row = first; row <= last; row++) {
+                starts[row + 1]++;
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            starts[row + 1] += starts[row];
+        }
+        int[] bins = new int[rows + 1 + starts[rows]];
+        System.arraycopy(starts, 0, bins, 0, rows + 1);
+        int[] cursors = new int[rows];
+        for (int i = 0; i < count; i++) {
+            int first = this.firstRow(l, i), last = this.lastRow(l, i, rows);
+            for (int row = first; row <= last; row++) {
+                bins[rows + 1 + starts[row] + cursors[row]++] = i;
+            }
+        }
+        return bins;
+    }
+
+    private int firstRow(float[] l, int line) {
+        float minY = Math.min(l[line * 4 + 1], l[line * 4 + 3]);
+        return Math.max((int) Math.floor(minY / TILE_SIZE), 0);
+    }
+
+    private int lastRow(float[] l, int line, int rows) {
+        float maxY = Math.max(l[line * 4 + 1], l[line * 4 + 3]);
+        return Math.min((int) Math.ceil(maxY / TILE_SIZE) - 1, rows - 1);
+    }
+
+    /**
+     * Rasterizes the tile at {@code tile} using the scratch {@code buffer}.
+     */
+    private void rasterizeTile(int[] bins, int tile, float[] buffer, FillRule rule, int index, float[] floats,
+            byte[] bytes) {
+        int columns = this.getColumns(), rows = this.getRows();
+        int row = tile / columns, column = tile % columns;
+        int x0 = column * TILE_SIZE, y0 = row * TILE_SIZE;
+        int w = Math.min(TILE_SIZE, width - x0), h = Math.min(TILE_SIZE, height - y0);
+        int stride = w + 2;
+        Arrays.fill(buffer, 0, stride * h, 0);
+        float[] l = lines.array();
+        for (int b = rows + 1 + bins[row], end = rows + 1 + bins[row + 1]; b < end; b++) {
+            int p = bins[b] * 4;
+            // Lines to the right of the tile do not affect it
+            if (Math.min(l[p], l[p + 2]) >= x0 + w) {
+                continue;
+            }
+            Rasterizer2f.drawLine(buffer, stride, w, h, l[p] - x0, l[p + 1] - y0, l[p + 2] - x0, l[p + 3] - y0);
+        }
+        boolean evenOdd = rule == FillRule.EVEN_ODD;
+        for (int y = 0; y < h; y++) {
+            float accumulator = 0;
+            int d = index + (y0 + y) * width + x0;
+            for (int x = 0, a = y * stride; x < w; x++, a++, d++) {
+                accumulator += buffer[a];
+                float coverage = Math.abs(accumulator);
+                if (evenOdd) {
+                    coverage %= 2;
+                    coverage = coverage > 1 ? 2 - coverage : coverage;
+                } else {
+                    coverage = Math.min(coverage, 1);
+                }
+                if (floats != null) {
+                    floats[d] = coverage;
+                } else {
+                    bytes[d] = (byte) (int) (coverage * 255 + 0.5f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clips a line in tile coordinates to the tile's rows and splits it where it
+     * leaves the tile's columns. Parts to the left of the tile are moved onto its
+     * left edge, where they cover every pixel of their rows, and parts to the
+     * right are moved past its right edge, where they cover nothing.
+     */
+    private static void drawLine(float[] buffer, int stride, int w, int h, float x0, float y0, float x1, float y1) {
+        float direction = 1;
+        if (y0 > y1) {
+            float tx = x0, ty = y0;
+            x0 = x1;
+            y0 = y1;
+            x1 = tx;
+            y1 = ty;
+            direction = -1;
+        }
+        if (y1 <= 0 || y0 >= h) {
+            return;
+        }
+        float dxdy = (x1 - x0) / (y1 - y0);
+        if (y0 < 0) {
+            x0 -= y0 * dxdy;
+            y0 = 0;
+        }
+        if (y1 > h) {
+            x1 -= (y1 - h) * dxdy;
+            y1 = h;
+        }
+        if (Math.min(x0, x1) >= 0 && Math.max(x0, x1) <= w) {
+            Rasterizer2f.accumulate(buffer, stride, x0, y0, x1, y1, direction);
+            return;
+        }
+        // Factors along the line where it crosses the left and right edges
+        float dx = x1 - x0;
+        float s0 = dx != 0 ? -x0 / dx : -1, s1 = dx != 0 ? (w - x0) / dx : -1;
+        float first = Math.min(s0, s1), second = Math.max(s0, s1);
+        float from = 0;
+        for (int i = 0; i < 3; i++) {
+            float to = i == 0 ? first : i == 1 ? second : 1;
+            if (to <= from || to > 1) {
+                continue;
+            }
+            float ya = y0 + (y1 - y0) * from, yb = y0 + (y1 - y0) * to;
+            float xa = x0 + dx * from, xb = x0 + dx * to;
+            float middle = (xa + xb) * 0.5f;
+            if (middle < 0) {
+                xa = xb = 0;
+            } else if (middle > w) {
+                xa = xb = w;
+            } else {
+                xa = Math.max(Math.min(xa, w), 0);
+                xb = Math.max(Math.min(xb, w), 0);
+            }
+            Rasterizer2f.accumulate(buffer, stride, xa, ya, xb, yb, direction);
+            from = to;
+        }
+    }
+
+    /**
+     * Deposits the signed area covered by a line with {@code ya < yb}, lying
+     * inside the tile, into the accumulation buffer.
+     */
+    private static void accumulate(float[] buffer, int stride, float xa, float ya, float xb, float yb,
+            float direction) {
+        if (!(yb > ya)) {
+            return;
+        }
+        float dxdy = (xb - xa) / (yb - ya);
+        float x = xa;
+        for (int y = (int) ya, end = (int) Math.ceil(yb); y < end; y++) {
+            int row = y * stride;
+            float dy = Math.min(y + 1, yb) - Math.max(y, ya);
+            float next = x + dxdy * dy;
+            float d = dy * direction;
+            float left = Math.min(x, next), right = Math.max(x, next);
+            float leftFloor = (float) Math.floor(left), rightCeil = (float) Math.ceil(right);
+            int li = (int) leftFloor, ri = (int) rightCeil;
+            if (ri <= li + 1) {
+                // The line stays inside a single pixel of this row
+                float middle = (x + next) * 0.5f - leftFloor;
+                buffer[row + li] += d - d * middle;
+                buffer[row + li + 1] += d * middle;
+            } else {
+                float inverse = 1 / (right - left);
+                float leftFraction = left - leftFloor;
+                float a0 = 0.5f * inverse * (1 - leftFraction) * (1 - leftFraction);
+                float rightFraction = right - rightCeil + 1;
+                float am = 0.5f * inverse * rightFraction * rightFraction;
+                buffer[row + li] += d * a0;
+                if (ri == li + 2) {
+                    buffer[row + li + 1] += d * (1 - a0 - am);
+                } else {
+                    float a1 = inverse * (1.5f - leftFraction);
+                    buffer[row + li + 1] += d * (a1 - a0);
+                    for (int xi = li + 2; xi < ri - 1; xi++) {
+                        buffer[row + xi] += d * inverse;
+                    }
+                    float a2 = a1 + (ri - li - 3) * inverse;
+                    buffer[row + ri - 1] += d * (1 - a2 - am);
+                }
+                buffer[row + ri] += d * am;
+            }
+            x = next;
+        }
+    }
+
+    private class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] bins;
+        private final FillRule rule;
+        private final int index;
+        private final float[] floats;
+        private final byte[] bytes;
+        private final int from, to;
+
+        TileTask(int[] bins, FillRule rule, int index, float[] floats, byte[] bytes, int from, int to) {
+            this.bins = bins;
+            this.rule = rule;
+            this.index = index;
+            this.floats = floats;
+            this.bytes = bytes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                ForkJoinTask.invokeAll(new TileTask(bins, rule, index, floats, bytes, from, middle),
+                        new TileTask(bins, rule, index, floats, bytes, middle, to));
+                return;
+            }
+            float[] buffer = new float[(TILE_SIZE + 2) * TILE_SIZE];
+            for (int tile = from; tile < to; tile++) {
+                Rasterizer2f.this.rasterizeTile(bins, tile, buffer, rule, index, floats, bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.liampace.geom;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Solves many polynomial equations of degree three or lower per call. The
+ * coefficients of the equations are read from one array per term, and the roots
+ * of equation {@code i} are written to {@code roots} starting at
+ * {@code rootIndex + i * MAX_ROOTS}, with their number written to
+ * {@code counts[countIndex + i]}. The roots of each equation are sorted in
+ * ascending order.
+ * <p>
+ * A leading coefficient that is negligible next to the other coefficients,
+ * relative to {@link #DEGENERATE_EPSILON}, drops the degree of the equation
+ * instead of dividing by it, which only discards roots far outside of
+ * {@code [0, 1]}, where the dropped term stops being negligible. Cubics are
+ * seeded with one root of the closed form in double precision and deflated
+ * into a quadratic, and every root is polished with Newton steps in double
+ * precision, which recovers the precision the closed forms lose to
+ * cancellation. Repeated roots are reported once.
+ * <p>
+ * The single equation solvers {@link #solveCubic} and {@link #solveQuadratic}
+ * are the ones behind {@link Cubic2f#SolveCubicEquation} and
+ * {@link Quadratic2f#SolveQuadraticEquation}, so scalar and batch solves find
+ * the same roots.
+ * <p>
+ * When {@code unit} is set only roots within the {@code [0, 1]} range of an
+ * interpolation factor are kept, roots that miss the range by less than
+ * {@link #UNIT_EPSILON} are clamped into it.
+ */
+public final class RootSolver {
+
+    /**
+     * The maximum number of roots of a single equation, and the stride of the
+     * roots of consecutive equations.
+     */
+    public static final int MAX_ROOTS = Cubic2f.LENGTH - 1;
+
+    /**
+     * The ratio to the largest other coefficient below which a leading
+     * coefficient is treated as zero.
+     */
+    public static final float DEGENERATE_EPSILON = 1e-7f;
+
+    /**
+     * The distance outside of {@code [0, 1]} within which roots are clamped
+     * instead of discarded.
+     */
+    public static final float UNIT_EPSILON = 1e-6f;
+
+    private static final int POLISH_ITERATIONS = 8;
+    private static final double BACKWARD_EPSILON = 1e-6;
+
+    private RootSolver() {
+    }
+
+    /**
+     * Solves {@code count} equations {@code at^3 + bt^2 + ct + d = 0}.
+     *
+     * @param count      the number of equations
+     * @param from       the index of the first equation in the coefficient arrays
+     * @param a          the coefficients of the cubic terms
+     * @param b          the coefficients of the quadratic terms
+     * @param c          the coefficients of the linear terms
+     * @param d          the constant terms
+     * @param unit       whether only roots in {@code [0, 1]} are kept
+     * @param rootIndex  the starting position of {@code roots}
+     * @param roots      will hold {@link #MAX_ROOTS} slots per equation
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each equation
+     * @return the total number of roots
+     */
+    public static int solveCubics(int count, int from, float[] a, float[] b, float[] c, float[] d, boolean unit,
+            int rootIndex, float[] roots, int countIndex, int[] counts) {
+        int total = 0;
+        for (int i = 0, e = from, r = rootIndex; i < count; i++, e++, r += MAX_ROOTS) {
+            int found = RootSolver.solve(3, a[e], b[e], c[e], d[e], unit, r, roots);
+            counts[countIndex + i] = found;
+            total += found;
+        }
+        return total;
+    }
+
+    /**
+     * Solves {@code count} equations {@code at^2 + bt + c = 0}.
+     *
+     * @param count      the number of equations
+     * @param from       the index of the first equation in the coefficient arrays
+     * @param a          the coefficients of the quadratic terms
+     * @param b          the coefficients of the linear terms
+     * @param c          the constant terms
+     * @param unit       whether only roots in {@code [0, 1]} are kept
+     * @param rootIndex  the starting position of {@code roots}
+     * @param roots      will hold {@link #MAX_ROOTS} slots per equation
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each equation
+     * @return the total number of roots
+     */
+    public static int solveQuadratics(int count, int from, float[] a, float[] b, float[] c, boolean unit,
+            int rootIndex, float[] roots, int countIndex, int[] counts) {
+        int total = 0;
+        for (int i = 0, e = from, r = rootIndex; i < count; i++, e++, r += MAX_ROOTS) {
+            int found = RootSolver.solve(2, 0, a[e], b[e], c[e], unit, r, roots);
+            counts[countIndex + i] = found;
+            total += found;
+        }
+        return total;
+    }
+
+    /**
+     * Finds where {@code count} 1D cubic beziers cross zero.
+     *
+     * @param count      the number of curves
+     * @param from       the index of the first curve in the point arrays
+     * @param start      the starting points
+     * @param controlA   the first control points
+     * @param controlB   the second control points
+     * @param end        the ending points
+     * @param unit       whether only roots in {@code [0, 1]} are kept
+     * @param rootIndex  the starting position of {@code roots}
+     * @param roots      will hold {@link #MAX_ROOTS} slots per curve
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @return the total number of roots
+     * @see Cubic2f#SolveCubicBezier(float, float, float, float, int, float[])
+     */
+    public static int solveCubicBeziers(int count, int from, float[] start, float[] controlA, float[] controlB,
+            float[] end, boolean unit, int rootIndex, float[] roots, int countIndex, int[] counts) {
+        int total = 0;
+        for (int i = 0, e = from, r = rootIndex; i < count; i++, e++, r += MAX_ROOTS) {
+            float p0 = start[e], p1 = controlA[e], p2 = controlB[e], p3 = end[e];
+            int found = RootSolver.solve(3,
+                    -p0 + (p1 - p2) * 3 + p3,
+                    (p0 - 2 * p1 + p2) * 3,
+                    (p1 - p0) * 3,
+                    p0,
+                    unit, r, roots);
+            counts[countIndex + i] = found;
+            total += found;
+        }
+        return total;
+    }
+
+    /**
+     * Finds where {@code count} 1D quadratic beziers cross zero.
+     *
+     * @param count      the number of curves
+     * @param from       the index of the first curve in the point arrays
+     * @param start      the starting points
+     * @param control    the control points
+     * @param end        the ending points
+     * @param unit       whether only roots in {@code [0, 1]} are kept
+     * @param rootIndex  the starting position of {@code roots}
+     * @param roots      will hold {@link #MAX_ROOTS} slots per curve
+     * @param countIndex the starting position of {@code counts}
+     * @param counts     will hold the number of roots of each curve
+     * @return the total number of roots
+     * @see Quadratic2f#SolveQuadraticBezier(float, float, float, int, float[])
+     */
+    public static int solveQuadraticBeziers(int count, int from, float[] start, float[] control, float[] end,
+            boolean unit, int rootIndex, float[] roots, int countIndex, int[] counts) {
+        int total = 0;
+        for (int i = 0, e = from, r = rootIndex; i < count; i++, e++, r += MAX_ROOTS) {
+            float p0 = start[e], p1 = control[e], p2 = end[e];
+            int found = RootSolver.solve(2, 0, p0 - p1 * 2 + p2, (p1 - p0) * 2, p0, unit, r, roots);
+            counts[countIndex + i] = found;
+            total += found;
+        }
+        return total;
+    }
+
+    /**
+     * Solves the equation {@code at^3 + bt^2 + ct + d = 0}.
+     *
+     * @param a     the coefficient of the cubic term
+     * @param b     the coefficient of the quadratic term
+     * @param c     the coefficient of the linear term
+     * @param d     the constant term
+     * @param unit  whether only roots in {@code [0, 1]} are kept
+     * @param index the starting position of {@code dest} in which the roots will be
+     *              written to
+     * @param dest  will hold up to {@link #MAX_ROOTS} roots in ascending order
+     * @return number of roots
+     */
+    public static int solveCubic(float a, float b, float c, float d, boolean unit, int index, float[] dest) {
+        return RootSolver.solve(3, a, b, c, d, unit, index, dest);
+    }
+
+    /**
+     * Solves the equation {@code at^2 + bt + c = 0}.
+     *
+     * @param a     the coefficient of the quadratic term
+     * @param b     the coefficient of the linear term
+     * @param c     the constant term
+     * @param unit  whether only roots in {@code [0, 1]} are kept
+     * @param index the starting position of {@code dest} in which the roots will be
+     *              written to
+     * @param dest  will hold up to {@code 2} roots in ascending order
+     * @return number of roots
+     */
+    public static int solveQuadratic(float a, float b, float c, boolean unit, int index, float[] dest) {
+        return RootSolver.solve(2, 0, a, b, c, unit, index, dest);
+    }
+
+    /**
+     * Solves {@code at^3 + bt^2 + ct + d = 0} into {@code dest} starting at
+     * {@code index}, dropping negligible leading terms. {@code degree} is the
+     * degree the equation was given as, which the degeneracy counters of
+     * {@link Metrics} are attributed to.
+     *
+     * @return number of roots written
+     */
+    private static int solve(int degree, float a, float b, float c, float d, boolean unit, int index,
+            float[] dest) {
+        double r0, r1 = 0, r2 = 0;
+        int found;
+        if (Math.abs(a) > DEGENERATE_EPSILON * Math.max(Math.abs(b), Math.max(Math.abs(c), Math.abs(d)))) {
+            // Every real cubic has a real root. Rounding in the closed form can
+            // lose or invent the other two, so only the largest one is kept and
+            // the rest come from the deflated quadratic, solved in double
+            r0 = RootSolver.polish(a, b, c, d, RootSolver.seed(a, b, c, d));
+            // Dividing out a root is only stable from the leading term when the
+            // root is small, and from the constant term when it is large, as
+            // it is when the leading coefficient is close to negligible
+            double q1, q0;
+            if (Math.abs(r0) <= 1) {
+                q1 = b + a * r0;
+                q0 = c + q1 * r0;
+            } else {
+                q0 = -d / r0;
+                q1 = (q0 - c) / r0;
+            }
+            double discriminant = q1 * q1 - 4.0 * a * q0;
+            found = 1;
+            if (discriminant >= 0) {
+                double q = -0.5 * (q1 + Math.copySign(Math.sqrt(discriminant), q1));
+                r1 = q / a;
+                r2 = q != 0 ? q0 / q : r1;
+                found = discriminant > 0 ? 3 : 2;
+                if (Metrics.ENABLED && discriminant == 0) {
+                    Metrics.increment(Metrics.Counter.CUBIC_REPEATED);
+                }
+            }
+        } else if (Math.abs(b) > DEGENERATE_EPSILON * Math.max(Math.abs(c), Math.abs(d))) {
+            if (Metrics.ENABLED && degree == 3) {
+                Metrics.increment(Metrics.Counter.CUBIC_DEGENERATE);
+            }
+            double discriminant = (double) c * c - 4.0 * b * d;
+            if (discriminant < 0) {
+                return 0;
+            }
+            if (Metrics.ENABLED && discriminant == 0) {
+                Metrics.increment(degree == 3 ? Metrics.Counter.CUBIC_REPEATED : Metrics.Counter.QUADRATIC_REPEATED);
+            }
+            double q = -0.5 * (c + Math.copySign(Math.sqrt(discriminant), c));
+            r0 = q / b;
+            r1 = q != 0 ? d / q : r0;
+            found = discriminant > 0 ? 2 : 1;
+        } else if (Math.abs(c) > DEGENERATE_EPSILON * Math.abs(d)) {
+            if (Metrics.ENABLED) {
+                Metrics.increment(degree == 3 ? Metrics.Counter.CUBIC_DEGENERATE
+                        : Metrics.Counter.QUADRATIC_DEGENERATE);
+            }
+            r0 = -(double) d / c;
+            found = 1;
+        } else {
+            if (Metrics.ENABLED) {
+                Metrics.increment(Metrics.Counter.LINEAR_DEGENERATE);
+            }
+            // A constant is either never zero or zero everywhere
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < found; i++) {
+            double root = RootSolver.polish(a, b, c, d, i == 0 ? r0 : i == 1 ? r1 : r2);
+            // Roots of a dropped degree equation are only kept where the dropped
+            // terms are negligible, which the backward error of the full
+            // equation tells
+            double magnitude = ((Math.abs(a) * Math.abs(root) + Math.abs(b)) * Math.abs(root) + Math.abs(c))
+                    * Math.abs(root) + Math.abs(d);
+            double residual = ((a * root + b) * root + c) * root + d;
+            if (!(Math.abs(residual) <= BACKWARD_EPSILON * magnitude)) {
+                continue;
+            }
+            float t = (float) root;
+            if (unit) {
+                if (!(t >= -UNIT_EPSILON && t <= 1 + UNIT_EPSILON)) {
+                    continue;
+                }
+                t = Math.max(Math.min(t, 1), 0);
+            }
+            // Insertion sort of at most three roots, skipping repeated ones
+            int j = index + count;
+            while (j > index && dest[j - 1] > t) {
+                j--;
+            }
+            if (j > index && dest[j - 1] == t) {
+                continue;
+            }
+            System.arraycopy(dest, j, dest, j + 1, index + count - j);
+            dest[j] = t;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * The real root of largest magnitude of a cubic with a non-zero leading
+     * coefficient, from the closed form of the depressed cubic in double
+     * precision.
+     */
+    private static double seed(double a, double b, double c, double d) {
+        double A = b / a, B = c / a, C = d / a;
+        // Substituting t = y - A/3 gives the depressed cubic y^3 + py + q = 0
+        double p = B - A * A / 3.0;
+        double q = (2.0 * A * A * A - 9.0 * A * B) / 27.0 + C;
+        double offset = A / 3.0;
+        double discriminant = q * q * 0.25 + p * p * p / 27.0;
+        if (discriminant > 0) {
+            // One real root, with the cube root taken on the side that does not
+            // cancel
+            double u = Math.cbrt(-0.5 * q - Math.copySign(Math.sqrt(discriminant), q));
+            return (u != 0 ? u - p / (3.0 * u) : 0) - offset;
+        }
+        // Three real roots, of which the first of the trigonometric form is the
+        // largest and the last the smallest
+        double radius = 2.0 * Math.sqrt(Math.max(-p / 3.0, 0));
+        double cos = radius != 0 ? Math.max(Math.min(-4.0 * q / (radius * radius * radius), 1), -1) : 0;
+        double angle = Math.acos(cos) / 3.0;
+        double largest = radius * Math.cos(angle) - offset;
+        double smallest = radius * Math.cos(angle + 2.0 * Math.PI / 3.0) - offset;
+        return Math.abs(largest) >= Math.abs(smallest) ? largest : smallest;
+    }
+
+    /**
+     * Newton steps in double precision on the full equation, including any
+     * dropped leading terms. Stops as soon as a step does not reduce the
+     * residual, as happens once converged or close to repeated roots.
+     */
+    private static double polish(double a, double b, double c, double d, double t) {
+        double f = ((a * t + b) * t + c) * t + d;
+        for (int i = 0; i < POLISH_ITERATIONS && f != 0; i++) {
+            double df = (3 * a * t + 2 * b) * t + c;
+            if (df == 0) {
+                break;
+            }
+            double next = t - f / df;
+            double fNext = ((a * next + b) * next + c) * next + d;
+            if (!(Math.abs(fNext) < Math.abs(f))) {
+                break;
+            }
+            t = next;
+            f = fNext;
+        }
+        return t;
+    }
+}
@@ -0,0 +1,66 @@
+package com.liampace.geom;
+
+import org.joml.Vector2f;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Fallback {@link BatchKernel} that simply loops over the static
+ * {@code Interpolate} methods.
+ */
+class ScalarBatchKernel implements BatchKernel {
+
+    @Override
+    public void evaluate(int degree, boolean derivative, float[] px, float[] py, int count, int tIndex, float[] t,
+            int index, float[] destX, float[] destY) {
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < count; i++) {
+            evaluate(degree, derivative, px, py, 0, 1, t[tIndex + i], temp);
+            destX[index + i] = temp.x;
+            destY[index + i] = temp.y;
+        }
+    }
+
+    @Override
+    public void evaluate(int degree, boolean derivative, float[] x, float[] y, int stride, int from, int count,
+            float t, int index, float[] destX, float[] destY) {
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < count; i++) {
+            evaluate(degree, derivative, x, y, from + i, stride, t, temp);
+            destX[index + i] = temp.x;
+            destY[index + i] = temp.y;
+        }
+    }
+
+    /**
+     * Evaluates the curve whose point {@code k} is found at
+     * {@code offset + k * stride}.
+     */
+    static Vector2f evaluate(int degree, boolean derivative, float[] x, float[] y, int offset, int stride, float t,
+            Vector2f dest) {
+        int p0 = offset, p1 = p0 + stride, p2 = p1 + stride, p3 = p2 + stride;
+        switch (degree) {
+            case 1:
+                if (derivative) {
+                    return dest.set(x[p1] - x[p0], y[p1] - y[p0]);
+                }
+                return Line2f.Interpolate(x[p0], y[p0], x[p1], y[p1], t, dest);
+            case 2:
+                if (derivative) {
+                    return Line2f.Interpolate(x[p1] - x[p0], y[p1] - y[p0], x[p2] - x[p1], y[p2] - y[p1], t, dest);
+                }
+                return Quadratic2f.Interpolate(x[p0], y[p0], x[p1], y[p1], x[p2], y[p2], t, dest);
+            default:
+                if (derivative) {
+                    return Quadratic2f.Interpolate(
+                            x[p1] - x[p0], y[p1] - y[p0],
+                            x[p2] - x[p1], y[p2] - y[p1],
+                            x[p3] - x[p2], y[p3] - y[p2],
+                            t, dest);
+                }
+                return Cubic2f.Interpolate(x[p0], y[p0], x[p1], y[p1], x[p2], y[p2], x[p3], y[p3], t, dest);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.liampace.geom;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Intersects a bezier curve with a sorted set of parallel scanlines in one
+ * pass, for {@link Bezier2fc#getInterceptsX(float[], int, int, int, int[], float[])}
+ * and {@link Bezier2fc#getInterceptsY(float[], int, int, int, int[], float[])}.
+ * <p>
+ * The curve is split at the extrema of the scanned coordinate into at most
+ * three monotonic pieces. Each piece crosses a contiguous run of the
+ * scanlines, found with a binary search, and every crossing lies past the
+ * previous one, so each root is bracketed between the previous root and the
+ * end of the piece. Lines and quadratics are solved in closed form, cubics
+ * with guarded Newton steps started on the secant through the previous two
+ * roots, which for dense scanlines is close enough to converge in one or two
+ * steps. The cost is proportional to the number of hits rather than the
+ * number of scanlines.
+ * <p>
+ * Whether a piece crosses a scanline is decided by the sign of the power basis
+ * minus the scanline at the ends of the piece, rounded like the single scanline
+ * intercepts of the curves round it and evaluated in double precision, so both
+ * agree on scanlines that only just touch or miss the curve.
+ * <p>
+ * Pieces include the scanline at their end but not at their start, except
+ * for the first piece, so a scanline through an extremum or an end point is
+ * reported once. The root finders on monotonic pieces are shared with
+ * {@link Monotonic2f}.
+ */
+final class ScanlineSolver {
+
+    private static final int MAX_ITERATIONS = 32;
+
+    /**
+     * The Newton step in interpolation factors below which a root is accepted.
+     */
+    private static final float EPSILON = 1e-6f;
+
+    private ScanlineSolver() {
+    }
+
+    /**
+     * Solves where {@code curve} crosses the scanlines {@code scanlines[from]} to
+     * {@code scanlines[to - 1]} of the given axis.
+     *
+     * @param curve     the curve
+     * @param axis      {@code 0} for scanlines of constant X, {@code 1} for
+     *                  constant Y
+     * @param scanlines the scanline coordinates, sorted in ascending order
+     * @param from      the first scanline, inclusive
+     * @param to        the last scanline, exclusive
+     * @param index     the starting position of {@code lines} and {@code dest}
+     * @param lines     will hold the index of the scanline of each hit
+     * @param dest      will hold the interpolation factor of each hit
+     * @return number of hits found
+     */
+    static int solve(Bezier2fc curve, int axis, float[] scanlines, int from, int to, int index, int[] lines,
+            float[] dest) {
+        if (from < 0 || to > scanlines.length || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Expected range within [0-%s] but recieved: [%s-%s)".formatted(scanlines.length, from, to));
+        }
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException(
+                    "Expected a curve with [%s-%s] points but recieved: %s".formatted(Line2f.LENGTH,
+                            Cubic2f.LENGTH, length));
+        }
+        if (from == to) {
+            return 0;
+        }
+        int degree = length - 1;
+        float p0 = ScanlineSolver.coordinate(curve, 0, axis), p1 = ScanlineSolver.coordinate(curve, 1, axis);
+        float p2 = degree > 1 ? ScanlineSolver.coordinate(curve, 2, axis) : 0;
+        float p3 = degree > 2 ? ScanlineSolver.coordinate(curve, 3, axis) : 0;
+        // Power basis, the terms above the degree are zero
+        float a0 = p0, a1, a2, a3;
+        switch (degree) {
+            case 1:
+                a1 = p1 - p0;
+                a2 = 0;
+                a3 = 0;
+                break;
+            case 2:
+                a1 = (p1 - p0) * 2;
+                a2 = p0 - p1 * 2 + p2;
+                a3 = 0;
+                break;
+            default:
+                a1 = (p1 - p0) * 3;
+                a2 = (p0 - p1 * 2 + p2) * 3;
+                a3 = -p0 + (p1 - p2) * 3 + p3;
+                break;
+        }
+
+        // There is always room for the extrema in dest, they are read back before
+        // the first hit overwrites them
+        int extrema = ScanlineSolver.extrema(p0, p1, p2, p3, degree, index, dest);
+        float e0 = extrema > 0 ? dest[index] : 1, e1 = extrema > 1 ? dest[index + 1] : 1;
+        int pieces = extrema + 1;
+
+        int count = 0;
+        float t0 = 0;
+        double w0 = 0;
+        for (int i = 0; i < pieces; i++) {
+            float t1 = i == 0 ? e0 : i == 1 ? e1 : 1;
+            double w1 = ScanlineSolver.variable(a1, a2, a3, t1);
+            if (w1 != w0) {
+                boolean rising = w1 > w0;
+                // The scanlines crossed within (t0, t1], or [t0, t1] on the first
+                // piece, are a contiguous run as the offset equation only falls as
+                // the scanline rises
+                int first, last, step;
+                if (rising) {
+                    first = ScanlineSolver.below(scanlines, from, to, a0, w0, i != 0);
+                    last = ScanlineSolver.below(scanlines, from, to, a0, w1, true) - 1;
+                    step = 1;
+                } else {
+                    first = ScanlineSolver.below(scanlines, from, to, a0, w0, i == 0) - 1;
+                    last = ScanlineSolver.below(scanlines, from, to, a0, w1, false);
+                    step = -1;
+                }
+                // The last hit and the point before it, the next root is guessed on
+                // the secant through both
+                float tb = t0, vb = (float) (a0 + w0);
+                float ta = t1, va = (float) (a0 + w1);
+                for (int k = first; rising ? k <= last : k >= last; k += step) {
+                    float value = scanlines[k], c = a0 - value;
+                    float t;
+                    if (k != first && value == vb) {
+                        t = tb;
+                    } else if (c + w0 == 0) {
+                        t = t0;
+                    } else if (c + w1 == 0) {
+                        t = t1;
+                    } else if (degree < 3) {
+                        t = ScanlineSolver.root(a0, a1, a2, degree, value, tb, t1, rising);
+                    } else {
+                        t = ScanlineSolver.newton(a0, a1, a2, a3, value, tb, t1, tb + (ta - tb) * (value - vb) / (va - vb),
+                                rising);
+                    }
+                    ta = tb;
+                    va = vb;
+                    tb = t;
+                    vb = value;
+                    lines[index + count] = k;
+                    dest[index + count++] = t;
+                }
+            }
+            t0 = t1;
+            w0 = w1;
+        }
+        return count;
+    }
+
+    /**
+     * The non constant terms {@code a1 t + a2 t^2 + a3 t^3} of a power basis in
+     * double precision. Added to the constant term minus a scanline, rounded to
+     * float as the single scanline intercepts do, its sign tells on which side of
+     * the scanline the curve is exactly as the equation solved for that scanline
+     * sees it, so both find the same crossings.
+     */
+    private static double variable(float a1, float a2, float a3, float t) {
+        return (((double) a3 * t + a2) * t + a1) * t;
+    }
+
+    /**
+     * Returns the first index within {@code [from, to)} at which
+     * {@code a0 - scanline + variable} is below zero, or not above it if not
+     * {@code strict}, or {@code to}.
+     */
+    private static int below(float[] scanlines, int from, int to, float a0, double variable, boolean strict) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            double f = (a0 - scanlines[mid]) + variable;
+            if (strict ? f < 0 : f <= 0) {
+                to = mid;
+            } else {
+                from = mid + 1;
+            }
+        }
+        return from;
+    }
+
+    private static float coordinate(Bezier2fc curve, int point, int axis) {
+        return axis == 0 ? curve.getPoint(point).x() : curve.getPoint(point).y();
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which the one
+     * dimensional bezier curve {@code p0, p1, p2, p3} turns to {@code dest} in
+     * ascending order.
+     */
+    private static int extrema(float p0, float p1, float p2, float p3, int degree, int index, float[] dest) {
+        switch (degree) {
+            case 2:
+                return Quadratic2f.Extrema(p0, p1, p2, index, dest);
+            case 3:
+                return Cubic2f.Extrema(p0, p1, p2, p3, index, dest);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Writes the power basis coefficients of the one dimensional bezier curve
+     * {@code p}, {@code a0, a1, a2, a3} of {@code a0 + a1 t + a2 t^2 + a3 t^3},
+     * with the terms above {@code degree} set to zero.
+     */
+    static float[] basis(float[] p, int degree, float[] dest) {
+        dest[0] = p[0];
+        switch (degree) {
+            case 1:
+                dest[1] = p[1] - p[0];
+                dest[2] = 0;
+                dest[3] = 0;
+                break;
+            case 2:
+                dest[1] = (p[1] - p[0]) * 2;
+                dest[2] = p[0] - p[1] * 2 + p[2];
+                dest[3] = 0;
+                break;
+            default:
+                dest[1] = (p[1] - p[0]) * 3;
+                dest[2] = (p[0] - p[1] * 2 + p[2]) * 3;
+                dest[3] = -p[0] + (p[1] - p[2]) * 3 + p[3];
+                break;
+        }
+        return dest;
+    }
+
+    /**
+     * Finds the root of the line or quadratic with the power basis
+     * {@code a0, a1, a2} minus {@code value} within {@code [lo, hi]}, over which
+     * it is monotonic, in closed form. The sign of the derivative picks the root
+     * of a quadratic.
+     */
+    static float root(float a0, float a1, float a2, int degree, float value, float lo, float hi, boolean rising) {
+        double c = a0 - value;
+        if (degree == 1) {
+            return (float) Math.max(lo, Math.min(hi, -c / a1));
+        }
+        double t;
+        if (a2 == 0) {
+            t = -c / a1;
+        } else {
+            // The derivative 2at + b at the root is the signed square root of the
+            // discriminant, the form without cancellation is picked by the sign of b
+            double b = a1;
+            double r = Math.copySign(Math.sqrt(Math.max(0, b * b - 4.0 * a2 * c)), rising ? 1 : -1);
+            t = (b < 0) == (r > 0) ? (r - b) / (a2 * 2.0) : -c * 2 / (b + r);
+        }
+        return (float) Math.max(lo, Math.min(hi, t));
+    }
+
+    /**
+     * Finds the root of the cubic with the power basis {@code a0, a1, a2, a3}
+     * minus {@code value} within {@code [lo, hi]}, over which it is monotonic,
+     * with Newton steps from {@code guess} that fall back to bisection whenever a
+     * step leaves the bracket.
+     */
+    static float newton(float a0, float a1, float a2, float a3, float value, float lo, float hi, float guess,
+            boolean rising) {
+        float c = a0 - value;
+        float t = guess > lo && guess < hi ? guess : (lo + hi) * 0.5f;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double f = ScanlineSolver.variable(a1, a2, a3, t) + c;
+            if (f == 0) {
+                return t;
+            } else if ((f < 0) == rising) {
+                lo = t;
+            } else {
+                hi = t;
+            }
+            double derivative = ((double) a3 * 3 * t + a2 * 2) * t + a1;
+            float next = derivative != 0 ? (float) (t - f / derivative) : Float.NaN;
+            if (!(next > lo && next < hi)) {
+                next = (lo + hi) * 0.5f;
+            }
+            if (Math.abs(next - t) <= EPSILON) {
+                return next;
+            }
+            t = next;
+        }
+        return t;
+    }
+
+    static float evaluate(float[] p, int degree, float t) {
+        return ScanlineSolver.evaluate(p[0], p[1], degree > 1 ? p[2] : 0, degree > 2 ? p[3] : 0, degree, t);
+    }
+
+    static float evaluate(float p0, float p1, float p2, float p3, int degree, float t) {
+        float mt = 1 - t;
+        switch (degree) {
+            case 1:
+                return p0 * mt + p1 * t;
+            case 2:
+                return p0 * mt * mt + p1 * 2 * mt * t + p2 * t * t;
+            default:
+                return p0 * mt * mt * mt + p1 * 3 * mt * mt * t + p2 * 3 * mt * t * t + p3 * t * t * t;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.liampace.geom;
+
+import java.util.NoSuchElementException;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+/**
+ * Walks a bezier curve at uniform interpolation factor increments using
+ * forward differencing, so each step costs one vector addition per degree
+ * instead of a full interpolation.
+ * <p>
+ * A curve divided into {@code steps} intervals yields {@code steps + 1}
+ * positions, at {@code t = i / steps}. Repeated additions accumulate rounding
+ * error, so every {@link #getAnchorInterval() anchor interval} steps the
+ * position and its differences are recomputed exactly from the power basis of
+ * the curve. The last position is always anchored and equals the end point.
+ * <p>
+ * Derivatives follow the convention of {@link Bezier2fc#getDerivative(float, Vector2f)}
+ * and are stepped the same way. A stepper copies the points of the curve when
+ * it is reset, and can be reused for any number of curves. It is not
+ * thread-safe.
+ */
+public class Stepper2f {
+
+    /**
+     * The default number of steps between exact recomputations.
+     */
+    public static final int DEFAULT_ANCHOR_INTERVAL = 64;
+
+    private final int anchorInterval;
+    // Power basis of the points and of the derivative, index i is the
+    // coefficient of t^i
+    private final double[] ax = new double[4], ay = new double[4];
+    private final double[] bx = new double[3], by = new double[3];
+    private int degree, steps, index;
+    private double h;
+    private float px, py, d1x, d1y, d2x, d2y, d3x, d3y;
+    private float qx, qy, e1x, e1y, e2x, e2y;
+    private float endX, endY;
+
+    public Stepper2f() {
+        this(DEFAULT_ANCHOR_INTERVAL);
+    }
+
+    /**
+     * Creates a stepper that recomputes its state exactly every
+     * {@code anchorInterval} steps.
+     *
+     * @param anchorInterval the number of steps between exact recomputations, at
+     *                       least {@code 1}
+     */
+    public Stepper2f(int anchorInterval) {
+        if (anchorInterval < 1) {
+            throw new IllegalArgumentException(
+                    "Expected an anchor interval of at least 1 but recieved: %s".formatted(anchorInterval));
+        }
+        this.anchorInterval = anchorInterval;
+    }
+
+    /**
+     * Starts walking {@code curve} in {@code steps} uniform intervals.
+     *
+     * @param curve the curve to walk
+     * @param steps the number of intervals, at least {@code 1}
+     * @return {@code this}
+     */
+    public Stepper2f reset(Bezier2fc curve, int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Expected at least 1 step but recieved: %s".formatted(steps));
+        }
+        int length = curve.getLength();
+        if (length < 2 || length > 4) {
+            throw new IllegalArgumentException("Expected a curve with [2-4] points but recieved: %s".formatted(length));
+        }
+        this.degree = length - 1;
+        Stepper2f.powerBasis(curve, 0, degree, ax);
+        Stepper2f.powerBasis(curve, 1, degree, ay);
+        for (int i = 0; i < degree; i++) {
+            bx[i] = ax[i + 1] * (i + 1) / degree;
+            by[i] = ay[i + 1] * (i + 1) / degree;
+        }
+        for (int i = degree; i < 3; i++) {
+            bx[i] = by[i] = 0;
+        }
+        Vector2fc end = curve.getPoint(degree);
+        this.endX = end.x();
+        this.endY = end.y();
+        this.steps = steps;
+        this.h = 1.0 / steps;
+        this.index = 0;
+        return this;
+    }
+
+    /**
+     * Returns the number of steps between exact recomputations.
+     *
+     * @return the anchor interval
+     */
+    public int getAnchorInterval() {
+        return anchorInterval;
+    }
+
+    /**
+     * Returns the number of intervals the current curve is divided into.
+     *
+     * @return the number of intervals
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the index of the position the next call to {@link #next(Vector2f)}
+     * yields.
+     *
+     * @return the index of the next position
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the interpolation factor of the next position.
+     *
+     * @return interpolation factor between [0-1] range
+     */
+    public float getT() {
+        return index == steps ? 1 : (float) (index * h);
+    }
+
+    /**
+     * Returns whether positions are left.
+     *
+     * @return whether positions are left
+     */
+    public boolean hasNext() {
+        return degree > 0 && index <= steps;
+    }
+
+    /**
+     * Stores the next position in {@code dest} and advances.
+     *
+     * @param dest will hold the position
+     * @return {@code dest}
+     */
+    public Vector2f next(Vector2f dest) {
+        return this.next(dest, null);
+    }
+
+    /**
+     * Stores the next position and derivative and advances.
+     *
+     * @param position   will hold the position
+     * @param derivative will hold the derivative, may be {@code null}
+     * @return {@code position}
+     */
+    public Vector2f next(Vector2f position, Vector2f derivative) {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (index % anchorInterval == 0 || index == steps) {
+            this.anchor();
+        }
+        position.set(px, py);
+        if (derivative != null) {
+            derivative.set(qx, qy);
+        }
+        this.index++;
+        px += d1x;
+        py += d1y;
+        d1x += d2x;
+        d1y += d2y;
+        d2x += d3x;
+        d2y += d3y;
+        qx += e1x;
+        qy += e1y;
+        e1x += e2x;
+        e1y += e2y;
+        return position;
+    }
+
+    /**
+     * Writes every remaining position as interleaved {@code x, y} pairs and,
+     * if {@code derivatives} is not {@code null}, every derivative at the same
+     * positions of {@code derivatives}.
+     *
+     * @param index       the starting position of {@code positions} and
+     *                    {@code derivatives}
+     * @param positions   will hold the positions
+     * @param derivatives will hold the derivatives, may be {@code null}
+     * @return the number of positions written
+     */
+    public int next(int index, float[] positions, float[] derivatives) {
+        int start = this.index;
+        for (int p = index; this.hasNext();) {
+            this.anchor();
+            // Number of steps until the next anchor
+            int run = Math.min(anchorInterval - this.index % anchorInterval, steps - this.index);
+            if (run == 0) {
+                run = 1;
+            }
+            p = this.run(run, p, positions, derivatives);
+        }
+        return this.index - start;
+    }
+
+    /**
+     * Steps {@code count} times from an anchored state, specialised per degree.
+     *
+     * @return the next position in {@code positions}
+     */
+    private int run(int count, int p, float[] positions, float[] derivatives) {
+        float x = px, y = py;
+        switch (degree) {
+            case 1:
+                for (int i = 0; i < count; i++, p += 2) {
+                    positions[p] = x;
+                    positions[p + 1] = y;
+                    x += d1x;
+                    y += d1y;
+                }
+                break;
+            case 2: {
+                float ax1 = d1x, ay1 = d1y;
+                for (int i = 0; i < count; i++, p += 2) {
+                    positions[p] = x;
+                    positions[p + 1] = y;
+                    x += ax1;
+                    y += ay1;
+                    ax1 += d2x;
+                    ay1 += d2y;
+                }
+                break;
+            }
+            default: {
+                float ax1 = d1x, ay1 = d1y, ax2 = d2x, ay2 = d2y;
+                for (int i = 0; i < count; i++, p += 2) {
+                    positions[p] = x;
+                    positions[p + 1] = y;
+                    x += ax1;
+                    y += ay1;
+                    ax1 += ax2;
+                    ay1 += ay2;
+                    ax2 += d3x;
+                    ay2 += d3y;
+                }
+                break;
+            }
+        }
+        if (derivatives != null) {
+            float dx = qx, dy = qy, ex = e1x, ey = e1y;
+            for (int i = 0, d = p - count * 2; i < count; i++, d += 2) {
+                derivatives[d] = dx;
+                derivatives[d + 1] = dy;
+                dx += ex;
+                dy += ey;
+                ex += e2x;
+                ey += e2y;
+            }
+        }
+        this.index += count;
+        return p;
+    }
+
+    /**
+     * Recomputes the position, the derivative and their forward differences at
+     * the current index from the power basis.
+     */
+    private void anchor() {
+        if (index == steps) {
+            this.px = endX;
+            this.py = endY;
+        } else {
+            this.px = (float) Stepper2f.evaluate(ax, index * h);
+            this.py = (float) Stepper2f.evaluate(ay, index * h);
+        }
+        double t = index * h;
+        double hh = h * h, hhh = hh * h;
+        // Taylor coefficients of the curve around t
+        double c1x = (3 * ax[3] * t + 2 * ax[2]) * t + ax[1], c1y = (3 * ay[3] * t + 2 * ay[2]) * t + ay[1];
+        double c2x = 3 * ax[3] * t + ax[2], c2y = 3 * ay[3] * t + ay[2];
+        this.d1x = (float) (c1x * h + c2x * hh + ax[3] * hhh);
+        this.d1y = (float) (c1y * h + c2y * hh + ay[3] * hhh);
+        this.d2x = (float) (2 * c2x * hh + 6 * ax[3] * hhh);
+        this.d2y = (float) (2 * c2y * hh + 6 * ay[3] * hhh);
+        this.d3x = (float) (6 * ax[3] * hhh);
+        this.d3y = (float) (6 * ay[3] * hhh);
+        this.qx = (float) ((bx[2] * t + bx[1]) * t + bx[0]);
+        this.qy = (float) ((by[2] * t + by[1]) * t + by[0]);
+        double f1x = 2 * bx[2] * t + bx[1], f1y = 2 * by[2] * t + by[1];
+        this.e1x = (float) (f1x * h + bx[2] * hh);
+        this.e1y = (float) (f1y * h + by[2] * hh);
+        this.e2x = (float) (2 * bx[2] * hh);
+        this.e2y = (float) (2 * by[2] * hh);
+    }
+
+    private static double evaluate(double[] a, double t) {
+        return ((a[3] * t + a[2]) * t + a[1]) * t + a[0];
+    }
+
+    /**
+     * Writes the power basis of one axis of {@code curve} into {@code dest}.
+     */
+    private static void powerBasis(Bezier2fc curve, int axis, int degree, double[] dest) {
+        double p0 = curve.getPoint(0).get(axis), p1 = curve.getPoint(1).get(axis);
+        dest[0] = p0;
+        dest[2] = dest[3] = 0;
+        switch (degree) {
+            case 1:
+                dest[1] = p1 - p0;
+                break;
+            case 2: {
+                double p2 = curve.getPoint(2).get(axis);
+                dest[1] = (p1 - p0) * 2;
+                dest[2] = p0 - p1 * 2 + p2;
+                break;
+            }
+            default: {
+                double p2 = curve.getPoint(2).get(axis), p3 = curve.getPoint(3).get(axis);
+                dest[1] = (p1 - p0) * 3;
+                dest[2] = (p0 - p1 * 2 + p2) * 3;
+                dest[3] = -p0 + (p1 - p2) * 3 + p3;
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,739 @@
+package com.liampace.geom;
+
+import java.util.Arrays;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Outlines the contours of a path with curves, the fill of the outline under
+ * the non-zero rule covers every point within half the stroke width of the
+ * contours.
+ * <p>
+ * Each segment is offset along its normal {@code (t.y, -t.x)} on both sides.
+ * Lines are offset exactly. Quadratics are approximated with quadratics whose
+ * control point is the intersection of the offset tangents, cubics with cubics
+ * matching the position and derivative of the exact offset at both ends. A
+ * piece is emitted as soon as every sample of it lies within the tolerance of
+ * the exact offset, otherwise it is halved, so gentle curves produce a single
+ * piece and tight bends a few. Pieces whose control points are within the
+ * tolerance of their chord are emitted as lines.
+ * <p>
+ * Segments meet with the configured {@link Join} on the outer side of a turn
+ * and through the shared point on the inner side, open contours end with the
+ * configured {@link Cap}. Closed contours produce two outlines of opposite
+ * direction. Round joins and caps are circular arcs of one cubic per quarter
+ * turn.
+ * <p>
+ * The stroker is itself a {@link PathSink2f}, so paths can be streamed into it
+ * between {@link #begin(PathSink2f)} and {@link #end()}. It allocates nothing
+ * once its contour buffers have grown, but it is not thread-safe.
+ */
+public class Stroker2f implements PathSink2f {
+
+    /**
+     * The shape drawn on the outer side where two segments meet.
+     */
+    public enum Join {
+        /** Extends the offsets until they meet, up to the miter limit. */
+        MITER,
+        /** A circular arc around the shared point. */
+        ROUND,
+        /** A line between the offsets. */
+        BEVEL
+    }
+
+    /**
+     * The shape drawn at both ends of an open contour.
+     */
+    public enum Cap {
+        /** Ends exactly at the end point. */
+        BUTT,
+        /** A half circle around the end point. */
+        ROUND,
+        /** Extends past the end point by half the width. */
+        SQUARE
+    }
+
+    /**
+     * The default ratio of miter length to half the width, as in SVG.
+     */
+    public static final float DEFAULT_MITER_LIMIT = 4;
+
+    /**
+     * The default maximum distance between the outline and the exact offset.
+     */
+    public static final float DEFAULT_TOLERANCE = 0.01f;
+
+    /**
+     * The maximum number of times a segment is halved before its pieces are
+     * emitted regardless of their error.
+     */
+    public static final int MAX_DEPTH = 8;
+
+    // Interior samples compared with the exact offset per piece
+    private static final int SAMPLES = 5;
+    // Sine of the angle below which two tangents are treated as parallel
+    private static final float PARALLEL_EPSILON = 1e-5f;
+    private static final float HALF_PI = (float) (Math.PI / 2);
+
+    private float halfWidth = 0.5f;
+    private Join join = Join.MITER;
+    private Cap cap = Cap.BUTT;
+    private float miterLimit = DEFAULT_MITER_LIMIT;
+    private float tolerance = DEFAULT_TOLERANCE;
+
+    private PathSink2f sink;
+    // The current contour, its start point followed by the points of each segment
+    private final FloatList points = new FloatList();
+    private byte[] degrees = new byte[16];
+    private int[] offsets = new int[16];
+    private int segmentCount;
+    private boolean drawing;
+
+    // The loaded segment, its points, end tangents and derivative hodograph
+    private final float[] segment = new float[Cubic2f.LENGTH * 2];
+    private int degree;
+    private float startTx, startTy, endTx, endTy;
+    // Offset position, derivative and unit tangent at the ends of a piece
+    private final float[] head = new float[6], tail = new float[6];
+    private final Vector2f temp = new Vector2f();
+    private final Vector2f source = new Vector2f();
+
+    /**
+     * Returns the width of the stroke.
+     *
+     * @return the width of the stroke
+     */
+    public float getWidth() {
+        return halfWidth * 2;
+    }
+
+    /**
+     * Sets the width of the stroke.
+     *
+     * @param width a positive width
+     * @return {@code this}
+     */
+    public Stroker2f setWidth(float width) {
+        if (!(width > 0)) {
+            throw new IllegalArgumentException("Expected a positive width but recieved: %s".formatted(width));
+        }
+        this.halfWidth = width * 0.5f;
+        return this;
+    }
+
+    public Join getJoin() {
+        return join;
+    }
+
+    public Stroker2f setJoin(Join join) {
+        this.join = join;
+        return this;
+    }
+
+    public Cap getCap() {
+        return cap;
+    }
+
+    public Stroker2f setCap(Cap cap) {
+        this.cap = cap;
+        return this;
+    }
+
+    public float getMiterLimit() {
+        return miterLimit;
+    }
+
+    /**
+     * Sets the largest ratio of miter length to half the width, sharper miter
+     * joins are drawn as bevels.
+     *
+     * @param miterLimit a limit of at least {@code 1}
+     * @return {@code this}
+     */
+    public Stroker2f setMiterLimit(float miterLimit) {
+        if (!(miterLimit >= 1)) {
+            throw new IllegalArgumentException("Expected a miter limit of at least 1 but recieved: %s"
+                    .formatted(miterLimit));
+        }
+        this.miterLimit = miterLimit;
+        return this;
+    }
+
+    public float getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets the maximum distance between the outline and the exact offset.
+     *
+     * @param tolerance a positive distance
+     * @return {@code this}
+     */
+    public Stroker2f setTolerance(float tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Expected a positive tolerance but recieved: %s".formatted(tolerance));
+        }
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * Writes the outline of every contour of {@code path} to {@code sink}.
+     *
+     * @param path the path to stroke
+     * @param sink will receive the outline
+     * @return {@code sink}
+     */
+    public <T extends PathSink2f> T stroke(Path2f path, T sink) {
+        this.begin(sink);
+        byte[] verbs = path.getVerbs();
+        float[] c = path.getCoordinates();
+        for (int i = 0, p = 0, count = path.getVerbCount(); i < count; i++) {
+            switch (verbs[i]) {
+                case Path2f.MOVE:
+                    this.moveTo(c[p], c[p + 1]);
+                    p += 2;
+                    break;
+                case Path2f.LINE:
+                    this.lineTo(c[p], c[p + 1]);
+                    p += 2;
+                    break;
+                case Path2f.QUADRATIC:
+                    this.quadraticTo(c[p], c[p + 1], c[p + 2], c[p + 3]);
+                    p += 4;
+                    break;
+                case Path2f.CUBIC:
+                    this.cubicTo(c[p], c[p + 1], c[p + 2], c[p + 3], c[p + 4], c[p + 5]);
+                    p += 6;
+                    break;
+                default:
+                    this.close();
+                    break;
+            }
+        }
+        this.end();
+        return sink;
+    }
+
+    /**
+     * Writes the outline of {@code curve}, as an open contour, to {@code sink}.
+     *
+     * @param curve the curve to stroke
+     * @param sink  will receive the outline
+     * @return {@code sink}
+     */
+    public <T extends PathSink2f> T stroke(Bezier2fc curve, T sink) {
+        Stroker2f.checkLength(curve);
+        this.begin(sink);
+        Vector2fc p0 = curve.getPoint(0);
+        this.moveTo(p0.x(), p0.y());
+        this.add(curve);
+        this.end();
+        return sink;
+    }
+
+    /**
+     * Writes the curve at a constant {@code distance} along the normals of
+     * {@code curve} to {@code sink}, starting with a move to its first point.
+     * Positive distances offset along {@code (t.y, -t.x)}, the direction of
+     * {@link Bezier2fc#getNormalCCW(float, Vector2f)}.
+     *
+     * @param curve    the curve to offset
+     * @param distance the signed distance from {@code curve}
+     * @param sink     will receive the offset
+     * @return {@code sink}
+     */
+    public <T extends PathSink2f> T offset(Bezier2fc curve, float distance, T sink) {
+        Stroker2f.checkLength(curve);
+        PathSink2f streaming = this.sink;
+        this.sink = sink;
+        this.degree = curve.getLength() - 1;
+        for (int i = 0; i <= degree; i++) {
+            Vector2fc point = curve.getPoint(i);
+            segment[i * 2] = point.x();
+            segment[i * 2 + 1] = point.y();
+        }
+        if (!this.tangents()) {
+            throw new IllegalArgumentException("Expected a curve of non-zero length");
+        }
+        sink.moveTo(segment[0] + distance * startTy, segment[1] - distance * startTx);
+        this.offsetSegment(distance);
+        this.sink = streaming;
+        return sink;
+    }
+
+    /**
+     * Starts streaming contours into this stroker, their outlines are written to
+     * {@code sink}.
+     *
+     * @param sink will receive the outlines
+     * @return {@code this}
+     */
+    public Stroker2f begin(PathSink2f sink) {
+        this.sink = sink;
+        this.points.clear();
+        this.segmentCount = 0;
+        this.drawing = false;
+        return this;
+    }
+
+    /**
+     * Strokes the last contour, if it is still open, and stops streaming.
+     *
+     * @return the sink passed to {@link #begin(PathSink2f)}
+     */
+    public PathSink2f end() {
+        this.flush(false);
+        PathSink2f result = sink;
+        this.sink = null;
+        this.drawing = false;
+        return result;
+    }
+
+    @Override
+    public Stroker2f moveTo(float x, float y) {
+        this.checkStreaming();
+        this.flush(false);
+        points.clear().add(x, y);
+        this.drawing = true;
+        return this;
+    }
+
+    @Override
+    public Stroker2f lineTo(float x1, float y1) {
+        this.beginSegment(Line2f.LENGTH);
+        points.add(x1, y1);
+        return this.endSegment(Path2f.LINE);
+    }
+
+    @Override
+    public Stroker2f quadraticTo(float x1, float y1, float x2, float y2) {
+        this.beginSegment(Quadratic2f.LENGTH);
+        points.add(x1, y1).add(x2, y2);
+        return this.endSegment(Path2f.QUADRATIC);
+    }
+
+    @Override
+    public Stroker2f cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+        this.beginSegment(Cubic2f.LENGTH);
+        points.add(x1, y1).add(x2, y2).add(x3, y3);
+        return this.endSegment(Path2f.CUBIC);
+    }
+
+    /**
+     * Closes the current contour with a line back to its start point and
+     * strokes it. Drawing after a close continues a new contour from the same
+     * start point.
+     *
+     * @return {@code this}
+     */
+    @Override
+    public Stroker2f close() {
+        this.checkStreaming();
+        if (!drawing) {
+            return this;
+        }
+        float startX = points.get(0), startY = points.get(1);
+        int last = points.size() - 2;
+        if (points.get(last) != startX || points.get(last + 1) != startY) {
+            this.lineTo(startX, startY);
+        }
+        this.flush(true);
+        points.clear().add(startX, startY);
+        return this;
+    }
+
+    private void add(Bezier2fc curve) {
+        int length = curve.getLength();
+        this.beginSegment(length);
+        for (int i = 1; i < length; i++) {
+            Vector2fc point = curve.getPoint(i);
+            points.add(point.x(), point.y());
+        }
+        this.endSegment((byte) (length - 1));
+    }
+
+    private void beginSegment(int length) {
+        this.checkStreaming();
+        if (!drawing) {
+            throw new IllegalStateException("Expected a moveTo before the first segment");
+        }
+        if (segmentCount == degrees.length) {
+            this.degrees = Arrays.copyOf(degrees, segmentCount * 2);
+            this.offsets = Arrays.copyOf(offsets, segmentCount * 2);
+        }
+        points.ensureCapacity(points.size() + (length - 1) * 2);
+        offsets[segmentCount] = points.size() - 2;
+    }
+
+    private Stroker2f endSegment(byte verb) {
+        float[] p = points.array();
+        int start = offsets[segmentCount];
+        // Segments without length would have no tangent, they are dropped
+        for (int i = start + 2, end = start + verb * 2 + 2; i < end; i += 2) {
+            if (p[i] != p[start] || p[i + 1] != p[start + 1]) {
+                degrees[segmentCount++] = verb;
+                return this;
+            }
+        }
+        points.truncate(start + 2);
+        return this;
+    }
+
+    private void checkStreaming() {
+        if (sink == null) {
+            throw new IllegalStateException("Expected a call to begin before streaming segments");
+        }
+    }
+
+    /**
+     * Writes the outline of the buffered contour and empties it.
+     */
+    private void flush(boolean closed) {
+        int count = segmentCount;
+        this.segmentCount = 0;
+        if (count == 0) {
+            return;
+        }
+        float h = halfWidth;
+        this.side(count, false, closed, h);
+        if (closed) {
+            sink.close();
+            this.side(count, true, true, h);
+            sink.close();
+            return;
+        }
+        this.cap(segment[degree * 2], segment[degree * 2 + 1], endTx, endTy, h);
+        this.side(count, true, false, h);
+        this.cap(segment[degree * 2], segment[degree * 2 + 1], endTx, endTy, h);
+        sink.close();
+    }
+
+    /**
+     * Writes the offset of every buffered segment, in reverse when
+     * {@code reversed} is set, joined at their shared points. The last
+     * segment stays loaded.
+     */
+    private void side(int count, boolean reversed, boolean closed, float h) {
+        this.load(reversed ? count - 1 : 0, reversed);
+        if (!reversed || closed) {
+            sink.moveTo(segment[0] + h * startTy, segment[1] - h * startTx);
+        }
+        for (int k = 0; k < count; k++) {
+            this.offsetSegment(h);
+            float px = segment[degree * 2], py = segment[degree * 2 + 1], tx = endTx, ty = endTy;
+            if (k + 1 < count) {
+                this.load(reversed ? count - k - 2 : k + 1, reversed);
+            } else if (closed) {
+                this.load(reversed ? count - 1 : 0, reversed);
+            } else {
+                break;
+            }
+            this.join(px, py, tx, ty, startTx, startTy, h);
+        }
+    }
+
+    /**
+     * Copies segment {@code index} of the buffered contour into {@link #segment}.
+     */
+    private void load(int index, boolean reversed) {
+        float[] p = points.array();
+        int start = offsets[index];
+        this.degree = degrees[index];
+        for (int i = 0; i <= degree; i++) {
+            int from = start + (reversed ? degree - i : i) * 2;
+            segment[i * 2] = p[from];
+            segment[i * 2 + 1] = p[from + 1];
+        }
+        this.tangents();
+    }
+
+    /**
+     * Finds the unit tangents at both ends of the loaded segment from the first
+     * control point that differs from each end point.
+     *
+     * @return whether the segment has any length
+     */
+    private boolean tangents() {
+        float[] s = segment;
+        int last = degree * 2;
+        for (int i = 2; i <= last; i += 2) {
+            float dx = s[i] - s[0], dy = s[i + 1] - s[1];
+            if (dx != 0 || dy != 0) {
+                float length = (float) Math.sqrt(dx * dx + dy * dy);
+                this.startTx = dx / length;
+                this.startTy = dy / length;
+                break;
+            }
+            if (i == last) {
+                return false;
+            }
+        }
+        for (int i = last - 2; i >= 0; i -= 2) {
+            float dx = s[last] - s[i], dy = s[last + 1] - s[i + 1];
+            if (dx != 0 || dy != 0) {
+                float length = (float) Math.sqrt(dx * dx + dy * dy);
+                this.endTx = dx / length;
+                this.endTy = dy / length;
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the offset of the loaded segment, the current point of the sink is
+     * its offset start point.
+     */
+    private void offsetSegment(float h) {
+        if (degree == 1) {
+            sink.lineTo(segment[2] + h * endTy, segment[3] - h * endTx);
+        } else {
+            this.fit(0, 1, h, 0);
+        }
+    }
+
+    /**
+     * Approximates the offset of the loaded segment over {@code [t0, t1]},
+     * halving the range until the approximation is within the tolerance.
+     */
+    private void fit(float t0, float t1, float h, int depth) {
+        float[] a = head, b = tail;
+        this.evaluate(t0, h, a);
+        this.evaluate(t1, h, b);
+        float third = (t1 - t0) / 3;
+        float c0x, c0y, c1x, c1y;
+        boolean fits;
+        if (degree == 2) {
+            // The control point is where the offset tangents meet
+            float cross = a[4] * b[5] - a[5] * b[4];
+            float wx = b[0] - a[0], wy = b[1] - a[1];
+            float s = (wx * b[5] - wy * b[4]) / cross;
+            float r = (a[4] * wy - a[5] * wx) / cross;
+            if (Math.abs(cross) > PARALLEL_EPSILON && s >= 0 && r >= 0) {
+                c0x = c1x = a[0] + a[4] * s;
+                c0y = c1y = a[1] + a[5] * s;
+                fits = this.fits(t0, t1, h, a, b, c0x, c0y, c0x, c0y, true);
+            } else {
+                // Parallel offset tangents only fit when the piece is straight
+                c0x = c1x = (a[0] + b[0]) * 0.5f;
+                c0y = c1y = (a[1] + b[1]) * 0.5f;
+                fits = this.fits(t0, t1, h, a, b, c0x, c0y, c0x, c0y, true);
+            }
+        } else {
+            c0x = a[0] + a[2] * third;
+            c0y = a[1] + a[3] * third;
+            c1x = b[0] - b[2] * third;
+            c1y = b[1] - b[3] * third;
+            fits = this.fits(t0, t1, h, a, b, c0x, c0y, c1x, c1y, false);
+        }
+        if (!fits && depth < MAX_DEPTH) {
+            float middle = (t0 + t1) * 0.5f;
+            this.fit(t0, middle, h, depth + 1);
+            this.fit(middle, t1, h, depth + 1);
+            return;
+        }
+        // Pieces that still miss at the last depth lie near a cusp of the segment,
+        // where the curvature and with it the derivative of the offset explode
+        if (!fits || this.straight(a[0], a[1], b[0], b[1], c0x, c0y)
+                && this.straight(a[0], a[1], b[0], b[1], c1x, c1y)) {
+            sink.lineTo(b[0], b[1]);
+        } else if (degree == 2) {
+            sink.quadraticTo(c0x, c0y, b[0], b[1]);
+        } else {
+            sink.cubicTo(c0x, c0y, c1x, c1y, b[0], b[1]);
+        }
+    }
+
+    /**
+     * Tests whether the piece with the given points stays within the tolerance
+     * of the exact offset at every sample.
+     */
+    private boolean fits(float t0, float t1, float h, float[] a, float[] b, float c0x, float c0y, float c1x,
+            float c1y, boolean quadratic) {
+        float[] s = segment;
+        float distance = Math.abs(h);
+        for (int i = 1; i <= SAMPLES; i++) {
+            float u = (float) i / (SAMPLES + 1);
+            if (quadratic) {
+                Quadratic2f.Interpolate(a[0], a[1], c0x, c0y, b[0], b[1], u, temp);
+            } else {
+                Cubic2f.Interpolate(a[0], a[1], c0x, c0y, c1x, c1y, b[0], b[1], u, temp);
+            }
+            float t = t0 + (t1 - t0) * u;
+            if (degree == 2) {
+                Quadratic2f.Interpolate(s[0], s[1], s[2], s[3], s[4], s[5], t, source);
+            } else {
+                Cubic2f.Interpolate(s[0], s[1], s[2], s[3], s[4], s[5], s[6], s[7], t, source);
+            }
+            if (Math.abs(temp.distance(source) - distance) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether {@code (cx, cy)} lies within the tolerance of the chord from
+     * {@code (x0, y0)} to {@code (x1, y1)}.
+     */
+    private boolean straight(float x0, float y0, float x1, float y1, float cx, float cy) {
+        float dx = x1 - x0, dy = y1 - y0, vx = cx - x0, vy = cy - y0;
+        float lengthSquared = dx * dx + dy * dy;
+        float along = dx * vx + dy * vy;
+        if (along < 0 || along > lengthSquared) {
+            return false;
+        }
+        float cross = dx * vy - dy * vx;
+        return cross * cross <= tolerance * tolerance * lengthSquared;
+    }
+
+    /**
+     * Writes the offset position, its derivative and the unit tangent of the
+     * loaded segment at {@code t} to {@code dest}. The derivative of the offset
+     * is the derivative of the segment scaled by {@code 1 + h * curvature}.
+     */
+    private void evaluate(float t, float h, float[] dest) {
+        float[] s = segment;
+        float px, py, dx, dy, ddx, ddy;
+        if (degree == 2) {
+            float nt = 1 - t;
+            px = nt * nt * s[0] + 2 * nt * t * s[2] + t * t * s[4];
+            py = nt * nt * s[1] + 2 * nt * t * s[3] + t * t * s[5];
+            dx = 2 * (nt * (s[2] - s[0]) + t * (s[4] - s[2]));
+            dy = 2 * (nt * (s[3] - s[1]) + t * (s[5] - s[3]));
+            ddx = 2 * (s[0] - 2 * s[2] + s[4]);
+            ddy = 2 * (s[1] - 2 * s[3] + s[5]);
+        } else {
+            Cubic2f.Interpolate(s[0], s[1], s[2], s[3], s[4], s[5], s[6], s[7], t, temp);
+            px = temp.x;
+            py = temp.y;
+            float nt = 1 - t;
+            float qx0 = s[2] - s[0], qy0 = s[3] - s[1];
+            float qx1 = s[4] - s[2], qy1 = s[5] - s[3];
+            float qx2 = s[6] - s[4], qy2 = s[7] - s[5];
+            dx = 3 * (nt * nt * qx0 + 2 * nt * t * qx1 + t * t * qx2);
+            dy = 3 * (nt * nt * qy0 + 2 * nt * t * qy1 + t * t * qy2);
+            ddx = 6 * (nt * (qx1 - qx0) + t * (qx2 - qx1));
+            ddy = 6 * (nt * (qy1 - qy0) + t * (qy2 - qy1));
+        }
+        float lengthSquared = dx * dx + dy * dy;
+        float tx, ty, scale;
+        if (lengthSquared > 0) {
+            float length = (float) Math.sqrt(lengthSquared);
+            tx = dx / length;
+            ty = dy / length;
+            scale = 1 + h * (dx * ddy - dy * ddx) / (lengthSquared * length);
+        } else {
+            // Coincident control points, the tangent is the limit towards the end
+            tx = t < 0.5f ? startTx : endTx;
+            ty = t < 0.5f ? startTy : endTy;
+            scale = 0;
+        }
+        dest[0] = px + h * ty;
+        dest[1] = py - h * tx;
+        dest[2] = dx * scale;
+        dest[3] = dy * scale;
+        dest[4] = tx;
+        dest[5] = ty;
+    }
+
+    /**
+     * Connects the offset of a segment ending at {@code (px, py)} with tangent
+     * {@code (ax, ay)} to the offset of the next segment starting with tangent
+     * {@code (bx, by)}.
+     */
+    private void join(float px, float py, float ax, float ay, float bx, float by, float h) {
+        float cross = ax * by - ay * bx, dot = ax * bx + ay * by;
+        float ex = px + h * by, ey = py - h * bx;
+        if (Math.abs(cross) <= PARALLEL_EPSILON && dot > 0) {
+            sink.lineTo(ex, ey);
+            return;
+        }
+        if (cross * h < 0) {
+            // Inner side of the turn, the offsets overlap through the shared point
+            sink.lineTo(px, py);
+            sink.lineTo(ex, ey);
+            return;
+        }
+        switch (join) {
+            case MITER:
+                // The miter length over half the width is 1 / cos(angle / 2)
+                if (1 + dot > 2 / (miterLimit * miterLimit)) {
+                    float k = h / (1 + dot);
+                    sink.lineTo(px + (ay + by) * k, py - (ax + bx) * k);
+                }
+                sink.lineTo(ex, ey);
+                break;
+            case ROUND:
+                float sweep = Math.abs(cross) <= PARALLEL_EPSILON ? (float) Math.PI * Math.signum(h)
+                        : (float) Math.atan2(cross, dot);
+                this.arc(px, py, h * ay, -h * ax, ex - px, ey - py, sweep);
+                break;
+            default:
+                sink.lineTo(ex, ey);
+                break;
+        }
+    }
+
+    /**
+     * Connects the offset at {@code (px, py)} to the opposite offset around the
+     * end of a contour leaving in direction {@code (tx, ty)}.
+     */
+    private void cap(float px, float py, float tx, float ty, float h) {
+        float nx = h * ty, ny = -h * tx;
+        switch (cap) {
+            case ROUND:
+                this.arc(px, py, nx, ny, -nx, -ny, (float) Math.PI * Math.signum(h));
+                break;
+            case SQUARE: {
+                float d = Math.abs(h);
+                sink.lineTo(px + nx + tx * d, py + ny + ty * d);
+                sink.lineTo(px - nx + tx * d, py - ny + ty * d);
+                sink.lineTo(px - nx, py - ny);
+                break;
+            }
+            default:
+                sink.lineTo(px - nx, py - ny);
+                break;
+        }
+    }
+
+    /**
+     * Writes a circular arc around {@code (cx, cy)} from the offset
+     * {@code (vx, vy)} to the offset {@code (ex, ey)}, turning by {@code sweep}
+     * radians, with one cubic per quarter turn or less.
+     */
+    private void arc(float cx, float cy, float vx, float vy, float ex, float ey, float sweep) {
+        int segments = Math.max(1, (int) Math.ceil(Math.abs(sweep) / HALF_PI - 1e-4f));
+        float step = sweep / segments;
+        float k = (float) (4.0 / 3.0 * Math.tan(step / 4));
+        float cos = (float) Math.cos(step), sin = (float) Math.sin(step);
+        for (int i = 1; i <= segments; i++) {
+            float wx, wy;
+            if (i == segments) {
+                wx = ex;
+                wy = ey;
+            } else {
+                wx = vx * cos - vy * sin;
+                wy = vx * sin + vy * cos;
+            }
+            sink.cubicTo(cx + vx - k * vy, cy + vy + k * vx, cx + wx + k * wy, cy + wy - k * wx, cx + wx, cy + wy);
+            vx = wx;
+            vy = wy;
+        }
+    }
+
+    private static void checkLength(Bezier2fc curve) {
+        int length = curve.getLength();
+        if (length < Line2f.LENGTH || length > Cubic2f.LENGTH) {
+            throw new IllegalArgumentException("Expected a curve with [2-4] points but recieved: %s".formatted(length));
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.liampace.geom;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Parses SVG path data, the {@code d} attribute of a {@code <path>} element,
+ * into the segments of a {@link PathSink2f}.
+ * <p>
+ * Every command of the SVG grammar is supported, absolute and relative.
+ * Horizontal and vertical lines become lines, smooth curves are expanded with
+ * their reflected control point, and elliptical arcs are converted to one
+ * cubic per quarter turn or less. Numbers are parsed by hand, so parsing does
+ * not allocate beyond the read buffer of the parser, which is reused.
+ * <p>
+ * Malformed data raises an {@link IllegalArgumentException} carrying the
+ * offset of the offending character. Segments before it have already been
+ * sent to the sink. A parser is not thread-safe.
+ */
+public final class SvgPathParser2f {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int NONE = -1;
+    // Powers of ten that are exact in double precision
+    private static final double[] POWERS = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    private static final long MAX_MANTISSA = 100_000_000_000_000_000L;
+    private static final String COMMANDS = "MmZzLlHhVvCcSsQqTtAa";
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private CharSequence sequence;
+    private Reader reader;
+    // Characters in [position, limit) are readable, offset is the offset of
+    // the first one in the data
+    private int position, limit;
+    private long offset;
+
+    private PathSink2f sink;
+    private float currentX, currentY, startX, startY;
+    // The control point reflected by smooth curves, valid after the command it
+    // belongs to
+    private float controlX, controlY;
+    private int previous;
+
+    /**
+     * Parses {@code data} into {@code sink}.
+     *
+     * @param data the path data
+     * @param sink will receive the segments
+     * @return {@code sink}
+     * @throws IllegalArgumentException if {@code data} is malformed
+     */
+    public <T extends PathSink2f> T parse(CharSequence data, T sink) {
+        this.sequence = data;
+        this.reader = null;
+        this.limit = data.length();
+        try {
+            this.parse(sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.sequence = null;
+        }
+        return sink;
+    }
+
+    /**
+     * Parses the path data read from {@code data} into {@code sink}. The reader
+     * is read until its end and is not closed.
+     *
+     * @param data the path data
+     * @param sink will receive the segments
+     * @return {@code sink}
+     * @throws IOException              if reading fails
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public <T extends PathSink2f> T parse(Reader data, T sink) throws IOException {
+        this.sequence = null;
+        this.reader = data;
+        this.limit = 0;
+        try {
+            this.parse(sink);
+        } finally {
+            this.reader = null;
+        }
+        return sink;
+    }
+
+    private void parse(PathSink2f sink) throws IOException {
+        this.sink = sink;
+        this.position = 0;
+        this.offset = 0;
+        this.currentX = currentY = startX = startY = 0;
+        this.previous = NONE;
+        try {
+            int command = NONE;
+            for (int c = this.skipWhitespace(); c >= 0; c = this.skipWhitespace()) {
+                if (previous == NONE && c != 'M' && c != 'm') {
+                    throw this.error("a move", c);
+                } else if (SvgPathParser2f.isCommand(c)) {
+                    this.position++;
+                    command = c;
+                    if (c == 'Z' || c == 'z') {
+                        this.close();
+                        continue;
+                    }
+                } else if (command == NONE || command == 'Z' || command == 'z') {
+                    throw this.error("a command", c);
+                } else {
+                    // Arguments of a repeated command may be separated by a comma
+                    this.skipSeparator();
+                }
+                this.execute(command);
+                // Coordinates following a move are implicit lines
+                if (command == 'M') {
+                    command = 'L';
+                } else if (command == 'm') {
+                    command = 'l';
+                }
+            }
+        } finally {
+            this.sink = null;
+        }
+    }
+
+    private void execute(int command) throws IOException {
+        boolean relative = command >= 'a';
+        float baseX = relative ? currentX : 0, baseY = relative ? currentY : 0;
+        switch (command) {
+            case 'M':
+            case 'm': {
+                float x = baseX + this.number(false), y = baseY + this.number(true);
+                sink.moveTo(x, y);
+                this.moveTo(x, y, 'M');
+                this.startX = x;
+                this.startY = y;
+                break;
+            }
+            case 'L':
+            case 'l': {
+                float x = baseX + this.number(false), y = baseY + this.number(true);
+                sink.lineTo(x, y);
+                this.moveTo(x, y, 'L');
+                break;
+            }
+            case 'H':
+            case 'h': {
+                float x = baseX + this.number(false);
+                sink.lineTo(x, currentY);
+                this.moveTo(x, currentY, 'L');
+                break;
+            }
+            case 'V':
+            case 'v': {
+                float y = baseY + this.number(false);
+                sink.lineTo(currentX, y);
+                this.moveTo(currentX, y, 'L');
+                break;
+            }
+            case 'C':
+            case 'c': {
+                float x1 = baseX + this.number(false), y1 = baseY + this.number(true);
+                float x2 = baseX + this.number(true), y2 = baseY + this.number(true);
+                float x = baseX + this.number(true), y = baseY + this.number(true);
+                this.cubicTo(x1, y1, x2, y2, x, y);
+                break;
+            }
+            case 'S':
+            case 's': {
+                float x1 = currentX, y1 = currentY;
+                if (previous == 'C') {
+                    x1 = currentX * 2 - controlX;
+                    y1 = currentY * 2 - controlY;
+                }
+                float x2 = baseX + this.number(false), y2 = baseY + this.number(true);
+                float x = baseX + this.number(true), y = baseY + this.number(true);
+                this.cubicTo(x1, y1, x2, y2, x, y);
+                break;
+            }
+            case 'Q':
+            case 'q': {
+                float x1 = baseX + this.number(false), y1 = baseY + this.number(true);
+                float x = baseX + this.number(true), y = baseY + this.number(true);
+                this.quadraticTo(x1, y1, x, y);
+                break;
+            }
+            case 'T':
+            case 't': {
+                float x1 = currentX, y1 = currentY;
+                if (previous == 'Q') {
+                    x1 = currentX * 2 - controlX;
+                    y1 = currentY * 2 - controlY;
+                }
+                float x = baseX + this.number(false), y = baseY + this.number(true);
+                this.quadraticTo(x1, y1, x, y);
+                break;
+            }
+            default: {
+                float rx = this.number(false), ry = this.number(true), angle = this.number(true);
+                boolean large = this.flag(), sweep = this.flag();
+                float x = baseX + this.number(true), y = baseY + this.number(true);
+                this.arcTo(rx, ry, angle, large, sweep, x, y);
+                break;
+            }
+        }
+    }
+
+    private void moveTo(float x, float y, int command) {
+        this.currentX = x;
+        this.currentY = y;
+        this.previous = command;
+    }
+
+    private void quadraticTo(float x1, float y1, float x, float y) {
+        sink.quadraticTo(x1, y1, x, y);
+        this.moveTo(x, y, 'Q');
+        this.controlX = x1;
+        this.controlY = y1;
+    }
+
+    private void cubicTo(float x1, float y1, float x2, float y2, float x, float y) {
+        sink.cubicTo(x1, y1, x2, y2, x, y);
+        this.moveTo(x, y, 'C');
+        this.controlX = x2;
+        this.controlY = y2;
+    }
+
+    private void close() {
+        sink.close();
+        this.moveTo(startX, startY, 'Z');
+    }
+
+    /**
+     * Converts an elliptical arc in endpoint parameterization to cubics, as
+     * described in the implementation notes of the SVG specification.
+     */
+    private void arcTo(float radiusX, float radiusY, float angle, boolean large, boolean sweep, float x, float y) {
+        double x0 = currentX, y0 = currentY;
+        if (x0 == x && y0 == y) {
+            this.previous = 'A';
+            return;
+        }
+        double rx = Math.abs(radiusX), ry = Math.abs(radiusY);
+        if (rx == 0 || ry == 0) {
+            sink.lineTo(x, y);
+            this.moveTo(x, y, 'A');
+            return;
+        }
+        double phi = Math.toRadians(angle % 360), cos = Math.cos(phi), sin = Math.sin(phi);
+        // The start point in the frame of the ellipse, centered between both
+        // endpoints
+        double hx = (x0 - x) * 0.5, hy = (y0 - y) * 0.5;
+        double x1 = cos * hx + sin * hy, y1 = -sin * hx + cos * hy;
+        // Scale radii that are too small to reach the end point
+        double lambda = (x1 * x1) / (rx * rx) + (y1 * y1) / (ry * ry);
+        if (lambda > 1) {
+            double scale = Math.sqrt(lambda);
+            rx *= scale;
+            ry *= scale;
+        }
+        double rx2 = rx * rx, ry2 = ry * ry, x12 = x1 * x1, y12 = y1 * y1;
+        double root = Math.sqrt(Math.max(0, (rx2 * ry2 - rx2 * y12 - ry2 * x12) / (rx2 * y12 + ry2 * x12)));
+        if (large == sweep) {
+            root = -root;
+        }
+        double cx1 = root * rx * y1 / ry, cy1 = -root * ry * x1 / rx;
+        double cx = cos * cx1 - sin * cy1 + (x0 + x) * 0.5, cy = sin * cx1 + cos * cy1 + (y0 + y) * 0.5;
+        double theta = Math.atan2((y1 - cy1) / ry, (x1 - cx1) / rx);
+        double delta = Math.atan2((-y1 - cy1) / ry, (-x1 - cx1) / rx) - theta;
+        if (sweep && delta < 0) {
+            delta += Math.PI * 2;
+        } else if (!sweep && delta > 0) {
+            delta -= Math.PI * 2;
+        }
+        int segments = Math.max((int) Math.ceil(Math.abs(delta) / (Math.PI * 0.5) - 1e-7), 1);
+        double step = delta / segments, k = 4.0 / 3.0 * Math.tan(step * 0.25);
+        double ax = rx * cos, ay = rx * sin, bx = -ry * sin, by = ry * cos;
+        double cosA = Math.cos(theta), sinA = Math.sin(theta);
+        for (int i = 1; i <= segments; i++) {
+            double b = theta + step * i, cosB = Math.cos(b), sinB = Math.sin(b);
+            // Control points on the unit circle, mapped onto the ellipse
+            double u1 = cosA - k * sinA, v1 = sinA + k * cosA, u2 = cosB + k * sinB, v2 = sinB - k * cosB;
+            float ex = i == segments ? x : (float) (cx + ax * cosB + bx * sinB);
+            float ey = i == segments ? y : (float) (cy + ay * cosB + by * sinB);
+            sink.cubicTo((float) (cx + ax * u1 + bx * v1), (float) (cy + ay * u1 + by * v1),
+                    (float) (cx + ax * u2 + bx * v2), (float) (cy + ay * u2 + by * v2), ex, ey);
+            cosA = cosB;
+            sinA = sinB;
+        }
+        this.moveTo(x, y, 'A');
+    }
+
+    /**
+     * Reads a number, optionally preceded by whitespace and a comma if
+     * {@code separated}.
+     */
+    private float number(boolean separated) throws IOException {
+        int c = separated ? this.skipSeparator() : this.skipWhitespace();
+        boolean negative = false;
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            c = this.advance();
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean digits = false;
+        for (; c >= '0' && c <= '9'; c = this.advance()) {
+            if (mantissa < MAX_MANTISSA) {
+                mantissa = mantissa * 10 + (c - '0');
+            } else {
+                exponent++;
+            }
+            digits = true;
+        }
+        if (c == '.') {
+            for (c = this.advance(); c >= '0' && c <= '9'; c = this.advance()) {
+                if (mantissa < MAX_MANTISSA) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exponent--;
+                }
+                digits = true;
+            }
+        }
+        if (!digits) {
+            throw this.error("a number", c);
+        }
+        if (c == 'e' || c == 'E') {
+            c = this.advance();
+            boolean negativeExponent = false;
+            if (c == '+' || c == '-') {
+                negativeExponent = c == '-';
+                c = this.advance();
+            }
+            if (c < '0' || c > '9') {
+                throw this.error("an exponent", c);
+            }
+            int value = 0;
+            for (; c >= '0' && c <= '9'; c = this.advance()) {
+                value = Math.min(value * 10 + (c - '0'), 1000);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= -22 && exponent <= 22 && mantissa < 1L << 53) {
+            value = exponent < 0 ? mantissa / POWERS[-exponent] : mantissa * POWERS[exponent];
+        } else {
+            value = mantissa * Math.pow(10, exponent);
+        }
+        return (float) (negative ? -value : value);
+    }
+
+    /**
+     * Reads an arc flag, which needs no separator before the next argument.
+     */
+    private boolean flag() throws IOException {
+        int c = this.skipSeparator();
+        if (c != '0' && c != '1') {
+            throw this.error("a flag", c);
+        }
+        this.advance();
+        return c == '1';
+    }
+
+    private static boolean isCommand(int c) {
+        return COMMANDS.indexOf(c) >= 0;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * Skips whitespace.
+     *
+     * @return the next character, {@code -1} at the end of the data
+     */
+    private int skipWhitespace() throws IOException {
+        int c = this.peek();
+        while (SvgPathParser2f.isWhitespace(c)) {
+            c = this.advance();
+        }
+        return c;
+    }
+
+    /**
+     * Skips whitespace with at most one comma in between.
+     *
+     * @return the next character, {@code -1} at the end of the data
+     */
+    private int skipSeparator() throws IOException {
+        int c = this.skipWhitespace();
+        if (c == ',') {
+            this.advance();
+            c = this.skipWhitespace();
+        }
+        return c;
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return the next character, {@code -1} at the end of the data
+     */
+    private int peek() throws IOException {
+        if (position < limit) {
+            return sequence != null ? sequence.charAt(position) : buffer[position];
+        }
+        if (reader == null) {
+            return -1;
+        }
+        this.offset += limit;
+        this.position = 0;
+        this.limit = Math.max(reader.read(buffer, 0, BUFFER_SIZE), 0);
+        return limit > 0 ? buffer[0] : -1;
+    }
+
+    /**
+     * Consumes the next character.
+     *
+     * @return the character after it, {@code -1} at the end of the data
+     */
+    private int advance() throws IOException {
+        this.position++;
+        return this.peek();
+    }
+
+    private IllegalArgumentException error(String expected, int c) {
+        return new IllegalArgumentException("Expected %s at offset %s but recieved: %s".formatted(expected,
+                offset + position, c < 0 ? "end of data" : "'" + (char) c + "'"));
+    }
+}
@@ -0,0 +1,159 @@
+package com.liampace.geom;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BatchKernel} built on the incubating Vector API. Each lane performs the
+ * same sequence of multiplications and additions as the scalar kernels, without
+ * fusing, so results are identical to the scalar path. Remainders that do not
+ * fill a whole vector are handed to {@link ScalarBatchKernel}.
+ * <p>
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is
+ * present, see {@link Interpolator2f}.
+ */
+class VectorBatchKernel implements BatchKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final FloatVector ONE = FloatVector.broadcast(SPECIES, 1.0f);
+
+    private final ScalarBatchKernel scalar = new ScalarBatchKernel();
+
+    @Override
+    public void evaluate(int degree, boolean derivative, float[] px, float[] py, int count, int tIndex, float[] t,
+            int index, float[] destX, float[] destY) {
+        if (derivative && degree == 1) {
+            float dx = px[1] - px[0], dy = py[1] - py[0];
+            for (int i = 0; i < count; i++) {
+                destX[index + i] = dx;
+                destY[index + i] = dy;
+            }
+            return;
+        }
+        // The derivative of a curve is the curve one degree lower defined by the
+        // differences between consecutive points, held in locals so no call
+        // allocates
+        int basis = derivative ? degree - 1 : degree;
+        float x0, y0, x1, y1, x2 = 0, y2 = 0, x3 = 0, y3 = 0;
+        if (derivative) {
+            x0 = px[1] - px[0];
+            y0 = py[1] - py[0];
+            x1 = px[2] - px[1];
+            y1 = py[2] - py[1];
+            if (basis == 2) {
+                x2 = px[3] - px[2];
+                y2 = py[3] - py[2];
+            }
+        } else {
+            x0 = px[0];
+            y0 = py[0];
+            x1 = px[1];
+            y1 = py[1];
+            if (basis > 1) {
+                x2 = px[2];
+                y2 = py[2];
+            }
+            if (basis > 2) {
+                x3 = px[3];
+                y3 = py[3];
+            }
+        }
+        int i = 0;
+        for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            FloatVector vt = FloatVector.fromArray(SPECIES, t, tIndex + i);
+            FloatVector nt = ONE.sub(vt);
+            switch (basis) {
+                case 1:
+                    nt.mul(x0).add(vt.mul(x1)).intoArray(destX, index + i);
+                    nt.mul(y0).add(vt.mul(y1)).intoArray(destY, index + i);
+                    break;
+                case 2: {
+                    FloatVector ntnt = nt.mul(nt);
+                    FloatVector ntt2 = nt.mul(vt).mul(2);
+                    FloatVector tt = vt.mul(vt);
+                    ntnt.mul(x0).add(ntt2.mul(x1)).add(tt.mul(x2)).intoArray(destX, index + i);
+                    ntnt.mul(y0).add(ntt2.mul(y1)).add(tt.mul(y2)).intoArray(destY, index + i);
+                    break;
+                }
+                default: {
+                    FloatVector ntnt = nt.mul(nt);
+                    FloatVector ntntnt = ntnt.mul(nt);
+                    FloatVector tt = vt.mul(vt);
+                    FloatVector ttt = tt.mul(vt);
+                    FloatVector ntntt3 = ntnt.mul(vt).mul(3);
+                    FloatVector nttt3 = nt.mul(tt).mul(3);
+                    ntntnt.mul(x0).add(ntntt3.mul(x1)).add(nttt3.mul(x2)).add(ttt.mul(x3))
+                            .intoArray(destX, index + i);
+                    ntntnt.mul(y0).add(ntntt3.mul(y1)).add(nttt3.mul(y2)).add(ttt.mul(y3))
+                            .intoArray(destY, index + i);
+                    break;
+                }
+            }
+        }
+        if (i < count) {
+            scalar.evaluate(degree, derivative, px, py, count - i, tIndex + i, t, index + i, destX, destY);
+        }
+    }
+
+    @Override
+    public void evaluate(int degree, boolean derivative, float[] x, float[] y, int stride, int from, int count,
+            float t, int index, float[] destX, float[] destY) {
+        // Weights of the basis the lanes are combined with, one degree lower for
+        // derivatives, computed exactly like the scalar kernels do
+        int basis = derivative ? degree - 1 : degree;
+        float nt = 1 - t;
+        float w0, w1, w2 = 0, w3 = 0;
+        switch (basis) {
+            case 0:
+                w0 = w1 = 0;
+                break;
+            case 1:
+                w0 = nt;
+                w1 = t;
+                break;
+            case 2:
+                w0 = nt * nt;
+                w1 = nt * t * 2;
+                w2 = t * t;
+                break;
+            default: {
+                float ntnt = nt * nt;
+                float tt = t * t;
+                w0 = ntnt * nt;
+                w1 = ntnt * t * 3;
+                w2 = nt * tt * 3;
+                w3 = tt * t;
+                break;
+            }
+        }
+        int i = 0;
+        for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            combine(degree, derivative, x, stride, from + i, w0, w1, w2, w3).intoArray(destX, index + i);
+            combine(degree, derivative, y, stride, from + i, w0, w1, w2, w3).intoArray(destY, index + i);
+        }
+        if (i < count) {
+            scalar.evaluate(degree, derivative, x, y, stride, from + i, count - i, t, index + i, destX, destY);
+        }
+    }
+
+    private static FloatVector combine(int degree, boolean derivative, float[] a, int stride, int offset, float w0,
+            float w1, float w2, float w3) {
+        FloatVector v0 = FloatVector.fromArray(SPECIES, a, offset);
+        FloatVector v1 = FloatVector.fromArray(SPECIES, a, offset + stride);
+        if (degree == 1) {
+            return derivative ? v1.sub(v0) : v0.mul(w0).add(v1.mul(w1));
+        }
+        FloatVector v2 = FloatVector.fromArray(SPECIES, a, offset + stride * 2);
+        if (degree == 2) {
+            if (derivative) {
+                return v1.sub(v0).mul(w0).add(v2.sub(v1).mul(w1));
+            }
+            return v0.mul(w0).add(v1.mul(w1)).add(v2.mul(w2));
+        }
+        FloatVector v3 = FloatVector.fromArray(SPECIES, a, offset + stride * 3);
+        if (derivative) {
+            return v1.sub(v0).mul(w0).add(v2.sub(v1).mul(w1)).add(v3.sub(v2).mul(w2));
+        }
+        return v0.mul(w0).add(v1.mul(w1)).add(v2.mul(w2)).add(v3.mul(w3));
+    }
+}
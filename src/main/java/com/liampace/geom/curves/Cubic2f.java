@@ -1,16 +1,24 @@
 package com.liampace.geom.curves;
 
+import jdk.jfr.Event;
+
 import org.joml.Matrix3x2fc;
 import org.joml.Vector2f;
 
 import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Metrics;
+import com.liampace.geom.RootSolver;
 
-public class Cubic2f implements Bezier2f {
+public final class Cubic2f implements Bezier2f {
 
-    private static final float CUBE_ROOT_EXPONENT = 1.0f / 3.0f;
-    private static final float SQRT_3 = (float) Math.sqrt(3.0f);
     public static final int LENGTH = 4;
 
+    /**
+     * The maximum number of extrema of a cubic within {@code (0, 1)}, two for
+     * each axis.
+     */
+    public static final int MAX_EXTREMA = 4;
+
     /**
      * Performs a Cubic Interpolation as defined by
      * {@code (P0)(1-t)^3 + (P1)3t(1-t)^2 + (P2)(1-t)t^2 + (P3)t^3}
@@ -42,7 +50,11 @@ public class Cubic2f implements Bezier2f {
     }
 
     /**
-     * Solves the cubic equation as defined by {@code ax^3 = bx^2 + cx + d = 0}
+     * Solves the cubic equation as defined by {@code ax^3 + bx^2 + cx + d = 0}
+     * with {@link RootSolver#solveCubic}. Falls back to the quadratic equation
+     * when {@code a} is negligible next to the other coefficients, which only
+     * discards roots far outside of {@code [0, 1]}, and returns the roots in
+     * ascending order.
      * 
      * @param a     the coefficient of the first term
      * @param b     the coefficient of the second term
@@ -54,52 +66,13 @@ public class Cubic2f implements Bezier2f {
      * @return number of roots
      */
     public static int SolveCubicEquation(float a, float b, float c, float d, int index, float[] dest) {
-        float A = a / d;
-        float B = b / d;
-        float C = c / d;
-        float v0 = (3.0f * B - A * A) / 3.0f;
-        float v1 = (2.0f * A * A * A - 9.0f * B * A + 27.0f * C) / 27.0f;
-        float offset = C / 3.0f;
-        float discrim = v1 * v1 * 0.25f + v0 * v0 / 27.0f;
-        float halfV1 = v1 * 0.5f;
-        float temp = 0, root = 0;
-        int count = 0;
-        if (discrim > 0) {
-            discrim = (float) Math.sqrt(discrim);
-            temp = -halfV1 + discrim;
-            if (temp >= 0) {
-                root = (float) Math.pow(temp, CUBE_ROOT_EXPONENT);
-            } else {
-                root = -(float) Math.pow(-temp, CUBE_ROOT_EXPONENT);
-            }
-            temp = -halfV1 - discrim;
-            if (temp >= 0) {
-                root += Math.pow(temp, CUBE_ROOT_EXPONENT);
-            } else {
-                root -= Math.pow(temp, CUBE_ROOT_EXPONENT);
-            }
-            dest[index] = root;
-            count = 1;
-        } else if (discrim < 0) {
-            float dist = (float) Math.sqrt(-v0 / 3.0f);
-            float angle = (float) Math.atan2(Math.sqrt(-discrim), -halfV1) / 3.0f;
-            float cos = (float) Math.cos(angle);
-            float sin = SQRT_3 * (float) Math.sin(angle);
-            dest[index] = 2.0f * dist * cos;
-            dest[index + 1] = -dist * (cos + sin);
-            dest[index + 2] = -dist * (cos - sin);
-        } else {
-            if (halfV1 >= 0) {
-                temp = (float) Math.pow(halfV1, CUBE_ROOT_EXPONENT);
-            } else {
-                temp = (float) Math.pow(-halfV1, CUBE_ROOT_EXPONENT);
-            }
-            dest[index] = 2.0f * temp;
-            dest[index + 1] = -temp;
-        }
-        for (int i = 0; i < count; i++) {
-            dest[index + i] -= offset;
+        if (!Metrics.ENABLED) {
+            return RootSolver.solveCubic(a, b, c, d, false, index, dest);
         }
+        long start = Metrics.start();
+        Event event = Metrics.beginSolve();
+        int count = RootSolver.solveCubic(a, b, c, d, false, index, dest);
+        Metrics.solved(3, count, start, event);
         return count;
     }
 
@@ -119,32 +92,291 @@ public class Cubic2f implements Bezier2f {
     public static int SolveCubicBezier(float start, float controlA, float controlB, float end, int index,
             float[] dest) {
         return Cubic2f.SolveCubicEquation(
-                start,
-                (controlA - start) * 3,
-                (start - 2 * controlA + controlB) * 3,
                 -start + (controlA - controlB) * 3 + end,
+                (start - 2 * controlA + controlB) * 3,
+                (controlA - start) * 3,
+                start,
                 index, dest);
     }
 
+    /**
+     * Calculates the tight axis aligned bounding box of a cubic bezier. The
+     * extrema are found where the derivative, a quadratic bezier, crosses zero,
+     * with {@link #Extrema(float, float, float, float, int, float[])}.
+     *
+     * @param x0    X coordinate of the starting point
+     * @param y0    Y coordinate of the starting point
+     * @param x1    X coordinate of the first control point
+     * @param y1    Y coordinate of the first control point
+     * @param x2    X coordinate of the second control point
+     * @param y2    Y coordinate of the second control point
+     * @param x3    X coordinate of the ending point
+     * @param y3    Y coordinate of the ending point
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public static float[] Bounds(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+            int index, float[] dest) {
+        // The extrema of each axis are written to dest and read back before the
+        // bounds overwrite them
+        int countX = Cubic2f.inside(x0, x1, x2, x3) ? 0 : Cubic2f.Extrema(x0, x1, x2, x3, index, dest);
+        float tx0 = dest[index], tx1 = dest[index + 1];
+        int countY = Cubic2f.inside(y0, y1, y2, y3) ? 0 : Cubic2f.Extrema(y0, y1, y2, y3, index + 2, dest);
+        float ty0 = dest[index + 2], ty1 = dest[index + 3];
+        Cubic2f.Bounds(x0, x1, x2, x3, countX, tx0, tx1, index, dest);
+        Cubic2f.Bounds(y0, y1, y2, y3, countY, ty0, ty1, index + 1, dest);
+        return dest;
+    }
+
+    /**
+     * Whether the control points lie between the endpoints, in which case the
+     * curve stays inside the hull of its points and has no extrema that matter.
+     */
+    private static boolean inside(float start, float controlA, float controlB, float end) {
+        float min = Math.min(start, end), max = Math.max(start, end);
+        return controlA >= min && controlA <= max && controlB >= min && controlB <= max;
+    }
+
+    private static void Bounds(float start, float controlA, float controlB, float end, int count, float t0, float t1,
+            int index, float[] dest) {
+        float min = Math.min(start, end), max = Math.max(start, end);
+        for (int i = 0; i < count; i++) {
+            float t = i == 0 ? t0 : t1, nt = 1 - t;
+            float value = nt * nt * nt * start + nt * nt * t * 3 * controlA + nt * t * t * 3 * controlB
+                    + t * t * t * end;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        dest[index] = min;
+        dest[index + 2] = max;
+    }
+
+    /**
+     * Finds the interpolation factors within {@code (0, 1)} at which the X or Y
+     * coordinate of a cubic bezier turns. Splitting the curve at them leaves
+     * pieces that are monotonic in both X and Y.
+     *
+     * @param x0    X coordinate of the starting point
+     * @param y0    Y coordinate of the starting point
+     * @param x1    X coordinate of the first control point
+     * @param y1    Y coordinate of the first control point
+     * @param x2    X coordinate of the second control point
+     * @param y2    Y coordinate of the second control point
+     * @param x3    X coordinate of the ending point
+     * @param y3    Y coordinate of the ending point
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold up to {@link #MAX_EXTREMA} interpolation factors in
+     *              ascending order without duplicates
+     * @return number of extrema found
+     */
+    public static int Extrema(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+            int index, float[] dest) {
+        int count = Cubic2f.Extrema(x0, x1, x2, x3, index, dest);
+        count += Cubic2f.Extrema(y0, y1, y2, y3, index + count, dest);
+        return Cubic2f.sortUnique(dest, index, count);
+    }
+
+    /**
+     * Finds the interpolation factors within {@code (0, 1)} at which a 1D cubic
+     * bezier turns, where its derivative, a quadratic bezier, changes sign.
+     *
+     * @param start    the starting point of the 1D bezier
+     * @param controlA the first control point of the 1D bezier
+     * @param controlB the second control point of the 1D bezier
+     * @param end      the ending point of the 1D bezier
+     * @param index    the starting position of {@code dest}
+     * @param dest     will hold up to two interpolation factors in ascending order
+     * @return number of extrema found
+     */
+    public static int Extrema(float start, float controlA, float controlB, float end, int index, float[] dest) {
+        // The derivative divided by 3, at^2 + bt + c, solved in double so that
+        // nearly equal roots are not lost to cancellation
+        double d0 = controlA - start, d1 = controlB - controlA, d2 = end - controlB;
+        double a = d0 - d1 * 2 + d2;
+        double b = (d1 - d0) * 2;
+        double c = d0;
+        if (Math.abs(a) <= Math.ulp((float) Math.max(Math.abs(b), Math.abs(c)))) {
+            return b != 0 ? Cubic2f.keep((float) (-c / b), index, 0, dest) : 0;
+        }
+        double discriminant = b * b - 4 * a * c;
+        if (discriminant <= 0) {
+            // A double root is an inflection of the 1D curve, not a turn
+            return 0;
+        }
+        double q = -0.5 * (b + Math.copySign(Math.sqrt(discriminant), b));
+        float r0 = (float) (q / a), r1 = q != 0 ? (float) (c / q) : r0;
+        int count = Cubic2f.keep(Math.min(r0, r1), index, 0, dest);
+        return r0 != r1 ? Cubic2f.keep(Math.max(r0, r1), index, count, dest) : count;
+    }
+
+    private static int keep(float t, int index, int count, float[] dest) {
+        if (t > 0 && t < 1) {
+            dest[index + count++] = t;
+        }
+        return count;
+    }
+
+    /**
+     * Sorts the {@code count} values of {@code dest} starting at {@code index}
+     * and removes duplicates, returning the number of values left.
+     */
+    static int sortUnique(float[] dest, int index, int count) {
+        for (int i = index + 1; i < index + count; i++) {
+            float value = dest[i];
+            int j = i - 1;
+            for (; j >= index && dest[j] > value; j--) {
+                dest[j + 1] = dest[j];
+            }
+            dest[j + 1] = value;
+        }
+        int unique = Math.min(count, 1);
+        for (int i = 1; i < count; i++) {
+            if (dest[index + i] != dest[index + unique - 1]) {
+                dest[index + unique++] = dest[index + i];
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Merges the ascending runs of {@code a[i, i + countI)} and
+     * {@code a[j, j + countJ)} into {@code a} starting at {@code index} without
+     * duplicates, writing each value once and only in its final place.
+     */
+    static int merge(float[] a, int i, int countI, int j, int countJ, int index) {
+        int endI = i + countI, endJ = j + countJ, count = 0;
+        while (i < endI || j < endJ) {
+            float value = j >= endJ || (i < endI && a[i] <= a[j]) ? a[i++] : a[j++];
+            if (count == 0 || a[index + count - 1] != value) {
+                a[index + count++] = value;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits a cubic bezier at {@code t} with de Casteljau's algorithm into two
+     * cubics meeting at the point at {@code t}.
+     *
+     * @param x0    X coordinate of the starting point
+     * @param y0    Y coordinate of the starting point
+     * @param x1    X coordinate of the first control point
+     * @param y1    Y coordinate of the first control point
+     * @param x2    X coordinate of the second control point
+     * @param y2    Y coordinate of the second control point
+     * @param x3    X coordinate of the ending point
+     * @param y3    Y coordinate of the ending point
+     * @param t     interpolation factor to split at
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the points of the left curve followed by the points
+     *              of the right curve, {@code 16} values
+     * @return {@code dest}
+     */
+    public static float[] Split(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+            float t, int index, float[] dest) {
+        float nt = 1 - t;
+        float abx = x0 * nt + x1 * t, aby = y0 * nt + y1 * t;
+        float bcx = x1 * nt + x2 * t, bcy = y1 * nt + y2 * t;
+        float cdx = x2 * nt + x3 * t, cdy = y2 * nt + y3 * t;
+        float abcx = abx * nt + bcx * t, abcy = aby * nt + bcy * t;
+        float bcdx = bcx * nt + cdx * t, bcdy = bcy * nt + cdy * t;
+        float mx = abcx * nt + bcdx * t, my = abcy * nt + bcdy * t;
+        dest[index] = x0;
+        dest[index + 1] = y0;
+        dest[index + 2] = abx;
+        dest[index + 3] = aby;
+        dest[index + 4] = abcx;
+        dest[index + 5] = abcy;
+        dest[index + 6] = mx;
+        dest[index + 7] = my;
+        dest[index + 8] = mx;
+        dest[index + 9] = my;
+        dest[index + 10] = bcdx;
+        dest[index + 11] = bcdy;
+        dest[index + 12] = cdx;
+        dest[index + 13] = cdy;
+        dest[index + 14] = x3;
+        dest[index + 15] = y3;
+        return dest;
+    }
+
+    /**
+     * Calculates the part of a cubic bezier between {@code t0} and {@code t1}.
+     * The points of the part are the blossoms {@code b(t0, t0, t0)},
+     * {@code b(t0, t0, t1)}, {@code b(t0, t1, t1)} and {@code b(t1, t1, t1)} of
+     * the curve.
+     *
+     * @param x0    X coordinate of the starting point
+     * @param y0    Y coordinate of the starting point
+     * @param x1    X coordinate of the first control point
+     * @param y1    Y coordinate of the first control point
+     * @param x2    X coordinate of the second control point
+     * @param y2    Y coordinate of the second control point
+     * @param x3    X coordinate of the ending point
+     * @param y3    Y coordinate of the ending point
+     * @param t0    interpolation factor of the new start point
+     * @param t1    interpolation factor of the new end point
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the points of the part, {@code 8} values
+     * @return {@code dest}
+     */
+    public static float[] SubCurve(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+            float t0, float t1, int index, float[] dest) {
+        dest[index] = Cubic2f.blossom(x0, x1, x2, x3, t0, t0, t0);
+        dest[index + 1] = Cubic2f.blossom(y0, y1, y2, y3, t0, t0, t0);
+        dest[index + 2] = Cubic2f.blossom(x0, x1, x2, x3, t0, t0, t1);
+        dest[index + 3] = Cubic2f.blossom(y0, y1, y2, y3, t0, t0, t1);
+        dest[index + 4] = Cubic2f.blossom(x0, x1, x2, x3, t0, t1, t1);
+        dest[index + 5] = Cubic2f.blossom(y0, y1, y2, y3, t0, t1, t1);
+        dest[index + 6] = Cubic2f.blossom(x0, x1, x2, x3, t1, t1, t1);
+        dest[index + 7] = Cubic2f.blossom(y0, y1, y2, y3, t1, t1, t1);
+        return dest;
+    }
+
+    /**
+     * de Casteljau's algorithm with a different interpolation factor per level.
+     */
+    private static float blossom(float start, float controlA, float controlB, float end, float u, float v,
+            float w) {
+        float a = start * (1 - u) + controlA * u;
+        float b = controlA * (1 - u) + controlB * u;
+        float c = controlB * (1 - u) + end * u;
+        float ab = a * (1 - v) + b * v;
+        float bc = b * (1 - v) + c * v;
+        return ab * (1 - w) + bc * w;
+    }
+
     private final Vector2f start, controlA, controlB, end;
+    // Power basis of x(t) and y(t), lowest degree first, for the root solves
+    private volatile CurveCache basis;
+    // Extrema of x(t) and y(t), two slots each, followed by both merged
+    private volatile CurveCache extrema;
+    private long version;
 
     public Cubic2f() {
-        this(new Vector2f(), new Vector2f(), new Vector2f(), new Vector2f());
+        this(0, 0, 0, 0, 0, 0, 0, 0);
     }
 
     public Cubic2f(Cubic2f other) {
         this(other.start, other.controlA, other.controlB, other.end);
     }
 
+    /**
+     * Creates a curve through copies of the given points, so that the cached
+     * power basis and extrema are never stale because another curve shares and
+     * modifies a point.
+     */
     public Cubic2f(Vector2f start, Vector2f controlA, Vector2f controlB, Vector2f end) {
-        this.start = start;
-        this.controlA = controlA;
-        this.controlB = controlB;
-        this.end = end;
+        this(start.x, start.y, controlA.x, controlA.y, controlB.x, controlB.y, end.x, end.y);
     }
 
     public Cubic2f(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3) {
-        this(new Vector2f(x0, y0), new Vector2f(x1, y1), new Vector2f(x2, y2), new Vector2f(x3, y3));
+        this.start = new Vector2f(x0, y0);
+        this.controlA = new Vector2f(x1, y1);
+        this.controlB = new Vector2f(x2, y2);
+        this.end = new Vector2f(x3, y3);
     }
 
     public Cubic2f set(Cubic2f other) {
@@ -161,9 +393,34 @@ public class Cubic2f implements Bezier2f {
         this.controlA.set(x1, y1);
         this.controlB.set(x2, y2);
         this.end.set(x3, y3);
+        return this.invalidate();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Cubic2f invalidate() {
+        this.version++;
         return this;
     }
 
+    /**
+     * Writes the power basis coefficients of the curve, {@code a0, a1, a2, a3} of
+     * {@code x(t) = a0 + a1 t + a2 t^2 + a3 t^3} followed by the same for
+     * {@code y(t)}. The coefficients are cached until the curve is modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the coefficients
+     * @return {@code dest}
+     */
+    public float[] getCoefficients(int index, float[] dest) {
+        System.arraycopy(this.basis(), 0, dest, index, LENGTH * 2);
+        return dest;
+    }
+
     @Override
     public int getLength() {
         return LENGTH;
@@ -199,6 +456,11 @@ public class Cubic2f implements Bezier2f {
         return end;
     }
 
+    /**
+     * Evaluates the Bernstein form with {@link #Interpolate} rather than the
+     * cached power basis, which rounds differently, so positions match those of
+     * the batch kernels bit for bit.
+     */
     @Override
     public Vector2f getPosition(float t, Vector2f dest) {
         return Cubic2f.Interpolate(start.x, start.y, controlA.x, controlA.y, controlB.x, controlB.y, end.x, end.y, t,
@@ -214,14 +476,252 @@ public class Cubic2f implements Bezier2f {
                 t, dest);
     }
 
+    @Override
+    public Vector2f getTangent(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize();
+    }
+
+    @Override
+    public Vector2f getNormalCCW(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize().perpendicular();
+    }
+
+    @Override
+    public Vector2f getNormalCW(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize().perpendicular().negate();
+    }
+
     @Override
     public int getInterceptsX(int index, float[] dest) {
-        return Cubic2f.SolveCubicBezier(start.y, controlA.y, controlB.y, end.y, index, dest);
+        float[] b = this.basis();
+        return Cubic2f.SolveCubicEquation(b[7], b[6], b[5], b[4], index, dest);
     }
 
     @Override
     public int getInterceptsY(int index, float[] dest) {
-        return Cubic2f.SolveCubicBezier(start.x, controlA.x, controlB.x, end.x, index, dest);
+        float[] b = this.basis();
+        return Cubic2f.SolveCubicEquation(b[3], b[2], b[1], b[0], index, dest);
+    }
+
+    @Override
+    public int getInterceptsX(float y, int index, float[] dest) {
+        float[] b = this.basis();
+        return Cubic2f.SolveCubicEquation(b[7], b[6], b[5], b[4] - y, index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(float x, int index, float[] dest) {
+        float[] b = this.basis();
+        return Cubic2f.SolveCubicEquation(b[3], b[2], b[1], b[0] - x, index, dest);
+    }
+
+    @Override
+    public float[] getBounds(int index, float[] dest) {
+        return Cubic2f.Bounds(start.x, start.y, controlA.x, controlA.y, controlB.x, controlB.y, end.x, end.y, index,
+                dest);
+    }
+
+    /**
+     * Returns the cached power basis, computing it first if the curve was
+     * modified. A snapshot is filled completely and never changed after it is
+     * published, so concurrent readers of an unmodified curve may both compute
+     * it but never see a partly written one.
+     */
+    private float[] basis() {
+        CurveCache basis = this.basis;
+        long version = this.version;
+        if (basis == null || basis.version != version) {
+            float[] b = new float[LENGTH * 2];
+            Cubic2f.powerBasis(start.x, controlA.x, controlB.x, end.x, b, 0);
+            Cubic2f.powerBasis(start.y, controlA.y, controlB.y, end.y, b, 4);
+            this.basis = basis = new CurveCache(version, b);
+        }
+        return basis.values;
+    }
+
+    /**
+     * Returns the cached extrema, published the same way as {@link #basis()}.
+     */
+    private CurveCache extrema() {
+        CurveCache extrema = this.extrema;
+        long version = this.version;
+        if (extrema == null || extrema.version != version) {
+            float[] e = new float[4 + MAX_EXTREMA];
+            int countX = Cubic2f.Extrema(start.x, controlA.x, controlB.x, end.x, 0, e);
+            int countY = Cubic2f.Extrema(start.y, controlA.y, controlB.y, end.y, 2, e);
+            int count = Cubic2f.merge(e, 0, countX, 2, countY, 4);
+            this.extrema = extrema = new CurveCache(version, e, countX, countY, count);
+        }
+        return extrema;
+    }
+
+    /**
+     * Writes the coefficients of a 1D cubic bezier at {@code index}, the same
+     * ones {@link #SolveCubicBezier(float, float, float, float, int, float[])}
+     * derives.
+     */
+    static void powerBasis(float start, float controlA, float controlB, float end, float[] dest, int index) {
+        dest[index] = start;
+        dest[index + 1] = (controlA - start) * 3;
+        dest[index + 2] = (start - 2 * controlA + controlB) * 3;
+        dest[index + 3] = -start + (controlA - controlB) * 3 + end;
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which the X
+     * coordinate of this curve turns. The extrema are cached until the curve is
+     * modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold up to two interpolation factors in ascending order
+     * @return number of extrema found
+     */
+    public int getExtremaX(int index, float[] dest) {
+        CurveCache e = this.extrema();
+        System.arraycopy(e.values, 0, dest, index, e.countX);
+        return e.countX;
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which the Y
+     * coordinate of this curve turns. The extrema are cached until the curve is
+     * modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold up to two interpolation factors in ascending order
+     * @return number of extrema found
+     */
+    public int getExtremaY(int index, float[] dest) {
+        CurveCache e = this.extrema();
+        System.arraycopy(e.values, 2, dest, index, e.countY);
+        return e.countY;
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which either
+     * coordinate of this curve turns, which split it into pieces that are
+     * monotonic in both X and Y. The extrema are cached until the curve is
+     * modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold up to {@link #MAX_EXTREMA} interpolation factors in
+     *              ascending order without duplicates
+     * @return number of extrema found
+     */
+    public int getExtrema(int index, float[] dest) {
+        CurveCache e = this.extrema();
+        System.arraycopy(e.values, 4, dest, index, e.count);
+        return e.count;
+    }
+
+    /**
+     * Splits this curve at its extrema into pieces that are monotonic in both X
+     * and Y, in order from the start to the end of the curve. {@code dest} may
+     * hold this curve.
+     *
+     * @param index the position within {@code dest} of the first piece
+     * @param dest  will hold the pieces, needs a curve at each of the
+     *              {@code MAX_EXTREMA + 1} positions starting at {@code index}
+     * @return number of pieces
+     */
+    public int getMonotonic(int index, Cubic2f[] dest) {
+        CurveCache cache = this.extrema();
+        float[] e = cache.values;
+        int count = cache.count;
+        float x0 = start.x, y0 = start.y, x1 = controlA.x, y1 = controlA.y;
+        float x2 = controlB.x, y2 = controlB.y, x3 = end.x, y3 = end.y;
+        // A snapshot is never refilled, so it outlives setting this
+        float t0 = 0;
+        for (int i = 0; i <= count; i++) {
+            float t1 = i < count ? e[4 + i] : 1;
+            Cubic2f.subCurve(x0, y0, x1, y1, x2, y2, x3, y3, t0, t1, dest[index + i]);
+            t0 = t1;
+        }
+        return count + 1;
+    }
+
+    /**
+     * Splits this curve at {@code t}, storing the part before {@code t} in
+     * {@code left} and the part after it in {@code right}. Either destination may
+     * be this curve.
+     *
+     * @param t     interpolation factor to split at
+     * @param left  will hold the part in {@code [0, t]}
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public Cubic2f split(float t, Cubic2f left, Cubic2f right) {
+        Cubic2f.split(start.x, start.y, controlA.x, controlA.y, controlB.x, controlB.y, end.x, end.y, t, left,
+                right);
+        return this;
+    }
+
+    static void split(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3, float t,
+            Cubic2f left, Cubic2f right) {
+        float nt = 1 - t;
+        float abx = x0 * nt + x1 * t, aby = y0 * nt + y1 * t;
+        float bcx = x1 * nt + x2 * t, bcy = y1 * nt + y2 * t;
+        float cdx = x2 * nt + x3 * t, cdy = y2 * nt + y3 * t;
+        float abcx = abx * nt + bcx * t, abcy = aby * nt + bcy * t;
+        float bcdx = bcx * nt + cdx * t, bcdy = bcy * nt + cdy * t;
+        float mx = abcx * nt + bcdx * t, my = abcy * nt + bcdy * t;
+        left.set(x0, y0, abx, aby, abcx, abcy, mx, my);
+        right.set(mx, my, bcdx, bcdy, cdx, cdy, x3, y3);
+    }
+
+    /**
+     * Splits this curve at {@code t}, keeping the part before {@code t} and
+     * storing the part after it in {@code right}.
+     *
+     * @param t     interpolation factor to split at
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public Cubic2f split(float t, Cubic2f right) {
+        return this.split(t, this, right);
+    }
+
+    /**
+     * Stores the part of this curve between {@code t0} and {@code t1} in
+     * {@code dest}, which may be this curve.
+     *
+     * @param t0   interpolation factor of the new start point
+     * @param t1   interpolation factor of the new end point
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Cubic2f subCurve(float t0, float t1, Cubic2f dest) {
+        return Cubic2f.subCurve(start.x, start.y, controlA.x, controlA.y, controlB.x, controlB.y, end.x, end.y, t0,
+                t1, dest);
+    }
+
+    static Cubic2f subCurve(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+            float t0, float t1, Cubic2f dest) {
+        return dest.set(
+                Cubic2f.blossom(x0, x1, x2, x3, t0, t0, t0), Cubic2f.blossom(y0, y1, y2, y3, t0, t0, t0),
+                Cubic2f.blossom(x0, x1, x2, x3, t0, t0, t1), Cubic2f.blossom(y0, y1, y2, y3, t0, t0, t1),
+                Cubic2f.blossom(x0, x1, x2, x3, t0, t1, t1), Cubic2f.blossom(y0, y1, y2, y3, t0, t1, t1),
+                Cubic2f.blossom(x0, x1, x2, x3, t1, t1, t1), Cubic2f.blossom(y0, y1, y2, y3, t1, t1, t1));
+    }
+
+    /**
+     * Shrinks this curve to its part between {@code t0} and {@code t1}.
+     *
+     * @param t0 interpolation factor of the new start point
+     * @param t1 interpolation factor of the new end point
+     * @return {@code this}
+     */
+    public Cubic2f subCurve(float t0, float t1) {
+        return this.subCurve(t0, t1, this);
+    }
+
+    /**
+     * Creates an immutable copy of this curve.
+     *
+     * @return a new {@link ImmutableCubic2f}
+     */
+    public ImmutableCubic2f toImmutable() {
+        return new ImmutableCubic2f(this);
     }
 
     @Override
@@ -231,11 +731,25 @@ public class Cubic2f implements Bezier2f {
 
     @Override
     public Cubic2f transformPosition(Matrix3x2fc matrix) {
-        return (Cubic2f)Bezier2f.super.transformPosition(matrix);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        matrix.transformPosition(start);
+        matrix.transformPosition(controlA);
+        matrix.transformPosition(controlB);
+        matrix.transformPosition(end);
+        Metrics.transformed(LENGTH, started, event);
+        return this.invalidate();
     }
 
     @Override
     public Cubic2f transformDirection(Matrix3x2fc matrix) {
-        return (Cubic2f)Bezier2f.super.transformDirection(matrix);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        matrix.transformDirection(start);
+        matrix.transformDirection(controlA);
+        matrix.transformDirection(controlB);
+        matrix.transformDirection(end);
+        Metrics.transformed(LENGTH, started, event);
+        return this.invalidate();
     }
 }
@@ -0,0 +1,27 @@
+package com.liampace.geom.curves;
+
+/**
+ * Values derived from the points of a curve, stamped with the version of the
+ * curve they were derived from. A snapshot is never modified once built, and
+ * the curves publish it through a single volatile field, so a thread that
+ * reads the snapshot also sees every value written into it.
+ */
+final class CurveCache {
+
+    final long version;
+    final float[] values;
+    // Extrema only, the counts of each axis and of both merged
+    final int countX, countY, count;
+
+    CurveCache(long version, float[] values) {
+        this(version, values, 0, 0, 0);
+    }
+
+    CurveCache(long version, float[] values, int countX, int countY, int count) {
+        this.version = version;
+        this.values = values;
+        this.countX = countX;
+        this.countY = countY;
+        this.count = count;
+    }
+}
@@ -0,0 +1,266 @@
+package com.liampace.geom.curves;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.Bezier2fc;
+
+/**
+ * An immutable cubic curve. All fields are final and assigned in the
+ * constructor, including the power basis and extrema that {@link Cubic2f}
+ * builds lazily, so an instance can be shared between threads without copies
+ * or locks once it is published through any means.
+ *
+ * @see Cubic2f
+ */
+public final class ImmutableCubic2f implements Bezier2fc {
+
+    private final float x0, y0, x1, y1, x2, y2, x3, y3;
+    // Read-only views of the points, never handed out as mutable vectors
+    private final Vector2fc start, controlA, controlB, end;
+    // Same layout as the cached basis of Cubic2f
+    private final float[] basis = new float[Cubic2f.LENGTH * 2];
+    // Same layout as the cached extrema of Cubic2f
+    private final float[] extrema = new float[4 + Cubic2f.MAX_EXTREMA];
+    private final int extremaX, extremaY, extremaCount;
+
+    public ImmutableCubic2f(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3) {
+        this.x0 = x0;
+        this.y0 = y0;
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+        this.x3 = x3;
+        this.y3 = y3;
+        this.start = new Vector2f(x0, y0);
+        this.controlA = new Vector2f(x1, y1);
+        this.controlB = new Vector2f(x2, y2);
+        this.end = new Vector2f(x3, y3);
+        Cubic2f.powerBasis(x0, x1, x2, x3, basis, 0);
+        Cubic2f.powerBasis(y0, y1, y2, y3, basis, 4);
+        this.extremaX = Cubic2f.Extrema(x0, x1, x2, x3, 0, extrema);
+        this.extremaY = Cubic2f.Extrema(y0, y1, y2, y3, 2, extrema);
+        this.extremaCount = Cubic2f.merge(extrema, 0, extremaX, 2, extremaY, 4);
+    }
+
+    public ImmutableCubic2f(Vector2fc start, Vector2fc controlA, Vector2fc controlB, Vector2fc end) {
+        this(start.x(), start.y(), controlA.x(), controlA.y(), controlB.x(), controlB.y(), end.x(), end.y());
+    }
+
+    public ImmutableCubic2f(Cubic2f other) {
+        this(other.getStart(), other.getControlA(), other.getControlB(), other.getEnd());
+    }
+
+    /**
+     * Creates a mutable copy of this curve.
+     *
+     * @return a new {@link Cubic2f}
+     */
+    public Cubic2f toMutable() {
+        return new Cubic2f(x0, y0, x1, y1, x2, y2, x3, y3);
+    }
+
+    /**
+     * Returns {@code 0}, the points of an immutable curve never change.
+     */
+    @Override
+    public long getVersion() {
+        return 0;
+    }
+
+    /**
+     * Writes the power basis coefficients of the curve.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the coefficients
+     * @return {@code dest}
+     * @see Cubic2f#getCoefficients(int, float[])
+     */
+    public float[] getCoefficients(int index, float[] dest) {
+        System.arraycopy(basis, 0, dest, index, Cubic2f.LENGTH * 2);
+        return dest;
+    }
+
+    @Override
+    public int getLength() {
+        return Cubic2f.LENGTH;
+    }
+
+    @Override
+    public Vector2fc getPoint(int index) {
+        switch (index) {
+            case 0:
+                return start;
+            case 1:
+                return controlA;
+            case 2:
+                return controlB;
+            case 3:
+                return end;
+            default:
+                throw new IndexOutOfBoundsException(
+                        "Expected index in range [0-%s] but recieved: %s".formatted(Cubic2f.LENGTH - 1, index));
+        }
+    }
+
+    public Vector2fc getStart() {
+        return start;
+    }
+    public Vector2fc getControlA() {
+        return controlA;
+    }
+    public Vector2fc getControlB() {
+        return controlB;
+    }
+    public Vector2fc getEnd() {
+        return end;
+    }
+
+    @Override
+    public Vector2f getPosition(float t, Vector2f dest) {
+        return Cubic2f.Interpolate(x0, y0, x1, y1, x2, y2, x3, y3, t, dest);
+    }
+
+    @Override
+    public Vector2f getDerivative(float t, Vector2f dest) {
+        return Quadratic2f.Interpolate(x1 - x0, y1 - y0, x2 - x1, y2 - y1, x3 - x2, y3 - y2, t, dest);
+    }
+
+    @Override
+    public int getInterceptsX(int index, float[] dest) {
+        return Cubic2f.SolveCubicEquation(basis[7], basis[6], basis[5], basis[4], index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(int index, float[] dest) {
+        return Cubic2f.SolveCubicEquation(basis[3], basis[2], basis[1], basis[0], index, dest);
+    }
+
+    @Override
+    public int getInterceptsX(float y, int index, float[] dest) {
+        return Cubic2f.SolveCubicEquation(basis[7], basis[6], basis[5], basis[4] - y, index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(float x, int index, float[] dest) {
+        return Cubic2f.SolveCubicEquation(basis[3], basis[2], basis[1], basis[0] - x, index, dest);
+    }
+
+    @Override
+    public float[] getBounds(int index, float[] dest) {
+        return Cubic2f.Bounds(x0, y0, x1, y1, x2, y2, x3, y3, index, dest);
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which the X
+     * coordinate of this curve turns.
+     *
+     * @see Cubic2f#getExtremaX(int, float[])
+     */
+    public int getExtremaX(int index, float[] dest) {
+        System.arraycopy(extrema, 0, dest, index, extremaX);
+        return extremaX;
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which the Y
+     * coordinate of this curve turns.
+     *
+     * @see Cubic2f#getExtremaY(int, float[])
+     */
+    public int getExtremaY(int index, float[] dest) {
+        System.arraycopy(extrema, 2, dest, index, extremaY);
+        return extremaY;
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which either
+     * coordinate of this curve turns, in ascending order without duplicates.
+     *
+     * @see Cubic2f#getExtrema(int, float[])
+     */
+    public int getExtrema(int index, float[] dest) {
+        System.arraycopy(extrema, 4, dest, index, extremaCount);
+        return extremaCount;
+    }
+
+    /**
+     * Splits this curve at its extrema into pieces that are monotonic in both X
+     * and Y, in order from the start to the end of the curve.
+     *
+     * @param index the position within {@code dest} of the first piece
+     * @param dest  will hold the pieces, needs a curve at each of the
+     *              {@code MAX_EXTREMA + 1} positions starting at {@code index}
+     * @return number of pieces
+     * @see Cubic2f#getMonotonic(int, Cubic2f[])
+     */
+    public int getMonotonic(int index, Cubic2f[] dest) {
+        float t0 = 0;
+        for (int i = 0; i <= extremaCount; i++) {
+            float t1 = i < extremaCount ? extrema[4 + i] : 1;
+            Cubic2f.subCurve(x0, y0, x1, y1, x2, y2, x3, y3, t0, t1, dest[index + i]);
+            t0 = t1;
+        }
+        return extremaCount + 1;
+    }
+
+    /**
+     * Splits this curve at {@code t}. There is no form that keeps a part in this
+     * curve, as {@link Cubic2f#split(float, Cubic2f)} does, since it cannot
+     * change.
+     *
+     * @param t     interpolation factor to split at
+     * @param left  will hold the part in {@code [0, t]}
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public ImmutableCubic2f split(float t, Cubic2f left, Cubic2f right) {
+        Cubic2f.split(x0, y0, x1, y1, x2, y2, x3, y3, t, left, right);
+        return this;
+    }
+
+    /**
+     * Stores the part of this curve between {@code t0} and {@code t1} in
+     * {@code dest}.
+     *
+     * @param t0   interpolation factor of the new start point
+     * @param t1   interpolation factor of the new end point
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Cubic2f subCurve(float t0, float t1, Cubic2f dest) {
+        return Cubic2f.subCurve(x0, y0, x1, y1, x2, y2, x3, y3, t0, t1, dest);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ImmutableCubic2f)) {
+            return false;
+        }
+        ImmutableCubic2f other = (ImmutableCubic2f) obj;
+        return Float.floatToIntBits(x0) == Float.floatToIntBits(other.x0)
+                && Float.floatToIntBits(y0) == Float.floatToIntBits(other.y0)
+                && Float.floatToIntBits(x1) == Float.floatToIntBits(other.x1)
+                && Float.floatToIntBits(y1) == Float.floatToIntBits(other.y1)
+                && Float.floatToIntBits(x2) == Float.floatToIntBits(other.x2)
+                && Float.floatToIntBits(y2) == Float.floatToIntBits(other.y2)
+                && Float.floatToIntBits(x3) == Float.floatToIntBits(other.x3)
+                && Float.floatToIntBits(y3) == Float.floatToIntBits(other.y3);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Float.floatToIntBits(x0);
+        result = 31 * result + Float.floatToIntBits(y0);
+        result = 31 * result + Float.floatToIntBits(x1);
+        result = 31 * result + Float.floatToIntBits(y1);
+        result = 31 * result + Float.floatToIntBits(x2);
+        result = 31 * result + Float.floatToIntBits(y2);
+        result = 31 * result + Float.floatToIntBits(x3);
+        return 31 * result + Float.floatToIntBits(y3);
+    }
+}
@@ -0,0 +1,164 @@
+package com.liampace.geom.curves;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import com.liampace.geom.Bezier2fc;
+
+/**
+ * An immutable line. All fields are final and assigned in the constructor, so
+ * an instance can be shared between threads without copies or locks once it
+ * is published through any means.
+ *
+ * @see Line2f
+ */
+public final class ImmutableLine2f implements Bezier2fc {
+
+    private final float x0, y0, x1, y1;
+    // Read-only views of the points, never handed out as mutable vectors
+    private final Vector2fc start, end;
+
+    public ImmutableLine2f(float x0, float y0, float x1, float y1) {
+        this.x0 = x0;
+        this.y0 = y0;
+        this.x1 = x1;
+        this.y1 = y1;
+        this.start = new Vector2f(x0, y0);
+        this.end = new Vector2f(x1, y1);
+    }
+
+    public ImmutableLine2f(Vector2fc start, Vector2fc end) {
+        this(start.x(), start.y(), end.x(), end.y());
+    }
+
+    public ImmutableLine2f(Line2f other) {
+        this(other.getStart(), other.getEnd());
+    }
+
+    /**
+     * Creates a mutable copy of this line.
+     *
+     * @return a new {@link Line2f}
+     */
+    public Line2f toMutable() {
+        return new Line2f(x0, y0, x1, y1);
+    }
+
+    /**
+     * Returns {@code 0}, the points of an immutable line never change.
+     */
+    @Override
+    public long getVersion() {
+        return 0;
+    }
+
+    @Override
+    public int getLength() {
+        return Line2f.LENGTH;
+    }
+
+    @Override
+    public Vector2fc getPoint(int index) {
+        switch (index) {
+            case 0:
+                return start;
+            case 1:
+                return end;
+            default:
+                throw new IndexOutOfBoundsException(
+                        "Expected index in range [0-%s] but recieved: %s".formatted(Line2f.LENGTH - 1, index));
+        }
+    }
+
+    public Vector2fc getStart() {
+        return start;
+    }
+    public Vector2fc getEnd() {
+        return end;
+    }
+
+    @Override
+    public Vector2f getPosition(float t, Vector2f dest) {
+        return Line2f.Interpolate(x0, y0, x1, y1, t, dest);
+    }
+
+    @Override
+    public Vector2f getDerivative(float t, Vector2f dest) {
+        return dest.set(x1 - x0, y1 - y0);
+    }
+
+    @Override
+    public int getInterceptsX(int index, float[] dest) {
+        return Line2f.solve(y0, y1, index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(int index, float[] dest) {
+        return Line2f.solve(x0, x1, index, dest);
+    }
+
+    @Override
+    public int getInterceptsX(float y, int index, float[] dest) {
+        return Line2f.solve(y0 - y, y1 - y, index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(float x, int index, float[] dest) {
+        return Line2f.solve(x0 - x, x1 - x, index, dest);
+    }
+
+    @Override
+    public float[] getBounds(int index, float[] dest) {
+        return Line2f.Bounds(x0, y0, x1, y1, index, dest);
+    }
+
+    /**
+     * Splits this line at {@code t}. There is no form that keeps a part in this
+     * line, as {@link Line2f#split(float, Line2f)} does, since it cannot change.
+     *
+     * @param t     interpolation factor to split at
+     * @param left  will hold the part in {@code [0, t]}
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public ImmutableLine2f split(float t, Line2f left, Line2f right) {
+        Line2f.split(x0, y0, x1, y1, t, left, right);
+        return this;
+    }
+
+    /**
+     * Stores the part of this line between {@code t0} and {@code t1} in
+     * {@code dest}.
+     *
+     * @param t0   interpolation factor of the new start point
+     * @param t1   interpolation factor of the new end point
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Line2f subCurve(float t0, float t1, Line2f dest) {
+        return Line2f.subCurve(x0, y0, x1, y1, t0, t1, dest);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ImmutableLine2f)) {
+            return false;
+        }
+        ImmutableLine2f other = (ImmutableLine2f) obj;
+        return Float.floatToIntBits(x0) == Float.floatToIntBits(other.x0)
+                && Float.floatToIntBits(y0) == Float.floatToIntBits(other.y0)
+                && Float.floatToIntBits(x1) == Float.floatToIntBits(other.x1)
+                && Float.floatToIntBits(y1) == Float.floatToIntBits(other.y1);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Float.floatToIntBits(x0);
+        result = 31 * result + Float.floatToIntBits(y0);
+        result = 31 * result + Float.floatToIntBits(x1);
+        return 31 * result + Float.floatToIntBits(y1);
+    }
+}
@@ -1,11 +1,14 @@
 package com.liampace.geom.curves;
 
+import jdk.jfr.Event;
+
 import org.joml.Matrix3x2fc;
 import org.joml.Vector2f;
 
 import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Metrics;
 
-public class Line2f implements Bezier2f {
+public final class Line2f implements Bezier2f {
 
     public static final int LENGTH = 2;
 
@@ -38,7 +41,21 @@ public class Line2f implements Bezier2f {
      * @return number of roots
      */
     public static int SolveLinearEquation(float a, float b, int index, float[] dest) {
+        if (!Metrics.ENABLED) {
+            return Line2f.solveLinear(a, b, index, dest);
+        }
+        long start = Metrics.start();
+        Event event = Metrics.beginSolve();
+        int count = Line2f.solveLinear(a, b, index, dest);
+        Metrics.solved(1, count, start, event);
+        return count;
+    }
+
+    static int solveLinear(float a, float b, int index, float[] dest) {
         if (b == 0) {
+            if (Metrics.ENABLED) {
+                Metrics.increment(Metrics.Counter.LINEAR_DEGENERATE);
+            }
             return 0;
         }
         dest[index] = -a / b;
@@ -60,23 +77,99 @@ public class Line2f implements Bezier2f {
         return Line2f.SolveLinearEquation(start, end - start, index, dest);
     }
 
+    /**
+     * Calculates the axis aligned bounding box of a line.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of end point
+     * @param y1    Y coordinate of end point
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public static float[] Bounds(float x0, float y0, float x1, float y1, int index, float[] dest) {
+        dest[index] = Math.min(x0, x1);
+        dest[index + 1] = Math.min(y0, y1);
+        dest[index + 2] = Math.max(x0, x1);
+        dest[index + 3] = Math.max(y0, y1);
+        return dest;
+    }
+
+    /**
+     * Splits a line at {@code t} into two lines meeting at the point at
+     * {@code t}.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of end point
+     * @param y1    Y coordinate of end point
+     * @param t     interpolation factor to split at
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the points of the left line followed by the points
+     *              of the right line, {@code 8} values
+     * @return {@code dest}
+     */
+    public static float[] Split(float x0, float y0, float x1, float y1, float t, int index, float[] dest) {
+        float nt = 1 - t;
+        float mx = x0 * nt + x1 * t, my = y0 * nt + y1 * t;
+        dest[index] = x0;
+        dest[index + 1] = y0;
+        dest[index + 2] = mx;
+        dest[index + 3] = my;
+        dest[index + 4] = mx;
+        dest[index + 5] = my;
+        dest[index + 6] = x1;
+        dest[index + 7] = y1;
+        return dest;
+    }
+
+    /**
+     * Calculates the part of a line between {@code t0} and {@code t1}.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of end point
+     * @param y1    Y coordinate of end point
+     * @param t0    interpolation factor of the new start point
+     * @param t1    interpolation factor of the new end point
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the points of the part, {@code 4} values
+     * @return {@code dest}
+     */
+    public static float[] SubCurve(float x0, float y0, float x1, float y1, float t0, float t1, int index,
+            float[] dest) {
+        dest[index] = x0 * (1 - t0) + x1 * t0;
+        dest[index + 1] = y0 * (1 - t0) + y1 * t0;
+        dest[index + 2] = x0 * (1 - t1) + x1 * t1;
+        dest[index + 3] = y0 * (1 - t1) + y1 * t1;
+        return dest;
+    }
+
     private final Vector2f start, end;
+    private long version;
 
     public Line2f() {
-        this(new Vector2f(), new Vector2f());
+        this(0, 0, 0, 0);
     }
 
     public Line2f(Line2f other) {
         this(other.start, other.end);
     }
 
+    /**
+     * Creates a line through copies of the given points, a point shared with
+     * another curve could otherwise move without changing the version of this
+     * line.
+     */
     public Line2f(Vector2f start, Vector2f end) {
-        this.start = start;
-        this.end = end;
+        this(start.x, start.y, end.x, end.y);
     }
 
     public Line2f(float x0, float y0, float x1, float y1) {
-        this(new Vector2f(x0, y0), new Vector2f(x1, y1));
+        this.start = new Vector2f(x0, y0);
+        this.end = new Vector2f(x1, y1);
     }
 
     public Line2f set(Line2f line) {
@@ -92,6 +185,17 @@ public class Line2f implements Bezier2f {
     public Line2f set(float x0, float y0, float x1, float y1) {
         this.start.set(x0, y0);
         this.end.set(x1, y1);
+        return this.invalidate();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Line2f invalidate() {
+        this.version++;
         return this;
     }
 
@@ -130,6 +234,21 @@ public class Line2f implements Bezier2f {
         return end.sub(start, dest);
     }
 
+    @Override
+    public Vector2f getTangent(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize();
+    }
+
+    @Override
+    public Vector2f getNormalCCW(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize().perpendicular();
+    }
+
+    @Override
+    public Vector2f getNormalCW(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize().perpendicular().negate();
+    }
+
     @Override
     public int getInterceptsX(int index, float[] dest) {
         return Line2f.solve(start.y, end.y, index, dest);
@@ -140,6 +259,93 @@ public class Line2f implements Bezier2f {
         return Line2f.solve(start.x, end.x, index, dest);
     }
 
+    @Override
+    public int getInterceptsX(float y, int index, float[] dest) {
+        return Line2f.solve(start.y - y, end.y - y, index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(float x, int index, float[] dest) {
+        return Line2f.solve(start.x - x, end.x - x, index, dest);
+    }
+
+    @Override
+    public float[] getBounds(int index, float[] dest) {
+        return Line2f.Bounds(start.x, start.y, end.x, end.y, index, dest);
+    }
+
+    /**
+     * Splits this line at {@code t}, storing the part before {@code t} in
+     * {@code left} and the part after it in {@code right}. Either destination may
+     * be this line.
+     *
+     * @param t     interpolation factor to split at
+     * @param left  will hold the part in {@code [0, t]}
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public Line2f split(float t, Line2f left, Line2f right) {
+        Line2f.split(start.x, start.y, end.x, end.y, t, left, right);
+        return this;
+    }
+
+    static void split(float x0, float y0, float x1, float y1, float t, Line2f left, Line2f right) {
+        float nt = 1 - t;
+        float mx = x0 * nt + x1 * t, my = y0 * nt + y1 * t;
+        left.set(x0, y0, mx, my);
+        right.set(mx, my, x1, y1);
+    }
+
+    /**
+     * Splits this line at {@code t}, keeping the part before {@code t} and
+     * storing the part after it in {@code right}.
+     *
+     * @param t     interpolation factor to split at
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public Line2f split(float t, Line2f right) {
+        return this.split(t, this, right);
+    }
+
+    /**
+     * Stores the part of this line between {@code t0} and {@code t1} in
+     * {@code dest}, which may be this line.
+     *
+     * @param t0   interpolation factor of the new start point
+     * @param t1   interpolation factor of the new end point
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Line2f subCurve(float t0, float t1, Line2f dest) {
+        return Line2f.subCurve(start.x, start.y, end.x, end.y, t0, t1, dest);
+    }
+
+    static Line2f subCurve(float x0, float y0, float x1, float y1, float t0, float t1, Line2f dest) {
+        return dest.set(x0 * (1 - t0) + x1 * t0, y0 * (1 - t0) + y1 * t0, x0 * (1 - t1) + x1 * t1,
+                y0 * (1 - t1) + y1 * t1);
+    }
+
+    /**
+     * Shrinks this line to its part between {@code t0} and {@code t1}.
+     *
+     * @param t0 interpolation factor of the new start point
+     * @param t1 interpolation factor of the new end point
+     * @return {@code this}
+     */
+    public Line2f subCurve(float t0, float t1) {
+        return this.subCurve(t0, t1, this);
+    }
+
+    /**
+     * Creates an immutable copy of this line.
+     *
+     * @return a new {@link ImmutableLine2f}
+     */
+    public ImmutableLine2f toImmutable() {
+        return new ImmutableLine2f(this);
+    }
+
     @Override
     protected Line2f clone() {
         return new Line2f(this);
@@ -147,11 +353,21 @@ public class Line2f implements Bezier2f {
 
     @Override
     public Line2f transformPosition(Matrix3x2fc matrix) {
-        return (Line2f)Bezier2f.super.transformPosition(matrix);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        matrix.transformPosition(start);
+        matrix.transformPosition(end);
+        Metrics.transformed(LENGTH, started, event);
+        return this.invalidate();
     }
 
     @Override
     public Line2f transformDirection(Matrix3x2fc matrix) {
-        return (Line2f)Bezier2f.super.transformDirection(matrix);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        matrix.transformDirection(start);
+        matrix.transformDirection(end);
+        Metrics.transformed(LENGTH, started, event);
+        return this.invalidate();
     }
 }
@@ -1,14 +1,24 @@
 package com.liampace.geom.curves;
 
+import jdk.jfr.Event;
+
 import org.joml.Matrix3x2fc;
 import org.joml.Vector2f;
 
 import com.liampace.geom.Bezier2f;
+import com.liampace.geom.Metrics;
+import com.liampace.geom.RootSolver;
 
-public class Quadratic2f implements Bezier2f {
+public final class Quadratic2f implements Bezier2f {
 
     public static final int LENGTH = 3;
 
+    /**
+     * The maximum number of extrema of a quadratic within {@code (0, 1)}, one for
+     * each axis.
+     */
+    public static final int MAX_EXTREMA = 2;
+
     /**
      * Performs a Quadratic Interpolation as defined by
      * {@code (P0)(1-t)^2 + (P1)(2(1-t)t) + (P2)(t^2)}
@@ -35,7 +45,11 @@ public class Quadratic2f implements Bezier2f {
     }
 
     /**
-     * Solves the quadratic equation as defined by {@code ax^2 = bx + c = 0}
+     * Solves the quadratic equation as defined by {@code ax^2 + bx + c = 0} with
+     * {@link RootSolver#solveQuadratic}. Falls back to the linear equation when
+     * {@code a} is negligible next to the other coefficients, which only discards
+     * roots far outside of {@code [0, 1]}, and returns the roots in ascending
+     * order.
      * 
      * @param a     the coefficient of the first term
      * @param b     the coefficient of the second term
@@ -46,20 +60,14 @@ public class Quadratic2f implements Bezier2f {
      * @return number of roots
      */
     public static int SolveQuadraticEquation(float a, float b, float c, int index, float[] dest) {
-        float B = b / a;
-        float C = c / a;
-        float sqrt = B * B - 4 * C;
-        if (sqrt > 0) {
-            sqrt = (float) Math.sqrt(sqrt);
-            dest[index] = 0.5f * (-B + sqrt);
-            dest[index + 1] = 0.5f * (-B - sqrt);
-            return 2;
-        } else if (sqrt == 0) {
-            dest[index] = 0.5f * -B;
-            return 1;
-        } else {
-            return 0;
+        if (!Metrics.ENABLED) {
+            return RootSolver.solveQuadratic(a, b, c, false, index, dest);
         }
+        long start = Metrics.start();
+        Event event = Metrics.beginSolve();
+        int count = RootSolver.solveQuadratic(a, b, c, false, index, dest);
+        Metrics.solved(2, count, start, event);
+        return count;
     }
 
     /**
@@ -75,31 +83,205 @@ public class Quadratic2f implements Bezier2f {
      * @return number of roots
      */
     public static int SolveQuadraticBezier(float start, float control, float end, int index, float[] dest) {
-        return Quadratic2f.SolveQuadraticEquation(start, (control - start) * 2, start - control * 2 + end, index, dest);
+        return Quadratic2f.SolveQuadraticEquation(start - control * 2 + end, (control - start) * 2, start, index, dest);
+    }
+
+    /**
+     * Calculates the tight axis aligned bounding box of a quadratic bezier. The
+     * extrema are found where the derivative, a linear bezier, crosses zero.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of control point
+     * @param y1    Y coordinate of control point
+     * @param x2    X coordinate of end point
+     * @param y2    Y coordinate of end point
+     * @param index the starting position of {@code dest} in which the bounds will
+     *              be written to
+     * @param dest  will hold {@code minX, minY, maxX, maxY}
+     * @return {@code dest}
+     */
+    public static float[] Bounds(float x0, float y0, float x1, float y1, float x2, float y2, int index,
+            float[] dest) {
+        Quadratic2f.Bounds(x0, x1, x2, index, dest);
+        Quadratic2f.Bounds(y0, y1, y2, index + 1, dest);
+        return dest;
+    }
+
+    private static void Bounds(float start, float control, float end, int index, float[] dest) {
+        float min = Math.min(start, end), max = Math.max(start, end);
+        // The curve stays inside the hull of its points, so the extremum only
+        // matters when the control point lies outside of the endpoints
+        if (control < min || control > max) {
+            float t = Quadratic2f.extremum(start, control, end);
+            if (t > 0 && t < 1) {
+                float nt = 1 - t;
+                float value = nt * nt * start + nt * t * 2 * control + t * t * end;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        dest[index] = min;
+        dest[index + 2] = max;
+    }
+
+    /**
+     * Finds the interpolation factors within {@code (0, 1)} at which the X or Y
+     * coordinate of a quadratic bezier turns. Splitting the curve at them leaves
+     * pieces that are monotonic in both X and Y.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of control point
+     * @param y1    Y coordinate of control point
+     * @param x2    X coordinate of end point
+     * @param y2    Y coordinate of end point
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold up to {@link #MAX_EXTREMA} interpolation factors in
+     *              ascending order without duplicates
+     * @return number of extrema found
+     */
+    public static int Extrema(float x0, float y0, float x1, float y1, float x2, float y2, int index, float[] dest) {
+        int count = Quadratic2f.Extrema(x0, x1, x2, index, dest);
+        count += Quadratic2f.Extrema(y0, y1, y2, index + count, dest);
+        return Cubic2f.sortUnique(dest, index, count);
+    }
+
+    /**
+     * Finds the interpolation factor within {@code (0, 1)} at which a 1D
+     * quadratic bezier turns, where its derivative, a linear bezier, crosses
+     * zero.
+     *
+     * @param start   the starting point of the 1D bezier
+     * @param control the control point of the 1D bezier
+     * @param end     the ending point of the 1D bezier
+     * @param index   the starting position of {@code dest}
+     * @param dest    will hold the interpolation factor
+     * @return number of extrema found, {@code 0} or {@code 1}
+     */
+    public static int Extrema(float start, float control, float end, int index, float[] dest) {
+        float t = Quadratic2f.extremum(start, control, end);
+        if (t > 0 && t < 1) {
+            dest[index] = t;
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns where the derivative of a 1D quadratic bezier crosses zero, which
+     * is infinite or NaN when the derivative is constant.
+     */
+    private static float extremum(float start, float control, float end) {
+        return (start - control) / (start - control * 2 + end);
+    }
+
+    /**
+     * Splits a quadratic bezier at {@code t} with de Casteljau's algorithm into
+     * two quadratics meeting at the point at {@code t}.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of control point
+     * @param y1    Y coordinate of control point
+     * @param x2    X coordinate of end point
+     * @param y2    Y coordinate of end point
+     * @param t     interpolation factor to split at
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the points of the left curve followed by the points
+     *              of the right curve, {@code 12} values
+     * @return {@code dest}
+     */
+    public static float[] Split(float x0, float y0, float x1, float y1, float x2, float y2, float t, int index,
+            float[] dest) {
+        float nt = 1 - t;
+        float ax = x0 * nt + x1 * t, ay = y0 * nt + y1 * t;
+        float bx = x1 * nt + x2 * t, by = y1 * nt + y2 * t;
+        float mx = ax * nt + bx * t, my = ay * nt + by * t;
+        dest[index] = x0;
+        dest[index + 1] = y0;
+        dest[index + 2] = ax;
+        dest[index + 3] = ay;
+        dest[index + 4] = mx;
+        dest[index + 5] = my;
+        dest[index + 6] = mx;
+        dest[index + 7] = my;
+        dest[index + 8] = bx;
+        dest[index + 9] = by;
+        dest[index + 10] = x2;
+        dest[index + 11] = y2;
+        return dest;
+    }
+
+    /**
+     * Calculates the part of a quadratic bezier between {@code t0} and
+     * {@code t1}. The points of the part are the blossoms {@code b(t0, t0)},
+     * {@code b(t0, t1)} and {@code b(t1, t1)} of the curve.
+     *
+     * @param x0    X coordinate of start point
+     * @param y0    Y coordinate of start point
+     * @param x1    X coordinate of control point
+     * @param y1    Y coordinate of control point
+     * @param x2    X coordinate of end point
+     * @param y2    Y coordinate of end point
+     * @param t0    interpolation factor of the new start point
+     * @param t1    interpolation factor of the new end point
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the points of the part, {@code 6} values
+     * @return {@code dest}
+     */
+    public static float[] SubCurve(float x0, float y0, float x1, float y1, float x2, float y2, float t0, float t1,
+            int index, float[] dest) {
+        dest[index] = Quadratic2f.blossom(x0, x1, x2, t0, t0);
+        dest[index + 1] = Quadratic2f.blossom(y0, y1, y2, t0, t0);
+        dest[index + 2] = Quadratic2f.blossom(x0, x1, x2, t0, t1);
+        dest[index + 3] = Quadratic2f.blossom(y0, y1, y2, t0, t1);
+        dest[index + 4] = Quadratic2f.blossom(x0, x1, x2, t1, t1);
+        dest[index + 5] = Quadratic2f.blossom(y0, y1, y2, t1, t1);
+        return dest;
+    }
+
+    /**
+     * de Casteljau's algorithm with a different interpolation factor per level.
+     */
+    private static float blossom(float start, float control, float end, float u, float v) {
+        float a = start * (1 - u) + control * u;
+        float b = control * (1 - u) + end * u;
+        return a * (1 - v) + b * v;
     }
 
     private final Vector2f start, control, end;
+    // Power basis of x(t) and y(t), lowest degree first, for the root solves
+    private volatile CurveCache basis;
+    // Extrema of x(t) and y(t), one slot each, followed by both merged
+    private volatile CurveCache extrema;
+    private long version;
 
     public Quadratic2f() {
-        this(new Vector2f(), new Vector2f(), new Vector2f());
+        this(0, 0, 0, 0, 0, 0);
     }
 
     public Quadratic2f(Quadratic2f other) {
         this(other.start, other.control, other.end);
     }
 
+    /**
+     * Creates a curve through copies of the given points, so that the cached
+     * power basis and extrema are never stale because another curve shares and
+     * modifies a point.
+     */
     public Quadratic2f(Vector2f start, Vector2f control, Vector2f end) {
-        this.start = start;
-        this.control = control;
-        this.end = end;
+        this(start.x, start.y, control.x, control.y, end.x, end.y);
     }
 
     public Quadratic2f(float x0, float y0, float x1, float y1, float x2, float y2) {
-        this(new Vector2f(x0, y0), new Vector2f(x1, y1), new Vector2f(x2, y2));
+        this.start = new Vector2f(x0, y0);
+        this.control = new Vector2f(x1, y1);
+        this.end = new Vector2f(x2, y2);
     }
 
     public Quadratic2f set(Quadratic2f other) {
-        return this.set(other.start.x, other.start.y, other.control.x, other.control.y, end.x, end.y);
+        return this.set(other.start.x, other.start.y, other.control.x, other.control.y, other.end.x, other.end.y);
     }
 
     public Quadratic2f set(Vector2f start, Vector2f control, Vector2f end) {
@@ -110,9 +292,34 @@ public class Quadratic2f implements Bezier2f {
         this.start.set(x0, y0);
         this.control.set(x1, y1);
         this.end.set(x2, y2);
+        return this.invalidate();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Quadratic2f invalidate() {
+        this.version++;
         return this;
     }
 
+    /**
+     * Writes the power basis coefficients of the curve, {@code a0, a1, a2} of
+     * {@code x(t) = a0 + a1 t + a2 t^2} followed by the same for {@code y(t)}. The
+     * coefficients are cached until the curve is modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the coefficients
+     * @return {@code dest}
+     */
+    public float[] getCoefficients(int index, float[] dest) {
+        System.arraycopy(this.basis(), 0, dest, index, LENGTH * 2);
+        return dest;
+    }
+
     @Override
     public int getLength() {
         return LENGTH;
@@ -143,6 +350,11 @@ public class Quadratic2f implements Bezier2f {
         return end;
     }
 
+    /**
+     * Evaluates the Bernstein form with {@link #Interpolate} rather than the
+     * cached power basis, which rounds differently, so positions match those of
+     * the batch kernels bit for bit.
+     */
     @Override
     public Vector2f getPosition(float t, Vector2f dest) {
         return Quadratic2f.Interpolate(start.x, start.y, control.x, control.y, end.x, end.y, t, dest);
@@ -154,14 +366,239 @@ public class Quadratic2f implements Bezier2f {
                 dest);
     }
 
+    @Override
+    public Vector2f getTangent(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize();
+    }
+
+    @Override
+    public Vector2f getNormalCCW(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize().perpendicular();
+    }
+
+    @Override
+    public Vector2f getNormalCW(float t, Vector2f dest) {
+        return this.getDerivative(t, dest).normalize().perpendicular().negate();
+    }
+
     @Override
     public int getInterceptsX(int index, float[] dest) {
-        return Quadratic2f.SolveQuadraticBezier(start.y, control.y, end.y, index, dest);
+        float[] b = this.basis();
+        return Quadratic2f.SolveQuadraticEquation(b[5], b[4], b[3], index, dest);
     }
 
     @Override
     public int getInterceptsY(int index, float[] dest) {
-        return Quadratic2f.SolveQuadraticBezier(start.x, control.x, end.x, index, dest);
+        float[] b = this.basis();
+        return Quadratic2f.SolveQuadraticEquation(b[2], b[1], b[0], index, dest);
+    }
+
+    @Override
+    public int getInterceptsX(float y, int index, float[] dest) {
+        float[] b = this.basis();
+        return Quadratic2f.SolveQuadraticEquation(b[5], b[4], b[3] - y, index, dest);
+    }
+
+    @Override
+    public int getInterceptsY(float x, int index, float[] dest) {
+        float[] b = this.basis();
+        return Quadratic2f.SolveQuadraticEquation(b[2], b[1], b[0] - x, index, dest);
+    }
+
+    @Override
+    public float[] getBounds(int index, float[] dest) {
+        return Quadratic2f.Bounds(start.x, start.y, control.x, control.y, end.x, end.y, index, dest);
+    }
+
+    /**
+     * Returns the cached power basis, computing it first if the curve was
+     * modified. A snapshot is never changed after it is published, see
+     * {@link CurveCache}.
+     */
+    private float[] basis() {
+        CurveCache basis = this.basis;
+        long version = this.version;
+        if (basis == null || basis.version != version) {
+            float[] b = new float[LENGTH * 2];
+            Quadratic2f.powerBasis(start.x, control.x, end.x, b, 0);
+            Quadratic2f.powerBasis(start.y, control.y, end.y, b, 3);
+            this.basis = basis = new CurveCache(version, b);
+        }
+        return basis.values;
+    }
+
+    private CurveCache extrema() {
+        CurveCache extrema = this.extrema;
+        long version = this.version;
+        if (extrema == null || extrema.version != version) {
+            float[] e = new float[2 + MAX_EXTREMA];
+            int countX = Quadratic2f.Extrema(start.x, control.x, end.x, 0, e);
+            int countY = Quadratic2f.Extrema(start.y, control.y, end.y, 1, e);
+            int count = Cubic2f.merge(e, 0, countX, 1, countY, 2);
+            this.extrema = extrema = new CurveCache(version, e, countX, countY, count);
+        }
+        return extrema;
+    }
+
+    /**
+     * Writes the coefficients of a 1D quadratic bezier at {@code index}, the same
+     * ones {@link #SolveQuadraticBezier(float, float, float, int, float[])}
+     * derives.
+     */
+    static void powerBasis(float start, float control, float end, float[] dest, int index) {
+        dest[index] = start;
+        dest[index + 1] = (control - start) * 2;
+        dest[index + 2] = start - control * 2 + end;
+    }
+
+    /**
+     * Writes the interpolation factor within {@code (0, 1)} at which the X
+     * coordinate of this curve turns. The extrema are cached until the curve is
+     * modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the interpolation factor
+     * @return number of extrema found, {@code 0} or {@code 1}
+     */
+    public int getExtremaX(int index, float[] dest) {
+        CurveCache e = this.extrema();
+        System.arraycopy(e.values, 0, dest, index, e.countX);
+        return e.countX;
+    }
+
+    /**
+     * Writes the interpolation factor within {@code (0, 1)} at which the Y
+     * coordinate of this curve turns. The extrema are cached until the curve is
+     * modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold the interpolation factor
+     * @return number of extrema found, {@code 0} or {@code 1}
+     */
+    public int getExtremaY(int index, float[] dest) {
+        CurveCache e = this.extrema();
+        System.arraycopy(e.values, 1, dest, index, e.countY);
+        return e.countY;
+    }
+
+    /**
+     * Writes the interpolation factors within {@code (0, 1)} at which either
+     * coordinate of this curve turns, which split it into pieces that are
+     * monotonic in both X and Y. The extrema are cached until the curve is
+     * modified.
+     *
+     * @param index the starting position of {@code dest}
+     * @param dest  will hold up to {@link #MAX_EXTREMA} interpolation factors in
+     *              ascending order without duplicates
+     * @return number of extrema found
+     */
+    public int getExtrema(int index, float[] dest) {
+        CurveCache e = this.extrema();
+        System.arraycopy(e.values, 2, dest, index, e.count);
+        return e.count;
+    }
+
+    /**
+     * Splits this curve at its extrema into pieces that are monotonic in both X
+     * and Y, in order from the start to the end of the curve. {@code dest} may
+     * hold this curve.
+     *
+     * @param index the position within {@code dest} of the first piece
+     * @param dest  will hold the pieces, needs a curve at each of the
+     *              {@code MAX_EXTREMA + 1} positions starting at {@code index}
+     * @return number of pieces
+     */
+    public int getMonotonic(int index, Quadratic2f[] dest) {
+        CurveCache cache = this.extrema();
+        float[] e = cache.values;
+        int count = cache.count;
+        float x0 = start.x, y0 = start.y, x1 = control.x, y1 = control.y, x2 = end.x, y2 = end.y;
+        // A snapshot is never refilled, so it outlives setting this
+        float t0 = 0;
+        for (int i = 0; i <= count; i++) {
+            float t1 = i < count ? e[2 + i] : 1;
+            Quadratic2f.subCurve(x0, y0, x1, y1, x2, y2, t0, t1, dest[index + i]);
+            t0 = t1;
+        }
+        return count + 1;
+    }
+
+    /**
+     * Splits this curve at {@code t}, storing the part before {@code t} in
+     * {@code left} and the part after it in {@code right}. Either destination may
+     * be this curve.
+     *
+     * @param t     interpolation factor to split at
+     * @param left  will hold the part in {@code [0, t]}
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public Quadratic2f split(float t, Quadratic2f left, Quadratic2f right) {
+        Quadratic2f.split(start.x, start.y, control.x, control.y, end.x, end.y, t, left, right);
+        return this;
+    }
+
+    static void split(float x0, float y0, float x1, float y1, float x2, float y2, float t, Quadratic2f left,
+            Quadratic2f right) {
+        float nt = 1 - t;
+        float ax = x0 * nt + x1 * t, ay = y0 * nt + y1 * t;
+        float bx = x1 * nt + x2 * t, by = y1 * nt + y2 * t;
+        float mx = ax * nt + bx * t, my = ay * nt + by * t;
+        left.set(x0, y0, ax, ay, mx, my);
+        right.set(mx, my, bx, by, x2, y2);
+    }
+
+    /**
+     * Splits this curve at {@code t}, keeping the part before {@code t} and
+     * storing the part after it in {@code right}.
+     *
+     * @param t     interpolation factor to split at
+     * @param right will hold the part in {@code [t, 1]}
+     * @return {@code this}
+     */
+    public Quadratic2f split(float t, Quadratic2f right) {
+        return this.split(t, this, right);
+    }
+
+    /**
+     * Stores the part of this curve between {@code t0} and {@code t1} in
+     * {@code dest}, which may be this curve.
+     *
+     * @param t0   interpolation factor of the new start point
+     * @param t1   interpolation factor of the new end point
+     * @param dest will hold the result
+     * @return {@code dest}
+     */
+    public Quadratic2f subCurve(float t0, float t1, Quadratic2f dest) {
+        return Quadratic2f.subCurve(start.x, start.y, control.x, control.y, end.x, end.y, t0, t1, dest);
+    }
+
+    static Quadratic2f subCurve(float x0, float y0, float x1, float y1, float x2, float y2, float t0,
+            float t1, Quadratic2f dest) {
+        return dest.set(
+                Quadratic2f.blossom(x0, x1, x2, t0, t0), Quadratic2f.blossom(y0, y1, y2, t0, t0),
+                Quadratic2f.blossom(x0, x1, x2, t0, t1), Quadratic2f.blossom(y0, y1, y2, t0, t1),
+                Quadratic2f.blossom(x0, x1, x2, t1, t1), Quadratic2f.blossom(y0, y1, y2, t1, t1));
+    }
+
+    /**
+     * Shrinks this curve to its part between {@code t0} and {@code t1}.
+     *
+     * @param t0 interpolation factor of the new start point
+     * @param t1 interpolation factor of the new end point
+     * @return {@code this}
+     */
+    public Quadratic2f subCurve(float t0, float t1) {
+        return this.subCurve(t0, t1, this);
+    }
+
+    /**
+     * Creates an immutable copy of this curve.
+     *
+     * @return a new {@link ImmutableQuadratic2f}
+     */
+    public ImmutableQuadratic2f toImmutable() {
+        return new ImmutableQuadratic2f(this);
     }
 
     @Override
@@ -171,11 +608,23 @@ public class Quadratic2f implements Bezier2f {
 
     @Override
     public Quadratic2f transformPosition(Matrix3x2fc matrix) {
-        return (Quadratic2f)Bezier2f.super.transformPosition(matrix);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        matrix.transformPosition(start);
+        matrix.transformPosition(control);
+        matrix.transformPosition(end);
+        Metrics.transformed(LENGTH, started, event);
+        return this.invalidate();
     }
 
     @Override
     public Quadratic2f transformDirection(Matrix3x2fc matrix) {
-        return (Quadratic2f)Bezier2f.super.transformDirection(matrix);
+        long started = Metrics.start();
+        Event event = Metrics.beginTransform();
+        matrix.transformDirection(start);
+        matrix.transformDirection(control);
+        matrix.transformDirection(end);
+        Metrics.transformed(LENGTH, started, event);
+        return this.invalidate();
     }
 }
@@ -0,0 +1,119 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares the table against the length of a dense polyline through the curve
+ * and checks that distances and interpolation factors map back onto each
+ * other.
+ */
+class ArcLength2fTest {
+
+    private static final int SAMPLES = 10_000;
+
+    /**
+     * The length of the polyline through {@code samples + 1} uniform samples
+     * between {@code 0} and {@code t}.
+     */
+    private static double polyline(Bezier2fc curve, float t, int samples) {
+        Vector2f previous = curve.getPosition(0, new Vector2f()), temp = new Vector2f();
+        double length = 0;
+        for (int i = 1; i <= samples; i++) {
+            curve.getPosition(t * i / samples, temp);
+            length += Math.hypot(temp.x - previous.x, temp.y - previous.y);
+            previous.set(temp);
+        }
+        return length;
+    }
+
+    @Test
+    void lengthMatchesADensePolyline() {
+        Random random = new Random(0xA2C1);
+        float[] p = new float[8];
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10;
+            }
+            for (Bezier2fc curve : new Bezier2fc[] { new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]),
+                    new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]) }) {
+                ArcLength2f table = new ArcLength2f(curve);
+                double expected = polyline(curve, 1, SAMPLES);
+                assertEquals(expected, table.getLength(), expected * 1e-4, curve.toString());
+                // Partial distances interpolate inside an interval
+                assertEquals(polyline(curve, 0.3f, SAMPLES), table.getDistance(0.3f), expected * 1e-3,
+                        curve.toString());
+            }
+        }
+        // A cusp, where the speed drops to zero halfway
+        Cubic2f cusp = new Cubic2f(0, 0, 3, 2, 0, 2, 3, 0);
+        double expected = polyline(cusp, 1, SAMPLES);
+        assertEquals(expected, new ArcLength2f(cusp, 256).getLength(), expected * 1e-4);
+    }
+
+    @Test
+    void lineIsMeasuredExactly() {
+        Line2f line = new Line2f(1, 2, 4, 6);
+        ArcLength2f table = new ArcLength2f(line, 8);
+        assertEquals(5, table.getLength(), 1e-5f);
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i <= 20; i++) {
+            float t = i / 20f;
+            assertEquals(5 * t, table.getDistance(t), 1e-5f);
+            assertEquals(t, table.getT(5 * t), 1e-5f);
+            table.getPosition(5 * t, temp);
+            assertEquals(1 + 3 * t, temp.x, 1e-5f);
+            assertEquals(2 + 4 * t, temp.y, 1e-5f);
+        }
+    }
+
+    @Test
+    void factorsAndDistancesMapBackOntoEachOther() {
+        Cubic2f cubic = new Cubic2f(0, 0, 10, 30, 20, -30, 30, 0);
+        ArcLength2f table = new ArcLength2f(cubic, 128);
+        float length = table.getLength(), previous = -1;
+        for (int i = 0; i <= 1000; i++) {
+            float distance = length * i / 1000;
+            float t = table.getT(distance);
+            // Distances increase with the factor
+            assertTrue(t >= previous, "t at " + distance);
+            assertEquals(distance, table.getDistance(t), length * 1e-5f, "distance at " + t);
+            previous = t;
+        }
+        // Distances outside the curve clamp to its ends
+        assertEquals(0, table.getT(-1));
+        assertEquals(0, table.getT(Float.NaN));
+        assertEquals(1, table.getT(length * 2));
+        assertEquals(0, table.getDistance(-1));
+        assertEquals(length, table.getDistance(2));
+    }
+
+    @Test
+    void tableFollowsTheCurve() {
+        Line2f line = new Line2f(0, 0, 3, 4);
+        ArcLength2f table = new ArcLength2f(line);
+        assertSame(line, table.getCurve());
+        assertEquals(ArcLength2f.DEFAULT_RESOLUTION, table.getResolution());
+        assertEquals(5, table.getLength(), 1e-5f);
+        // Modifying the curve changes its version, which rebuilds the table
+        line.set(0, 0, 6, 8);
+        assertEquals(10, table.getLength(), 1e-5f);
+        // Edits in place are only seen once invalidated
+        line.getPoint(1).set(0, 5);
+        assertEquals(10, table.getLength(), 1e-5f);
+        line.invalidate();
+        assertEquals(5, table.getLength(), 1e-5f);
+        assertThrows(IllegalArgumentException.class, () -> new ArcLength2f(line, 0));
+    }
+}
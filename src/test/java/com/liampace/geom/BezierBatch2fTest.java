@@ -0,0 +1,184 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares every bulk operation of a batch against the same call on the
+ * {@link Line2f}, {@link Quadratic2f} and {@link Cubic2f} it was filled with,
+ * which share the kernels and so must agree bit for bit.
+ */
+class BezierBatch2fTest {
+
+    private static final int CURVES = 300;
+
+    /**
+     * Random curves of every degree in turn, appended to {@code batch} through
+     * the add method of their degree.
+     */
+    private static Bezier2f[] fill(Random random, BezierBatch2f batch) {
+        Bezier2f[] curves = new Bezier2f[CURVES];
+        float[] p = new float[8];
+        for (int i = 0; i < CURVES; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10 - 5;
+            }
+            switch (i % 3) {
+                case 0:
+                    curves[i] = new Line2f(p[0], p[1], p[2], p[3]);
+                    assertEquals(i, batch.addLine(p[0], p[1], p[2], p[3]));
+                    break;
+                case 1:
+                    curves[i] = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+                    assertEquals(i, batch.addQuadratic(p[0], p[1], p[2], p[3], p[4], p[5]));
+                    break;
+                default:
+                    curves[i] = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+                    assertEquals(i, batch.addCubic(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]));
+                    break;
+            }
+        }
+        return curves;
+    }
+
+    private static void assertSamePoints(Bezier2fc expected, BezierBatch2f batch, int curve) {
+        Vector2f temp = new Vector2f();
+        assertEquals(expected.getLength(), batch.getLength(curve), "curve " + curve);
+        assertEquals(expected.getLength() - 1, batch.getDegree(curve), "curve " + curve);
+        for (int i = 0; i < expected.getLength(); i++) {
+            assertEquals(expected.getPoint(i), batch.getPoint(curve, i, temp), "curve " + curve);
+        }
+    }
+
+    @Test
+    void addedCurvesKeepTheirPointsAndOffsets() {
+        BezierBatch2f batch = new BezierBatch2f(4);
+        Bezier2f[] curves = fill(new Random(0xADD0), batch);
+        // Adding a copy lays the curves out the same as the add method of each degree
+        BezierBatch2f copies = new BezierBatch2f();
+        int offset = 0;
+        for (int i = 0; i < CURVES; i++) {
+            assertEquals(i, copies.add(curves[i]));
+            assertEquals(offset, batch.getOffset(i));
+            assertEquals(offset, copies.getOffset(i));
+            assertSamePoints(curves[i], batch, i);
+            assertSamePoints(curves[i], copies, i);
+            assertSamePoints(batch.get(i), batch, i);
+            assertEquals(curves[i].getClass(), batch.get(i).getClass());
+            offset += curves[i].getLength();
+        }
+        assertEquals(CURVES, batch.size());
+        assertEquals(offset, batch.getPointCount());
+        // Overwriting keeps the offsets of the following curves
+        Quadratic2f quadratic = new Quadratic2f(1, 2, 3, 4, 5, 6);
+        batch.set(1, quadratic);
+        assertSamePoints(quadratic, batch, 1);
+        assertSamePoints(curves[2], batch, 2);
+        assertEquals(copies.getOffset(2), batch.getOffset(2));
+        assertThrows(IllegalArgumentException.class, () -> batch.set(0, quadratic));
+        assertEquals(0, batch.clear().size());
+        assertEquals(0, batch.getPointCount());
+    }
+
+    @Test
+    void bulkEvaluationMatchesTheCurves() {
+        BezierBatch2f batch = new BezierBatch2f();
+        Bezier2f[] curves = fill(new Random(0xE7A1), batch);
+        float[] t = new float[CURVES];
+        Random random = new Random(0x7E57);
+        for (int i = 0; i < t.length; i++) {
+            t[i] = random.nextFloat();
+        }
+        int from = 7, to = CURVES - 5;
+        float[] positions = new float[3 + CURVES * 2], expected = new float[3 + CURVES * 2];
+        float[] derivatives = new float[3 + CURVES * 2], expectedDerivatives = new float[3 + CURVES * 2];
+        float[] each = new float[3 + CURVES * 2], expectedEach = new float[3 + CURVES * 2];
+        Vector2f temp = new Vector2f();
+        for (int i = from, d = 3; i < to; i++, d += 2) {
+            curves[i].getPosition(0.37f, temp);
+            expected[d] = temp.x;
+            expected[d + 1] = temp.y;
+            curves[i].getDerivative(0.37f, temp);
+            expectedDerivatives[d] = temp.x;
+            expectedDerivatives[d + 1] = temp.y;
+            curves[i].getPosition(t[i], temp);
+            expectedEach[d] = temp.x;
+            expectedEach[d + 1] = temp.y;
+            // The single curve overloads agree too
+            assertEquals(curves[i].getPosition(t[i], new Vector2f()), batch.getPosition(i, t[i], temp));
+            assertEquals(curves[i].getDerivative(t[i], new Vector2f()), batch.getDerivative(i, t[i], temp));
+        }
+        assertEquals((to - from) * 2, batch.getPosition(from, to, 0.37f, 3, positions));
+        assertArrayEquals(expected, positions);
+        assertEquals((to - from) * 2, batch.getDerivative(from, to, 0.37f, 3, derivatives));
+        assertArrayEquals(expectedDerivatives, derivatives);
+        assertEquals((to - from) * 2, batch.getPosition(from, to, from, t, 3, each));
+        assertArrayEquals(expectedEach, each);
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getPosition(0, CURVES + 1, 0, 0, positions));
+    }
+
+    @Test
+    void boundsAndInterceptsMatchTheCurves() {
+        BezierBatch2f batch = new BezierBatch2f();
+        Bezier2f[] curves = fill(new Random(0xB0D5), batch);
+        float[] bounds = new float[CURVES * 4], expectedBounds = new float[CURVES * 4];
+        for (int axis = 0; axis < 2; axis++) {
+            float[] roots = new float[1 + CURVES * BezierBatch2f.MAX_ROOTS];
+            float[] expectedRoots = new float[1 + CURVES * BezierBatch2f.MAX_ROOTS];
+            int[] counts = new int[CURVES], expectedCounts = new int[CURVES];
+            int total = 0;
+            for (int i = 0; i < CURVES; i++) {
+                int r = 1 + i * BezierBatch2f.MAX_ROOTS;
+                expectedCounts[i] = axis == 0 ? curves[i].getInterceptsX(r, expectedRoots)
+                        : curves[i].getInterceptsY(r, expectedRoots);
+                total += expectedCounts[i];
+                float[] single = new float[BezierBatch2f.MAX_ROOTS];
+                assertEquals(expectedCounts[i], axis == 0 ? batch.getInterceptsX(i, 0, single)
+                        : batch.getInterceptsY(i, 0, single));
+                assertArrayEquals(Arrays.copyOfRange(expectedRoots, r, r + BezierBatch2f.MAX_ROOTS),
+                        single);
+            }
+            assertEquals(total, axis == 0 ? batch.getInterceptsX(0, CURVES, 1, roots, 0, counts)
+                    : batch.getInterceptsY(0, CURVES, 1, roots, 0, counts), "axis " + axis);
+            assertArrayEquals(expectedCounts, counts, "axis " + axis);
+            assertArrayEquals(expectedRoots, roots, "axis " + axis);
+        }
+        for (int i = 0; i < CURVES; i++) {
+            curves[i].getBounds(i * 4, expectedBounds);
+        }
+        assertEquals(CURVES * 4, batch.getBounds(0, CURVES, 0, bounds));
+        assertArrayEquals(expectedBounds, bounds);
+    }
+
+    @Test
+    void transformsMatchTheCurves() {
+        BezierBatch2f batch = new BezierBatch2f();
+        Bezier2f[] curves = fill(new Random(0x7F5F), batch);
+        Matrix3x2f matrix = new Matrix3x2f().translation(3, -2).rotate(0.7f).scale(1.5f, 0.5f);
+        // Only the curves in range move
+        batch.transformPosition(10, 20, matrix);
+        for (int i = 0; i < CURVES; i++) {
+            if (i >= 10 && i < 20) {
+                curves[i].transformPosition(matrix);
+            }
+            assertSamePoints(curves[i], batch, i);
+        }
+        batch.transformDirection(matrix);
+        for (int i = 0; i < CURVES; i++) {
+            curves[i].transformDirection(matrix);
+            assertSamePoints(curves[i], batch, i);
+        }
+    }
+}
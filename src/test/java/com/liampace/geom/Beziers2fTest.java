@@ -0,0 +1,159 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares every bulk operation, on enough curves to be split into many tasks
+ * of a pool with several workers, against the same operation on each curve in
+ * turn.
+ */
+class Beziers2fTest {
+
+    private static final int CURVES = Beziers2f.MIN_GRAIN * 10 + 3;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private static Bezier2f[] curves(long seed) {
+        Random random = new Random(seed);
+        Bezier2f[] curves = new Bezier2f[CURVES];
+        float[] p = new float[8];
+        for (int i = 0; i < curves.length; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10 - 5;
+            }
+            switch (i % 3) {
+                case 0:
+                    curves[i] = new Line2f(p[0], p[1], p[2], p[3]);
+                    break;
+                case 1:
+                    curves[i] = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+                    break;
+                default:
+                    curves[i] = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+                    break;
+            }
+        }
+        return curves;
+    }
+
+    private static float[] random(Random random, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextFloat();
+        }
+        return values;
+    }
+
+    private static float[] points(Bezier2fc[] curves) {
+        float[] points = new float[curves.length * 8];
+        for (int i = 0; i < curves.length; i++) {
+            for (int j = 0; j < curves[i].getLength(); j++) {
+                points[i * 8 + j * 2] = curves[i].getPoint(j).x();
+                points[i * 8 + j * 2 + 1] = curves[i].getPoint(j).y();
+            }
+        }
+        return points;
+    }
+
+    @Test
+    void evaluationMatchesEachCurveInTurn() {
+        Bezier2f[] curves = curves(0xB2F0);
+        float[] t = random(new Random(0x7AC0), CURVES + 1);
+        float[] positions = new float[1 + CURVES * 2], perCurve = new float[1 + CURVES * 2];
+        float[] derivatives = new float[1 + CURVES * 2], perCurveDerivatives = new float[1 + CURVES * 2];
+        float[] uniform = new float[1 + CURVES * 2], perCurveUniform = new float[1 + CURVES * 2];
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < CURVES; i++) {
+            curves[i].getPosition(t[1 + i], temp);
+            perCurve[1 + i * 2] = temp.x;
+            perCurve[2 + i * 2] = temp.y;
+            curves[i].getPosition(0.3f, temp);
+            perCurveUniform[1 + i * 2] = temp.x;
+            perCurveUniform[2 + i * 2] = temp.y;
+            curves[i].getDerivative(0.3f, temp);
+            perCurveDerivatives[1 + i * 2] = temp.x;
+            perCurveDerivatives[2 + i * 2] = temp.y;
+        }
+        assertArrayEquals(perCurve, Beziers2f.getPosition(curves, 1, t, 1, positions, pool));
+        assertArrayEquals(perCurveUniform, Beziers2f.getPosition(curves, 0.3f, 1, uniform, pool));
+        assertArrayEquals(perCurveDerivatives, Beziers2f.getDerivative(curves, 0.3f, 1, derivatives, pool));
+        // Lists without random access are copied but give the same results
+        Arrays.fill(uniform, 0);
+        Beziers2f.getPosition(new LinkedList<>(Arrays.asList(curves)), 0.3f, 1, uniform, pool);
+        assertArrayEquals(perCurveUniform, uniform);
+    }
+
+    @Test
+    void boundsAndProjectionsMatchEachCurveInTurn() {
+        Bezier2f[] curves = curves(0x80B5);
+        float[] points = random(new Random(0x9E0A), CURVES * 2);
+        float[] bounds = new float[CURVES * 4], perCurveBounds = new float[CURVES * 4];
+        float[] projected = new float[CURVES], perCurveProjected = new float[CURVES];
+        float[] projectedEach = new float[CURVES], perCurveProjectedEach = new float[CURVES];
+        Projection2f projection = new Projection2f();
+        for (int i = 0; i < CURVES; i++) {
+            Beziers2f.getBounds(curves[i], i * 4, perCurveBounds);
+            perCurveProjected[i] = projection.project(curves[i], 0.5f, -0.25f).getT();
+            perCurveProjectedEach[i] = projection.project(curves[i], points[i * 2], points[i * 2 + 1]).getT();
+        }
+        assertArrayEquals(perCurveBounds, Beziers2f.getBounds(curves, 0, bounds, pool));
+        assertArrayEquals(perCurveProjected, Beziers2f.project(curves, 0.5f, -0.25f, 0, projected, pool));
+        assertArrayEquals(perCurveProjectedEach, Beziers2f.project(curves, 0, points, 0, projectedEach, pool));
+    }
+
+    @Test
+    void interceptsMatchEachCurveInTurn() {
+        Bezier2f[] curves = curves(0x1A7E);
+        int stride = Beziers2f.MAX_ROOTS;
+        for (int axis = 0; axis < 2; axis++) {
+            float[] roots = new float[CURVES * stride], perCurveRoots = new float[CURVES * stride];
+            int[] counts = new int[1 + CURVES], perCurveCounts = new int[1 + CURVES];
+            int total = 0;
+            for (int i = 0; i < CURVES; i++) {
+                perCurveCounts[1 + i] = axis == 0 ? Beziers2f.getInterceptsX(curves[i], i * stride, perCurveRoots)
+                        : Beziers2f.getInterceptsY(curves[i], i * stride, perCurveRoots);
+                total += perCurveCounts[1 + i];
+            }
+            assertEquals(total, axis == 0 ? Beziers2f.getInterceptsX(curves, 0, roots, 1, counts, pool)
+                    : Beziers2f.getInterceptsY(curves, 0, roots, 1, counts, pool), "axis " + axis);
+            assertArrayEquals(perCurveCounts, counts, "axis " + axis);
+            assertArrayEquals(perCurveRoots, roots, "axis " + axis);
+        }
+    }
+
+    @Test
+    void transformsMatchEachCurveInTurn() {
+        Bezier2f[] curves = curves(0x7F0A), perCurve = curves(0x7F0A);
+        Matrix3x2f matrix = new Matrix3x2f().translation(3, -2).rotate(0.7f).scale(1.5f, 0.5f);
+        Beziers2f.transformPosition(curves, matrix, pool);
+        for (Bezier2f curve : perCurve) {
+            curve.transformPosition(matrix);
+        }
+        assertArrayEquals(points(perCurve), points(curves));
+        Beziers2f.transformDirection(curves, matrix, pool);
+        for (Bezier2f curve : perCurve) {
+            curve.transformDirection(matrix);
+        }
+        assertArrayEquals(points(perCurve), points(curves));
+    }
+}
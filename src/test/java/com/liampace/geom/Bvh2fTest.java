@@ -0,0 +1,156 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares every query against a scan over all curves, on random curves and
+ * again after the curves have moved and the hierarchy has been refit.
+ */
+class Bvh2fTest {
+
+    private static final int CURVES = 300;
+    private static final int QUERIES = 200;
+    private static final float WORLD = 100;
+
+    /**
+     * Random points around a random centre, so the curves have a size of up to
+     * {@code spread}.
+     */
+    private static float[] points(Random random, float spread) {
+        float x = random.nextFloat() * WORLD, y = random.nextFloat() * WORLD;
+        float[] p = new float[8];
+        for (int i = 0; i < p.length; i += 2) {
+            p[i] = x + (random.nextFloat() - 0.5f) * spread;
+            p[i + 1] = y + (random.nextFloat() - 0.5f) * spread;
+        }
+        return p;
+    }
+
+    private static Bezier2f[] curves(Random random) {
+        Bezier2f[] curves = new Bezier2f[CURVES];
+        for (int i = 0; i < curves.length; i++) {
+            float[] p = points(random, 10);
+            switch (i % 3) {
+                case 0:
+                    curves[i] = new Line2f(p[0], p[1], p[2], p[3]);
+                    break;
+                case 1:
+                    curves[i] = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+                    break;
+                default:
+                    curves[i] = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+                    break;
+            }
+        }
+        return curves;
+    }
+
+    /**
+     * Moves the curve to new random points of the same size.
+     */
+    private static void move(Bezier2f curve, Random random) {
+        float[] p = points(random, 10);
+        if (curve instanceof Line2f line) {
+            line.set(p[0], p[1], p[2], p[3]);
+        } else if (curve instanceof Quadratic2f quadratic) {
+            quadratic.set(p[0], p[1], p[2], p[3], p[4], p[5]);
+        } else {
+            ((Cubic2f) curve).set(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+        }
+    }
+
+    private static int[] sorted(int count, int[] indices) {
+        int[] result = Arrays.copyOf(indices, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static int[] scan(Bezier2fc[] curves, float minX, float minY, float maxX, float maxY) {
+        float[] bounds = new float[4];
+        int[] found = new int[curves.length];
+        int count = 0;
+        for (int i = 0; i < curves.length; i++) {
+            curves[i].getBounds(0, bounds);
+            if (bounds[0] <= maxX && bounds[1] <= maxY && bounds[2] >= minX && bounds[3] >= minY) {
+                found[count++] = i;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private static void assertQueries(Bvh2f bvh, Bezier2fc[] curves, Random random) {
+        int[] found = new int[curves.length];
+        Projection2f projection = new Projection2f(), scan = new Projection2f();
+        for (int q = 0; q < QUERIES; q++) {
+            float x = random.nextFloat() * WORLD * 1.2f - WORLD * 0.1f;
+            float y = random.nextFloat() * WORLD * 1.2f - WORLD * 0.1f;
+            int count = bvh.queryPoint(x, y, 0, found);
+            assertArrayEquals(scan(curves, x, y, x, y), sorted(count, found), "point " + q);
+            float w = random.nextFloat() * 20, h = random.nextFloat() * 20;
+            count = bvh.queryRectangle(x, y, x + w, y + h, 0, found);
+            assertArrayEquals(scan(curves, x, y, x + w, y + h), sorted(count, found),
+                    "rectangle " + q);
+            float best = Float.POSITIVE_INFINITY;
+            for (Bezier2fc curve : curves) {
+                best = Math.min(best, scan.project(curve, x, y).getDistanceSquared());
+            }
+            int nearest = bvh.nearest(x, y, projection);
+            // Ties between curves may be broken either way, the distance may not
+            assertEquals(best, projection.getDistanceSquared(), 0, "nearest " + q);
+            assertEquals(best, scan.project(curves[nearest], x, y).getDistanceSquared(), 0, "nearest " + q);
+        }
+    }
+
+    @Test
+    void queriesMatchAScanOverEveryCurve() {
+        Random random = new Random(0xB7F2);
+        Bezier2f[] curves = curves(random);
+        for (int leafSize : new int[] { 1, Bvh2f.DEFAULT_LEAF_SIZE, 16 }) {
+            assertQueries(new Bvh2f(curves, leafSize), curves, random);
+        }
+    }
+
+    @Test
+    void queriesMatchAScanAfterRefit() {
+        Random random = new Random(0x5EF1);
+        Bezier2f[] curves = curves(random);
+        Bvh2f bvh = new Bvh2f(curves);
+        for (Bezier2f curve : curves) {
+            move(curve, random);
+        }
+        assertQueries(bvh.refit(), curves, random);
+    }
+
+    @Test
+    void queriesMatchAScanAfterRefittingSingleCurves() {
+        Random random = new Random(0x51C6);
+        Bezier2f[] curves = curves(random);
+        Bvh2f bvh = new Bvh2f(curves);
+        for (int i = 0; i < CURVES; i += 7) {
+            move(curves[i], random);
+            bvh.refit(i);
+        }
+        assertQueries(bvh, curves, random);
+        // Refitting single curves leaves the same bounds as a full refit
+        float[] bounds = bvh.getBounds(0, new float[4]);
+        assertArrayEquals(bounds, bvh.refit().getBounds(0, new float[4]));
+    }
+
+    @Test
+    void emptyHierarchyFindsNothing() {
+        Bvh2f bvh = new Bvh2f(new Bezier2fc[0]);
+        assertEquals(0, bvh.queryPoint(0, 0, 0, new int[0]));
+        assertEquals(0, bvh.queryRectangle(-1, -1, 1, 1, 0, new int[0]));
+        assertEquals(-1, bvh.nearest(0, 0, new Projection2f()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+
+class CurveFile2fTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write() throws IOException {
+        Path path = directory.resolve("curves.bcf");
+        try (CurveFileWriter2f writer = new CurveFileWriter2f(path)) {
+            writer.add(new Line2f(0, 0, 1, 1));
+            writer.add(new Cubic2f(0, 0, 1, 2, 3, 2, 4, 0));
+        }
+        return path;
+    }
+
+    /**
+     * Overwrites entry {@code entry} of the index of the file at {@code path}.
+     */
+    private static void corrupt(Path path, int entry, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(CurveFile2f.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value);
+            channel.write(bytes, header.getLong(24) + (long) entry * Integer.BYTES);
+        }
+    }
+
+    @Test
+    void openReadsTheLengthOfEachCurve() throws IOException {
+        try (CurveFile2f file = CurveFile2f.open(this.write())) {
+            assertEquals(2, file.getCount());
+            assertEquals(Line2f.LENGTH, file.getLength(0));
+            assertEquals(Cubic2f.LENGTH, file.getLength(1));
+        }
+    }
+
+    @Test
+    void openRejectsCurvesWithTooManyPoints() throws IOException {
+        Path path = this.write();
+        // The line now spans the coordinates of both curves
+        CurveFile2fTest.corrupt(path, 1, 12);
+        assertThrows(IOException.class, () -> CurveFile2f.open(path).close());
+    }
+
+    @Test
+    void openRejectsCurvesWithTooFewPoints() throws IOException {
+        Path path = this.write();
+        CurveFile2fTest.corrupt(path, 1, 2);
+        assertThrows(IOException.class, () -> CurveFile2f.open(path).close());
+    }
+}
@@ -0,0 +1,179 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.ImmutableCubic2f;
+import com.liampace.geom.curves.ImmutableLine2f;
+import com.liampace.geom.curves.ImmutableQuadratic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Checks that pooled curves are handed out in stack order and reused, and that
+ * splitting into them reparameterizes the original curve.
+ */
+class CurvePool2fTest {
+
+    private static final float EPSILON = 1e-4f;
+
+    private static float[] points(Bezier2fc curve) {
+        float[] points = new float[curve.getLength() * 2];
+        for (int i = 0; i < curve.getLength(); i++) {
+            points[i * 2] = curve.getPoint(i).x();
+            points[i * 2 + 1] = curve.getPoint(i).y();
+        }
+        return points;
+    }
+
+    /**
+     * Asserts that {@code part} traces {@code curve} from {@code t0} to
+     * {@code t1}.
+     */
+    private static void assertPart(Bezier2fc curve, float t0, float t1, Bezier2fc part) {
+        Vector2f expected = new Vector2f(), actual = new Vector2f();
+        for (int i = 0; i <= 16; i++) {
+            float u = i / 16f;
+            curve.getPosition(t0 + (t1 - t0) * u, expected);
+            part.getPosition(u, actual);
+            assertEquals(expected.x, actual.x, EPSILON, "%s at %s of [%s, %s]".formatted(curve, u, t0, t1));
+            assertEquals(expected.y, actual.y, EPSILON, "%s at %s of [%s, %s]".formatted(curve, u, t0, t1));
+        }
+    }
+
+    @Test
+    void releasedCurvesAreReused() {
+        CurvePool2f pool = new CurvePool2f(1);
+        assertEquals(0, pool.mark());
+        Cubic2f cubic = pool.cubic();
+        int mark = pool.mark();
+        Quadratic2f quadratic = pool.quadratic();
+        Line2f line = pool.line();
+        // Borrowing past the capacity grows the pool
+        assertEquals(3, pool.mark());
+        pool.release(mark);
+        assertSame(quadratic, pool.quadratic());
+        assertSame(line, pool.line());
+        // A slot holding another type is given a curve of the requested type
+        pool.release(mark);
+        Cubic2f replaced = pool.cubic();
+        assertNotSame(cubic, replaced);
+        pool.release(mark);
+        assertSame(replaced, pool.cubic());
+        pool.release(0);
+        assertSame(cubic, pool.cubic());
+        assertThrows(IllegalArgumentException.class, () -> pool.release(-1));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(pool.mark() + 1));
+        assertThrows(IllegalArgumentException.class, () -> new CurvePool2f(0));
+    }
+
+    @Test
+    void copiesKeepTypeAndPoints() {
+        CurvePool2f pool = new CurvePool2f();
+        Bezier2fc[] curves = { new Line2f(1, 2, 3, 4), new Quadratic2f(1, 2, 3, 4, 5, 6),
+                new Cubic2f(1, 2, 3, 4, 5, 6, 7, 8), new ImmutableLine2f(1, 2, 3, 4),
+                new ImmutableQuadratic2f(1, 2, 3, 4, 5, 6), new ImmutableCubic2f(1, 2, 3, 4, 5, 6, 7, 8) };
+        Class<?>[] types = { Line2f.class, Quadratic2f.class, Cubic2f.class, Line2f.class, Quadratic2f.class,
+                Cubic2f.class };
+        for (int i = 0; i < curves.length; i++) {
+            Bezier2f copy = pool.copy(curves[i]);
+            assertEquals(types[i], copy.getClass());
+            assertArrayEquals(points(curves[i]), points(copy));
+        }
+        assertEquals(curves.length, pool.mark());
+    }
+
+    @Test
+    void eachThreadHasItsOwnPool() {
+        CurvePool2f local = CurvePool2f.local();
+        assertSame(local, CurvePool2f.local());
+        assertNotSame(local, CompletableFuture.supplyAsync(CurvePool2f::local).join());
+    }
+
+    @Test
+    void splitHalvesTraceTheCurve() {
+        Random random = new Random(0x5B17);
+        CurvePool2f pool = new CurvePool2f();
+        float[] p = new float[8], halves = new float[16];
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10;
+            }
+            float t = random.nextFloat();
+            int mark = pool.mark();
+            Line2f line = new Line2f(p[0], p[1], p[2], p[3]);
+            Line2f leftLine = pool.line(), rightLine = pool.line();
+            line.split(t, leftLine, rightLine);
+            assertPart(line, 0, t, leftLine);
+            assertPart(line, t, 1, rightLine);
+            Line2f.Split(p[0], p[1], p[2], p[3], t, 0, halves);
+            assertArrayEquals(points(leftLine), Arrays.copyOf(halves, 4));
+            assertArrayEquals(points(rightLine), Arrays.copyOfRange(halves, 4, 8));
+            Quadratic2f quadratic = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            Quadratic2f leftQuadratic = pool.quadratic(), rightQuadratic = pool.quadratic();
+            quadratic.split(t, leftQuadratic, rightQuadratic);
+            assertPart(quadratic, 0, t, leftQuadratic);
+            assertPart(quadratic, t, 1, rightQuadratic);
+            Quadratic2f.Split(p[0], p[1], p[2], p[3], p[4], p[5], t, 0, halves);
+            assertArrayEquals(points(leftQuadratic), Arrays.copyOf(halves, 6));
+            assertArrayEquals(points(rightQuadratic), Arrays.copyOfRange(halves, 6, 12));
+            Cubic2f cubic = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+            Cubic2f leftCubic = pool.cubic(), rightCubic = pool.cubic();
+            cubic.split(t, leftCubic, rightCubic);
+            assertPart(cubic, 0, t, leftCubic);
+            assertPart(cubic, t, 1, rightCubic);
+            Cubic2f.Split(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], t, 0, halves);
+            assertArrayEquals(points(leftCubic), Arrays.copyOf(halves, 8));
+            assertArrayEquals(points(rightCubic), Arrays.copyOfRange(halves, 8, 16));
+            // Splitting in place keeps the left half
+            cubic.split(t, rightCubic);
+            assertArrayEquals(points(leftCubic), points(cubic));
+            pool.release(mark);
+        }
+        assertEquals(0, pool.mark());
+    }
+
+    @Test
+    void subCurvesTraceTheCurve() {
+        Random random = new Random(0x50BC);
+        CurvePool2f pool = new CurvePool2f();
+        float[] p = new float[8], part = new float[8];
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10;
+            }
+            // Reversed ranges trace the curve backwards
+            float t0 = random.nextFloat(), t1 = random.nextFloat();
+            int mark = pool.mark();
+            Line2f line = new Line2f(p[0], p[1], p[2], p[3]);
+            Line2f lineDest = line.subCurve(t0, t1, pool.line());
+            assertPart(line, t0, t1, lineDest);
+            assertArrayEquals(points(lineDest),
+                    Arrays.copyOf(Line2f.SubCurve(p[0], p[1], p[2], p[3], t0, t1, 0, part), 4));
+            Quadratic2f quadratic = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            Quadratic2f quadraticDest = quadratic.subCurve(t0, t1, pool.quadratic());
+            assertPart(quadratic, t0, t1, quadraticDest);
+            assertArrayEquals(points(quadraticDest),
+                    Arrays.copyOf(Quadratic2f.SubCurve(p[0], p[1], p[2], p[3], p[4], p[5], t0, t1, 0, part), 6));
+            Cubic2f cubic = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+            Cubic2f cubicDest = cubic.subCurve(t0, t1, pool.cubic());
+            assertPart(cubic, t0, t1, cubicDest);
+            assertArrayEquals(points(cubicDest),
+                    Cubic2f.SubCurve(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], t0, t1, 0, part));
+            // Shrinking in place gives the same part
+            assertArrayEquals(points(cubicDest), points(cubic.subCurve(t0, t1)));
+            pool.release(mark);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Runs every test on direct buffers and, when {@code jdk.incubator.foreign} is
+ * resolved, on the Foreign Memory API, comparing the bulk operations against
+ * {@link BezierBatch2f} on the same curves.
+ */
+class DirectBezierBatch2fTest {
+
+    private static final int CURVES = 500;
+
+    @TempDir
+    Path directory;
+
+    static List<OffHeapMemory.Allocator> allocators() {
+        List<OffHeapMemory.Allocator> allocators = new ArrayList<>();
+        allocators.add(OffHeapMemory.Direct.ALLOCATOR);
+        if (ModuleLayer.boot().findModule("jdk.incubator.foreign").isPresent()) {
+            allocators.add(new ForeignMemory.Allocator());
+        }
+        return allocators;
+    }
+
+    private static void fill(Random random, DirectBezierBatch2f direct, BezierBatch2f heap) {
+        float[] p = new float[8];
+        for (int i = 0; i < CURVES; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10;
+            }
+            switch (i % 3) {
+                case 0:
+                    direct.addLine(p[0], p[1], p[2], p[3]);
+                    heap.addLine(p[0], p[1], p[2], p[3]);
+                    break;
+                case 1:
+                    direct.addQuadratic(p[0], p[1], p[2], p[3], p[4], p[5]);
+                    heap.addQuadratic(p[0], p[1], p[2], p[3], p[4], p[5]);
+                    break;
+                default:
+                    direct.addCubic(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+                    heap.addCubic(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+                    break;
+            }
+        }
+    }
+
+    private static void assertSameCurves(BezierBatch2f expected, DirectBezierBatch2f actual) {
+        int size = expected.size();
+        assertEquals(size, actual.size());
+        // Room for the four bounds of each curve, the most any operation writes
+        float[] a = new float[size * 4], b = new float[size * 4];
+        for (float t : new float[] { 0, 0.25f, 0.5f, 1 }) {
+            assertEquals(expected.getPosition(0, size, t, 0, a), actual.getPosition(0, size, t, 0, b));
+            assertArrayEquals(a, b, "positions at " + t);
+            assertEquals(expected.getDerivative(0, size, t, 0, a), actual.getDerivative(0, size, t, 0, b));
+            assertArrayEquals(a, b, "derivatives at " + t);
+        }
+        int[] countsA = new int[size], countsB = new int[size];
+        assertEquals(expected.getInterceptsX(0, size, 0, a, 0, countsA),
+                actual.getInterceptsX(0, size, 0, b, 0, countsB));
+        assertArrayEquals(countsA, countsB);
+        assertArrayEquals(a, b, "intercepts");
+        assertEquals(expected.getBounds(0, size, 0, a), actual.getBounds(0, size, 0, b));
+        assertArrayEquals(a, b, "bounds");
+        Vector2f pa = new Vector2f(), pb = new Vector2f();
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected.getDegree(i), actual.getDegree(i));
+            for (int j = 0; j < expected.getLength(i); j++) {
+                assertEquals(expected.getPoint(i, j, pa), actual.getPoint(i, j, pb), "curve " + i);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void bulkOperationsMatchTheHeapBatch(OffHeapMemory.Allocator allocator) {
+        BezierBatch2f heap = new BezierBatch2f();
+        try (DirectBezierBatch2f direct = DirectBezierBatch2f.allocate(allocator, CURVES)) {
+            DirectBezierBatch2fTest.fill(new Random(0xD1EC), direct, heap);
+            assertSameCurves(heap, direct);
+            Matrix3x2f matrix = new Matrix3x2f().translation(3, -2).rotate(0.7f).scale(1.5f);
+            heap.transformPosition(matrix);
+            direct.transformPosition(matrix);
+            assertSameCurves(heap, direct);
+            // A full batch has no room for another curve
+            assertThrows(IllegalStateException.class, () -> direct.addLine(0, 0, 1, 1));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void closeEmptiesTheBatch(OffHeapMemory.Allocator allocator) {
+        DirectBezierBatch2f batch = DirectBezierBatch2f.allocate(allocator, 4);
+        batch.addLine(0, 0, 1, 1);
+        ByteBuffer buffer = batch.getBuffer();
+        batch.close();
+        assertEquals(0, batch.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getDegree(0));
+        if (allocator instanceof ForeignMemory.Allocator) {
+            // The memory is freed at once, the buffer no longer reaches it
+            assertThrows(IllegalStateException.class, () -> buffer.get(0));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void mappedFileKeepsItsCurves(OffHeapMemory.Allocator allocator) throws IOException {
+        Path path = directory.resolve("curves.bdb");
+        BezierBatch2f heap = new BezierBatch2f();
+        try (DirectBezierBatch2f batch = DirectBezierBatch2f.map(allocator, path, CURVES)) {
+            DirectBezierBatch2fTest.fill(new Random(0x3A9F), batch, heap);
+        }
+        // The magic number reads as its ASCII characters on every platform
+        byte[] magic = Arrays.copyOf(Files.readAllBytes(path), 4);
+        assertEquals("BDB2", new String(magic, StandardCharsets.US_ASCII));
+        try (DirectBezierBatch2f batch = DirectBezierBatch2f.map(allocator, path, CURVES)) {
+            assertSameCurves(heap, batch);
+        }
+        // A batch of another capacity does not reuse the curves
+        try (DirectBezierBatch2f batch = DirectBezierBatch2f.map(allocator, path, CURVES / 2)) {
+            assertEquals(0, batch.size());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    void mapRejectsDegreesOutOfRange(OffHeapMemory.Allocator allocator) throws IOException {
+        Path path = directory.resolve("corrupt.bdb");
+        try (DirectBezierBatch2f batch = DirectBezierBatch2f.map(allocator, path, 4)) {
+            batch.addLine(0, 0, 1, 1);
+            batch.addCubic(0, 0, 1, 2, 3, 2, 4, 0);
+        }
+        for (byte degree : new byte[] { 0, 4, -1 }) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] { degree }),
+                        DirectBezierBatch2f.HEADER_SIZE + 4 * DirectBezierBatch2f.STRIDE + 1);
+            }
+            IOException e = assertThrows(IOException.class, () -> DirectBezierBatch2f.map(allocator, path, 4));
+            assertEquals("Expected curve 1 to have a degree in [1-3] but recieved: " + degree, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.Rasterizer2f.FillRule;
+import com.liampace.geom.curves.Line2f;
+
+/**
+ * Compares the distance of every texel against the exact distance to shapes
+ * whose distance is known in closed form. Texels are sampled at their centres
+ * and the grids span several tiles.
+ */
+class DistanceField2fTest {
+
+    private static final int SIZE = 100;
+    private static final float RANGE = 12;
+    private static final float EPSILON = 1e-3f;
+
+    private static float clamp(double distance) {
+        return (float) Math.max(Math.min(distance, RANGE), -RANGE);
+    }
+
+    private static double segmentDistance(double px, double py, double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0, dy = y1 - y0;
+        double t = Math.max(0, Math.min(1, ((px - x0) * dx + (py - y0) * dy) / (dx * dx + dy * dy)));
+        return Math.hypot(px - x0 - dx * t, py - y0 - dy * t);
+    }
+
+    private static List<Line2f> triangle() {
+        return List.of(new Line2f(10, 10, 90, 20), new Line2f(90, 20, 40, 85), new Line2f(40, 85, 10, 10));
+    }
+
+    private static float median(float a, float b, float c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    @Test
+    void lineDistanceIsExactAndOutside() {
+        // A single open line is closed back onto itself and encloses nothing
+        float x0 = 20.3f, y0 = 30.1f, x1 = 75.6f, y1 = 61.9f;
+        DistanceField2f field = new DistanceField2f(SIZE, SIZE, RANGE);
+        field.add(new Path2f().moveTo(x0, y0).lineTo(x1, y1));
+        float[] distances = field.generate(FillRule.NON_ZERO, 0, new float[SIZE * SIZE]);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                double exact = segmentDistance(x + 0.5, y + 0.5, x0, y0, x1, y1);
+                assertEquals(clamp(-exact), distances[y * SIZE + x], EPSILON, "texel " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    void squareDistanceIsSignedByTheFillRule() {
+        float x0 = 20.25f, y0 = 15.5f, x1 = 80.75f, y1 = 70.5f;
+        Path2f square = Shapes2f.rectangle(new Path2f(), x0, y0, x1, y1);
+        for (FillRule rule : FillRule.values()) {
+            float[] distances = new DistanceField2f(SIZE, SIZE, RANGE).add(square).generate(rule, 0,
+                    new float[SIZE * SIZE]);
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    double px = x + 0.5, py = y + 0.5;
+                    double exact = Math.min(segmentDistance(px, py, x0, y0, x1, y0),
+                            segmentDistance(px, py, x1, y0, x1, y1));
+                    exact = Math.min(exact, segmentDistance(px, py, x1, y1, x0, y1));
+                    exact = Math.min(exact, segmentDistance(px, py, x0, y1, x0, y0));
+                    boolean inside = px > x0 && px < x1 && py > y0 && py < y1;
+                    assertEquals(clamp(inside ? exact : -exact), distances[y * SIZE + x], EPSILON,
+                            "texel " + x + ", " + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void circleDistanceIsPositiveInside() {
+        float cx = 48.7f, cy = 51.2f, r = 30;
+        Path2f circle = Shapes2f.circle(new Path2f(), cx, cy, r);
+        float[] distances = new DistanceField2f(SIZE, SIZE, RANGE).add(circle).generate(FillRule.NON_ZERO, 0,
+                new float[SIZE * SIZE]);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                double exact = r - Math.hypot(x + 0.5 - cx, y + 0.5 - cy);
+                // The cubics stray up to 0.03% of the radius from the circle
+                assertEquals(clamp(exact), distances[y * SIZE + x], 0.02f, "texel " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    void holeIsOutsideUnderEitherRule() {
+        // The inner square is traced in the opposite direction
+        Path2f path = new Path2f().moveTo(10, 10).lineTo(90, 10).lineTo(90, 90).lineTo(10, 90).close();
+        path.moveTo(30, 30).lineTo(30, 70).lineTo(70, 70).lineTo(70, 30).close();
+        for (FillRule rule : FillRule.values()) {
+            float[] distances = new DistanceField2f(SIZE, SIZE, RANGE).add(path).generate(rule, 0,
+                    new float[SIZE * SIZE]);
+            // Inside the ring, 4.5 from the outer edge and 15.5 from the hole
+            assertEquals(4.5f, distances[50 * SIZE + 14], EPSILON);
+            // In the hole, 10.5 from its left edge
+            assertEquals(-10.5f, distances[50 * SIZE + 40], EPSILON);
+            // Outside, 7.5 from the outer edge and further than the range at the corner
+            assertEquals(-7.5f, distances[50 * SIZE + 2], EPSILON);
+            assertEquals(-RANGE, distances[0], EPSILON);
+        }
+    }
+
+    @Test
+    void outputDoesNotDependOnTheNumberOfThreads() {
+        DistanceField2f field = new DistanceField2f(SIZE, SIZE, RANGE).addContour(triangle());
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            float[] expected = field.generate(FillRule.NON_ZERO, 0, new float[SIZE * SIZE], single);
+            assertArrayEquals(expected, field.generate(FillRule.NON_ZERO, 0, new float[SIZE * SIZE]));
+            byte[] bytes = field.generate(FillRule.NON_ZERO, 2, new byte[SIZE * SIZE + 2], single);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(Math.round((expected[i] / RANGE * 0.5f + 0.5f) * 255), bytes[i + 2] & 0xFF);
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void multiChannelMedianKeepsTheSign() {
+        DistanceField2f field = new DistanceField2f(SIZE, SIZE, RANGE).addContour(triangle());
+        float[] distances = field.generate(FillRule.NON_ZERO, 0, new float[SIZE * SIZE]);
+        float[] channels = field.generateMultiChannel(FillRule.NON_ZERO, 0, new float[SIZE * SIZE * 3]);
+        for (int i = 0; i < distances.length; i++) {
+            float median = median(channels[i * 3], channels[i * 3 + 1], channels[i * 3 + 2]);
+            if (Math.abs(distances[i]) > 0.5f) {
+                assertEquals(Math.signum(distances[i]), Math.signum(median), "texel " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Measures the distance of dense samples along each curve from its polyline,
+ * which must stay within the tolerance.
+ */
+class Flattener2fTest {
+
+    private static final int SAMPLES = 2000;
+
+    /**
+     * The greatest distance of {@link #SAMPLES} uniform samples along the curve
+     * from the polyline through {@code count} vertices of {@code vertices}.
+     */
+    private static float deviation(Bezier2fc curve, float[] vertices, int count) {
+        Vector2f temp = new Vector2f();
+        float worst = 0;
+        for (int i = 0; i <= SAMPLES; i++) {
+            curve.getPosition((float) i / SAMPLES, temp);
+            float closest = Float.POSITIVE_INFINITY;
+            for (int v = 1; v < count; v++) {
+                closest = Math.min(closest, distance(temp.x, temp.y, vertices[v * 2 - 2], vertices[v * 2 - 1],
+                        vertices[v * 2], vertices[v * 2 + 1]));
+            }
+            worst = Math.max(worst, closest);
+        }
+        return worst;
+    }
+
+    private static float distance(float px, float py, float ax, float ay, float bx, float by) {
+        float ux = bx - ax, uy = by - ay;
+        float vx = px - ax, vy = py - ay;
+        float lengthSquared = ux * ux + uy * uy;
+        if (lengthSquared > 0) {
+            float t = Math.max(Math.min((vx * ux + vy * uy) / lengthSquared, 1), 0);
+            vx -= ux * t;
+            vy -= uy * t;
+        }
+        return (float) Math.sqrt(vx * vx + vy * vy);
+    }
+
+    private static void assertWithinTolerance(Flattener2f flattener, Bezier2fc curve, float tolerance) {
+        FloatList dest = new FloatList();
+        int count = flattener.flatten(curve, tolerance, dest);
+        assertEquals(count * 2, dest.size());
+        float[] vertices = dest.toArray();
+        // The polyline runs from end to end of the curve
+        Vector2fc start = curve.getPoint(0), end = curve.getPoint(curve.getLength() - 1);
+        assertArrayEquals(new float[] { start.x(), start.y(), end.x(), end.y() },
+                new float[] { vertices[0], vertices[1], vertices[count * 2 - 2], vertices[count * 2 - 1] });
+        float deviation = deviation(curve, vertices, count);
+        assertTrue(deviation <= tolerance * 1.001f, "%s deviates by %s at %s".formatted(curve, deviation, tolerance));
+    }
+
+    @Test
+    void polylinesStayWithinTheTolerance() {
+        Flattener2f flattener = new Flattener2f();
+        Random random = new Random(0xF1A7);
+        float[] p = new float[8];
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 100;
+            }
+            float tolerance = new float[] { 1, 0.1f, 0.01f }[i % 3];
+            assertWithinTolerance(flattener, new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]), tolerance);
+            assertWithinTolerance(flattener, new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]),
+                    tolerance);
+        }
+        // A loop, a cusp and control points past the ends of the chord
+        assertWithinTolerance(flattener, new Cubic2f(0, 0, 40, 30, -10, 30, 30, 0), 0.05f);
+        assertWithinTolerance(flattener, new Cubic2f(0, 0, 30, 20, 0, 20, 30, 0), 0.05f);
+        assertWithinTolerance(flattener, new Cubic2f(0, 0, -20, 0, 50, 0, 30, 0), 0.05f);
+    }
+
+    @Test
+    void vertexCountFollowsTheCurvature() {
+        Flattener2f flattener = new Flattener2f();
+        FloatList dest = new FloatList();
+        // Straight curves need no more than their chord
+        assertEquals(2, flattener.flatten(new Line2f(0, 0, 10, 5), 0.01f, dest.clear()));
+        assertEquals(2, flattener.flatten(new Quadratic2f(0, 0, 5, 5, 10, 10), 0.01f, dest.clear()));
+        assertEquals(2, flattener.flatten(new Cubic2f(0, 0, 3, 0, 7, 0, 10, 0), 0.01f, dest.clear()));
+        // Tighter tolerances need more vertices
+        Cubic2f cubic = new Cubic2f(0, 0, 10, 30, 20, -30, 30, 0);
+        int previous = 0;
+        for (float tolerance : new float[] { 1, 0.1f, 0.01f, 0.001f }) {
+            int count = flattener.flatten(cubic, tolerance, dest.clear());
+            assertTrue(count > previous, "%s vertices at %s".formatted(count, tolerance));
+            previous = count;
+        }
+        // A quadratic is split into the fewest uniform segments that keep the
+        // chord error h^2 |P0 - 2P1 + P2| / 4 within the tolerance
+        Quadratic2f quadratic = new Quadratic2f(0, 0, 50, 100, 100, 0);
+        int segments = (int) Math.ceil(Math.sqrt(200 / (0.5 * 4)));
+        assertEquals(segments + 1, flattener.flatten(quadratic, 0.5f, dest.clear()));
+    }
+
+    @Test
+    void startPointCanBeOmitted() {
+        Flattener2f flattener = new Flattener2f();
+        FloatList with = new FloatList(), without = new FloatList();
+        for (Bezier2fc curve : new Bezier2fc[] { new Line2f(0, 0, 3, 4), new Quadratic2f(0, 0, 5, 10, 10, 0),
+                new Cubic2f(0, 0, 10, 30, 20, -30, 30, 0) }) {
+            int all = flattener.flatten(curve, 0.1f, true, with.clear());
+            // Appending keeps the vertices already in the list
+            without.clear().add(-1, -1);
+            assertEquals(all - 1, flattener.flatten(curve, 0.1f, false, without));
+            float[] expected = with.toArray();
+            expected[0] = -1;
+            expected[1] = -1;
+            assertArrayEquals(expected, without.toArray());
+        }
+    }
+
+    @Test
+    void bufferReceivesTheSameVertices() {
+        Flattener2f flattener = new Flattener2f();
+        Cubic2f cubic = new Cubic2f(0, 0, 10, 30, 20, -30, 30, 0);
+        FloatList list = new FloatList();
+        int count = flattener.flatten(cubic, 0.05f, list);
+        FloatBuffer buffer = FloatBuffer.allocate(count * 2 + 3);
+        assertEquals(count, flattener.flatten(cubic, 0.05f, true, buffer));
+        assertEquals(count * 2, buffer.position());
+        assertArrayEquals(list.toArray(), Arrays.copyOf(buffer.array(), count * 2));
+        assertThrows(BufferOverflowException.class,
+                () -> flattener.flatten(cubic, 0.05f, true, FloatBuffer.allocate(count)));
+    }
+
+    @Test
+    void toleranceMustBePositive() {
+        Flattener2f flattener = new Flattener2f();
+        Cubic2f cubic = new Cubic2f(0, 0, 10, 30, 20, -30, 30, 0);
+        for (float tolerance : new float[] { 0, -1, Float.NaN }) {
+            assertThrows(IllegalArgumentException.class, () -> flattener.flatten(cubic, tolerance, new FloatList()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> flattener.flatten(new Quadratic2f(0, 0, 1, 1, 2, 0), tolerance, new FloatList()));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+class Intersector2fTest {
+
+    private static final float EPSILON = 1e-4f;
+
+    /**
+     * The factors on the first curve sorted ascending, each followed by the
+     * matching factor on the second curve.
+     */
+    private static float[] sorted(int count, float[] tA, float[] tB) {
+        float[][] pairs = new float[count][];
+        for (int i = 0; i < count; i++) {
+            pairs[i] = new float[] { tA[i], tB[i] };
+        }
+        Arrays.sort(pairs, Comparator.comparingDouble(pair -> pair[0]));
+        float[] result = new float[count * 2];
+        for (int i = 0; i < count; i++) {
+            result[i * 2] = pairs[i][0];
+            result[i * 2 + 1] = pairs[i][1];
+        }
+        return result;
+    }
+
+    private static void assertMeet(Bezier2fc a, Bezier2fc b, int count, float[] tA, float[] tB) {
+        Vector2f pa = new Vector2f(), pb = new Vector2f();
+        for (int i = 0; i < count; i++) {
+            a.getPosition(tA[i], pa);
+            b.getPosition(tB[i], pb);
+            assertEquals(0, pa.distance(pb), 1e-3f, "intersection " + i);
+        }
+    }
+
+    /**
+     * A cubic through {@code x = 3t} whose Y coordinates are the given bezier
+     * values, so two such cubics meet where their Y coordinates match at the
+     * same factor.
+     */
+    private static Cubic2f graph(float y0, float y1, float y2, float y3) {
+        return new Cubic2f(0, y0, 1, y1, 2, y2, 3, y3);
+    }
+
+    @Test
+    void lineCrossesCubicAtKnownFactors() {
+        // y(t) = 9t(1 - t)(1 - 2t) is zero at t = 0, 0.5 and 1, where x = 3t
+        Cubic2f cubic = new Cubic2f(0, 0, 1, 3, 2, -3, 3, 0);
+        Line2f line = new Line2f(-1, 0, 4, 0);
+        Intersector2f intersector = new Intersector2f();
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        int count = intersector.intersect(line, cubic, 0, tA, tB);
+        assertArrayEquals(new float[] { 0.2f, 0, 0.5f, 0.5f, 0.8f, 1 }, sorted(count, tA, tB), EPSILON);
+        // The factors follow the order of the curves
+        count = intersector.intersect(cubic, line, 0, tA, tB);
+        assertArrayEquals(new float[] { 0, 0.2f, 0.5f, 0.5f, 1, 0.8f }, sorted(count, tA, tB), EPSILON);
+    }
+
+    @Test
+    void lineMissingCubicHasNoIntersections() {
+        Cubic2f cubic = new Cubic2f(0, 0, 1, 3, 2, -3, 3, 0);
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        assertEquals(0, new Intersector2f().intersect(new Line2f(-1, 2, 4, 2), cubic, 0, tA, tB));
+        // The infinite line crosses the cubic, the segment ends before it
+        assertEquals(0, new Intersector2f().intersect(new Line2f(3.5f, 0, 5, 0), cubic, 0, tA, tB));
+    }
+
+    @Test
+    void lineCrossesADegreeElevatedQuadraticLikeTheQuadratic() {
+        Random random = new Random(0xE1E8);
+        Intersector2f intersector = new Intersector2f();
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        float[] uA = new float[Intersector2f.MAX_INTERSECTIONS], uB = new float[Intersector2f.MAX_INTERSECTIONS];
+        for (int i = 0; i < 5_000; i++) {
+            float[] p = new float[6];
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10;
+            }
+            Quadratic2f quadratic = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            // The same curve as a cubic, whose cubic term only differs from zero by
+            // rounding
+            Cubic2f cubic = new Cubic2f(p[0], p[1], p[0] + (p[2] - p[0]) * 2 / 3, p[1] + (p[3] - p[1]) * 2 / 3,
+                    p[4] + (p[2] - p[4]) * 2 / 3, p[5] + (p[3] - p[5]) * 2 / 3, p[4], p[5]);
+            float[] l = new float[4];
+            for (int j = 0; j < l.length; j++) {
+                l[j] = random.nextFloat() * 14 - 2;
+            }
+            Line2f line = new Line2f(l[0], l[1], l[2], l[3]);
+            int expected = intersector.intersect(line, quadratic, 0, tA, tB);
+            int actual = intersector.intersect(line, cubic, 0, uA, uB);
+            String message = "%s with %s".formatted(Arrays.toString(p), Arrays.toString(l));
+            assertEquals(expected, actual, message);
+            assertArrayEquals(sorted(expected, tA, tB), sorted(actual, uA, uB), EPSILON, message);
+        }
+    }
+
+    @Test
+    void cubicsCrossAtKnownFactors() {
+        // The difference of the Y coordinates is 10(t - 0.2)(t - 0.5)(t - 0.8)
+        Cubic2f a = graph(-0.8f, 2.4f, -0.4f, 0.8f), b = graph(0, 1, 1, 0);
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        int count = new Intersector2f().intersect(a, b, 0, tA, tB);
+        assertArrayEquals(new float[] { 0.2f, 0.2f, 0.5f, 0.5f, 0.8f, 0.8f }, sorted(count, tA, tB), EPSILON);
+        assertMeet(a, b, count, tA, tB);
+    }
+
+    @Test
+    void cubicsTouchingTangentiallyMeetOnce() {
+        // The difference of the Y coordinates is 4(t - 0.3)^2, away from the
+        // factors where the pieces are split so that no chords cross
+        Cubic2f a = graph(0.36f, -0.44f, 0.28f / 3, 1.96f), b = graph(0, 0, 0, 0);
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        int count = new Intersector2f().intersect(a, b, 0, tA, tB);
+        assertEquals(1, count);
+        // A touch is only located to about the square root of the tolerance
+        assertEquals(0.3f, tA[0], 1e-2f);
+        assertEquals(0.3f, tB[0], 1e-2f);
+        assertMeet(a, b, count, tA, tB);
+    }
+
+    @Test
+    void curvesWithLoopsCrossEveryTime() {
+        Cubic2f loop = new Cubic2f(0, 0, 4, 3, -1, 3, 3, 0);
+        Quadratic2f arch = new Quadratic2f(-1, 0.5f, 1.5f, 2.5f, 4, 0.5f);
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        int count = new Intersector2f().intersect(loop, arch, 0, tA, tB);
+        assertEquals(crossings(loop, arch, 2000), count);
+        assertMeet(loop, arch, count, tA, tB);
+    }
+
+    /**
+     * Counts the crossings between fine polylines through both curves.
+     */
+    private static int crossings(Bezier2fc a, Bezier2fc b, int segments) {
+        float[] pa = new float[(segments + 1) * 2], pb = new float[(segments + 1) * 2];
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i <= segments; i++) {
+            a.getPosition((float) i / segments, temp);
+            pa[i * 2] = temp.x;
+            pa[i * 2 + 1] = temp.y;
+            b.getPosition((float) i / segments, temp);
+            pb[i * 2] = temp.x;
+            pb[i * 2 + 1] = temp.y;
+        }
+        int count = 0;
+        for (int i = 0; i < segments * 2; i += 2) {
+            for (int j = 0; j < segments * 2; j += 2) {
+                double rx = pa[i + 2] - pa[i], ry = pa[i + 3] - pa[i + 1];
+                double sx = pb[j + 2] - pb[j], sy = pb[j + 3] - pb[j + 1];
+                double qx = pb[j] - pa[i], qy = pb[j + 1] - pa[i + 1];
+                double denominator = rx * sy - ry * sx;
+                double u = (qx * sy - qy * sx) / denominator, v = (qx * ry - qy * rx) / denominator;
+                if (u >= 0 && u < 1 && v >= 0 && v < 1) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void intersectAllMatchesEveryPair() {
+        Random random = new Random(0x1A7E);
+        // More curves than a single sweep task handles
+        Bezier2fc[] curves = new Bezier2fc[700];
+        for (int i = 0; i < curves.length; i++) {
+            float x = random.nextFloat() * 100, y = random.nextFloat() * 100;
+            float[] p = new float[8];
+            for (int j = 0; j < p.length; j += 2) {
+                p[j] = x + random.nextFloat() * 16 - 8;
+                p[j + 1] = y + random.nextFloat() * 16 - 8;
+            }
+            switch (i % 3) {
+                case 0:
+                    curves[i] = new Line2f(p[0], p[1], p[2], p[3]);
+                    break;
+                case 1:
+                    curves[i] = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+                    break;
+                default:
+                    curves[i] = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+                    break;
+            }
+        }
+        List<float[]> expected = new ArrayList<>();
+        Intersector2f intersector = new Intersector2f();
+        float[] tA = new float[Intersector2f.MAX_INTERSECTIONS], tB = new float[Intersector2f.MAX_INTERSECTIONS];
+        for (int i = 0; i < curves.length; i++) {
+            for (int j = i + 1; j < curves.length; j++) {
+                int found = intersector.intersect(curves[i], curves[j], 0, tA, tB);
+                for (int n = 0; n < found; n++) {
+                    expected.add(new float[] { i, j, tA[n], tB[n] });
+                }
+            }
+        }
+        assertTrue(expected.size() > curves.length);
+        Comparator<float[]> order = Comparator.<float[]>comparingDouble(e -> e[0]).thenComparingDouble(e -> e[1])
+                .thenComparingDouble(e -> e[2]).thenComparingDouble(e -> e[3]);
+        expected.sort(order);
+        for (ForkJoinPool pool : new ForkJoinPool[] { ForkJoinPool.commonPool(), new ForkJoinPool(1) }) {
+            Intersections2f all = Intersector2f.intersectAll(curves, pool);
+            List<float[]> actual = new ArrayList<>();
+            for (int n = 0; n < all.size(); n++) {
+                assertTrue(all.getCurveA(n) < all.getCurveB(n));
+                actual.add(new float[] { all.getCurveA(n), all.getCurveB(n), all.getTA(n), all.getTB(n) });
+            }
+            actual.sort(order);
+            assertEquals(expected.size(), actual.size());
+            for (int n = 0; n < expected.size(); n++) {
+                assertArrayEquals(expected.get(n), actual.get(n));
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.joml.Matrix3x2f;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Checks the histogram buckets and percentiles, and that solves, projections
+ * and transforms are counted and emitted as events. The build enables the
+ * instrumentation for the tests, the recording tests are skipped without it.
+ */
+class MetricsTest {
+
+    @TempDir
+    Path directory;
+
+    private static void requireMetrics() {
+        assumeTrue(Metrics.ENABLED, "-D%s=true is not set".formatted(Metrics.PROPERTY));
+        Metrics.reset();
+    }
+
+    @Test
+    void bucketsDoubleInWidth() {
+        assertEquals(0, Metrics.bucket(0));
+        assertEquals(0, Metrics.bucket(-5));
+        assertEquals(1, Metrics.bucket(1));
+        assertEquals(2, Metrics.bucket(2));
+        assertEquals(2, Metrics.bucket(3));
+        assertEquals(3, Metrics.bucket(4));
+        for (int i = 1; i < Metrics.BUCKETS - 1; i++) {
+            assertEquals(i, Metrics.bucket(1L << (i - 1)), "2^%s".formatted(i - 1));
+            assertEquals(i, Metrics.bucket((1L << i) - 1), "2^%s - 1".formatted(i));
+        }
+        // Everything past the last bound shares the last bucket
+        assertEquals(Metrics.BUCKETS - 1, Metrics.bucket(1L << (Metrics.BUCKETS - 2)));
+        assertEquals(Metrics.BUCKETS - 1, Metrics.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentilesAreTheBoundsOfTheirBucket() {
+        long[] buckets = new long[Metrics.BUCKETS];
+        buckets[3] = 50;
+        buckets[10] = 49;
+        buckets[20] = 1;
+        Metrics.Histogram histogram = new Metrics.Histogram(buckets, 1_000_000, 600_000);
+        assertEquals(100, histogram.getCount());
+        assertEquals(1_000_000, histogram.getTotalNanos());
+        assertEquals(600_000, histogram.getMaxNanos());
+        assertEquals(49, histogram.getBucket(10));
+        assertEquals(7, histogram.getPercentile(0));
+        assertEquals(7, histogram.getPercentile(0.5));
+        assertEquals(1023, histogram.getPercentile(0.51));
+        assertEquals(1023, histogram.getPercentile(0.99));
+        // The upper bound of the last bucket is capped by the longest duration
+        assertEquals(600_000, histogram.getPercentile(0.999));
+        assertEquals(600_000, histogram.getPercentile(1));
+        Metrics.Histogram empty = new Metrics.Histogram(new long[Metrics.BUCKETS], 0, 0);
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getPercentile(0.5));
+        assertThrows(IndexOutOfBoundsException.class, () -> histogram.getBucket(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> histogram.getBucket(Metrics.BUCKETS));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(Double.NaN));
+    }
+
+    @Test
+    void solvesAreCountedByBranchAndRoots() {
+        requireMetrics();
+        float[] roots = new float[3];
+        assertEquals(0, Line2f.SolveLinearEquation(1, 0, 0, roots));
+        assertEquals(1, Line2f.SolveLinearEquation(1, 2, 0, roots));
+        assertEquals(1, Quadratic2f.SolveQuadraticEquation(1, -2, 1, 0, roots));
+        assertEquals(1, Quadratic2f.SolveQuadraticEquation(0, 2, -1, 0, roots));
+        assertEquals(2, Quadratic2f.SolveQuadraticEquation(1, 0, -1, 0, roots));
+        assertEquals(3, Cubic2f.SolveCubicEquation(1, -6, 11, -6, 0, roots));
+        assertEquals(2, Cubic2f.SolveCubicEquation(0, 1, 0, -1, 0, roots));
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(1, snapshot.getCount(Metrics.Counter.LINEAR_DEGENERATE));
+        assertEquals(1, snapshot.getCount(Metrics.Counter.QUADRATIC_REPEATED));
+        assertEquals(1, snapshot.getCount(Metrics.Counter.QUADRATIC_DEGENERATE));
+        assertEquals(1, snapshot.getCount(Metrics.Counter.CUBIC_DEGENERATE));
+        assertEquals(0, snapshot.getCount(Metrics.Counter.CUBIC_REPEATED));
+        assertEquals(1, snapshot.getCount(Metrics.Counter.ROOTS_0));
+        assertEquals(3, snapshot.getCount(Metrics.Counter.ROOTS_1));
+        assertEquals(2, snapshot.getCount(Metrics.Counter.ROOTS_2));
+        assertEquals(1, snapshot.getCount(Metrics.Counter.ROOTS_3));
+        assertEquals(2, snapshot.getHistogram(Metrics.Timer.SOLVE_LINEAR).getCount());
+        assertEquals(3, snapshot.getHistogram(Metrics.Timer.SOLVE_QUADRATIC).getCount());
+        assertEquals(2, snapshot.getHistogram(Metrics.Timer.SOLVE_CUBIC).getCount());
+        assertEquals(0, snapshot.getHistogram(Metrics.Timer.PROJECT).getCount());
+        Metrics.reset();
+        assertEquals(0, Metrics.snapshot().getCount(Metrics.Counter.ROOTS_1));
+        assertEquals(0, Metrics.snapshot().getHistogram(Metrics.Timer.SOLVE_CUBIC).getCount());
+    }
+
+    @Test
+    void snapshotFlattensIntoKeys() {
+        requireMetrics();
+        Cubic2f cubic = new Cubic2f(0, 0, 1, 2, 3, 2, 4, 0);
+        for (int i = 0; i < 10; i++) {
+            cubic.transformPosition(new Matrix3x2f().translate(1, 0));
+            new Projection2f().load(cubic).project(i, 5);
+        }
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(40, snapshot.getCount(Metrics.Counter.TRANSFORMED_POINTS));
+        Map<String, Long> map = snapshot.toMap();
+        assertEquals(Metrics.Counter.values().length + Metrics.Timer.values().length * 6, map.size());
+        assertEquals(40, map.get("transform.points"));
+        assertEquals(10, map.get("transform.count"));
+        assertEquals(10, map.get("project.count"));
+        for (Metrics.Timer timer : Metrics.Timer.values()) {
+            Metrics.Histogram histogram = snapshot.getHistogram(timer);
+            String key = timer.getKey();
+            assertEquals(histogram.getTotalNanos(), map.get(key + ".total"));
+            assertEquals(histogram.getMaxNanos(), map.get(key + ".max"));
+            assertTrue(histogram.getMaxNanos() <= histogram.getTotalNanos(), key);
+            assertTrue(map.get(key + ".p50") <= map.get(key + ".p99"), key);
+            assertTrue(map.get(key + ".p99") <= map.get(key + ".p999"), key);
+            assertTrue(map.get(key + ".p999") <= map.get(key + ".max"), key);
+        }
+        assertTrue(snapshot.toString().contains("project.p99"));
+    }
+
+    @Test
+    void recordedOperationsEmitEvents() throws Exception {
+        requireMetrics();
+        Cubic2f cubic = new Cubic2f(0, 0, 1, 2, 3, 2, 4, 0);
+        Projection2f projection = new Projection2f().load(cubic);
+        float[] roots = new float[3];
+        Path file = directory.resolve("geometry.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.liampace.geom.Projection");
+            recording.enable("com.liampace.geom.Transform");
+            recording.enable("com.liampace.geom.RootSolve");
+            recording.start();
+            projection.project(2, 3);
+            cubic.transformPosition(new Matrix3x2f().scale(2));
+            Cubic2f.SolveCubicEquation(1, -6, 11, -6, 0, roots);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> projections = new ArrayList<>(), transforms = new ArrayList<>();
+        List<RecordedEvent> solves = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            switch (event.getEventType().getName()) {
+                case "com.liampace.geom.Projection":
+                    projections.add(event);
+                    break;
+                case "com.liampace.geom.Transform":
+                    transforms.add(event);
+                    break;
+                case "com.liampace.geom.RootSolve":
+                    solves.add(event);
+                    break;
+            }
+        }
+        assertEquals(1, projections.size());
+        assertEquals(3, projections.get(0).getInt("degree"));
+        assertEquals(projection.getT(), projections.get(0).getFloat("t"));
+        assertEquals(projection.getDistance(), projections.get(0).getFloat("distance"));
+        assertEquals(1, transforms.size());
+        assertEquals(Cubic2f.LENGTH, transforms.get(0).getInt("points"));
+        // The projection solves equations of its own around the explicit solve
+        assertTrue(solves.stream().anyMatch(e -> e.getInt("degree") == 3 && e.getInt("roots") == 3),
+                solves.toString());
+    }
+}
@@ -0,0 +1,236 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Checks the cached extrema of the curves, the monotonic pieces and spans cut
+ * at them and the span solver against dense samples of random curves.
+ */
+class Monotonic2fTest {
+
+    private static final int SAMPLES = 4000;
+
+    private static Bezier2f curve(Random random, int degree) {
+        float[] p = new float[8];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = random.nextFloat() * 10;
+        }
+        switch (degree) {
+            case 1:
+                return new Line2f(p[0], p[1], p[2], p[3]);
+            case 2:
+                return new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            default:
+                return new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+        }
+    }
+
+    /**
+     * Asserts that the curve is monotonic in both X and Y between {@code t0} and
+     * {@code t1}, allowing rounding error at the turns.
+     */
+    private static void assertMonotonic(Bezier2fc curve, float t0, float t1) {
+        Vector2f first = curve.getPosition(t0, new Vector2f()), last = curve.getPosition(t1, new Vector2f());
+        Vector2f previous = new Vector2f(first), temp = new Vector2f();
+        float signX = Math.signum(last.x - first.x), signY = Math.signum(last.y - first.y);
+        for (int i = 1; i <= 100; i++) {
+            curve.getPosition(t0 + (t1 - t0) * i / 100, temp);
+            assertTrue((temp.x - previous.x) * signX >= -1e-4f, "%s in [%s, %s]".formatted(curve, t0, t1));
+            assertTrue((temp.y - previous.y) * signY >= -1e-4f, "%s in [%s, %s]".formatted(curve, t0, t1));
+            previous.set(temp);
+        }
+    }
+
+    /**
+     * Counts the sign changes of the Y coordinate of the curve minus {@code y}
+     * along dense samples.
+     */
+    private static int crossings(Bezier2fc curve, float y) {
+        Vector2f temp = new Vector2f();
+        int count = 0;
+        boolean below = false;
+        for (int i = 0; i <= SAMPLES; i++) {
+            curve.getPosition((float) i / SAMPLES, temp);
+            boolean current = temp.y < y;
+            if (i > 0 && current != below) {
+                count++;
+            }
+            below = current;
+        }
+        return count;
+    }
+
+    @Test
+    void cachedExtremaMatchTheKernels() {
+        Random random = new Random(0xE872);
+        float[] expected = new float[Cubic2f.MAX_EXTREMA], actual = new float[Cubic2f.MAX_EXTREMA];
+        Vector2f derivative = new Vector2f();
+        for (int i = 0; i < 500; i++) {
+            Cubic2f cubic = (Cubic2f) curve(random, 3);
+            Quadratic2f quadratic = (Quadratic2f) curve(random, 2);
+            for (int round = 0; round < 2; round++) {
+                Vector2f a = cubic.getPoint(0), b = cubic.getPoint(1), c = cubic.getPoint(2), d = cubic.getPoint(3);
+                int count = Cubic2f.Extrema(a.x, a.y, b.x, b.y, c.x, c.y, d.x, d.y, 0, expected);
+                assertEquals(count, cubic.getExtrema(0, actual));
+                assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(actual, count));
+                for (int k = 0; k < count; k++) {
+                    // Sorted, inside the curve and where either coordinate turns
+                    assertTrue(expected[k] > 0 && expected[k] < 1 && (k == 0 || expected[k] > expected[k - 1]),
+                            cubic.toString());
+                    cubic.getDerivative(expected[k], derivative);
+                    assertTrue(Math.min(Math.abs(derivative.x), Math.abs(derivative.y)) < 1e-3f, cubic.toString());
+                }
+                assertEquals(Cubic2f.Extrema(a.x, b.x, c.x, d.x, 0, expected), cubic.getExtremaX(0, actual));
+                assertEquals(Cubic2f.Extrema(a.y, b.y, c.y, d.y, 0, expected), cubic.getExtremaY(0, actual));
+                a = quadratic.getPoint(0);
+                b = quadratic.getPoint(1);
+                c = quadratic.getPoint(2);
+                count = Quadratic2f.Extrema(a.x, a.y, b.x, b.y, c.x, c.y, 0, expected);
+                assertEquals(count, quadratic.getExtrema(0, actual));
+                assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(actual, count));
+                // The cache follows a modified curve
+                cubic.set(random.nextFloat() * 10, random.nextFloat() * 10, random.nextFloat() * 10,
+                        random.nextFloat() * 10, random.nextFloat() * 10, random.nextFloat() * 10,
+                        random.nextFloat() * 10, random.nextFloat() * 10);
+                quadratic.set(random.nextFloat() * 10, random.nextFloat() * 10, random.nextFloat() * 10,
+                        random.nextFloat() * 10, random.nextFloat() * 10, random.nextFloat() * 10);
+            }
+        }
+    }
+
+    @Test
+    void monotonicPiecesTraceTheCurve() {
+        Random random = new Random(0x9071);
+        Cubic2f[] pieces = new Cubic2f[Cubic2f.MAX_EXTREMA + 2];
+        Quadratic2f[] quadratics = new Quadratic2f[Quadratic2f.MAX_EXTREMA + 1];
+        Arrays.setAll(pieces, i -> new Cubic2f());
+        Arrays.setAll(quadratics, i -> new Quadratic2f());
+        float[] extrema = new float[Cubic2f.MAX_EXTREMA];
+        for (int i = 0; i < 300; i++) {
+            Cubic2f cubic = (Cubic2f) curve(random, 3);
+            int count = cubic.getMonotonic(1, pieces);
+            assertEquals(cubic.getExtrema(0, extrema) + 1, count);
+            for (int k = 0; k < count; k++) {
+                Cubic2f piece = pieces[1 + k];
+                assertMonotonic(piece, 0, 1);
+                // Each piece starts at the factor where the previous one ends
+                float t0 = k == 0 ? 0 : extrema[k - 1], t1 = k == count - 1 ? 1 : extrema[k];
+                Vector2f expected = cubic.getPosition((t0 + t1) / 2, new Vector2f());
+                Vector2f actual = piece.getPosition(0.5f, new Vector2f());
+                assertEquals(expected.x, actual.x, 1e-4f);
+                assertEquals(expected.y, actual.y, 1e-4f);
+            }
+            Quadratic2f quadratic = (Quadratic2f) curve(random, 2);
+            count = quadratic.getMonotonic(0, quadratics);
+            for (int k = 0; k < count; k++) {
+                assertMonotonic(quadratics[k], 0, 1);
+            }
+        }
+    }
+
+    @Test
+    void spansAreMonotonicAndBoundTheCurve() {
+        Random random = new Random(0x5A25);
+        Monotonic2f monotonic = new Monotonic2f();
+        float[] bounds = new float[4], expected = new float[4];
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < 300; i++) {
+            Bezier2f curve = curve(random, 1 + i % 3);
+            monotonic.load(curve);
+            assertArrayEquals(curve.getBounds(0, expected), monotonic.getBounds(0, bounds));
+            assertEquals(0, monotonic.getSpanStart(0));
+            assertEquals(1, monotonic.getSpanEnd(monotonic.getSpanCount() - 1));
+            for (int s = 0; s < monotonic.getSpanCount(); s++) {
+                float t0 = monotonic.getSpanStart(s), t1 = monotonic.getSpanEnd(s);
+                assertTrue(s == 0 || t0 == monotonic.getSpanEnd(s - 1));
+                assertMonotonic(curve, t0, t1);
+                monotonic.getBounds(s, 0, bounds);
+                for (int k = 0; k <= 20; k++) {
+                    curve.getPosition(t0 + (t1 - t0) * k / 20, temp);
+                    assertTrue(temp.x >= bounds[0] - 1e-4f && temp.y >= bounds[1] - 1e-4f
+                            && temp.x <= bounds[2] + 1e-4f && temp.y <= bounds[3] + 1e-4f, curve.toString());
+                }
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> monotonic.getSpanStart(monotonic.getSpanCount()));
+        assertThrows(IndexOutOfBoundsException.class, () -> monotonic.getBounds(-1, 0, bounds));
+    }
+
+    @Test
+    void interceptsMatchSampledSignChanges() {
+        Random random = new Random(0x1C7E);
+        Monotonic2f monotonic = new Monotonic2f();
+        float[] roots = new float[Monotonic2f.MAX_SPANS];
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < 600; i++) {
+            Bezier2f curve = curve(random, 1 + i % 3);
+            monotonic.load(curve);
+            for (int k = 0; k < 10; k++) {
+                float y = random.nextFloat() * 10;
+                int count = monotonic.getInterceptsX(y, 0, roots);
+                assertEquals(crossings(curve, y), count, "%s at %s".formatted(curve, y));
+                for (int r = 0; r < count; r++) {
+                    assertTrue(r == 0 || roots[r] > roots[r - 1], curve.toString());
+                    assertEquals(y, curve.getPosition(roots[r], temp).y, 1e-3f, curve.toString());
+                }
+                // Vertical lines through the same point of the curve meet it there
+                float t = random.nextFloat();
+                float x = curve.getPosition(t, temp).x;
+                count = monotonic.getInterceptsY(x, 0, roots);
+                float closest = 2;
+                for (int r = 0; r < count; r++) {
+                    closest = Math.min(closest, Math.abs(curve.getPosition(roots[r], temp).x - x));
+                }
+                assertTrue(closest < 1e-3f, "%s at %s".formatted(curve, x));
+            }
+        }
+    }
+
+    @Test
+    void touchingLinesReportTheExtremum() {
+        Monotonic2f monotonic = new Monotonic2f().load(new Quadratic2f(0, 0, 5, 10, 10, 0));
+        float[] roots = new float[Monotonic2f.MAX_SPANS];
+        assertEquals(2, monotonic.getSpanCount());
+        // The top lies at y = 5, lines just above it still touch the curve
+        for (float y : new float[] { 5, Math.nextUp(5f), 5 + Math.ulp(10f) * Monotonic2f.TOUCH_ULPS }) {
+            assertEquals(1, monotonic.getInterceptsX(y, 0, roots), "at " + y);
+            assertEquals(0.5f, roots[0]);
+        }
+        assertEquals(0, monotonic.getInterceptsX(5.01f, 0, roots));
+        assertEquals(2, monotonic.getInterceptsX(4.99f, 0, roots));
+    }
+
+    @Test
+    void windingOfAClosedShapeCountsPointsInside() {
+        // A hump whose height is a function of X, closed by the X axis
+        Cubic2f hump = new Cubic2f(0, 0, 3, 10, 7, 10, 10, 0);
+        Line2f base = new Line2f(10, 0, 0, 0);
+        Monotonic2f top = new Monotonic2f().load(hump), bottom = new Monotonic2f().load(base);
+        Random random = new Random(0x3D1D);
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < 2000; i++) {
+            float x = random.nextFloat() * 12 - 1, y = random.nextFloat() * 10 - 1;
+            // The height of the hump at x, found on its monotonic X coordinate
+            float[] roots = new float[Monotonic2f.MAX_SPANS];
+            float height = top.getInterceptsY(x, 0, roots) == 1 ? hump.getPosition(roots[0], temp).y : -1;
+            if (Math.abs(y - height) < 1e-3f || Math.abs(y) < 1e-3f) {
+                continue;
+            }
+            int expected = x > 0 && x < 10 && y > 0 && y < height ? -1 : 0;
+            assertEquals(expected, top.getWinding(x, y) + bottom.getWinding(x, y), "at " + x + ", " + y);
+        }
+    }
+}
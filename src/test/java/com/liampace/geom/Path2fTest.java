@@ -0,0 +1,156 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class Path2fTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    private static float[] points(Path2f path) {
+        return Arrays.copyOf(path.getCoordinates(), path.getPointCount() * 2);
+    }
+
+    private static byte[] verbs(Path2f path) {
+        return Arrays.copyOf(path.getVerbs(), path.getVerbCount());
+    }
+
+    private static Path2f counterClockwise(Path2f path, float x0, float y0, float x1, float y1) {
+        return path.moveTo(x0, y0).lineTo(x1, y0).lineTo(x1, y1).lineTo(x0, y1).close();
+    }
+
+    private static Path2f clockwise(Path2f path, float x0, float y0, float x1, float y1) {
+        return path.moveTo(x0, y0).lineTo(x0, y1).lineTo(x1, y1).lineTo(x1, y0).close();
+    }
+
+    /**
+     * Every segment handed out by {@code it} as its contour, whether it closes
+     * its contour and its points.
+     */
+    private static List<float[]> segments(Path2f.SegmentIterator it) {
+        List<float[]> segments = new ArrayList<>();
+        while (it.hasNext()) {
+            Bezier2f segment = it.next();
+            float[] values = new float[2 + segment.getLength() * 2];
+            values[0] = it.getContour();
+            values[1] = it.isClosing() ? 1 : 0;
+            for (int i = 0; i < segment.getLength(); i++) {
+                values[2 + i * 2] = segment.getPoint(i).x();
+                values[3 + i * 2] = segment.getPoint(i).y();
+            }
+            segments.add(values);
+        }
+        return segments;
+    }
+
+    private static void assertSegments(List<float[]> expected, List<float[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), EPSILON, "segment " + i);
+        }
+    }
+
+    @Test
+    void windingFollowsTheOrientation() {
+        Path2f ccw = counterClockwise(new Path2f(), 0, 0, 10, 10);
+        Path2f cw = clockwise(new Path2f(), 0, 0, 10, 10);
+        assertEquals(1, ccw.getWinding(5, 5));
+        assertEquals(-1, cw.getWinding(5, 5));
+        for (float[] outside : new float[][] { { -1, 5 }, { 11, 5 }, { 5, -1 }, { 5, 11 }, { 20, 20 } }) {
+            assertEquals(0, ccw.getWinding(outside[0], outside[1]));
+            assertEquals(0, cw.getWinding(outside[0], outside[1]));
+        }
+        // Nested contours add up, opposite ones cancel
+        assertEquals(2, counterClockwise(new Path2f(ccw), 2, 2, 8, 8).getWinding(5, 5));
+        assertEquals(0, clockwise(new Path2f(ccw), 2, 2, 8, 8).getWinding(5, 5));
+        assertEquals(1, clockwise(new Path2f(ccw), 2, 2, 8, 8).getWinding(1, 5));
+    }
+
+    @Test
+    void windingTreatsOpenContoursAsClosed() {
+        Path2f open = new Path2f().moveTo(0, 0).lineTo(10, 0).lineTo(10, 10).lineTo(0, 10);
+        assertEquals(1, open.getWinding(5, 5));
+        // The closing line of the first contour is counted before the next one starts
+        open.moveTo(20, 0).lineTo(20, 10).lineTo(30, 10).lineTo(30, 0);
+        assertEquals(1, open.getWinding(5, 5));
+        assertEquals(-1, open.getWinding(25, 5));
+        assertEquals(0, open.getWinding(15, 5));
+        // A quadratic bulging up from the line it starts on
+        Path2f curve = new Path2f().moveTo(0, 0).quadraticTo(5, 10, 10, 0);
+        assertEquals(-1, curve.getWinding(5, 2));
+        assertEquals(0, curve.getWinding(5, 6));
+    }
+
+    @Test
+    void lengthCountsTheClosingLine() {
+        Path2f square = counterClockwise(new Path2f(), 0, 0, 10, 10);
+        assertEquals(40, square.getLength(), EPSILON);
+        // An open contour has no closing line
+        assertEquals(30, new Path2f().moveTo(0, 0).lineTo(10, 0).lineTo(10, 10).lineTo(0, 10).getLength(),
+                EPSILON);
+        // Straight quadratics and cubics have the length of their chord
+        Path2f curves = new Path2f().moveTo(0, 0).quadraticTo(5, 0, 10, 0).cubicTo(10, 2, 10, 4, 10, 10);
+        assertEquals(20, curves.getLength(), 1e-4f);
+        counterClockwise(square, 20, 20, 23, 24);
+        assertEquals(54, square.getLength(), EPSILON);
+        assertEquals(40, square.getLength(0), EPSILON);
+        assertEquals(14, square.getLength(1), EPSILON);
+    }
+
+    @Test
+    void drawingAfterCloseStartsAContourAtTheSameStart() {
+        Path2f path = new Path2f().moveTo(1, 2).lineTo(10, 2).lineTo(10, 10).close().lineTo(1, 10).close();
+        assertArrayEquals(new byte[] { Path2f.MOVE, Path2f.LINE, Path2f.LINE, Path2f.CLOSE, Path2f.MOVE,
+                Path2f.LINE, Path2f.CLOSE }, verbs(path));
+        assertArrayEquals(new float[] { 1, 2, 10, 2, 10, 10, 1, 2, 1, 10 }, points(path));
+        assertEquals(2, path.getContourCount());
+        // Repeated closes and moves collapse
+        path.close().moveTo(0, 0).moveTo(3, 4).quadraticTo(5, 6, 7, 8).close().close();
+        assertArrayEquals(new byte[] { Path2f.MOVE, Path2f.QUADRATIC, Path2f.CLOSE },
+                Arrays.copyOfRange(verbs(path), 7, 10));
+        assertArrayEquals(new float[] { 3, 4, 5, 6, 7, 8 }, Arrays.copyOfRange(points(path), 10, 16));
+        assertThrows(IllegalStateException.class, () -> new Path2f().lineTo(1, 1));
+        assertEquals(0, new Path2f().close().getVerbCount());
+    }
+
+    @Test
+    void segmentIteratorClosesContoursOnlyWhenAsked() {
+        Path2f path = new Path2f().moveTo(0, 0).lineTo(10, 0).quadraticTo(10, 10, 0, 10);
+        path.moveTo(20, 0).cubicTo(30, 0, 30, 10, 20, 10).close();
+        // Already back at its start, so the close adds no line
+        path.moveTo(40, 0).lineTo(50, 0).lineTo(40, 0).close();
+        List<float[]> explicit = List.of(
+                new float[] { 0, 0, 0, 0, 10, 0 },
+                new float[] { 0, 0, 10, 0, 10, 10, 0, 10 },
+                new float[] { 1, 0, 20, 0, 30, 0, 30, 10, 20, 10 },
+                new float[] { 1, 1, 20, 10, 20, 0 },
+                new float[] { 2, 0, 40, 0, 50, 0 },
+                new float[] { 2, 0, 50, 0, 40, 0 });
+        assertSegments(explicit, segments(path.iterator()));
+        List<float[]> closed = new ArrayList<>(explicit);
+        closed.add(2, new float[] { 0, 1, 0, 10, 0, 0 });
+        assertSegments(closed, segments(path.iterator(true)));
+        // An open contour at the end is closed too
+        path.moveTo(60, 0).lineTo(70, 0).lineTo(70, 5);
+        closed.add(new float[] { 3, 0, 60, 0, 70, 0 });
+        closed.add(new float[] { 3, 0, 70, 0, 70, 5 });
+        closed.add(new float[] { 3, 1, 70, 5, 60, 0 });
+        Path2f.SegmentIterator it = path.iterator(true);
+        assertSegments(closed, segments(it));
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+        // A reset iterator visits the same segments again
+        assertSegments(closed, segments(it.reset()));
+        assertTrue(segments(new Path2f().iterator(true)).isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares projections against the closest of many samples along the curve,
+ * on curves that wind back and forth so most positions have several local
+ * minima of the distance.
+ */
+class Projection2fTest {
+
+    private static final int SAMPLES = 20000;
+    private static final float EPSILON = 1e-5f;
+
+    /**
+     * The squared distance to the closest of {@link #SAMPLES} uniform samples.
+     */
+    private static double sampled(Bezier2fc curve, float px, float py) {
+        Vector2f temp = new Vector2f();
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i <= SAMPLES; i++) {
+            curve.getPosition((float) i / SAMPLES, temp);
+            best = Math.min(best, (double) (temp.x - px) * (temp.x - px) + (double) (temp.y - py) * (temp.y - py));
+        }
+        return best;
+    }
+
+    private static void assertClosest(Bezier2fc curve, Random random, float minX, float minY, float maxX,
+            float maxY) {
+        Projection2f projection = new Projection2f();
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < 500; i++) {
+            float px = minX + random.nextFloat() * (maxX - minX), py = minY + random.nextFloat() * (maxY - minY);
+            projection.project(curve, px, py);
+            String position = px + ", " + py;
+            // The reported point and distance belong to the reported factor
+            curve.getPosition(projection.getT(), temp);
+            assertEquals(temp.x, projection.getX(), 1e-4f, position);
+            assertEquals(temp.y, projection.getY(), 1e-4f, position);
+            assertEquals(temp.distance(px, py), projection.getDistance(), 1e-4f, position);
+            // The closest sample lies within half a sample of the closest point
+            double closest = Math.sqrt(sampled(curve, px, py));
+            assertEquals(closest, projection.getDistance(), 1e-3, position);
+        }
+    }
+
+    @Test
+    void cubicWithSeveralMinimaMatchesDenseSampling() {
+        Random random = new Random(0xC0B1);
+        // Waves crossing the X axis three times
+        assertClosest(new Cubic2f(0, 0, 1, 3, 2, -3, 3, 0), random, -1, -2, 4, 2);
+        // A loop, where positions inside are close to both of its sides
+        assertClosest(new Cubic2f(0, 0, 4, 3, -1, 3, 3, 0), random, -1, -1, 4, 3);
+        // A cusp
+        assertClosest(new Cubic2f(0, 0, 3, 2, 0, 2, 3, 0), random, -1, -1, 4, 3);
+        // Both ends bent back towards each other
+        assertClosest(new Cubic2f(0, 0, 5, -5, 5, 5, 0, 0.5f), random, -1, -2, 5, 2);
+    }
+
+    @Test
+    void quadraticMatchesDenseSampling() {
+        Random random = new Random(0x0AD2);
+        assertClosest(new Quadratic2f(0, 0, 5, 10, 10, 0), random, -2, -2, 12, 8);
+        // A sharp turn, positions on its axis are equally close to both sides
+        assertClosest(new Quadratic2f(0, 0, 10, 0.5f, 0, 1), random, -2, -2, 8, 3);
+    }
+
+    @Test
+    void lineUsesTheClosedForm() {
+        Random random = new Random(0x11E5);
+        Projection2f projection = new Projection2f();
+        for (int i = 0; i < 500; i++) {
+            float x0 = random.nextFloat() * 10, y0 = random.nextFloat() * 10;
+            float x1 = random.nextFloat() * 10, y1 = random.nextFloat() * 10;
+            float px = random.nextFloat() * 20 - 5, py = random.nextFloat() * 20 - 5;
+            double dx = x1 - x0, dy = y1 - y0;
+            double t = ((px - x0) * dx + (py - y0) * dy) / (dx * dx + dy * dy);
+            t = Math.max(0, Math.min(1, t));
+            projection.project(new Line2f(x0, y0, x1, y1), px, py);
+            assertEquals(t, projection.getT(), 1e-5);
+            assertEquals(Math.hypot(x0 + dx * t - px, y0 + dy * t - py), projection.getDistance(), 1e-4);
+        }
+        // A line collapsed into a point
+        projection.project(new Line2f(2, 3, 2, 3), 5, 7);
+        assertEquals(0, projection.getT());
+        assertEquals(5, projection.getDistance(), EPSILON);
+    }
+
+    @Test
+    void positionsPastTheEndsClampToThem() {
+        Cubic2f cubic = new Cubic2f(0, 0, 1, 3, 2, -3, 3, 0);
+        Quadratic2f quadratic = new Quadratic2f(0, 0, 5, 10, 10, 0);
+        Projection2f projection = new Projection2f();
+        for (Bezier2fc curve : new Bezier2fc[] { cubic, quadratic, new Line2f(0, 0, 3, 0) }) {
+            projection.project(curve, -5, -1);
+            assertEquals(0, projection.getT());
+            assertArrayEquals(new float[] { 0, 0 }, new float[] { projection.getX(), projection.getY() });
+            assertEquals(Math.hypot(5, 1), projection.getDistance(), EPSILON);
+        }
+        projection.project(cubic, 10, -1);
+        assertEquals(1, projection.getT());
+        assertEquals(Math.hypot(7, 1), projection.getDistance(), EPSILON);
+        projection.project(quadratic, 15, -2);
+        assertEquals(1, projection.getT());
+        assertEquals(Math.hypot(5, 2), projection.getDistance(), EPSILON);
+    }
+
+    @Test
+    void batchProjectionMatchesSingleProjections() {
+        Cubic2f cubic = new Cubic2f(0, 0, 4, 3, -1, 3, 3, 0);
+        Random random = new Random(0xBA7C);
+        float[] points = new float[2 + 64 * 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextFloat() * 5 - 1;
+        }
+        float[] t = new float[65], distances = new float[65];
+        Projection2f projection = new Projection2f().load(cubic);
+        assertEquals(64, projection.project(64, 2, points, 1, t, distances));
+        for (int i = 0; i < 64; i++) {
+            Projection2f single = new Projection2f().project(cubic, points[2 + i * 2], points[3 + i * 2]);
+            assertEquals(single.getT(), t[1 + i]);
+            assertEquals(single.getDistance(), distances[1 + i]);
+        }
+        assertEquals(0, projection.project(0, 0, points, 0, t, null));
+        assertThrows(IllegalStateException.class, () -> new Projection2f().project(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Projection2f(0));
+    }
+}
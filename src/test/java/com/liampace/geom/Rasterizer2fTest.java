@@ -0,0 +1,132 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.Rasterizer2f.FillRule;
+
+/**
+ * Rasterizes shapes whose covered area is known exactly and compares both the
+ * coverage of single pixels and the total coverage against it. The targets span
+ * several tiles so the lines crossing tile edges are exercised as well.
+ */
+class Rasterizer2fTest {
+
+    private static final int SIZE = 160;
+    private static final float EPSILON = 1e-4f;
+
+    private static float[] rasterize(Path2f path, FillRule rule) {
+        return new Rasterizer2f(SIZE, SIZE, 0.01f).add(path).rasterize(rule, 0, new float[SIZE * SIZE]);
+    }
+
+    /**
+     * The area of the pixel at {@code (x, y)} inside the rectangle.
+     */
+    private static float overlap(int x, int y, float x0, float y0, float x1, float y1) {
+        float w = Math.max(0, Math.min(x + 1, x1) - Math.max(x, x0));
+        float h = Math.max(0, Math.min(y + 1, y1) - Math.max(y, y0));
+        return w * h;
+    }
+
+    @Test
+    void squareCoversTheOverlapOfEveryPixel() {
+        float x0 = 10.25f, y0 = 20.5f, x1 = 130.75f, y1 = 90.5f;
+        for (FillRule rule : FillRule.values()) {
+            float[] coverage = rasterize(Shapes2f.rectangle(new Path2f(), x0, y0, x1, y1), rule);
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    assertEquals(overlap(x, y, x0, y0, x1, y1), coverage[y * SIZE + x], EPSILON,
+                            "pixel " + x + ", " + y);
+                }
+            }
+            assertEquals((x1 - x0) * (y1 - y0), Shapes2f.sum(coverage), 1e-2);
+        }
+    }
+
+    @Test
+    void coverageDoesNotDependOnTheOrientation() {
+        Path2f clockwise = new Path2f().moveTo(10, 10).lineTo(10, 100).lineTo(100, 100).lineTo(100, 10).close();
+        Path2f counterClockwise = Shapes2f.rectangle(new Path2f(), 10, 10, 100, 100);
+        assertArrayEquals(rasterize(counterClockwise, FillRule.NON_ZERO), rasterize(clockwise, FillRule.NON_ZERO));
+    }
+
+    @Test
+    void circleCoversItsArea() {
+        float cx = 80.3f, cy = 79.6f, r = 60;
+        float[] coverage = rasterize(Shapes2f.circle(new Path2f(), cx, cy, r), FillRule.NON_ZERO);
+        // The cubics stray up to 0.03% from the circle
+        assertEquals(Math.PI * r * r, Shapes2f.sum(coverage), Math.PI * r * r * 1e-3);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                double distance = Math.hypot(x + 0.5 - cx, y + 0.5 - cy);
+                if (distance < r - 1) {
+                    assertEquals(1, coverage[y * SIZE + x], EPSILON);
+                } else if (distance > r + 1) {
+                    assertEquals(0, coverage[y * SIZE + x], EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    void figureEightCoversBothLoopsUnderEitherRule() {
+        // The loops wind in opposite directions around the crossing at (80, 80)
+        Path2f path = new Path2f().moveTo(20, 20).lineTo(140, 140).lineTo(140, 20).lineTo(20, 140).close();
+        double area = 2 * 0.5 * 120 * 60;
+        float[] nonZero = rasterize(path, FillRule.NON_ZERO);
+        float[] evenOdd = rasterize(path, FillRule.EVEN_ODD);
+        assertEquals(area, Shapes2f.sum(nonZero), 1e-2);
+        assertArrayEquals(nonZero, evenOdd, EPSILON);
+        // Inside the left and right loops, outside above and below the crossing
+        assertEquals(1, nonZero[80 * SIZE + 40], EPSILON);
+        assertEquals(1, nonZero[80 * SIZE + 120], EPSILON);
+        assertEquals(0, nonZero[40 * SIZE + 80], EPSILON);
+        assertEquals(0, nonZero[120 * SIZE + 80], EPSILON);
+    }
+
+    @Test
+    void overlappingContoursFollowTheFillRule() {
+        Path2f path = Shapes2f.rectangle(new Path2f(), 20, 20, 100, 100);
+        Shapes2f.rectangle(path, 60, 60, 140, 140);
+        float[] nonZero = rasterize(path, FillRule.NON_ZERO);
+        float[] evenOdd = rasterize(path, FillRule.EVEN_ODD);
+        // The overlap winds twice, so even-odd leaves it empty
+        assertEquals(2 * 80 * 80 - 40 * 40, Shapes2f.sum(nonZero), 1e-2);
+        assertEquals(2 * 80 * 80 - 2 * 40 * 40, Shapes2f.sum(evenOdd), 1e-2);
+        assertEquals(1, nonZero[80 * SIZE + 80], EPSILON);
+        assertEquals(0, evenOdd[80 * SIZE + 80], EPSILON);
+        assertEquals(1, evenOdd[40 * SIZE + 40], EPSILON);
+    }
+
+    @Test
+    void holeOfOppositeWindingIsEmptyUnderEitherRule() {
+        Path2f path = Shapes2f.circle(new Path2f(), 80, 80, 70);
+        // Traced clockwise, so its winding cancels the outer circle's
+        path.moveTo(50, 50).lineTo(50, 110).lineTo(110, 110).lineTo(110, 50).close();
+        for (FillRule rule : FillRule.values()) {
+            float[] coverage = rasterize(path, rule);
+            assertEquals(0, coverage[80 * SIZE + 80], EPSILON);
+            assertEquals(Math.PI * 70 * 70 - 60 * 60, Shapes2f.sum(coverage), Math.PI * 70 * 70 * 1e-3);
+        }
+    }
+
+    @Test
+    void outputDoesNotDependOnTheNumberOfThreads() {
+        Rasterizer2f rasterizer = new Rasterizer2f(SIZE, SIZE).add(Shapes2f.circle(new Path2f(), 70, 90, 55));
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            float[] expected = rasterizer.rasterize(FillRule.NON_ZERO, 0, new float[SIZE * SIZE], single);
+            assertArrayEquals(expected, rasterizer.rasterize(FillRule.NON_ZERO, 0, new float[SIZE * SIZE]));
+            byte[] bytes = rasterizer.rasterize(FillRule.NON_ZERO, 3, new byte[SIZE * SIZE + 3], single);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(Math.round(expected[i] * 255), bytes[i + 3] & 0xFF);
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Compares every root of {@link RootSolver} against a double precision
+ * reference that brackets the roots between the critical points of the
+ * polynomial and bisects them, over random inputs drawn from fixed seeds.
+ * <p>
+ * Only well conditioned roots, where the slope of the polynomial is not
+ * negligible, are required to be found, as float input cannot locate repeated
+ * roots better than the square root of its precision.
+ */
+class RootSolverTest {
+
+    private static final int COUNT = 50_000;
+    private static final long[] SEEDS = { 0x6E0D2DL, 0x5EED5L };
+    private static final double CONDITION = 1e-3;
+    private static final double MATCH_DISTANCE = 1e-3;
+    private static final double RESIDUAL = 1e-4;
+    private static final int BISECTIONS = 200;
+    private static final double FAR = 1 / Math.sqrt(RootSolver.DEGENERATE_EPSILON);
+
+    /**
+     * The shape of the generated equations.
+     */
+    enum Input {
+        /** Uniformly random coefficients. */
+        RANDOM,
+        /** The leading coefficient is exactly zero, so the degree drops by one. */
+        ZERO_LEADING,
+        /** Every polynomial has a repeated root inside [0-1]. */
+        REPEATED_ROOTS,
+        /** The leading coefficient is tiny but not zero and must drop the degree. */
+        TINY_LEADING
+    }
+
+    static List<Arguments> configurations() {
+        List<Arguments> configurations = new ArrayList<>();
+        for (long seed : SEEDS) {
+            for (Input input : Input.values()) {
+                for (int degree = input == Input.TINY_LEADING ? 3 : 2; degree <= 3; degree++) {
+                    configurations.add(Arguments.of(input, degree, false, seed));
+                    configurations.add(Arguments.of(input, degree, true, seed));
+                }
+            }
+        }
+        return configurations;
+    }
+
+    @ParameterizedTest(name = "{0} degree {1} unit {2} seed {3}")
+    @MethodSource("configurations")
+    void matchesReference(Input input, int degree, boolean unit, long seed) {
+        Random random = new Random(seed);
+        float[] a = new float[COUNT], b = new float[COUNT], c = new float[COUNT], d = new float[COUNT];
+        float[] temp = new float[4];
+        for (int i = 0; i < COUNT; i++) {
+            RootSolverTest.coefficients(input, degree, random, temp);
+            a[i] = temp[3];
+            b[i] = temp[2];
+            c[i] = temp[1];
+            d[i] = temp[0];
+        }
+        float[] roots = new float[COUNT * RootSolver.MAX_ROOTS];
+        int[] counts = new int[COUNT];
+        if (degree == 3) {
+            RootSolver.solveCubics(COUNT, 0, a, b, c, d, unit, 0, roots, 0, counts);
+        } else {
+            RootSolver.solveQuadratics(COUNT, 0, b, c, d, unit, 0, roots, 0, counts);
+        }
+        List<String> missed = new ArrayList<>(), spurious = new ArrayList<>();
+        double[] reference = new double[RootSolver.MAX_ROOTS];
+        for (int i = 0; i < COUNT; i++) {
+            int found = RootSolverTest.reference(a[i], b[i], c[i], d[i], unit, reference);
+            double norm = Math.max(Math.max(Math.abs(a[i]), Math.abs(b[i])), Math.max(Math.abs(c[i]), Math.abs(d[i])));
+            int r = i * RootSolver.MAX_ROOTS;
+            String equation = "%s %s %s %s -> %s ref %s".formatted(a[i], b[i], c[i], d[i],
+                    Arrays.toString(Arrays.copyOfRange(roots, r, r + counts[i])),
+                    Arrays.toString(Arrays.copyOf(reference, found)));
+            for (int k = 0; k < found; k++) {
+                double t = reference[k];
+                double slope = (3.0 * a[i] * t + 2.0 * b[i]) * t + c[i];
+                // Roots this far out are discarded by the degree drop by design
+                if (Math.abs(slope) < CONDITION * norm || Math.abs(t) > FAR) {
+                    continue;
+                }
+                double nearest = Double.POSITIVE_INFINITY;
+                for (int j = 0; j < counts[i]; j++) {
+                    nearest = Math.min(nearest, RootSolverTest.distance(roots[r + j], t));
+                }
+                if (nearest > MATCH_DISTANCE) {
+                    missed.add(equation);
+                }
+            }
+            for (int j = 0; j < counts[i]; j++) {
+                double t = roots[r + j];
+                double nearest = Double.POSITIVE_INFINITY;
+                for (int k = 0; k < found; k++) {
+                    nearest = Math.min(nearest, RootSolverTest.distance(t, reference[k]));
+                }
+                double residual = ((a[i] * t + b[i]) * t + c[i]) * t + d[i];
+                if (nearest > MATCH_DISTANCE && Math.abs(residual) > RESIDUAL * norm * Math.max(1, t * t * t)) {
+                    spurious.add(equation);
+                }
+            }
+        }
+        assertEquals(List.of(), missed, "missed roots");
+        assertEquals(List.of(), spurious, "spurious roots");
+    }
+
+    /**
+     * Writes power basis coefficients into {@code dest} where index {@code i} is
+     * the coefficient of {@code t^i}.
+     */
+    private static void coefficients(Input input, int degree, Random random, float[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = i <= degree ? random.nextFloat() * 2 - 1 : 0;
+        }
+        switch (input) {
+            case ZERO_LEADING:
+                dest[degree] = 0;
+                break;
+            case TINY_LEADING:
+                dest[degree] *= 1e-9f;
+                break;
+            case REPEATED_ROOTS: {
+                // (t - r)^2 (t - s) or (t - r)^2, scaled, with r inside [0-1]
+                float r = random.nextFloat(), s = random.nextFloat() * 2 - 1, k = random.nextFloat() * 2 - 1;
+                if (degree == 3) {
+                    dest[3] = k;
+                    dest[2] = -k * (2 * r + s);
+                    dest[1] = k * (r * r + 2 * r * s);
+                    dest[0] = -k * r * r * s;
+                } else {
+                    dest[2] = k;
+                    dest[1] = -2 * k * r;
+                    dest[0] = k * r * r;
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Finds the real roots of {@code at^3 + bt^2 + ct + d} in double precision by
+     * bisecting every interval between consecutive critical points whose ends
+     * differ in sign.
+     *
+     * @return number of roots written to {@code dest}, sorted
+     */
+    private static int reference(double a, double b, double c, double d, boolean unit, double[] dest) {
+        int degree = a != 0 ? 3 : b != 0 ? 2 : c != 0 ? 1 : 0;
+        if (degree == 0) {
+            return 0;
+        }
+        double lead = degree == 3 ? a : degree == 2 ? b : c;
+        double lo, hi;
+        if (unit) {
+            lo = -RootSolver.UNIT_EPSILON;
+            hi = 1 + RootSolver.UNIT_EPSILON;
+        } else {
+            // Cauchy's bound on the magnitude of the roots
+            double bound = 1 + Math.max(Math.max(Math.abs(b / lead), Math.abs(c / lead)), Math.abs(d / lead));
+            lo = -bound;
+            hi = bound;
+        }
+        double[] points = new double[4];
+        int n = 0;
+        points[n++] = lo;
+        // Critical points, the roots of 3at^2 + 2bt + c
+        double qa = 3 * a, qb = 2 * b, qc = c;
+        if (qa != 0) {
+            double discriminant = qb * qb - 4 * qa * qc;
+            if (discriminant >= 0) {
+                double sqrt = Math.sqrt(discriminant);
+                double q = -0.5 * (qb + Math.copySign(sqrt, qb));
+                double r0 = q / qa, r1 = q != 0 ? qc / q : r0;
+                for (double r : new double[] { Math.min(r0, r1), Math.max(r0, r1) }) {
+                    if (r > lo && r < hi) {
+                        points[n++] = r;
+                    }
+                }
+            }
+        } else if (qb != 0) {
+            double r = -qc / qb;
+            if (r > lo && r < hi) {
+                points[n++] = r;
+            }
+        }
+        points[n++] = hi;
+        Arrays.sort(points, 0, n);
+        int count = 0;
+        for (int i = 0; i + 1 < n && count < dest.length; i++) {
+            double x0 = points[i], x1 = points[i + 1];
+            double f0 = RootSolverTest.evaluate(a, b, c, d, x0), f1 = RootSolverTest.evaluate(a, b, c, d, x1);
+            if (f0 == 0) {
+                count = RootSolverTest.add(dest, count, x0);
+                continue;
+            }
+            if (f1 != 0 && (f0 < 0) == (f1 < 0)) {
+                continue;
+            }
+            for (int k = 0; k < BISECTIONS && f1 != 0; k++) {
+                double middle = (x0 + x1) * 0.5;
+                if (middle == x0 || middle == x1) {
+                    break;
+                }
+                double f = RootSolverTest.evaluate(a, b, c, d, middle);
+                if ((f < 0) == (f0 < 0) && f != 0) {
+                    x0 = middle;
+                    f0 = f;
+                } else {
+                    x1 = middle;
+                    f1 = f;
+                }
+            }
+            count = RootSolverTest.add(dest, count, x1);
+        }
+        if (unit) {
+            for (int i = 0; i < count; i++) {
+                dest[i] = Math.max(Math.min(dest[i], 1), 0);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Distance between two roots, relative to their magnitude once it exceeds
+     * {@code 1}.
+     */
+    private static double distance(double root, double reference) {
+        return Math.abs(root - reference) / Math.max(1, Math.abs(reference));
+    }
+
+    private static int add(double[] dest, int count, double root) {
+        if (count > 0 && dest[count - 1] == root) {
+            return count;
+        }
+        dest[count] = root;
+        return count + 1;
+    }
+
+    private static double evaluate(double a, double b, double c, double d, double t) {
+        return ((a * t + b) * t + c) * t + d;
+    }
+}
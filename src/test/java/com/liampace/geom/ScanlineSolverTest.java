@@ -0,0 +1,175 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares the hits of many scanlines at once against the intercepts of each
+ * scanline on its own and against sign changes along dense samples of the
+ * curve.
+ */
+class ScanlineSolverTest {
+
+    private static final int SCANLINES = 64;
+
+    private static Bezier2f curve(Random random, int degree) {
+        float[] p = new float[8];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = random.nextFloat() * 10;
+        }
+        switch (degree) {
+            case 1:
+                return new Line2f(p[0], p[1], p[2], p[3]);
+            case 2:
+                return new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            default:
+                return new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+        }
+    }
+
+    /**
+     * Sorted scanlines over the range of the curve, half of them at the
+     * coordinate of a random point on it so extrema are touched closely.
+     */
+    private static float[] scanlines(Bezier2fc curve, int axis, Random random) {
+        Vector2f temp = new Vector2f();
+        float[] scanlines = new float[SCANLINES];
+        for (int i = 0; i < scanlines.length; i++) {
+            if (i % 2 == 0) {
+                scanlines[i] = random.nextFloat() * 12 - 1;
+            } else {
+                curve.getPosition(random.nextFloat(), temp);
+                scanlines[i] = axis == 0 ? temp.x : temp.y;
+            }
+        }
+        Arrays.sort(scanlines);
+        return scanlines;
+    }
+
+    /**
+     * The hits of scanline {@code line} in the order reported.
+     */
+    private static float[] hits(int count, int[] lines, float[] dest, int line) {
+        float[] hits = new float[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (lines[i] == line) {
+                hits[found++] = dest[i];
+            }
+        }
+        return Arrays.copyOf(hits, found);
+    }
+
+    /**
+     * The intercepts of a single scanline within {@code [0, 1]}.
+     */
+    private static float[] intercepts(Bezier2fc curve, int axis, float value) {
+        float[] dest = new float[3];
+        int count = axis == 0 ? curve.getInterceptsY(value, 0, dest) : curve.getInterceptsX(value, 0, dest);
+        int inside = 0;
+        for (int i = 0; i < count; i++) {
+            if (dest[i] >= 0 && dest[i] <= 1) {
+                dest[inside++] = dest[i];
+            }
+        }
+        return Arrays.copyOf(dest, inside);
+    }
+
+    /**
+     * Counts the sign changes of the curve minus {@code value} along dense
+     * samples.
+     */
+    private static int crossings(Bezier2fc curve, int axis, float value) {
+        Vector2f temp = new Vector2f();
+        int count = 0;
+        boolean below = false;
+        for (int i = 0; i <= 10_000; i++) {
+            curve.getPosition(i / 10_000f, temp);
+            boolean current = (axis == 0 ? temp.x : temp.y) < value;
+            if (i > 0 && current != below) {
+                count++;
+            }
+            below = current;
+        }
+        return count;
+    }
+
+    @Test
+    void scanlinesMatchSingleScanlineIntercepts() {
+        Random random = new Random(0x5CA7);
+        int[] lines = new int[SCANLINES * 3];
+        float[] dest = new float[SCANLINES * 3];
+        for (int i = 0; i < 3_000; i++) {
+            Bezier2f curve = curve(random, 1 + i % 3);
+            for (int axis = 0; axis < 2; axis++) {
+                float[] scanlines = scanlines(curve, axis, random);
+                int count = axis == 0 ? curve.getInterceptsY(scanlines, 0, SCANLINES, 0, lines, dest)
+                        : curve.getInterceptsX(scanlines, 0, SCANLINES, 0, lines, dest);
+                for (int k = 0; k < SCANLINES; k++) {
+                    String message = "%s, axis %s at %s".formatted(curve, axis, scanlines[k]);
+                    // Repeated scanlines are reported once for each
+                    assertArrayEquals(intercepts(curve, axis, scanlines[k]), hits(count, lines, dest, k), 1e-4f,
+                            message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void hitsMatchSampledSignChanges() {
+        Random random = new Random(0x516E);
+        int[] lines = new int[SCANLINES * 3];
+        float[] dest = new float[SCANLINES * 3];
+        Vector2f temp = new Vector2f();
+        for (int i = 0; i < 300; i++) {
+            Bezier2f curve = curve(random, 1 + i % 3);
+            float[] scanlines = new float[SCANLINES];
+            for (int k = 0; k < SCANLINES; k++) {
+                scanlines[k] = -1 + k * 12f / SCANLINES + random.nextFloat() * 0.01f;
+            }
+            int count = curve.getInterceptsX(scanlines, 0, SCANLINES, 0, lines, dest);
+            float previous = 0;
+            for (int h = 0; h < count; h++) {
+                // Hits are in ascending order along the curve and on it
+                assertEquals(scanlines[lines[h]], curve.getPosition(dest[h], temp).y, 1e-3f, curve.toString());
+                assertTrue(dest[h] >= previous, curve.toString());
+                previous = dest[h];
+            }
+            for (int k = 0; k < SCANLINES; k++) {
+                assertEquals(crossings(curve, 1, scanlines[k]), hits(count, lines, dest, k).length,
+                        "%s at %s".formatted(curve, scanlines[k]));
+            }
+        }
+    }
+
+    @Test
+    void subrangeAndIndexOffsetTheResults() {
+        Cubic2f curve = new Cubic2f(0, 0, 1, 10, 2, -10, 3, 0);
+        float[] scanlines = { -5, -1, 0, 1, 5 };
+        int[] all = new int[16], some = new int[16];
+        float[] allDest = new float[16], someDest = new float[16];
+        int count = curve.getInterceptsX(scanlines, 0, scanlines.length, 0, all, allDest);
+        int partial = curve.getInterceptsX(scanlines, 1, 4, 2, some, someDest);
+        int expected = 0;
+        for (int i = 0; i < count; i++) {
+            if (all[i] >= 1 && all[i] < 4) {
+                assertEquals(all[i], some[2 + expected]);
+                assertEquals(allDest[i], someDest[2 + expected]);
+                expected++;
+            }
+        }
+        assertEquals(expected, partial);
+        assertEquals(0, curve.getInterceptsX(scanlines, 2, 2, 0, some, someDest));
+    }
+}
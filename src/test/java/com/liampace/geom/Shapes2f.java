@@ -0,0 +1,48 @@
+package com.liampace.geom;
+
+/**
+ * Shapes with a known area or distance shared by the tests of the fillers.
+ */
+final class Shapes2f {
+
+    /**
+     * The magic constant of a quarter circle made of a cubic.
+     */
+    static final float KAPPA = 0.5522848f;
+
+    private Shapes2f() {
+    }
+
+    /**
+     * Appends the closed rectangle between {@code (x0, y0)} and
+     * {@code (x1, y1)} to {@code path}.
+     */
+    static Path2f rectangle(Path2f path, float x0, float y0, float x1, float y1) {
+        return path.moveTo(x0, y0).lineTo(x1, y0).lineTo(x1, y1).lineTo(x0, y1).close();
+    }
+
+    /**
+     * Appends a closed circle of four cubics to {@code path}, which strays up to
+     * 0.03% of the radius from the exact circle.
+     */
+    static Path2f circle(Path2f path, float cx, float cy, float r) {
+        float k = r * KAPPA;
+        path.moveTo(cx + r, cy);
+        path.cubicTo(cx + r, cy + k, cx + k, cy + r, cx, cy + r);
+        path.cubicTo(cx - k, cy + r, cx - r, cy + k, cx - r, cy);
+        path.cubicTo(cx - r, cy - k, cx - k, cy - r, cx, cy - r);
+        path.cubicTo(cx + k, cy - r, cx + r, cy - k, cx + r, cy);
+        return path.close();
+    }
+
+    /**
+     * The total of {@code values}, summed in double.
+     */
+    static double sum(float[] values) {
+        double sum = 0;
+        for (float value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
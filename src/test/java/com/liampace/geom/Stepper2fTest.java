@@ -0,0 +1,127 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+/**
+ * Compares stepped positions and derivatives against interpolating the curve
+ * at the same factors, one step at a time and in bulk.
+ */
+class Stepper2fTest {
+
+    private static final float EPSILON = 1e-4f;
+
+    private static Bezier2f curve(Random random, int degree) {
+        float[] p = new float[8];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = random.nextFloat() * 10;
+        }
+        switch (degree) {
+            case 1:
+                return new Line2f(p[0], p[1], p[2], p[3]);
+            case 2:
+                return new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            default:
+                return new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+        }
+    }
+
+    @Test
+    void stepsMatchInterpolation() {
+        Random random = new Random(0x57E9);
+        Vector2f position = new Vector2f(), derivative = new Vector2f(), temp = new Vector2f();
+        for (int anchorInterval : new int[] { 1, 7, Stepper2f.DEFAULT_ANCHOR_INTERVAL }) {
+            Stepper2f stepper = new Stepper2f(anchorInterval);
+            assertEquals(anchorInterval, stepper.getAnchorInterval());
+            for (int i = 0; i < 300; i++) {
+                Bezier2f curve = curve(random, 1 + i % 3);
+                int steps = new int[] { 1, 2, 13, 1000 }[i % 4];
+                stepper.reset(curve, steps);
+                for (int k = 0; k <= steps; k++) {
+                    String message = "%s step %s of %s".formatted(curve, k, steps);
+                    assertTrue(stepper.hasNext(), message);
+                    assertEquals(k, stepper.getIndex(), message);
+                    float t = stepper.getT();
+                    assertEquals((float) k / steps, t, 1e-6f, message);
+                    stepper.next(position, derivative);
+                    curve.getPosition(t, temp);
+                    assertEquals(temp.x, position.x, EPSILON, message);
+                    assertEquals(temp.y, position.y, EPSILON, message);
+                    curve.getDerivative(t, temp);
+                    assertEquals(temp.x, derivative.x, EPSILON, message);
+                    assertEquals(temp.y, derivative.y, EPSILON, message);
+                }
+                // The last position is anchored on the end point
+                Vector2fc end = curve.getPoint(curve.getLength() - 1);
+                assertEquals(end.x(), position.x);
+                assertEquals(end.y(), position.y);
+                assertFalse(stepper.hasNext());
+            }
+        }
+    }
+
+    @Test
+    void bulkStepsMatchSingleSteps() {
+        Random random = new Random(0xB01C);
+        Stepper2f stepper = new Stepper2f(16);
+        Vector2f position = new Vector2f(), derivative = new Vector2f();
+        for (int i = 0; i < 60; i++) {
+            Bezier2f curve = curve(random, 1 + i % 3);
+            int steps = 1 + random.nextInt(200);
+            float[] positions = new float[2 + (steps + 1) * 2], derivatives = new float[2 + (steps + 1) * 2];
+            float[] expected = new float[positions.length], expectedDerivatives = new float[derivatives.length];
+            stepper.reset(curve, steps);
+            for (int p = 2; stepper.hasNext(); p += 2) {
+                stepper.next(position, derivative);
+                expected[p] = position.x;
+                expected[p + 1] = position.y;
+                expectedDerivatives[p] = derivative.x;
+                expectedDerivatives[p + 1] = derivative.y;
+            }
+            // From a fresh reset both anchor at the same indices and add in the same order
+            assertEquals(steps + 1, stepper.reset(curve, steps).next(2, positions, derivatives));
+            assertArrayEquals(expected, positions, curve.toString());
+            assertArrayEquals(expectedDerivatives, derivatives, curve.toString());
+            assertFalse(stepper.hasNext());
+            assertEquals(0, stepper.next(0, positions, null));
+            // Bulk steps pick up where single steps left off
+            stepper.reset(curve, steps).next(position);
+            float[] rest = new float[steps * 2];
+            assertEquals(steps, stepper.next(0, rest, null));
+            for (int k = 0; k < rest.length; k++) {
+                assertEquals(expected[4 + k], rest[k], EPSILON, curve.toString());
+            }
+        }
+    }
+
+    @Test
+    void stepperRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new Stepper2f(0));
+        Stepper2f stepper = new Stepper2f();
+        assertEquals(Stepper2f.DEFAULT_ANCHOR_INTERVAL, stepper.getAnchorInterval());
+        // Nothing to walk before the first reset
+        assertFalse(stepper.hasNext());
+        assertThrows(NoSuchElementException.class, () -> stepper.next(new Vector2f()));
+        Line2f line = new Line2f(0, 0, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> stepper.reset(line, 0));
+        stepper.reset(line, 1);
+        assertEquals(1, stepper.getSteps());
+        stepper.next(new Vector2f());
+        stepper.next(new Vector2f());
+        assertThrows(NoSuchElementException.class, () -> stepper.next(new Vector2f()));
+    }
+}
@@ -0,0 +1,176 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.Rasterizer2f.FillRule;
+import com.liampace.geom.Stroker2f.Cap;
+import com.liampace.geom.Stroker2f.Join;
+import com.liampace.geom.curves.Cubic2f;
+import com.liampace.geom.curves.Line2f;
+import com.liampace.geom.curves.Quadratic2f;
+
+class Stroker2fTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    private static float[] points(Path2f path) {
+        return Arrays.copyOf(path.getCoordinates(), path.getPointCount() * 2);
+    }
+
+    private static byte[] verbs(Path2f path) {
+        return Arrays.copyOf(path.getVerbs(), path.getVerbCount());
+    }
+
+    /**
+     * Strokes the right angle turn {@code (0, 0) -> (10, 0) -> (10, 10)} with a
+     * width of 2.
+     */
+    private static Path2f corner(Join join, float miterLimit) {
+        Path2f path = new Path2f().moveTo(0, 0).lineTo(10, 0).lineTo(10, 10);
+        Stroker2f stroker = new Stroker2f().setWidth(2).setJoin(join).setMiterLimit(miterLimit);
+        return stroker.stroke(path, new Path2f());
+    }
+
+    private static double area(Path2f outline) {
+        // Moved away from the edges of the target
+        Path2f moved = new Path2f(outline).transformPosition(new Matrix3x2f().translation(8, 8));
+        float[] coverage = new Rasterizer2f(32, 32, 0.001f).add(moved).rasterize(FillRule.NON_ZERO, 0,
+                new float[32 * 32]);
+        double sum = 0;
+        for (float value : coverage) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static void assertFinite(Path2f path) {
+        for (float value : points(path)) {
+            assertTrue(Float.isFinite(value), () -> Arrays.toString(points(path)));
+        }
+    }
+
+    @Test
+    void lineOutlineIsOffsetExactly() {
+        Path2f outline = new Stroker2f().setWidth(2).stroke(new Line2f(0, 0, 10, 0), new Path2f());
+        assertArrayEquals(new byte[] { Path2f.MOVE, Path2f.LINE, Path2f.LINE, Path2f.LINE, Path2f.LINE, Path2f.CLOSE },
+                verbs(outline));
+        assertArrayEquals(new float[] { 0, -1, 10, -1, 10, 1, 0, 1, 0, -1 }, points(outline), EPSILON);
+    }
+
+    @Test
+    void diagonalLineOutlineIsOffsetAlongItsNormal() {
+        Path2f outline = new Stroker2f().setWidth(2).setCap(Cap.SQUARE).stroke(new Line2f(0, 0, 3, 4),
+                new Path2f());
+        // Normal (0.8, -0.6), square caps extend by (0.6, 0.8) past each end
+        assertArrayEquals(new float[] { 0.8f, -0.6f, 3.8f, 3.4f, 4.4f, 4.2f, 2.8f, 5.4f, 2.2f, 4.6f, -0.8f, 0.6f,
+                -1.4f, -0.2f, 0.2f, -1.4f, 0.8f, -0.6f }, points(outline), EPSILON);
+    }
+
+    @Test
+    void miterJoinMeetsAtTheCornerOfTheOffsets() {
+        Path2f outline = corner(Join.MITER, Stroker2f.DEFAULT_MITER_LIMIT);
+        assertArrayEquals(new float[] { 0, -1, 10, -1, 11, -1, 11, 0, 11, 10 },
+                Arrays.copyOf(points(outline), 10), EPSILON);
+        assertEquals(11 * 2 + 2 * 9, area(outline), 1e-2);
+    }
+
+    @Test
+    void miterJoinFallsBackToBevelPastTheLimit() {
+        // The miter of a right angle is sqrt(2) times half the width
+        assertArrayEquals(new float[] { 0, -1, 10, -1, 11, -1, 11, 0 },
+                Arrays.copyOf(points(corner(Join.MITER, 1.42f)), 8), EPSILON);
+        Path2f beveled = corner(Join.MITER, 1.41f);
+        assertArrayEquals(points(corner(Join.BEVEL, Stroker2f.DEFAULT_MITER_LIMIT)), points(beveled));
+        assertArrayEquals(new float[] { 0, -1, 10, -1, 11, 0, 11, 10 }, Arrays.copyOf(points(beveled), 8),
+                EPSILON);
+        assertEquals(11 * 2 + 2 * 9 - 0.5, area(beveled), 1e-2);
+    }
+
+    @Test
+    void roundJoinIsAQuarterCircle() {
+        Path2f outline = corner(Join.ROUND, Stroker2f.DEFAULT_MITER_LIMIT);
+        assertEquals(Path2f.CUBIC, outline.getVerb(2));
+        float[] p = points(outline);
+        // The arc runs from (10, -1) to (11, 0) around (10, 0)
+        Cubic2f arc = new Cubic2f(p[2], p[3], p[4], p[5], p[6], p[7], p[8], p[9]);
+        assertArrayEquals(new float[] { 10, -1, 11, 0 }, new float[] { p[2], p[3], p[8], p[9] }, EPSILON);
+        Vector2f temp = new Vector2f();
+        for (float t = 0; t <= 1; t += 0.125f) {
+            assertEquals(1, arc.getPosition(t, temp).distance(10, 0), 1e-3f);
+        }
+        assertEquals(11 * 2 + 2 * 9 - (1 - Math.PI / 4), area(outline), 1e-2);
+    }
+
+    @Test
+    void innerSideOfTheTurnPassesThroughTheCorner() {
+        for (Join join : Join.values()) {
+            float[] p = points(corner(join, Stroker2f.DEFAULT_MITER_LIMIT));
+            // The reversed side runs down x = 9, through (10, 0) and back along y = 1
+            float[] tail = Arrays.copyOfRange(p, p.length - 10, p.length);
+            assertArrayEquals(new float[] { 9, 0, 10, 0, 10, 1, 0, 1, 0, -1 }, tail, EPSILON, join.name());
+        }
+    }
+
+    @Test
+    void zeroLengthSegmentsAreDropped() {
+        Path2f path = new Path2f().moveTo(0, 0).lineTo(0, 0).lineTo(10, 0).lineTo(10, 0).cubicTo(10, 0, 10, 0,
+                10, 0);
+        Path2f outline = new Stroker2f().setWidth(2).stroke(path, new Path2f());
+        assertArrayEquals(new float[] { 0, -1, 10, -1, 10, 1, 0, 1, 0, -1 }, points(outline), EPSILON);
+        Path2f point = new Path2f().moveTo(5, 5).lineTo(5, 5).quadraticTo(5, 5, 5, 5);
+        assertEquals(0, new Stroker2f().stroke(point, new Path2f()).getVerbCount());
+    }
+
+    @Test
+    void coincidentControlPointsDoNotProduceNaN() {
+        Stroker2f stroker = new Stroker2f().setWidth(2);
+        for (Join join : Join.values()) {
+            stroker.setJoin(join);
+            for (Cap cap : Cap.values()) {
+                stroker.setCap(cap);
+                Path2f path = new Path2f().moveTo(0, 0).cubicTo(0, 0, 10, 10, 10, 10).quadraticTo(10, 10, 20, 10)
+                        .cubicTo(20, 10, 20, 10, 30, 0).cubicTo(40, 0, 40, 0, 40, 0).close();
+                Path2f outline = stroker.stroke(path, new Path2f());
+                assertFalse(outline.getVerbCount() == 0);
+                assertFinite(outline);
+            }
+        }
+        // Both control points on the start and the end, a straight cubic
+        Path2f offset = stroker.offset(new Cubic2f(0, 0, 0, 0, 10, 0, 10, 0), 1, new Path2f());
+        assertFinite(offset);
+        float[] p = points(offset);
+        assertArrayEquals(new float[] { 0, -1, 10, -1 }, new float[] { p[0], p[1], p[p.length - 2],
+                p[p.length - 1] }, EPSILON);
+        assertFinite(stroker.offset(new Quadratic2f(0, 0, 0, 0, 10, 5), -1, new Path2f()));
+    }
+
+    @Test
+    void curveOffsetStaysWithinTheTolerance() {
+        Cubic2f curve = new Cubic2f(0, 0, 10, 20, 30, -10, 40, 10);
+        float distance = 1.5f, tolerance = 0.01f;
+        Stroker2f stroker = new Stroker2f().setTolerance(tolerance);
+        Path2f offset = stroker.offset(curve, distance, new Path2f());
+        Vector2f temp = new Vector2f(), sample = new Vector2f();
+        Path2f.SegmentIterator it = offset.iterator();
+        while (it.hasNext()) {
+            Bezier2f piece = it.next();
+            for (float u = 0; u <= 1; u += 0.0625f) {
+                piece.getPosition(u, temp);
+                float nearest = Float.POSITIVE_INFINITY;
+                for (int i = 0; i <= 4096; i++) {
+                    nearest = Math.min(nearest, curve.getPosition(i / 4096f, sample).distance(temp));
+                }
+                assertEquals(distance, nearest, tolerance + 2e-3f);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class SvgPathParser2fTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    private static Path2f parse(String data) {
+        return new SvgPathParser2f().parse(data, new Path2f());
+    }
+
+    private static float[] points(Path2f path) {
+        return Arrays.copyOf(path.getCoordinates(), path.getPointCount() * 2);
+    }
+
+    private static byte[] verbs(Path2f path) {
+        return Arrays.copyOf(path.getVerbs(), path.getVerbCount());
+    }
+
+    private static void assertParsedAlike(String expected, String actual) {
+        Path2f a = parse(expected), b = parse(actual);
+        assertArrayEquals(verbs(a), verbs(b), actual);
+        assertArrayEquals(points(a), points(b), EPSILON, actual);
+    }
+
+    private static void assertMalformed(String data, int offset) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> parse(data));
+        assertTrue(e.getMessage().contains("at offset " + offset + " "), e.getMessage());
+    }
+
+    @Test
+    void absoluteCommandsAddTheirPoints() {
+        Path2f path = parse("M10 20 L30 25 H40 V50 C40 60 50 70 60 70 Q70 70 70 60 Z");
+        assertArrayEquals(new byte[] { Path2f.MOVE, Path2f.LINE, Path2f.LINE, Path2f.LINE, Path2f.CUBIC,
+                Path2f.QUADRATIC, Path2f.CLOSE }, verbs(path));
+        assertArrayEquals(new float[] { 10, 20, 30, 25, 40, 25, 40, 50, 40, 60, 50, 70, 60, 70, 70, 70, 70, 60 },
+                points(path), EPSILON);
+    }
+
+    @Test
+    void relativeCommandsAreOffsetByTheCurrentPoint() {
+        assertParsedAlike("M10 20 L30 25 H40 V50 C40 60 50 70 60 70 Q70 70 70 60 Z",
+                "m10 20 l20 5 h10 v25 c0 10 10 20 20 20 q10 0 10 -10 z");
+        // Closing returns to the start of the contour, which the next move is relative to
+        assertParsedAlike("M10 20 L30 25 Z M5 5 L6 6", "m10 20 l20 5 z m-5 -15 l1 1");
+        assertParsedAlike("M10 20 L30 25 Z L0 0", "M10 20 L30 25 z l-10 -20");
+    }
+
+    @Test
+    void repeatedCoordinatesRepeatTheCommand() {
+        assertParsedAlike("M0 0 L10 0 L10 10", "M0 0 10 0 10 10");
+        assertParsedAlike("M1 1 L3 1 L3 3", "m1 1 2 0 0 2");
+        assertParsedAlike("M0 0 L1 2 L3 4 L5 6", "M0 0 L1 2 3 4 5 6");
+        assertParsedAlike("M0 0 L1 2 L3 6", "M0,0 l1,2,2,4");
+        assertParsedAlike("M0 0 C1 1 2 2 3 3 C4 4 5 5 6 6", "M0 0 C1 1 2 2 3 3 4 4 5 5 6 6");
+        assertParsedAlike("M0 0 C1 1 2 2 3 3 C4 4 5 5 6 6", "M0 0 c1 1 2 2 3 3 1 1 2 2 3 3");
+    }
+
+    @Test
+    void smoothCubicReflectsThePreviousControlPoint() {
+        Path2f path = parse("M0 0 C10 0 20 10 30 10 S50 20 60 10");
+        assertArrayEquals(new float[] { 30, 10, 40, 10, 50, 20, 60, 10 }, Arrays.copyOfRange(points(path), 6, 14),
+                EPSILON);
+        assertParsedAlike("M0 0 C10 0 20 10 30 10 S50 20 60 10", "M0 0 c10 0 20 10 30 10 s20 10 30 0");
+        // A chain of smooth curves reflects the control point of the one before
+        assertParsedAlike("M0 0 C10 0 20 10 30 10 C40 10 50 20 60 10 C70 0 80 0 90 0",
+                "M0 0 C10 0 20 10 30 10 S50 20 60 10 80 0 90 0");
+        // Without a cubic before it, the first control point is the current point
+        assertParsedAlike("M0 0 L10 0 C10 0 20 10 30 0", "M0 0 L10 0 S20 10 30 0");
+        assertParsedAlike("M0 0 Q5 5 10 0 C10 0 20 10 30 0", "M0 0 Q5 5 10 0 S20 10 30 0");
+    }
+
+    @Test
+    void smoothQuadraticReflectsThePreviousControlPoint() {
+        Path2f path = parse("M0 0 Q10 10 20 0 T40 0");
+        assertArrayEquals(new float[] { 20, 0, 30, -10, 40, 0 }, Arrays.copyOfRange(points(path), 4, 10), EPSILON);
+        assertParsedAlike("M0 0 Q10 10 20 0 Q30 -10 40 0 Q50 10 60 0", "M0 0 q10 10 20 0 t20 0 20 0");
+        assertParsedAlike("M0 0 L10 0 Q10 0 20 5", "M0 0 L10 0 T20 5");
+        assertParsedAlike("M0 0 C1 1 2 2 10 0 Q10 0 20 5", "M0 0 C1 1 2 2 10 0 T20 5");
+    }
+
+    @Test
+    void numbersNeedNoSeparatorWhereTheyCannotContinue() {
+        Path2f path = parse("M1e-3 2E+2 L.5.5 L-1-2 L+3,1.5e1 L10.25-.75e-1 L0.0 7");
+        assertArrayEquals(new float[] { 1e-3f, 200, 0.5f, 0.5f, -1, -2, 3, 15, 10.25f, -0.075f, 0, 7 },
+                points(path), 0);
+        assertParsedAlike("M0 0 A5 5 0 1 0 10 0", "M0,0A5,5,0,1010,0");
+        assertParsedAlike("M0 0 A5 5 0 0 1 10 0", "M0 0 a5 5 0 0110 0");
+    }
+
+    @Test
+    void malformedDataReportsTheOffendingOffset() {
+        assertMalformed("L10 10", 0);
+        assertMalformed("M10", 3);
+        assertMalformed("M10 10 X 5", 7);
+        assertMalformed("M10 10 L5 ,", 11);
+        assertMalformed("M10 10 L5,,5", 10);
+        assertMalformed("M1e 2", 3);
+        assertMalformed("M1 . 2", 4);
+        assertMalformed("M0 0 A1 1 0 2 0 5 5", 12);
+        assertMalformed("M0 0 Z 5 5", 7);
+        // Segments before the error have been sent to the sink
+        Path2f path = new Path2f();
+        assertThrows(IllegalArgumentException.class, () -> new SvgPathParser2f().parse("M0 0 L1 1 L-", path));
+        assertArrayEquals(new float[] { 0, 0, 1, 1 }, points(path));
+    }
+
+    @Test
+    void readerParsesLikeTheSequenceAcrossBuffers() throws IOException {
+        StringBuilder data = new StringBuilder("M0 0");
+        while (data.length() < 20000) {
+            data.append(" l1.25 -0.5e-1 c1 2 3 4 5 6 s1 2 3 4");
+        }
+        String text = data.toString();
+        Path2f expected = parse(text);
+        Path2f actual = new SvgPathParser2f().parse(new StringReader(text), new Path2f());
+        assertArrayEquals(verbs(expected), verbs(actual));
+        assertArrayEquals(points(expected), points(actual));
+        // Offsets count from the start of the data, not of the buffer
+        String malformed = text + " x";
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new SvgPathParser2f().parse(new StringReader(malformed), new Path2f()));
+        assertTrue(e.getMessage().contains("at offset " + (malformed.length() - 1) + " "), e.getMessage());
+    }
+}
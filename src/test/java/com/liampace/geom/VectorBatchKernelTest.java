@@ -0,0 +1,79 @@
+package com.liampace.geom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the vector and scalar kernels on the same batches, with counts that
+ * leave a remainder past the last whole vector. The kernels perform the same
+ * unfused operations, so their results are compared exactly.
+ */
+class VectorBatchKernelTest {
+
+    private static final int COUNT = 1000 + 3;
+
+    @BeforeAll
+    static void requireVectorModule() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "jdk.incubator.vector is not resolved");
+        // The build adds the module to the tests, so the shared kernel uses it too
+        assertTrue(Interpolator2f.isVectorized());
+    }
+
+    private static float[] random(Random random, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextFloat() * 20 - 10;
+        }
+        return values;
+    }
+
+    @Test
+    void factorBatchesMatchTheScalarKernel() {
+        Random random = new Random(0x7EC7);
+        BatchKernel vector = new VectorBatchKernel(), scalar = new ScalarBatchKernel();
+        float[] t = new float[COUNT + 5];
+        for (int i = 0; i < t.length; i++) {
+            t[i] = random.nextFloat();
+        }
+        for (int degree = 1; degree <= 3; degree++) {
+            for (boolean derivative : new boolean[] { false, true }) {
+                float[] px = random(random, degree + 1), py = random(random, degree + 1);
+                float[] expectedX = new float[COUNT + 2], expectedY = new float[COUNT + 2];
+                float[] actualX = new float[COUNT + 2], actualY = new float[COUNT + 2];
+                scalar.evaluate(degree, derivative, px, py, COUNT, 5, t, 2, expectedX, expectedY);
+                vector.evaluate(degree, derivative, px, py, COUNT, 5, t, 2, actualX, actualY);
+                String message = "degree " + degree + (derivative ? " derivative" : "");
+                assertArrayEquals(expectedX, actualX, message);
+                assertArrayEquals(expectedY, actualY, message);
+            }
+        }
+    }
+
+    @Test
+    void curveBatchesMatchTheScalarKernel() {
+        Random random = new Random(0xC7B5);
+        BatchKernel vector = new VectorBatchKernel(), scalar = new ScalarBatchKernel();
+        int stride = COUNT + 7;
+        float[] x = random(random, stride * 4), y = random(random, stride * 4);
+        for (int degree = 1; degree <= 3; degree++) {
+            for (boolean derivative : new boolean[] { false, true }) {
+                for (float t : new float[] { 0, 0.3f, 1 }) {
+                    float[] expectedX = new float[COUNT + 1], expectedY = new float[COUNT + 1];
+                    float[] actualX = new float[COUNT + 1], actualY = new float[COUNT + 1];
+                    scalar.evaluate(degree, derivative, x, y, stride, 4, COUNT, t, 1, expectedX, expectedY);
+                    vector.evaluate(degree, derivative, x, y, stride, 4, COUNT, t, 1, actualX, actualY);
+                    String message = "degree " + degree + (derivative ? " derivative" : "") + " at " + t;
+                    assertArrayEquals(expectedX, actualX, message);
+                    assertArrayEquals(expectedY, actualY, message);
+                }
+            }
+        }
+    }
+}
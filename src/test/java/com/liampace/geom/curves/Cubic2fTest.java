@@ -0,0 +1,275 @@
+package com.liampace.geom.curves;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+class Cubic2fTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    private static float[] roots(float[] dest, int count) {
+        float[] roots = Arrays.copyOf(dest, count);
+        Arrays.sort(roots);
+        return roots;
+    }
+
+    private static float[] points(Cubic2f curve) {
+        float[] points = new float[Cubic2f.LENGTH * 2];
+        for (int i = 0; i < Cubic2f.LENGTH; i++) {
+            points[i * 2] = curve.getPoint(i).x();
+            points[i * 2 + 1] = curve.getPoint(i).y();
+        }
+        return points;
+    }
+
+    @Test
+    void solveCubicEquationFindsThreeRoots() {
+        // (t - 0.25)(t - 0.5)(t - 0.75), scaled so normalising by d instead of a
+        // would fail
+        float[] dest = new float[3];
+        int count = Cubic2f.SolveCubicEquation(2, -3, 1.375f, -0.1875f, 0, dest);
+        assertArrayEquals(new float[] { 0.25f, 0.5f, 0.75f }, roots(dest, count), EPSILON);
+    }
+
+    @Test
+    void solveCubicEquationUsesTheCubedDiscriminant() {
+        // t^3 - 3t + 1 has three real roots, p^2 in the discriminant reported one
+        float[] dest = new float[3];
+        int count = Cubic2f.SolveCubicEquation(1, 0, -3, 1, 0, dest);
+        assertArrayEquals(new float[] { -1.8793852f, 0.34729636f, 1.5320889f }, roots(dest, count), EPSILON);
+    }
+
+    @Test
+    void solveCubicEquationTakesCubeRootsOfNegativeValues() {
+        // t^3 + t + 10 = (t + 2)(t^2 - 2t + 5)
+        float[] dest = new float[3];
+        assertEquals(1, Cubic2f.SolveCubicEquation(1, 0, 1, 10, 0, dest));
+        assertEquals(-2, dest[0], EPSILON);
+    }
+
+    @Test
+    void solveCubicEquationCountsRepeatedRoots() {
+        // (t - 1)^2 (t + 2)
+        float[] dest = new float[3];
+        int count = Cubic2f.SolveCubicEquation(1, 0, -3, 2, 0, dest);
+        assertArrayEquals(new float[] { -2, 1 }, roots(dest, count), EPSILON);
+    }
+
+    @Test
+    void solveCubicEquationFallsBackToQuadratic() {
+        float[] dest = new float[3];
+        int count = Cubic2f.SolveCubicEquation(0, 1, -1, 0.1875f, 0, dest);
+        assertArrayEquals(new float[] { 0.25f, 0.75f }, roots(dest, count), EPSILON);
+    }
+
+    @Test
+    void solveCubicBezierReturnsInterpolationFactors() {
+        // (t - 0.25)(t - 0.5)(t - 0.75) in bezier form
+        float d = -0.09375f, c = 0.6875f, b = -1.5f, a = 1;
+        float[] dest = new float[3];
+        int count = Cubic2f.SolveCubicBezier(d, d + c / 3, d + c * 2 / 3 + b / 3, a + b + c + d, 0, dest);
+        assertArrayEquals(new float[] { 0.25f, 0.5f, 0.75f }, roots(dest, count), 1e-4f);
+    }
+
+    @Test
+    void solveCubicEquationDropsANegligibleLeadingTerm() {
+        // (t - 0.25)(t - 0.75) with a cubic term too small to divide by
+        float[] dest = new float[3];
+        int count = Cubic2f.SolveCubicEquation(1e-9f, 1, -1, 0.1875f, 0, dest);
+        assertArrayEquals(new float[] { 0.25f, 0.75f }, Arrays.copyOf(dest, count), EPSILON);
+    }
+
+    @Test
+    void nearlyQuadraticCurveFindsItsIntercepts() {
+        // The leading coefficient of Y is -0.0024, the closed form in float
+        // reported the same two roots at every height
+        Cubic2f curve = new Cubic2f(0, 4.036f, 1, 0.6974f, 2, 1.746f, 3, 7.183f);
+        float[] dest = new float[3];
+        Vector2f temp = new Vector2f();
+        for (float y : new float[] { 1, 3, 5, 6 }) {
+            int count = curve.getInterceptsX(y, 0, dest);
+            int inside = 0;
+            for (int i = 0; i < count; i++) {
+                if (dest[i] >= 0 && dest[i] <= 1) {
+                    assertEquals(y, curve.getPosition(dest[i], temp).y, 1e-4f, "y = " + y);
+                    inside++;
+                }
+            }
+            assertEquals(crossings(curve, y), inside, "y = " + y);
+        }
+        int count = unit(dest, curve.getInterceptsX(3, 0, dest));
+        assertArrayEquals(new float[] { 0.123f, 0.637f }, Arrays.copyOf(dest, count), 1e-3f);
+    }
+
+    @Test
+    void degreeElevatedQuadraticFindsTheQuadraticIntercepts() {
+        Random random = new Random(0xE1E7);
+        float[] expected = new float[3], actual = new float[3];
+        for (int i = 0; i < 20_000; i++) {
+            float[] p = new float[Quadratic2f.LENGTH * 2];
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 10;
+            }
+            Quadratic2f quadratic = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            // The same curve as a cubic, whose leading coefficients only differ
+            // from zero by rounding
+            Cubic2f cubic = new Cubic2f(p[0], p[1], p[0] + (p[2] - p[0]) * 2 / 3, p[1] + (p[3] - p[1]) * 2 / 3,
+                    p[4] + (p[2] - p[4]) * 2 / 3, p[5] + (p[3] - p[5]) * 2 / 3, p[4], p[5]);
+            float y = random.nextFloat() * 10;
+            int count = unit(expected, quadratic.getInterceptsX(y, 0, expected));
+            String curve = "%s at y = %s".formatted(Arrays.toString(p), y);
+            assertEquals(count, unit(actual, cubic.getInterceptsX(y, 0, actual)), curve);
+            assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(actual, count), 1e-4f, curve);
+        }
+    }
+
+    /**
+     * Moves the roots within {@code [0, 1]} to the front of {@code roots}.
+     */
+    private static int unit(float[] roots, int count) {
+        int inside = 0;
+        for (int i = 0; i < count; i++) {
+            if (roots[i] >= 0 && roots[i] <= 1) {
+                roots[inside++] = roots[i];
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Counts the sign changes of {@code y} along dense samples of the curve.
+     */
+    private static int crossings(Cubic2f curve, float y) {
+        Vector2f temp = new Vector2f();
+        int count = 0;
+        float previous = curve.getPosition(0, temp).y - y;
+        for (int i = 1; i <= 10_000; i++) {
+            float current = curve.getPosition(i / 10_000f, temp).y - y;
+            if (previous < 0 != current < 0) {
+                count++;
+            }
+            previous = current;
+        }
+        return count;
+    }
+
+    @Test
+    void immutableCurveMatchesMutableExtremaAndPieces() {
+        Cubic2f mutable = new Cubic2f(0, 0, 1, 2, -1, 2, 1, 0);
+        ImmutableCubic2f immutable = mutable.toImmutable();
+        float[] expected = new float[Cubic2f.MAX_EXTREMA], actual = new float[Cubic2f.MAX_EXTREMA];
+        int count = mutable.getExtrema(0, expected);
+        assertEquals(count, immutable.getExtrema(0, actual));
+        assertArrayEquals(expected, actual);
+        Cubic2f[] left = new Cubic2f[Cubic2f.MAX_EXTREMA + 1], right = new Cubic2f[Cubic2f.MAX_EXTREMA + 1];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = new Cubic2f();
+            right[i] = new Cubic2f();
+        }
+        assertEquals(count + 1, mutable.getMonotonic(0, left));
+        assertEquals(count + 1, immutable.getMonotonic(0, right));
+        for (int i = 0; i <= count; i++) {
+            assertArrayEquals(points(left[i]), points(right[i]));
+        }
+        mutable.split(0.3f, left[0], left[1]);
+        immutable.split(0.3f, right[0], right[1]);
+        assertArrayEquals(points(left[0]), points(right[0]));
+        assertArrayEquals(points(left[1]), points(right[1]));
+        assertArrayEquals(points(mutable.subCurve(0.2f, 0.7f, new Cubic2f())),
+                points(immutable.subCurve(0.2f, 0.7f, new Cubic2f())));
+    }
+
+    /**
+     * Compares the cached coefficients, extrema and intercepts of {@code curve},
+     * which also fills its caches, with those of a fresh copy.
+     */
+    private static void assertCachesMatchPoints(Cubic2f curve) {
+        Cubic2f fresh = new Cubic2f(curve);
+        float[] expected = new float[Cubic2f.LENGTH * 2], actual = new float[Cubic2f.LENGTH * 2];
+        assertArrayEquals(fresh.getCoefficients(0, expected), curve.getCoefficients(0, actual));
+        assertArrayEquals(Arrays.copyOf(expected, fresh.getExtrema(0, expected)),
+                Arrays.copyOf(actual, curve.getExtrema(0, actual)));
+        assertArrayEquals(Arrays.copyOf(expected, fresh.getInterceptsX(0.5f, 0, expected)),
+                Arrays.copyOf(actual, curve.getInterceptsX(0.5f, 0, actual)));
+        assertArrayEquals(Arrays.copyOf(expected, fresh.getInterceptsY(1.5f, 0, expected)),
+                Arrays.copyOf(actual, curve.getInterceptsY(1.5f, 0, actual)));
+    }
+
+    @Test
+    void cachesFollowEveryModification() {
+        Cubic2f curve = new Cubic2f(0, 0, 1, 3, 2, -3, 3, 0);
+        assertCachesMatchPoints(curve);
+        curve.set(1, 1, 4, 3, -1, 3, 3, 0);
+        assertCachesMatchPoints(curve);
+        curve.set(new Cubic2f(0, 0, 1, 3, 2, -3, 3, 0));
+        assertCachesMatchPoints(curve);
+        curve.forEach(point -> point.mul(2, -1));
+        assertCachesMatchPoints(curve);
+        curve.transformPosition(new Matrix3x2f().translation(1, 2).rotate(0.5f));
+        assertCachesMatchPoints(curve);
+        curve.transformDirection(new Matrix3x2f().scaling(0.5f, 2));
+        assertCachesMatchPoints(curve);
+        // Points changed in place are only seen once the curve is invalidated
+        long version = curve.getVersion();
+        curve.getPoint(1).add(3, -4);
+        curve.invalidate();
+        assertEquals(version + 1, curve.getVersion());
+        assertCachesMatchPoints(curve);
+    }
+
+    @Test
+    void cachedResultsAreCompleteOnEveryThread() throws Exception {
+        int threads = 4, count = 20_000;
+        Random random = new Random(0xCAC4E);
+        Cubic2f[] curves = new Cubic2f[count];
+        ImmutableCubic2f[] expected = new ImmutableCubic2f[count];
+        for (int i = 0; i < count; i++) {
+            float[] p = new float[Cubic2f.LENGTH * 2];
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 2 - 1;
+            }
+            // Fresh curves, so every thread races to fill the same empty caches
+            curves[i] = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+            expected[i] = new ImmutableCubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    float[] a = new float[Cubic2f.LENGTH * 2], b = new float[Cubic2f.LENGTH * 2];
+                    for (int i = 0; i < count; i++) {
+                        assertArrayEquals(expected[i].getCoefficients(0, b), curves[i].getCoefficients(0, a));
+                        int extrema = expected[i].getExtrema(0, b);
+                        assertEquals(extrema, curves[i].getExtrema(0, a));
+                        assertArrayEquals(Arrays.copyOf(b, extrema), Arrays.copyOf(a, extrema));
+                        assertEquals(expected[i].getExtremaX(0, b), curves[i].getExtremaX(0, a));
+                        assertEquals(expected[i].getExtremaY(0, b), curves[i].getExtremaY(0, a));
+                        assertEquals(expected[i].getInterceptsY(0.5f, 0, b), curves[i].getInterceptsY(0.5f, 0, a));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
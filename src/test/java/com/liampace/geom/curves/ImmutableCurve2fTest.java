@@ -0,0 +1,175 @@
+package com.liampace.geom.curves;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import com.liampace.geom.Bezier2fc;
+
+/**
+ * Compares {@link ImmutableLine2f}, {@link ImmutableQuadratic2f} and
+ * {@link ImmutableCubic2f} against the mutable curve with the same points,
+ * which share the kernels and so must agree bit for bit.
+ */
+class ImmutableCurve2fTest {
+
+    private static float[] random(Random random) {
+        float[] p = new float[8];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = random.nextFloat() * 10 - 5;
+        }
+        return p;
+    }
+
+    private static float[] points(Bezier2fc curve) {
+        float[] points = new float[curve.getLength() * 2];
+        for (int i = 0; i < curve.getLength(); i++) {
+            points[i * 2] = curve.getPoint(i).x();
+            points[i * 2 + 1] = curve.getPoint(i).y();
+        }
+        return points;
+    }
+
+    /**
+     * Asserts that every query of the read-only interface gives the same result
+     * on both curves.
+     */
+    private static void assertSameCurve(Bezier2fc expected, Bezier2fc actual) {
+        String message = Arrays.toString(points(expected));
+        assertEquals(expected.getLength(), actual.getLength(), message);
+        assertArrayEquals(points(expected), points(actual), message);
+        Vector2f a = new Vector2f(), b = new Vector2f();
+        for (float t : new float[] { 0, 0.2f, 0.5f, 0.9f, 1 }) {
+            assertEquals(expected.getPosition(t, a), actual.getPosition(t, b), message);
+            assertEquals(expected.getDerivative(t, a), actual.getDerivative(t, b), message);
+        }
+        float[] rootsA = new float[3], rootsB = new float[3];
+        assertEquals(expected.getInterceptsX(0, rootsA), actual.getInterceptsX(0, rootsB), message);
+        assertArrayEquals(rootsA, rootsB, message);
+        assertEquals(expected.getInterceptsY(0, rootsA), actual.getInterceptsY(0, rootsB), message);
+        assertArrayEquals(rootsA, rootsB, message);
+        assertEquals(expected.getInterceptsX(1.5f, 0, rootsA), actual.getInterceptsX(1.5f, 0, rootsB), message);
+        assertArrayEquals(rootsA, rootsB, message);
+        assertEquals(expected.getInterceptsY(-0.5f, 0, rootsA), actual.getInterceptsY(-0.5f, 0, rootsB), message);
+        assertArrayEquals(rootsA, rootsB, message);
+        assertArrayEquals(expected.getBounds(0, new float[4]), actual.getBounds(0, new float[4]), message);
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.getPoint(actual.getLength()));
+    }
+
+    @Test
+    void lineMatchesTheMutableLine() {
+        Random random = new Random(0x11AE);
+        for (int i = 0; i < 200; i++) {
+            float[] p = random(random);
+            Line2f line = new Line2f(p[0], p[1], p[2], p[3]);
+            ImmutableLine2f immutable = line.toImmutable();
+            assertSameCurve(line, immutable);
+            assertSameCurve(line, immutable.toMutable());
+            assertEquals(immutable, new ImmutableLine2f(line.getStart(), line.getEnd()));
+            Line2f left = new Line2f(), right = new Line2f();
+            Line2f expectedLeft = new Line2f(), expectedRight = new Line2f();
+            line.split(0.3f, expectedLeft, expectedRight);
+            immutable.split(0.3f, left, right);
+            assertSameCurve(expectedLeft, left);
+            assertSameCurve(expectedRight, right);
+            assertSameCurve(line.subCurve(0.7f, 0.2f, expectedLeft), immutable.subCurve(0.7f, 0.2f, left));
+        }
+    }
+
+    @Test
+    void quadraticMatchesTheMutableQuadratic() {
+        Random random = new Random(0x0ADE);
+        float[] a = new float[Quadratic2f.LENGTH * 2], b = new float[Quadratic2f.LENGTH * 2];
+        Quadratic2f[] expectedPieces = new Quadratic2f[Quadratic2f.MAX_EXTREMA + 1];
+        Quadratic2f[] pieces = new Quadratic2f[Quadratic2f.MAX_EXTREMA + 1];
+        Arrays.setAll(expectedPieces, i -> new Quadratic2f());
+        Arrays.setAll(pieces, i -> new Quadratic2f());
+        for (int i = 0; i < 200; i++) {
+            float[] p = random(random);
+            Quadratic2f quadratic = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            ImmutableQuadratic2f immutable = quadratic.toImmutable();
+            assertSameCurve(quadratic, immutable);
+            assertSameCurve(quadratic, immutable.toMutable());
+            assertEquals(immutable, new ImmutableQuadratic2f(quadratic));
+            assertArrayEquals(quadratic.getCoefficients(0, a), immutable.getCoefficients(0, b));
+            float[] e = new float[Quadratic2f.MAX_EXTREMA], f = new float[Quadratic2f.MAX_EXTREMA];
+            assertEquals(quadratic.getExtremaX(0, e), immutable.getExtremaX(0, f));
+            assertEquals(quadratic.getExtremaY(0, e), immutable.getExtremaY(0, f));
+            assertEquals(quadratic.getExtrema(0, e), immutable.getExtrema(0, f));
+            assertArrayEquals(e, f);
+            int count = quadratic.getMonotonic(0, expectedPieces);
+            assertEquals(count, immutable.getMonotonic(0, pieces));
+            for (int k = 0; k < count; k++) {
+                assertSameCurve(expectedPieces[k], pieces[k]);
+            }
+            quadratic.split(0.6f, expectedPieces[0], expectedPieces[1]);
+            immutable.split(0.6f, pieces[0], pieces[1]);
+            assertSameCurve(expectedPieces[0], pieces[0]);
+            assertSameCurve(expectedPieces[1], pieces[1]);
+            assertSameCurve(quadratic.subCurve(0.1f, 0.8f, expectedPieces[2]),
+                    immutable.subCurve(0.1f, 0.8f, pieces[2]));
+        }
+    }
+
+    @Test
+    void cubicMatchesTheMutableCubic() {
+        Random random = new Random(0xC0BE);
+        float[] a = new float[Cubic2f.LENGTH * 2], b = new float[Cubic2f.LENGTH * 2];
+        Cubic2f[] expectedPieces = new Cubic2f[Cubic2f.MAX_EXTREMA + 1];
+        Cubic2f[] pieces = new Cubic2f[Cubic2f.MAX_EXTREMA + 1];
+        Arrays.setAll(expectedPieces, i -> new Cubic2f());
+        Arrays.setAll(pieces, i -> new Cubic2f());
+        for (int i = 0; i < 200; i++) {
+            float[] p = random(random);
+            Cubic2f cubic = new Cubic2f(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+            ImmutableCubic2f immutable = cubic.toImmutable();
+            assertSameCurve(cubic, immutable);
+            assertSameCurve(cubic, immutable.toMutable());
+            assertEquals(immutable, new ImmutableCubic2f(cubic));
+            assertArrayEquals(cubic.getCoefficients(0, a), immutable.getCoefficients(0, b));
+            float[] e = new float[Cubic2f.MAX_EXTREMA], f = new float[Cubic2f.MAX_EXTREMA];
+            assertEquals(cubic.getExtremaX(0, e), immutable.getExtremaX(0, f));
+            assertEquals(cubic.getExtremaY(0, e), immutable.getExtremaY(0, f));
+            assertEquals(cubic.getExtrema(0, e), immutable.getExtrema(0, f));
+            assertArrayEquals(e, f);
+            int count = cubic.getMonotonic(0, expectedPieces);
+            assertEquals(count, immutable.getMonotonic(0, pieces));
+            for (int k = 0; k < count; k++) {
+                assertSameCurve(expectedPieces[k], pieces[k]);
+            }
+            cubic.split(0.6f, expectedPieces[0], expectedPieces[1]);
+            immutable.split(0.6f, pieces[0], pieces[1]);
+            assertSameCurve(expectedPieces[0], pieces[0]);
+            assertSameCurve(expectedPieces[1], pieces[1]);
+            assertSameCurve(cubic.subCurve(0.1f, 0.8f, expectedPieces[2]),
+                    immutable.subCurve(0.1f, 0.8f, pieces[2]));
+        }
+    }
+
+    @Test
+    void copiesAreDetachedFromTheirSource() {
+        Cubic2f cubic = new Cubic2f(0, 0, 1, 2, 3, 2, 4, 0);
+        ImmutableCubic2f immutable = cubic.toImmutable();
+        assertEquals(0, immutable.getVersion());
+        // Modifying the source or a mutable copy leaves the immutable curve as it was
+        cubic.set(5, 5, 5, 5, 5, 5, 5, 5);
+        immutable.toMutable().set(6, 6, 6, 6, 6, 6, 6, 6);
+        assertArrayEquals(new float[] { 0, 0, 1, 2, 3, 2, 4, 0 }, points(immutable));
+        assertEquals(0, immutable.getVersion());
+        // Equality and hashing follow the points
+        ImmutableCubic2f same = new ImmutableCubic2f(0, 0, 1, 2, 3, 2, 4, 0);
+        assertEquals(immutable, same);
+        assertEquals(immutable.hashCode(), same.hashCode());
+        assertNotEquals(immutable, new ImmutableCubic2f(0, 0, 1, 2, 3, 2, 4, 1));
+        assertNotEquals(new ImmutableLine2f(0, 0, 1, 1), new ImmutableQuadratic2f(0, 0, 1, 1, 1, 1));
+        // Negative and positive zero are different points to the float bits
+        assertNotEquals(new ImmutableLine2f(0, 0, 1, 1), new ImmutableLine2f(-0f, 0, 1, 1));
+    }
+}
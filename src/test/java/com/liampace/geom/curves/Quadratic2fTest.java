@@ -0,0 +1,134 @@
+package com.liampace.geom.curves;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+class Quadratic2fTest {
+
+    private static float[] roots(float[] dest, int count) {
+        float[] roots = Arrays.copyOf(dest, count);
+        Arrays.sort(roots);
+        return roots;
+    }
+
+    @Test
+    void solveQuadraticBezierReturnsInterpolationFactors() {
+        // (t - 0.25)(t - 0.75) in bezier form, the reversed coefficients gave 1/t
+        float[] dest = new float[2];
+        int count = Quadratic2f.SolveQuadraticBezier(0.1875f, -0.3125f, 0.1875f, 0, dest);
+        assertArrayEquals(new float[] { 0.25f, 0.75f }, roots(dest, count));
+    }
+
+    @Test
+    void solveQuadraticEquationFallsBackToLinear() {
+        float[] dest = new float[2];
+        assertEquals(1, Quadratic2f.SolveQuadraticEquation(0, 2, -1, 0, dest));
+        assertEquals(0.5f, dest[0]);
+        // A quadratic term too small to divide by is dropped the same way
+        assertEquals(1, Quadratic2f.SolveQuadraticEquation(1e-9f, 2, -1, 0, dest));
+        assertEquals(0.5f, dest[0], 1e-6f);
+    }
+
+    @Test
+    void setCopiesEveryPointOfTheOtherCurve() {
+        Quadratic2f curve = new Quadratic2f(0, 0, 1, 1, 2, 0);
+        curve.set(new Quadratic2f(3, 4, 5, 6, 7, 8));
+        assertEquals(new Vector2f(3, 4), curve.getStart());
+        assertEquals(new Vector2f(5, 6), curve.getControl());
+        assertEquals(new Vector2f(7, 8), curve.getEnd());
+    }
+
+    /**
+     * Compares the cached coefficients, extrema and intercepts of {@code curve},
+     * which also fills its caches, with those of a fresh copy.
+     */
+    private static void assertCachesMatchPoints(Quadratic2f curve) {
+        Quadratic2f fresh = new Quadratic2f(curve);
+        float[] expected = new float[Quadratic2f.LENGTH * 2], actual = new float[Quadratic2f.LENGTH * 2];
+        assertArrayEquals(fresh.getCoefficients(0, expected), curve.getCoefficients(0, actual));
+        assertArrayEquals(Arrays.copyOf(expected, fresh.getExtrema(0, expected)),
+                Arrays.copyOf(actual, curve.getExtrema(0, actual)));
+        assertArrayEquals(Arrays.copyOf(expected, fresh.getInterceptsX(0.5f, 0, expected)),
+                Arrays.copyOf(actual, curve.getInterceptsX(0.5f, 0, actual)));
+        assertArrayEquals(Arrays.copyOf(expected, fresh.getInterceptsY(1.5f, 0, expected)),
+                Arrays.copyOf(actual, curve.getInterceptsY(1.5f, 0, actual)));
+    }
+
+    @Test
+    void cachesFollowEveryModification() {
+        Quadratic2f curve = new Quadratic2f(0, 0, 5, 10, 10, 0);
+        assertCachesMatchPoints(curve);
+        curve.set(1, 1, 10, 0.5f, 0, 1);
+        assertCachesMatchPoints(curve);
+        curve.set(new Quadratic2f(0, 0, 5, 10, 10, 0));
+        assertCachesMatchPoints(curve);
+        curve.forEach(point -> point.mul(2, -1));
+        assertCachesMatchPoints(curve);
+        curve.transformPosition(new Matrix3x2f().translation(1, 2).rotate(0.5f));
+        assertCachesMatchPoints(curve);
+        curve.transformDirection(new Matrix3x2f().scaling(0.5f, 2));
+        assertCachesMatchPoints(curve);
+        // Points changed in place are only seen once the curve is invalidated
+        long version = curve.getVersion();
+        curve.getPoint(1).add(3, -4);
+        curve.invalidate();
+        assertEquals(version + 1, curve.getVersion());
+        assertCachesMatchPoints(curve);
+    }
+
+    @Test
+    void cachedResultsAreCompleteOnEveryThread() throws Exception {
+        int threads = 4, count = 20_000;
+        Random random = new Random(0x0CAC4E);
+        Quadratic2f[] curves = new Quadratic2f[count];
+        ImmutableQuadratic2f[] expected = new ImmutableQuadratic2f[count];
+        for (int i = 0; i < count; i++) {
+            float[] p = new float[Quadratic2f.LENGTH * 2];
+            for (int j = 0; j < p.length; j++) {
+                p[j] = random.nextFloat() * 2 - 1;
+            }
+            // Fresh curves, so every thread races to fill the same empty caches
+            curves[i] = new Quadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+            expected[i] = new ImmutableQuadratic2f(p[0], p[1], p[2], p[3], p[4], p[5]);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    float[] a = new float[Quadratic2f.LENGTH * 2], b = new float[Quadratic2f.LENGTH * 2];
+                    for (int i = 0; i < count; i++) {
+                        assertArrayEquals(expected[i].getCoefficients(0, b), curves[i].getCoefficients(0, a));
+                        int extrema = expected[i].getExtrema(0, b);
+                        assertEquals(extrema, curves[i].getExtrema(0, a));
+                        assertArrayEquals(Arrays.copyOf(b, extrema), Arrays.copyOf(a, extrema));
+                        assertEquals(expected[i].getExtremaX(0, b), curves[i].getExtremaX(0, a));
+                        assertEquals(expected[i].getExtremaY(0, b), curves[i].getExtremaY(0, a));
+                        assertEquals(expected[i].getInterceptsY(0.5f, 0, b), curves[i].getInterceptsY(0.5f, 0, a));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}